@@ -1,13 +1,16 @@
 package controller;
 
 import domain.common.Airport;
-import domain.linkedlist.DoublyLinkedList;
+import domain.graph.GraphException;
+import domain.linkedlist.List;
 import domain.linkedlist.ListException;
 import domain.linkedlist.SinglyLinkedList;
+import domain.service.AirNetworkService;
 import domain.service.AirportService;
 import javafx.event.ActionEvent;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
+import ucr.flightroutemanagementsystem.HelloApplication;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -40,7 +43,7 @@ public class AirportsController
 
     private Alert alert;
 
-    private DoublyLinkedList airportList;
+    private List airportList;
     private SinglyLinkedList listForStatus;
     private SinglyLinkedList listForCountry;
 
@@ -282,9 +285,20 @@ public class AirportsController
         try {
             AirportService airportService = new AirportService();
 
+            //Antes de cerrar un aeropuerto activo se avisa si su cierre dejaría aeropuertos sin conexión
+            Airport airport = airportService.getAirportByCode(id);
+            if (airport != null && "Active".equalsIgnoreCase(airport.getStatus()) && !confirmClosure(id)) {
+                return;
+            }
+
             boolean changeStatus = airportService.changeAirportStatus(id);
 
             if (changeStatus){
+                //La red de rutas usa su propia instancia: se le avisa para que deje de pasar por aeropuertos inactivos
+                AirNetworkService airNetworkService = HelloApplication.getAirNetworkService();
+                if (airNetworkService != null) {
+                    airNetworkService.onAirportStatusChanged(id, airportService.getAirportByCode(id).getStatus());
+                }
                 alert.setContentText("The Airport with the ID: "+ id + " had its status changed."); 
                 alert.setAlertType(Alert.AlertType.CONFIRMATION);
                 alert.showAndWait();
@@ -299,6 +313,29 @@ public class AirportsController
         }
     }
 
+    //Consulta de impacto (puntos de articulación): true si se puede continuar con el cierre
+    private boolean confirmClosure(int airportCode) {
+        AirNetworkService airNetworkService = HelloApplication.getAirNetworkService();
+        if (airNetworkService == null) {
+            return true;
+        }
+        int cutOff;
+        try {
+            cutOff = airNetworkService.countAirportsCutOffByClosure(airportCode);
+        } catch (GraphException | ListException e) {
+            return true; //el aeropuerto no está en la red de rutas: cerrarlo no la parte
+        }
+        if (cutOff == 0) {
+            return true;
+        }
+        Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmation.setTitle("Critical Airport");
+        confirmation.setHeaderText("Closing airport " + airportCode + " splits the route network.");
+        confirmation.setContentText(cutOff + " airport(s) would lose every connection to the rest of the network. Continue?");
+        Optional<ButtonType> answer = confirmation.showAndWait();
+        return answer.isPresent() && answer.get() == ButtonType.OK;
+    }
+
     @javafx.fxml.FXML
     public void listAirportsForStatusOnAction(ActionEvent actionEvent) {
         TextInputDialog inputDialog = new TextInputDialog();
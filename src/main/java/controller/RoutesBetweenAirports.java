@@ -1,6 +1,8 @@
 package controller;
 
 import domain.common.*;
+import domain.graph.GraphException;
+import domain.graph.ParetoRoute;
 import domain.linkedlist.CircularDoublyLinkedList;
 import domain.linkedlist.ListException;
 import domain.service.*;
@@ -15,10 +17,12 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 import javafx.util.StringConverter;
+import util.FXUtility;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -186,6 +190,45 @@ public class RoutesBetweenAirports
         flightTable.refresh();
     }
 
+    //Muestra el frente de Pareto (precio, duración, distancia) entre los códigos escritos en origen y destino
+    @FXML
+    public void showParetoRoutes(ActionEvent actionEvent) {
+        int originCode, destinationCode;
+        try {
+            originCode = Integer.parseInt(searchByOrigenTf.getText().trim());
+            destinationCode = Integer.parseInt(searchByArrivalTf.getText().trim());
+        } catch (NumberFormatException e) {
+            FXUtility.alertWarning("Rutas óptimas", "Escriba el código del aeropuerto de origen y de destino");
+            return;
+        }
+
+        try {
+            List<ParetoRoute> front = airNetworkService.findParetoRoutes(originCode, destinationCode);
+            if (front.isEmpty()) {
+                FXUtility.alertInfo("Rutas óptimas", "No hay rutas entre " + originCode + " y " + destinationCode);
+                return;
+            }
+            StringBuilder content = new StringBuilder();
+            for (ParetoRoute route : front) {
+                StringBuilder path = new StringBuilder();
+                for (Integer code : route.getPath()) {
+                    if (!path.isEmpty()) path.append(" → ");
+                    path.append(code).append(" (").append(getAirportNameByCode(code)).append(")");
+                }
+                content.append(String.format("$%.2f | %.1f h | %.0f km | %d escala(s)%n   %s%n",
+                        route.getPrice(), route.getDurationHours(), route.getDistanceKm(), route.getStops(), path));
+            }
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Rutas óptimas");
+            alert.setHeaderText(front.size() + " itinerario(s) no dominado(s) de " + originCode + " a " + destinationCode);
+            alert.setContentText(content.toString());
+            alert.getDialogPane().setMinWidth(600);
+            alert.showAndWait();
+        } catch (GraphException | ListException e) {
+            FXUtility.alertWarning("Rutas óptimas", e.getMessage());
+        }
+    }
+
     public void close(Stage stage) {
         this.stage = stage;
     }
@@ -3,7 +3,6 @@ package controller;
 import domain.common.Airport;
 import domain.common.Route;
 import domain.graph.*;
-import domain.linkedlist.DoublyLinkedList;
 import domain.linkedlist.ListException;
 import domain.linkedlist.Node;
 import domain.linkedlist.SinglyLinkedList;
@@ -121,8 +120,7 @@ public class Simulation {
         // clearGraph(); // NO LLAMAR clearGraph() AQUÍ si queremos mantener el grafo base
 
         try {
-            DoublyLinkedList allAirportsList = airportService.getAllAirports(); // Obtenemos todos los aeropuertos cargados
-            List<Airport> allAirports = allAirportsList.toList().stream()
+            List<Airport> allAirports = airportService.getAllAirports().stream() // Obtenemos todos los aeropuertos cargados
                     .filter(obj -> obj instanceof Airport)
                     .map(obj -> (Airport) obj)
                     .collect(Collectors.toList());
@@ -375,8 +373,9 @@ public class Simulation {
         }
 
         try {
-            // Obtener los top 5 aeropuertos y sus conteos de rutas
-            List<Airport> topAirports = airNetworkService.getTop5AirportsByRouteCount();
+            // Obtener los top 5 aeropuertos por intermediación (hubs) y sus conteos de rutas
+            HubCentrality centrality = airNetworkService.getHubCentrality("distance");
+            List<Airport> topAirports = airNetworkService.getTopHubAirports(5, "distance");
             Map<Integer, Long> routeCounts = airNetworkService.getRouteCountsByAirport();
 
             if (topAirports.isEmpty()) {
@@ -386,13 +385,16 @@ public class Simulation {
 
             StringBuilder alertMessage = new StringBuilder();
 
-            // Sección 1: Mostrar los Top 5 Aeropuertos por Conteo de Rutas
-            alertMessage.append("Top 5 Aeropuertos por Conteo de Rutas:\n");
+            // Sección 1: Mostrar los Top 5 Aeropuertos por Centralidad
+            alertMessage.append("Top 5 Aeropuertos Hub (intermediación")
+                    .append(centrality.isApproximate() ? ", estimada" : "").append("):\n");
             for (Airport airport : topAirports) {
                 long count = routeCounts.getOrDefault(airport.getCode(), 0L);
+                int id = centrality.getGraph().idOf(airport.getCode());
                 alertMessage.append("- ").append(airport.getName())
                         .append(" (").append(airport.getCode()).append("): ")
-                        .append(count).append(" routes.\n");
+                        .append(count).append(" routes, betweenness ")
+                        .append(String.format("%.1f", centrality.betweenness(id))).append(".\n");
 
                 // Resaltar los aeropuertos principales
                 Circle airportCircle = vertexCircles.get(airport);
@@ -410,13 +412,15 @@ public class Simulation {
 
             if (topAirports.size() >= 2) {
                 Airport primaryOrigin = topAirports.get(0); // Tomamos el primer aeropuerto como origen principal
+                String costType = "distance"; // Puedes cambiar a "duration" o "price"
+
+                // Una sola búsqueda desde el origen principal responde todos los destinos
+                ShortestPathTree routesFromOrigin = airNetworkService.findShortestRoutesFrom(primaryOrigin.getCode(), costType);
 
                 for (int i = 1; i < topAirports.size(); i++) {
                     Airport currentDestination = topAirports.get(i);
-                    String costType = "distance"; // Puedes cambiar a "duration" o "price"
 
-                    List<Integer> shortestPathCodes = airNetworkService.findShortestRoute(
-                            primaryOrigin.getCode(), currentDestination.getCode(), costType);
+                    List<Integer> shortestPathCodes = routesFromOrigin.path(currentDestination.getCode());
 
                     if (shortestPathCodes != null && !shortestPathCodes.isEmpty()) {
                         foundAnyShortestRoute = true;
@@ -3,6 +3,7 @@ package controller.ticketscontroller;
 import domain.common.Airport;
 import domain.common.Flight;
 import domain.common.Passenger;
+import domain.graph.RouteSearchResult;
 import domain.service.*;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
@@ -79,6 +80,32 @@ public class TicketsController {
         }
     }
 
+    //Recorridos alternativos (otras escalas) para la ruta del vuelo, usando las k rutas más cortas de la red
+    private String describeAlternativeRoutes(Flight flight) {
+        if (flight == null || flight.getAssignedRoute() == null || airNetworkService == null) {
+            return "";
+        }
+        int origin = flight.getAssignedRoute().getOriginAirportCode();
+        int destination = flight.getAssignedRoute().getDestinationAirportCode();
+        try {
+            List<RouteSearchResult> alternatives = airNetworkService.findKShortestRoutes(origin, destination, "duration", 4);
+            StringBuilder text = new StringBuilder();
+            for (RouteSearchResult alternative : alternatives) {
+                if (alternative.getPath().size() <= 2) continue; //la ruta directa es la que no tiene cupo
+                StringBuilder path = new StringBuilder();
+                for (Integer code : alternative.getPath()) {
+                    if (!path.isEmpty()) path.append(" → ");
+                    path.append(getAirportNameByCode(code));
+                }
+                text.append(String.format("%n- %s (%.1f h)", path, alternative.getCost()));
+            }
+            return text.isEmpty() ? "" : "\n\nRecorridos alternativos:" + text;
+        } catch (Exception e) {
+            System.err.println("Could not compute alternative routes: " + e.getMessage());
+            return "";
+        }
+    }
+
     private String getAirportNameByCode(int code) {
         return airportCodeToName.getOrDefault(code, "Desconocido");
     }
@@ -391,7 +418,8 @@ public class TicketsController {
                         }
                     }
                     if (!asignado) {
-                        Alert err = new Alert(Alert.AlertType.ERROR, "No se pudo asignar el pasajero a ningún vuelo disponible con la misma ruta.");
+                        Alert err = new Alert(Alert.AlertType.ERROR, "No se pudo asignar el pasajero a ningún vuelo disponible con la misma ruta."
+                                + describeAlternativeRoutes(vueloReferencia));
                         err.showAndWait();
                         return;
                     }
@@ -8,7 +8,7 @@ import com.itextpdf.text.Paragraph;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 import domain.common.Airport;
-import domain.linkedlist.DoublyLinkedList;
+import domain.linkedlist.List;
 import domain.linkedlist.ListException;
 import domain.service.AirportService;
 
@@ -60,9 +60,8 @@ public class PruebaPdf {
         table.addCell("Status");
 
         // Iterar sobre la lista de aeropuertos
-        DoublyLinkedList list = new DoublyLinkedList();
         AirportService airportService = new AirportService();
-        list = airportService.getAllAirports();
+        List list = airportService.getAllAirports();
 
         for (int i = 1; i <= list.size(); i++) {
             Airport a = (Airport) list.getNode(i).data;
@@ -2,9 +2,11 @@ package domain.btree;
 
 
 import domain.common.Passenger;
+import util.ComparatorRegistry;
 import util.Utility;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /* *
@@ -15,6 +17,15 @@ import java.util.List;
  * */
 public class AVL implements Tree {
     private BTreeNode root; //se refiere a la raiz del arbol
+    private Comparator<Object> comparator = ComparatorRegistry.DEFAULT; //por defecto, el registro tipado
+
+    public AVL() {
+    }
+
+    //Constructor con un comparador propio para ordenar los elementos
+    public AVL(Comparator<Object> comparator) {
+        this.comparator = comparator;
+    }
 
     @Override
     public BTreeNode getRoot() {
@@ -60,8 +71,8 @@ public class AVL implements Tree {
 
     private boolean binarySearch(BTreeNode node, Object element){
         if(node==null) return false;
-        else if(util.Utility.compare(node.data, element)==0) return true;
-        else if(util.Utility.compare(element, node.data)<0)
+        else if(comparator.compare(node.data, element)==0) return true;
+        else if(comparator.compare(element, node.data)<0)
             return binarySearch(node.left, element);
         else return binarySearch(node.right, element);
     }
@@ -74,9 +85,9 @@ public class AVL implements Tree {
     private BTreeNode add(BTreeNode node, Object element, String path){
         if(node==null)
             node = new BTreeNode(element, path);
-        else if(util.Utility.compare(element, node.data)<0)
+        else if(comparator.compare(element, node.data)<0)
             node.left = add(node.left, element, path+"/left");
-        else if(util.Utility.compare(element, node.data)>0)
+        else if(comparator.compare(element, node.data)>0)
             node.right = add(node.right, element, path+"/right");
 
         //una vez agregado el nuevo nodo, debemos determinar si se requiere rebalanceo para siga siendo BST-AVL
@@ -89,26 +100,26 @@ public class AVL implements Tree {
         int balance = getBalanceFactor(node);
 
         // Caso-1. Left Left Case
-        if (balance > 1 && util.Utility.compare(element, node.left.data)<0){
+        if (balance > 1 && comparator.compare(element, node.left.data)<0){
             node.path += "/Simple-Right-Rotate";
             return rightRotate(node);
         }
 
         // Caso-2. Right Right Case
-        if (balance < -1 && util.Utility.compare(element, node.right.data)>0){
+        if (balance < -1 && comparator.compare(element, node.right.data)>0){
             node.path += "/Simple-Left-Rotate";
             return leftRotate(node);
         }
 
         // Caso-3. Left Right Case
-        if (balance > 1 && util.Utility.compare(element, node.left.data)>0) {
+        if (balance > 1 && comparator.compare(element, node.left.data)>0) {
             node.path += "/Double-Left-Right-Rotate";
             node.left = leftRotate(node.left);
             return rightRotate(node);
         }
 
         // Caso-4. Right Left Case
-        if (balance < -1 && util.Utility.compare(element, node.right.data)<0) {
+        if (balance < -1 && comparator.compare(element, node.right.data)<0) {
             node.path += "/Double-Right-Left-Rotate";
             node.right = rightRotate(node.right);
             return leftRotate(node);
@@ -198,11 +209,11 @@ public class AVL implements Tree {
 
     private BTreeNode remove(BTreeNode node, Object element) throws TreeException{
         if(node!=null){
-            if(util.Utility.compare(element, node.data)<0)
+            if(comparator.compare(element, node.data)<0)
                 node.left = remove(node.left, element);
-            else if(util.Utility.compare(element, node.data)>0)
+            else if(comparator.compare(element, node.data)>0)
                 node.right = remove(node.right, element);
-            else if(util.Utility.compare(node.data, element)==0){
+            else if(comparator.compare(node.data, element)==0){
                 //caso 1. es un nodo si hijos, es una hoja
                 if(node.left==null && node.right==null) return null;
                     //caso 2-a. el nodo solo tien un hijo, el hijo izq
@@ -241,7 +252,7 @@ public class AVL implements Tree {
     //devuelve la altura de un nodo (el número de ancestros)
     private int height(BTreeNode node, Object element, int level){
         if(node==null) return 0;
-        else if(util.Utility.compare(node.data, element)==0) return level;
+        else if(comparator.compare(node.data, element)==0) return level;
         else return Math.max(height(node.left, element, ++level),
                     height(node.right, element, level));
     }
@@ -397,14 +408,14 @@ public class AVL implements Tree {
 
         if(node==null)
             return null;
-        else if(node.left!=null && util.Utility.compare(node.left.data, element)==0){
+        else if(node.left!=null && comparator.compare(node.left.data, element)==0){
             father = node.data;
-        } else if (node.right!=null && util.Utility.compare(node.right.data, element)==0) {
+        } else if (node.right!=null && comparator.compare(node.right.data, element)==0) {
             father = node.data;
-        }else if (util.Utility.compare(element, node.data) < 0) {
+        }else if (comparator.compare(element, node.data) < 0) {
             // Si el elemento es menor que los datos del nodo actual, buscar en el subárbol izquierdo.
             return father(node.left, element);
-        } else if (util.Utility.compare(element, node.data) > 0) {
+        } else if (comparator.compare(element, node.data) > 0) {
             // Si el elemento es mayor que los datos del nodo actual, buscar en el subárbol derecho.
             return father(node.right, element);
         } else {
@@ -431,19 +442,19 @@ public class AVL implements Tree {
         if(node==null)
             return null;
             //preguntar si no tiene hermano, que debe hacerse
-        else if(node.left!=null && util.Utility.compare(node.left.data,element)==0){
+        else if(node.left!=null && comparator.compare(node.left.data,element)==0){
             //si entra al if, nodo.izq se compara con el elemento y si es, se guarda la data de nodo.der
             if(node.right!=null)
                 brother = node.right.data;
-        } else if (node.right!=null && util.Utility.compare(node.right.data,element)==0) {
+        } else if (node.right!=null && comparator.compare(node.right.data,element)==0) {
             //sino compara el nodo.der con el elemento y si es, se guarda la data de nodo.izq
             if(node.left!=null)
                 brother = node.left.data;
-        }else if (util.Utility.compare(element, node.data) < 0) {
+        }else if (comparator.compare(element, node.data) < 0) {
             // Si el elemento es menor que los datos del nodo actual, buscar en el subárbol izquierdo.
             return brother(node.left, element);
 
-        } else if (util.Utility.compare(element, node.data) > 0) {
+        } else if (comparator.compare(element, node.data) > 0) {
             // Si el elemento es mayor que los datos del nodo actual, buscar en el subárbol derecho.
             return brother(node.right, element);
         }//guarda el nodo hermano, del nodo igual al elemento
@@ -466,17 +477,17 @@ public class AVL implements Tree {
 
         if(node==null)
             return "No existe el nodo";
-        else if(util.Utility.compare(node.data, element) == 0) {
+        else if(comparator.compare(node.data, element) == 0) {
             if (node.left!=null && node.right==null){
                 children = "" +node.left.data;
             } else if (node.left==null && node.right!=null) {
                 children = "" + node.right.data;
             }else children = node.left.data + " y " + node.right.data;
-        }else if (util.Utility.compare(element, node.data) < 0) {
+        }else if (comparator.compare(element, node.data) < 0) {
             // Si el elemento es menor que los datos del nodo actual, buscar en el subárbol izquierdo.
             return children(node.left, element);
 
-        } else if (util.Utility.compare(element, node.data) > 0) {
+        } else if (comparator.compare(element, node.data) > 0) {
             // Si el elemento es mayor que los datos del nodo actual, buscar en el subárbol derecho.
             return children(node.right, element);
         }
@@ -1,6 +1,9 @@
 package domain.btree;
 
+import util.ComparatorRegistry;
+
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /* *
@@ -10,6 +13,15 @@ import java.util.List;
  * */
 public class BST implements Tree {
     private BTreeNode root; //se refiere a la raiz del arbol
+    private Comparator<Object> comparator = ComparatorRegistry.DEFAULT; //por defecto, el registro tipado
+
+    public BST() {
+    }
+
+    //Constructor con un comparador propio para ordenar los elementos
+    public BST(Comparator<Object> comparator) {
+        this.comparator = comparator;
+    }
 
     @Override
     public BTreeNode getRoot() {
@@ -47,8 +59,8 @@ public class BST implements Tree {
 
     private boolean binarySearch(BTreeNode node, Object element){
         if(node==null) return false;
-        else if(util.Utility.compare(node.data, element)==0) return true;
-        else if(util.Utility.compare(element, node.data)<0)
+        else if(comparator.compare(node.data, element)==0) return true;
+        else if(comparator.compare(element, node.data)<0)
             return binarySearch(node.left, element);
         else return binarySearch(node.right, element);
     }
@@ -70,9 +82,9 @@ public class BST implements Tree {
     private BTreeNode add(BTreeNode node, Object element){
         if(node==null)
             node = new BTreeNode(element);
-        else if(util.Utility.compare(element, node.data)<0)
+        else if(comparator.compare(element, node.data)<0)
             node.left = add(node.left, element);
-        else if(util.Utility.compare(element, node.data)>0)
+        else if(comparator.compare(element, node.data)>0)
             node.right = add(node.right, element);
         return node;
     }
@@ -86,11 +98,11 @@ public class BST implements Tree {
 
     private BTreeNode remove(BTreeNode node, Object element) throws TreeException{
         if(node!=null){
-            if(util.Utility.compare(element, node.data)<0)
+            if(comparator.compare(element, node.data)<0)
                 node.left = remove(node.left, element);
-            else if(util.Utility.compare(element, node.data)>0)
+            else if(comparator.compare(element, node.data)>0)
                 node.right = remove(node.right, element);
-            else if(util.Utility.compare(node.data, element)==0){
+            else if(comparator.compare(node.data, element)==0){
                 //caso 1. es un nodo si hijos, es una hoja
                 if(node.left==null && node.right==null) return null;
                     //caso 2-a. el nodo solo tien un hijo, el hijo izq
@@ -128,7 +140,7 @@ public class BST implements Tree {
     //devuelve la altura de un nodo (el número de ancestros)
     private int height(BTreeNode node, Object element, int level){
         if(node==null) return 0;
-        else if(util.Utility.compare(node.data, element)==0) return level;
+        else if(comparator.compare(node.data, element)==0) return level;
         else return Math.max(height(node.left, element, ++level),
                     height(node.right, element, level));
     }
@@ -288,14 +300,14 @@ public class BST implements Tree {
 
         if(node==null)
             return null;
-        else if(node.left!=null && util.Utility.compare(node.left.data, element)==0){
+        else if(node.left!=null && comparator.compare(node.left.data, element)==0){
             father = node.data;
-        } else if (node.right!=null && util.Utility.compare(node.right.data, element)==0) {
+        } else if (node.right!=null && comparator.compare(node.right.data, element)==0) {
             father = node.data;
-        }else if (util.Utility.compare(element, node.data) < 0) {
+        }else if (comparator.compare(element, node.data) < 0) {
             // Si el elemento es menor que los datos del nodo actual, buscar en el subárbol izquierdo.
             return father(node.left, element);
-        } else if (util.Utility.compare(element, node.data) > 0) {
+        } else if (comparator.compare(element, node.data) > 0) {
             // Si el elemento es mayor que los datos del nodo actual, buscar en el subárbol derecho.
             return father(node.right, element);
         } else {
@@ -322,19 +334,19 @@ public class BST implements Tree {
         if(node==null)
             return null;
             //preguntar si no tiene hermano, que debe hacerse
-        else if(node.left!=null && util.Utility.compare(node.left.data,element)==0){
+        else if(node.left!=null && comparator.compare(node.left.data,element)==0){
             //si entra al if, nodo.izq se compara con el elemento y si es, se guarda la data de nodo.der
             if(node.right!=null)
                 brother = node.right.data;
-        } else if (node.right!=null && util.Utility.compare(node.right.data,element)==0) {
+        } else if (node.right!=null && comparator.compare(node.right.data,element)==0) {
             //sino compara el nodo.der con el elemento y si es, se guarda la data de nodo.izq
             if(node.left!=null)
                 brother = node.left.data;
-        }else if (util.Utility.compare(element, node.data) < 0) {
+        }else if (comparator.compare(element, node.data) < 0) {
             // Si el elemento es menor que los datos del nodo actual, buscar en el subárbol izquierdo.
             return brother(node.left, element);
 
-        } else if (util.Utility.compare(element, node.data) > 0) {
+        } else if (comparator.compare(element, node.data) > 0) {
             // Si el elemento es mayor que los datos del nodo actual, buscar en el subárbol derecho.
             return brother(node.right, element);
         }//guarda el nodo hermano, del nodo igual al elemento
@@ -357,7 +369,7 @@ public class BST implements Tree {
 
         if(node==null)
             return "No existe el nodo";
-        else if(util.Utility.compare(node.data, element) == 0) {
+        else if(comparator.compare(node.data, element) == 0) {
             if (node.left!=null && node.right==null){
                 children = "" +node.left.data;
             } else if (node.left==null && node.right!=null) {
@@ -365,11 +377,11 @@ public class BST implements Tree {
             }else{
                 children = node.left.data + " y " + node.right.data;
             }
-        }else if (util.Utility.compare(element, node.data) < 0) {
+        }else if (comparator.compare(element, node.data) < 0) {
             // Si el elemento es menor que los datos del nodo actual, buscar en el subárbol izquierdo.
             return children(node.left, element);
 
-        } else if (util.Utility.compare(element, node.data) > 0) {
+        } else if (comparator.compare(element, node.data) > 0) {
             // Si el elemento es mayor que los datos del nodo actual, buscar en el subárbol derecho.
             return children(node.right, element);
         }
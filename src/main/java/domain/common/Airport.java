@@ -16,6 +16,8 @@ public class Airport {
     private String name;
     private String country;
     private String status; // "active = 1" o "inactive = 0"
+    private Double latitude;  // grados decimales (null si no se conoce)
+    private Double longitude; // grados decimales (null si no se conoce)
 
     // @JsonIgnore tells Jackson to ignore this field during default serialization/deserialization
     @JsonIgnore
@@ -34,6 +36,13 @@ public class Airport {
         this.boardingQueue = new LinkedQueue();       // Initialize
     }
 
+    public Airport(int code, String name, String country, String status, double latitude, double longitude) {
+        this(code, name, country, status);
+        //se validan y asignan directo: el constructor no llama métodos que una subclase pueda sobrescribir
+        this.latitude = checkLatitude(latitude);
+        this.longitude = checkLongitude(longitude);
+    }
+
     public Airport(int code) {
         this.code = code;
         this.departuresBoard = new SinglyLinkedList(); // Initialize
@@ -75,6 +84,44 @@ public class Airport {
         this.status = status;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = checkLatitude(latitude);
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = checkLongitude(longitude);
+    }
+
+    public void setCoordinates(double latitude, double longitude) {
+        setLatitude(latitude);
+        setLongitude(longitude);
+    }
+
+    @JsonIgnore
+    public boolean hasCoordinates() {
+        return latitude != null && longitude != null;
+    }
+
+    private static Double checkLatitude(Double latitude) {
+        if (latitude != null && (latitude < -90 || latitude > 90))
+            throw new IllegalArgumentException("Latitude must be between -90 and 90 degrees");
+        return latitude;
+    }
+
+    private static Double checkLongitude(Double longitude) {
+        if (longitude != null && (longitude < -180 || longitude > 180))
+            throw new IllegalArgumentException("Longitude must be between -180 and 180 degrees");
+        return longitude;
+    }
+
     // --- Custom JSON Handling for departuresBoard (if needed) ---
     // If you need to persist departuresBoard, you'll need similar @JsonGetter/@JsonSetter
     // for SinglyLinkedList and a toList() method in SinglyLinkedList.
@@ -12,6 +12,7 @@ public class AdjacencyMatrixGraph implements Graph {
     private Object[][] adjacencyMatrix; //arreglo bidimensional
     private int n; //max de elementos
     private int counter; //contador de vertices
+    private boolean directed; //false por defecto: cada arista se guarda en ambos sentidos
 
     //para los recorridos dfs, bfs
     private LinkedStack stack;
@@ -33,6 +34,10 @@ public class AdjacencyMatrixGraph implements Graph {
         this.adjacencyMatrix = adjacencyMatrix;
     }
 
+    public boolean isDirected() {
+        return directed;
+    }
+
     public int getN() {
         return n;
     }
@@ -67,8 +72,14 @@ public class AdjacencyMatrixGraph implements Graph {
 
     //Constructor
     public AdjacencyMatrixGraph(int n) {
+        this(n, false);
+    }
+
+    //Constructor para grafos dirigidos (ej. rutas aéreas): la arista a->b no implica b->a
+    public AdjacencyMatrixGraph(int n, boolean directed) {
         if (n <= 0) System.exit(1); //sale con status==1 (error)
         this.n = n;
+        this.directed = directed;
         this.counter = 0;
         this.vertexList = new Vertex[n];
         this.adjacencyMatrix = new Object[n][n];
@@ -140,7 +151,7 @@ public class AdjacencyMatrixGraph implements Graph {
             throw new GraphException("Cannot add edge between vertexes ["+a+"]");
         adjacencyMatrix[indexOf(a)][indexOf(b)] = 1; // hay una arista
         //grafo no dirigido
-        adjacencyMatrix[indexOf(b)][indexOf(a)] = 1;
+        if (!directed) adjacencyMatrix[indexOf(b)][indexOf(a)] = 1;
     }
 
     private int indexOf(Object element){
@@ -158,7 +169,7 @@ public class AdjacencyMatrixGraph implements Graph {
 
         adjacencyMatrix[indexOf(a)][indexOf(b)] = weight; // hay una arista
         //grafo no dirigido
-        adjacencyMatrix[indexOf(b)][indexOf(a)] = weight;
+        if (!directed) adjacencyMatrix[indexOf(b)][indexOf(a)] = weight;
     }
 
     @Override
@@ -168,7 +179,7 @@ public class AdjacencyMatrixGraph implements Graph {
 
         adjacencyMatrix[indexOf(a)][indexOf(b)] = weight; // hay una arista
         //grafo no dirigido
-        adjacencyMatrix[indexOf(b)][indexOf(a)] = weight;
+        if (!directed) adjacencyMatrix[indexOf(b)][indexOf(a)] = weight;
     }
 
     @Override
@@ -213,7 +224,7 @@ public class AdjacencyMatrixGraph implements Graph {
         if (i != -1 && j != -1) {
             adjacencyMatrix[i][j] = 0; // eliminamos una arista
             //grafo no dirigido
-            adjacencyMatrix[j][i] = 0;
+            if (!directed) adjacencyMatrix[j][i] = 0;
         }
     }
 
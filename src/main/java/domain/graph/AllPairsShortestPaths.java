@@ -0,0 +1,259 @@
+package domain.graph;
+
+import domain.common.Airport;
+import domain.common.Route;
+import domain.linkedlist.ListException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tablas de caminos mínimos entre todos los pares de aeropuertos, pensadas para redes pequeñas y densas
+ * (unos cientos de aeropuertos). Se construyen a partir de un {@link AdjacencyMatrixGraph} dirigido con
+ * Floyd–Warshall por bloques, en paralelo sobre un ForkJoinPool.
+ * Cada tipo de costo (duración, distancia, precio) tiene su propio plano double[] de n*n y su tabla de
+ * "siguiente salto" para reconstruir la ruta, así que una consulta cuesta O(1) (costo) u O(largo de ruta).
+ */
+public final class AllPairsShortestPaths {
+    private static final int BLOCK_SIZE = 64; //lado del bloque: 64*64 doubles caben en caché L1/L2
+
+    private final int n;
+    private final int[] airportCodes;             //índice de la matriz -> código de aeropuerto
+    private final Map<Integer, Integer> indexByCode;
+    private final double[][] dist;                //dist[costIndex][i*n+j], POSITIVE_INFINITY si no hay ruta
+    private final int[][] next;                   //next[costIndex][i*n+j]: siguiente aeropuerto desde i hacia j (-1 = ninguno)
+    private final long computeTimeNanos;
+
+    private AllPairsShortestPaths(int n, int[] airportCodes, Map<Integer, Integer> indexByCode,
+                                  double[][] dist, int[][] next, long computeTimeNanos) {
+        this.n = n;
+        this.airportCodes = airportCodes;
+        this.indexByCode = indexByCode;
+        this.dist = dist;
+        this.next = next;
+        this.computeTimeNanos = computeTimeNanos;
+    }
+
+    /**
+     * Vuelca un snapshot de rutas en un grafo de matriz de adyacencia dirigido (índice de la matriz = id denso)
+     * y calcula sus tablas. La matriz guarda una celda por par, así que las rutas paralelas se resumen en un
+     * double[] con el mínimo de cada tipo de costo.
+     */
+    public static AllPairsShortestPaths compute(RoutingGraph snapshot, ForkJoinPool pool) throws GraphException, ListException {
+        if (snapshot.vertexCount() == 0) {
+            throw new GraphException("Airport network is empty. Please load airports and routes first.");
+        }
+        AdjacencyMatrixGraph matrixGraph = new AdjacencyMatrixGraph(snapshot.vertexCount(), true);
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            matrixGraph.addVertex(snapshot.airport(v));
+        }
+        Object[][] cells = matrixGraph.getAdjacencyMatrix();
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            for (int e = snapshot.firstEdge(v); e < snapshot.endEdge(v); e++) {
+                int target = snapshot.target(e);
+                if (!(cells[v][target] instanceof double[])) {
+                    double[] costs = new double[RoutingGraph.COST_TYPES];
+                    Arrays.fill(costs, Double.POSITIVE_INFINITY);
+                    matrixGraph.addEdgeWeight(snapshot.airport(v), snapshot.airport(target), costs);
+                }
+                double[] costs = (double[]) cells[v][target];
+                for (int c = 0; c < RoutingGraph.COST_TYPES; c++) {
+                    costs[c] = Math.min(costs[c], snapshot.weight(c, e));
+                }
+            }
+        }
+        return compute(matrixGraph, pool);
+    }
+
+    /**
+     * Calcula las tablas para los tres tipos de costo. Los vértices deben ser aeropuertos y los pesos rutas,
+     * double[] con un costo por tipo, o un número distinto de 0 que se usa igual para los tres costos.
+     */
+    public static AllPairsShortestPaths compute(AdjacencyMatrixGraph graph, ForkJoinPool pool) throws ListException {
+        long start = System.nanoTime();
+        int n = graph.size();
+        Vertex[] vertexes = graph.getVertexList();
+        Object[][] matrix = graph.getAdjacencyMatrix();
+
+        int[] codes = new int[n];
+        Map<Integer, Integer> indexByCode = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            codes[i] = ((Airport) vertexes[i].data).getCode();
+            indexByCode.put(codes[i], i);
+        }
+
+        double[][] dist = new double[RoutingGraph.COST_TYPES][n * n];
+        int[][] next = new int[RoutingGraph.COST_TYPES][n * n];
+        for (int c = 0; c < RoutingGraph.COST_TYPES; c++) {
+            Arrays.fill(dist[c], Double.POSITIVE_INFINITY);
+            Arrays.fill(next[c], -1);
+        }
+        for (int i = 0; i < n; i++) {
+            for (int c = 0; c < RoutingGraph.COST_TYPES; c++) {
+                dist[c][i * n + i] = 0.0;
+                next[c][i * n + i] = i;
+            }
+            for (int j = 0; j < n; j++) {
+                Object weight = matrix[i][j];
+                if (i == j || weight == null || (weight instanceof Number && ((Number) weight).doubleValue() == 0)) continue; //0 = sin arista
+                for (int c = 0; c < RoutingGraph.COST_TYPES; c++) {
+                    double w = weightOf(weight, c);
+                    if (w < dist[c][i * n + j]) {
+                        dist[c][i * n + j] = w;
+                        next[c][i * n + j] = j;
+                    }
+                }
+            }
+        }
+
+        for (int c = 0; c < RoutingGraph.COST_TYPES; c++) {
+            blockedFloydWarshall(dist[c], next[c], n, pool);
+        }
+        return new AllPairsShortestPaths(n, codes, indexByCode, dist, next, System.nanoTime() - start);
+    }
+
+    private static double weightOf(Object weight, int costIndex) {
+        if (weight instanceof double[]) {
+            return ((double[]) weight)[costIndex];
+        }
+        if (weight instanceof Route) {
+            Route route = (Route) weight;
+            switch (costIndex) {
+                case RoutingGraph.DURATION: return route.getDurationHours();
+                case RoutingGraph.DISTANCE: return route.getDistanceKm();
+                default: return route.getPrice();
+            }
+        }
+        return ((Number) weight).doubleValue();
+    }
+
+    /*
+     * Floyd–Warshall por bloques: para cada bloque pivote k se procesa
+     *  1) el bloque diagonal (k,k),
+     *  2) los bloques de la fila k y de la columna k (dependen solo del diagonal) en paralelo,
+     *  3) el resto de bloques (dependen de su fila y columna k) en paralelo.
+     * Dentro de una fase ninguna tarea escribe un bloque que otra lea.
+     */
+    private static void blockedFloydWarshall(double[] d, int[] next, int n, ForkJoinPool pool) {
+        int blocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int kb = 0; kb < blocks; kb++) {
+            final int k = kb;
+            updateBlock(d, next, n, k, k, k);
+
+            List<RecursiveAction> phase = new ArrayList<>();
+            for (int b = 0; b < blocks; b++) {
+                if (b == k) continue;
+                final int other = b;
+                phase.add(blockTask(d, next, n, k, other, k));
+                phase.add(blockTask(d, next, n, other, k, k));
+            }
+            runPhase(pool, phase);
+
+            phase = new ArrayList<>();
+            for (int ib = 0; ib < blocks; ib++) {
+                if (ib == k) continue;
+                for (int jb = 0; jb < blocks; jb++) {
+                    if (jb == k) continue;
+                    phase.add(blockTask(d, next, n, ib, jb, k));
+                }
+            }
+            runPhase(pool, phase);
+        }
+    }
+
+    private static RecursiveAction blockTask(double[] d, int[] next, int n, int ib, int jb, int kb) {
+        return new RecursiveAction() {
+            @Override
+            protected void compute() {
+                updateBlock(d, next, n, ib, jb, kb);
+            }
+        };
+    }
+
+    private static void runPhase(ForkJoinPool pool, List<RecursiveAction> tasks) {
+        if (tasks.isEmpty()) return;
+        if (tasks.size() == 1) { //sin sobrecosto de planificación para redes de un solo bloque
+            tasks.get(0).invoke();
+            return;
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    //Relaja el bloque (ib,jb) pasando por los vértices del bloque kb
+    private static void updateBlock(double[] d, int[] next, int n, int ib, int jb, int kb) {
+        int iEnd = Math.min(n, (ib + 1) * BLOCK_SIZE);
+        int jStart = jb * BLOCK_SIZE, jEnd = Math.min(n, (jb + 1) * BLOCK_SIZE);
+        int kEnd = Math.min(n, (kb + 1) * BLOCK_SIZE);
+        for (int k = kb * BLOCK_SIZE; k < kEnd; k++) {
+            int kRow = k * n;
+            for (int i = ib * BLOCK_SIZE; i < iEnd; i++) {
+                int iRow = i * n;
+                double dik = d[iRow + k];
+                if (dik == Double.POSITIVE_INFINITY) continue;
+                int hop = next[iRow + k];
+                for (int j = jStart; j < jEnd; j++) {
+                    double candidate = dik + d[kRow + j];
+                    if (candidate < d[iRow + j]) {
+                        d[iRow + j] = candidate;
+                        next[iRow + j] = hop;
+                    }
+                }
+            }
+        }
+    }
+
+    public boolean containsAirport(int airportCode) {
+        return indexByCode.containsKey(airportCode);
+    }
+
+    //Costo mínimo entre dos aeropuertos, o POSITIVE_INFINITY si no hay ruta o alguno no está en la tabla
+    public double cost(int originCode, int destinationCode, int costIndex) {
+        Integer i = indexByCode.get(originCode);
+        Integer j = indexByCode.get(destinationCode);
+        if (i == null || j == null) return Double.POSITIVE_INFINITY;
+        return dist[costIndex][i * n + j];
+    }
+
+    //Ruta mínima como códigos de aeropuerto, o null si no existe
+    public List<Integer> path(int originCode, int destinationCode, int costIndex) {
+        Integer i = indexByCode.get(originCode);
+        Integer j = indexByCode.get(destinationCode);
+        if (i == null || j == null || next[costIndex][i * n + j] == -1) return null;
+        int[] hops = next[costIndex];
+        List<Integer> codes = new ArrayList<>();
+        codes.add(airportCodes[i]);
+        for (int v = i; v != j; ) {
+            v = hops[v * n + j];
+            codes.add(airportCodes[v]);
+        }
+        return codes;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    public long getComputeTimeNanos() {
+        return computeTimeNanos;
+    }
+
+    public double getComputeTimeMillis() {
+        return computeTimeNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AllPairsShortestPaths [airports=%d, costTypes=%d, computeTime=%.3f ms]",
+                n, RoutingGraph.COST_TYPES, getComputeTimeMillis());
+    }
+}
@@ -0,0 +1,150 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dijkstra bidireccional punto a punto: una búsqueda hacia adelante desde el origen sobre el snapshot y otra
+ * hacia atrás desde el destino sobre su transpuesto, expandiendo siempre el lado con menor clave.
+ * Se detiene cuando minAdelante + minAtrás >= mejor costo encontrado (mu): ninguna ruta no explorada puede mejorarlo.
+ * Espacio de trabajo reutilizable, no thread-safe (igual que {@link ShortestPathSearch}).
+ */
+public class BidirectionalSearch {
+    private static final int FORWARD = 0;
+    private static final int BACKWARD = 1;
+
+    private double[][] dist;        //dist[lado][v]
+    private int[][] predecessor;    //adelante: vértice anterior; atrás: vértice siguiente hacia el destino
+    private int[][] stamp;
+    private int currentStamp;
+    private IndexedMinHeap[] heaps;
+
+    private RoutingGraph graph;
+    private int meeting = -1;       //vértice donde se unen ambas búsquedas en la mejor ruta
+    private double bestCost;
+    private int settledCount;
+
+    //Constructor
+    public BidirectionalSearch(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    private void allocate(int capacity) {
+        dist = new double[2][capacity];
+        predecessor = new int[2][capacity];
+        stamp = new int[2][capacity];
+        currentStamp = 0;
+        heaps = new IndexedMinHeap[]{new IndexedMinHeap(capacity), new IndexedMinHeap(capacity)};
+    }
+
+    private void reset(RoutingGraph graph) {
+        if (graph.vertexCount() > stamp[FORWARD].length) {
+            allocate(graph.vertexCount());
+        }
+        heaps[FORWARD].clear();
+        heaps[BACKWARD].clear();
+        if (++currentStamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamp[FORWARD], 0);
+            Arrays.fill(stamp[BACKWARD], 0);
+            currentStamp = 1;
+        }
+        this.graph = graph;
+        this.meeting = -1;
+        this.bestCost = Double.POSITIVE_INFINITY;
+        this.settledCount = 0;
+    }
+
+    private boolean isReached(int side, int v) {
+        return stamp[side][v] == currentStamp;
+    }
+
+    private void label(int side, int v, double cost, int pred) {
+        stamp[side][v] = currentStamp;
+        dist[side][v] = cost;
+        predecessor[side][v] = pred;
+    }
+
+    /**
+     * Busca la ruta mínima de 'source' a 'target' para el tipo de costo indicado.
+     * @return true si existe una ruta
+     */
+    public boolean run(RoutingGraph graph, int source, int target, int costIndex) {
+        return run(graph, source, target, costIndex, null);
+    }
+
+    //Igual que run, pero solo usa las rutas que el filtro permite (null = todas); atrás se usa su transpuesto
+    public boolean run(RoutingGraph graph, int source, int target, int costIndex, RouteFilter filter) {
+        reset(graph);
+        if (filter != null && (!RouteFilter.allowsStart(filter, graph, source) || !filter.allowsAirport(target))) {
+            return false;
+        }
+        RoutingGraph[] sides = {graph, graph.transpose()};
+        RouteFilter[] filters = {filter, filter == null ? null : filter.transposed()};
+        label(FORWARD, source, 0.0, -1);
+        label(BACKWARD, target, 0.0, -1);
+        heaps[FORWARD].insert(source, 0.0);
+        heaps[BACKWARD].insert(target, 0.0);
+        if (source == target) {
+            meeting = source;
+            bestCost = 0.0;
+            return true;
+        }
+
+        while (!heaps[FORWARD].isEmpty() && !heaps[BACKWARD].isEmpty()) {
+            double forwardMin = heaps[FORWARD].peekKey();
+            double backwardMin = heaps[BACKWARD].peekKey();
+            if (forwardMin + backwardMin >= bestCost) {
+                break; //criterio de parada: la mejor ruta encontrada ya es la mínima
+            }
+            int side = forwardMin <= backwardMin ? FORWARD : BACKWARD;
+            int other = 1 - side;
+            RoutingGraph sideGraph = sides[side];
+
+            int u = heaps[side].pollMin();
+            settledCount++;
+            double du = dist[side][u];
+            for (int e = sideGraph.firstEdge(u), end = sideGraph.endEdge(u); e < end; e++) {
+                if (filters[side] != null && !filters[side].allowsEdge(e)) continue;
+                int v = sideGraph.target(e);
+                double newCost = du + sideGraph.weight(costIndex, e);
+                if (!isReached(side, v) || newCost < dist[side][v]) {
+                    label(side, v, newCost, u);
+                    heaps[side].insertOrDecrease(v, newCost);
+                }
+                //v ya fue alcanzado desde el otro extremo: hay una ruta candidata que pasa por v
+                if (isReached(other, v) && dist[side][v] + dist[other][v] < bestCost) {
+                    bestCost = dist[side][v] + dist[other][v];
+                    meeting = v;
+                }
+            }
+        }
+        return meeting != -1;
+    }
+
+    //Costo de la última búsqueda, POSITIVE_INFINITY si no hubo ruta
+    public double getCost() {
+        return bestCost;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    //Ruta de la última búsqueda como códigos de aeropuerto, o null si no hubo ruta
+    public List<Integer> pathCodes() {
+        if (meeting == -1) {
+            return null;
+        }
+        List<Integer> codes = new ArrayList<>();
+        for (int v = meeting; v != -1; v = predecessor[FORWARD][v]) {
+            codes.add(graph.code(v));
+        }
+        Collections.reverse(codes);
+        for (int v = predecessor[BACKWARD][meeting]; v != -1; v = predecessor[BACKWARD][v]) {
+            codes.add(graph.code(v));
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,296 @@
+package domain.graph;
+
+import domain.common.Flight;
+import domain.common.Route;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Horario de vuelos para el Connection Scan Algorithm (CSA): cada vuelo pendiente es una conexión elemental
+ * (origen, destino, salida, llegada) guardada en arreglos planos ordenados por hora de salida.
+ * Una consulta de "llegada más temprana de A a B saliendo después de T" recorre esos arreglos una sola vez
+ * desde la primera salida >= T y se detiene en cuanto ninguna conexión puede mejorar la llegada al destino.
+ *
+ * Los arreglos se mantienen incrementalmente (add/update/remove al crear, modificar o completar vuelos):
+ * insertar o quitar desplaza el tramo posterior con System.arraycopy, sin reordenar todo el horario;
+ * addAll intercala cargas masivas en una sola pasada.
+ * Los horarios se guardan en minutos (epoch UTC); la llegada es la salida más la duración de la ruta.
+ * Los métodos son synchronized: el horario se comparte entre la UI y las consultas.
+ */
+public class ConnectionScanTimetable {
+    private static final int INITIAL_CAPACITY = 64;
+
+    //Conexiones ordenadas por salida: arreglos paralelos indexados por posición
+    private long[] departure = new long[INITIAL_CAPACITY];
+    private long[] arrival = new long[INITIAL_CAPACITY];
+    private int[] from = new int[INITIAL_CAPACITY];
+    private int[] to = new int[INITIAL_CAPACITY];
+    private boolean[] hasSeats = new boolean[INITIAL_CAPACITY];
+    private Flight[] flights = new Flight[INITIAL_CAPACITY];
+    private int size;
+
+    private final Map<Integer, Integer> airportIndex = new HashMap<>(); //código de aeropuerto -> id denso
+    private final Map<Integer, Long> indexedDeparture = new HashMap<>(); //número de vuelo -> salida indexada
+
+    /**
+     * Agrega el vuelo al horario si está pendiente (no completado) y tiene ruta y hora de salida.
+     * @return true si el vuelo quedó indexado
+     */
+    public synchronized boolean add(Flight flight) {
+        if (!isSchedulable(flight) || indexedDeparture.containsKey(flight.getNumber())) {
+            return false;
+        }
+        Route route = flight.getAssignedRoute();
+        long dep = toMinutes(flight.getDepartureTime());
+        ensureCapacity(size + 1);
+        int pos = upperBound(dep); //tras las salidas iguales: conserva el orden de inserción
+        int moved = size - pos;
+        System.arraycopy(departure, pos, departure, pos + 1, moved);
+        System.arraycopy(arrival, pos, arrival, pos + 1, moved);
+        System.arraycopy(from, pos, from, pos + 1, moved);
+        System.arraycopy(to, pos, to, pos + 1, moved);
+        System.arraycopy(hasSeats, pos, hasSeats, pos + 1, moved);
+        System.arraycopy(flights, pos, flights, pos + 1, moved);
+        departure[pos] = dep;
+        arrival[pos] = dep + Math.round(route.getDurationHours() * 60);
+        from[pos] = airportId(route.getOriginAirportCode());
+        to[pos] = airportId(route.getDestinationAirportCode());
+        hasSeats[pos] = flight.getOccupancy() < flight.getCapacity();
+        flights[pos] = flight;
+        size++;
+        indexedDeparture.put(flight.getNumber(), dep);
+        return true;
+    }
+
+    /**
+     * Carga masiva: ordena los vuelos nuevos por salida y los intercala con el horario en una sola pasada,
+     * en lugar de desplazar los arreglos por cada vuelo.
+     * @return cantidad de vuelos indexados
+     */
+    public synchronized int addAll(Collection<Flight> newFlights) {
+        List<Flight> batch = new ArrayList<>();
+        for (Flight flight : newFlights) {
+            if (isSchedulable(flight) && indexedDeparture.putIfAbsent(flight.getNumber(), toMinutes(flight.getDepartureTime())) == null) {
+                batch.add(flight);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batch.sort(Comparator.comparing(Flight::getDepartureTime));
+
+        int total = size + batch.size();
+        long[] newDeparture = new long[Math.max(total, INITIAL_CAPACITY)];
+        long[] newArrival = new long[newDeparture.length];
+        int[] newFrom = new int[newDeparture.length];
+        int[] newTo = new int[newDeparture.length];
+        boolean[] newHasSeats = new boolean[newDeparture.length];
+        Flight[] newFlightsArray = new Flight[newDeparture.length];
+        int i = 0, j = 0;
+        for (int k = 0; k < total; k++) {
+            long batchDeparture = j < batch.size() ? toMinutes(batch.get(j).getDepartureTime()) : Long.MAX_VALUE;
+            if (i < size && departure[i] <= batchDeparture) {
+                newDeparture[k] = departure[i];
+                newArrival[k] = arrival[i];
+                newFrom[k] = from[i];
+                newTo[k] = to[i];
+                newHasSeats[k] = hasSeats[i];
+                newFlightsArray[k] = flights[i];
+                i++;
+            } else {
+                Flight flight = batch.get(j++);
+                Route route = flight.getAssignedRoute();
+                newDeparture[k] = batchDeparture;
+                newArrival[k] = batchDeparture + Math.round(route.getDurationHours() * 60);
+                newFrom[k] = airportId(route.getOriginAirportCode());
+                newTo[k] = airportId(route.getDestinationAirportCode());
+                newHasSeats[k] = flight.getOccupancy() < flight.getCapacity();
+                newFlightsArray[k] = flight;
+            }
+        }
+        departure = newDeparture;
+        arrival = newArrival;
+        from = newFrom;
+        to = newTo;
+        hasSeats = newHasSeats;
+        flights = newFlightsArray;
+        size = total;
+        return batch.size();
+    }
+
+    //Quita el vuelo del horario. @return true si estaba indexado
+    public synchronized boolean remove(int flightNumber) {
+        Long dep = indexedDeparture.remove(flightNumber);
+        if (dep == null) {
+            return false;
+        }
+        int pos = positionOf(flightNumber, dep);
+        int moved = size - pos - 1;
+        System.arraycopy(departure, pos + 1, departure, pos, moved);
+        System.arraycopy(arrival, pos + 1, arrival, pos, moved);
+        System.arraycopy(from, pos + 1, from, pos, moved);
+        System.arraycopy(to, pos + 1, to, pos, moved);
+        System.arraycopy(hasSeats, pos + 1, hasSeats, pos, moved);
+        System.arraycopy(flights, pos + 1, flights, pos, moved);
+        flights[--size] = null;
+        return true;
+    }
+
+    /**
+     * Refleja los cambios de un vuelo (asientos, horario, ruta o estado completado).
+     * Si solo cambió la ocupación se actualiza en su lugar, sin mover el horario.
+     */
+    public synchronized void update(Flight flight) {
+        Long dep = indexedDeparture.get(flight.getNumber());
+        if (dep != null && isSchedulable(flight) && dep == toMinutes(flight.getDepartureTime())) {
+            int pos = positionOf(flight.getNumber(), dep);
+            Route route = flight.getAssignedRoute();
+            if (from[pos] == airportId(route.getOriginAirportCode()) && to[pos] == airportId(route.getDestinationAirportCode())
+                    && arrival[pos] == dep + Math.round(route.getDurationHours() * 60)) {
+                hasSeats[pos] = flight.getOccupancy() < flight.getCapacity();
+                flights[pos] = flight;
+                return;
+            }
+        }
+        remove(flight.getNumber());
+        add(flight);
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(flights, 0, size, null);
+        size = 0;
+        indexedDeparture.clear();
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean contains(int flightNumber) {
+        return indexedDeparture.containsKey(flightNumber);
+    }
+
+    /**
+     * Llegada más temprana de 'originCode' a 'destinationCode' saliendo a partir de 'after'.
+     * Solo usa vuelos con asientos libres y exige 'minConnectionMinutes' entre la llegada de un vuelo
+     * y la salida del siguiente (no aplica al primer vuelo).
+     * @return el itinerario, o null si no hay forma de llegar
+     */
+    public synchronized FlightItinerary earliestArrival(int originCode, int destinationCode, LocalDateTime after,
+                                                        int minConnectionMinutes) {
+        Integer source = airportIndex.get(originCode);
+        Integer target = airportIndex.get(destinationCode);
+        if (source == null || target == null) {
+            return null;
+        }
+        long start = toMinutes(after);
+        if (source.equals(target)) {
+            return new FlightItinerary(List.of(), after, after, 0);
+        }
+
+        int airports = airportIndex.size();
+        long[] ready = new long[airports];       //hora desde la que se puede tomar un vuelo en cada aeropuerto
+        long[] arrivedAt = new long[airports];   //llegada más temprana a cada aeropuerto
+        int[] enteredBy = new int[airports];     //conexión con la que se llegó (para reconstruir el itinerario)
+        Arrays.fill(ready, Long.MAX_VALUE);
+        Arrays.fill(arrivedAt, Long.MAX_VALUE);
+        ready[source] = start;
+
+        int scanned = 0;
+        for (int c = lowerBound(start); c < size; c++) {
+            if (departure[c] >= arrivedAt[target]) {
+                break; //ninguna conexión posterior puede llegar antes
+            }
+            scanned++;
+            if (!hasSeats[c] || ready[from[c]] > departure[c] || arrival[c] >= arrivedAt[to[c]]) {
+                continue;
+            }
+            arrivedAt[to[c]] = arrival[c];
+            enteredBy[to[c]] = c;
+            ready[to[c]] = Math.min(ready[to[c]], arrival[c] + minConnectionMinutes);
+        }
+        if (arrivedAt[target] == Long.MAX_VALUE) {
+            return null;
+        }
+
+        List<Flight> legs = new ArrayList<>();
+        int c = enteredBy[target];
+        while (true) {
+            legs.add(flights[c]);
+            if (from[c] == source) break;
+            c = enteredBy[from[c]];
+        }
+        Collections.reverse(legs);
+        return new FlightItinerary(legs, legs.get(0).getDepartureTime(), fromMinutes(arrivedAt[target]), scanned);
+    }
+
+    private static boolean isSchedulable(Flight flight) {
+        return flight != null && !flight.isCompleted() && flight.getAssignedRoute() != null && flight.getDepartureTime() != null;
+    }
+
+    private int airportId(int airportCode) {
+        return airportIndex.computeIfAbsent(airportCode, code -> airportIndex.size());
+    }
+
+    //Posición del vuelo entre las conexiones que salen en 'dep'
+    private int positionOf(int flightNumber, long dep) {
+        for (int pos = lowerBound(dep); pos < size && departure[pos] == dep; pos++) {
+            if (flights[pos].getNumber() == flightNumber) {
+                return pos;
+            }
+        }
+        throw new IllegalStateException("Flight " + flightNumber + " is indexed but not in the timetable");
+    }
+
+    //Primera posición con salida >= minutes
+    private int lowerBound(long minutes) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departure[mid] < minutes) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    //Primera posición con salida > minutes
+    private int upperBound(long minutes) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departure[mid] <= minutes) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= departure.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, departure.length * 2);
+        departure = Arrays.copyOf(departure, newCapacity);
+        arrival = Arrays.copyOf(arrival, newCapacity);
+        from = Arrays.copyOf(from, newCapacity);
+        to = Arrays.copyOf(to, newCapacity);
+        hasSeats = Arrays.copyOf(hasSeats, newCapacity);
+        flights = Arrays.copyOf(flights, newCapacity);
+    }
+
+    private static long toMinutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime fromMinutes(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+}
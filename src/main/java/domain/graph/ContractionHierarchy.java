@@ -0,0 +1,538 @@
+package domain.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jerarquía de contracción (contraction hierarchy) de un snapshot para un tipo de costo.
+ * Preprocesamiento: los aeropuertos se "contraen" uno a uno en orden de importancia; al contraer v se agrega
+ * un atajo u->w (costo u->v->w) cuando una búsqueda de testigos no encuentra un camino igual o mejor sin v.
+ * Consulta: Dijkstra bidireccional que solo sube de rango (origen hacia adelante, destino hacia atrás),
+ * por lo que explora unos pocos cientos de vértices incluso en redes grandes. Los atajos se desempacan al final.
+ * El resultado es inmutable y se puede consultar desde varios hilos.
+ */
+public final class ContractionHierarchy {
+    //Límites de la búsqueda de testigos: si se corta antes se agregan atajos de más, pero el resultado sigue siendo exacto
+    private static final int MAX_WITNESS_SETTLED = 500;
+    private static final int MAX_SIMULATION_SETTLED = 50; //al estimar prioridades basta una búsqueda corta
+    private static final int MAX_UPDATE_DEGREE = 24;      //grado máximo para recalcular la prioridad de un vecino
+
+    //Espacio de trabajo de consulta por hilo
+    private static final ThreadLocal<QueryWorkspace> WORKSPACE = ThreadLocal.withInitial(() -> new QueryWorkspace(1));
+
+    private final RoutingGraph graph;
+    private final int costIndex;
+    private final int[] rank;             //rank[v]: posición de v en el orden de contracción
+    private final int[] upOffsets;        //arcos u->w hacia vértices de mayor rango, guardados en u (búsqueda hacia adelante)
+    private final int[] upTargets;
+    private final double[] upCosts;
+    private final int[] upMiddles;        //vértice intermedio del atajo, -1 si es una ruta original
+    private final int[] downOffsets;      //arcos u->w desde vértices de mayor rango, guardados invertidos en w (búsqueda hacia atrás)
+    private final int[] downTargets;
+    private final double[] downCosts;
+    private final int[] downMiddles;
+    private final int shortcutCount;
+    private final long preprocessingTimeNanos;
+    private final boolean reusedOrder;
+
+    private ContractionHierarchy(Builder builder, long preprocessingTimeNanos, boolean reusedOrder) {
+        this.graph = builder.graph;
+        this.costIndex = builder.costIndex;
+        this.rank = builder.rank;
+        this.shortcutCount = builder.shortcutCount;
+        this.preprocessingTimeNanos = preprocessingTimeNanos;
+        this.reusedOrder = reusedOrder;
+
+        int n = graph.vertexCount();
+        this.upOffsets = new int[n + 1];
+        this.downOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (Arc arc : builder.arcs.get(u)) {
+                if (rank[u] < rank[arc.to]) upOffsets[u + 1]++;
+                else downOffsets[arc.to + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            upOffsets[v + 1] += upOffsets[v];
+            downOffsets[v + 1] += downOffsets[v];
+        }
+        this.upTargets = new int[upOffsets[n]];
+        this.upCosts = new double[upOffsets[n]];
+        this.upMiddles = new int[upOffsets[n]];
+        this.downTargets = new int[downOffsets[n]];
+        this.downCosts = new double[downOffsets[n]];
+        this.downMiddles = new int[downOffsets[n]];
+        int[] upNext = Arrays.copyOf(upOffsets, n);
+        int[] downNext = Arrays.copyOf(downOffsets, n);
+        for (int u = 0; u < n; u++) {
+            for (Arc arc : builder.arcs.get(u)) {
+                if (rank[u] < rank[arc.to]) {
+                    int e = upNext[u]++;
+                    upTargets[e] = arc.to;
+                    upCosts[e] = arc.cost;
+                    upMiddles[e] = arc.middle;
+                } else {
+                    int e = downNext[arc.to]++;
+                    downTargets[e] = u;
+                    downCosts[e] = arc.cost;
+                    downMiddles[e] = arc.middle;
+                }
+            }
+        }
+    }
+
+    /**
+     * Preprocesa el snapshot calculando el orden de contracción (diferencia de aristas + vecinos contraídos,
+     * con actualización perezosa de prioridades).
+     */
+    public static ContractionHierarchy build(RoutingGraph graph, int costIndex) {
+        long start = System.nanoTime();
+        Builder builder = new Builder(graph, costIndex);
+        builder.contractByPriority();
+        return new ContractionHierarchy(builder, System.nanoTime() - start, false);
+    }
+
+    /**
+     * Re-preprocesamiento incremental tras agregar o eliminar rutas: reutiliza el orden de contracción de la
+     * jerarquía anterior (los aeropuertos nuevos se contraen primero) y solo vuelve a calcular los atajos.
+     * Se evita la parte más cara, el cálculo de prioridades; el resultado sigue siendo exacto.
+     */
+    public static ContractionHierarchy rebuild(RoutingGraph graph, ContractionHierarchy previous) {
+        long start = System.nanoTime();
+        Builder builder = new Builder(graph, previous.costIndex);
+        int n = graph.vertexCount();
+        Integer[] order = new Integer[n];
+        int[] previousRank = new int[n];
+        for (int v = 0; v < n; v++) {
+            order[v] = v;
+            int old = previous.graph.idOf(graph.code(v));
+            previousRank[v] = old == -1 ? -1 : previous.rank[old];
+        }
+        Arrays.sort(order, Comparator.comparingInt(v -> previousRank[v]));
+        builder.contractInOrder(order);
+        return new ContractionHierarchy(builder, System.nanoTime() - start, true);
+    }
+
+    /**
+     * Ruta mínima entre dos ids densos del snapshot. Las búsquedas hacia adelante y hacia atrás se alternan
+     * y cada una se detiene cuando su menor clave ya no puede mejorar la mejor ruta encontrada.
+     * Con "stall-on-demand" no se expanden vértices a los que se llega más barato bajando desde un vértice
+     * de mayor rango: su etiqueta no puede formar parte de la ruta mínima.
+     */
+    public RouteSearchResult route(int source, int target) {
+        QueryWorkspace ws = WORKSPACE.get();
+        int meeting = search(ws, source, target);
+        if (meeting == -1) {
+            return new RouteSearchResult(null, Double.POSITIVE_INFINITY, ws.settled, "contraction-hierarchy");
+        }
+        //arcos de la jerarquía desde el origen hasta meeting, y desde meeting hasta el destino
+        List<Integer> forwardEdges = new ArrayList<>();
+        for (int v = meeting; ws.predecessorEdge[0][v] != -1; ) {
+            int e = ws.predecessorEdge[0][v];
+            forwardEdges.add(e);
+            v = upSource(e);
+        }
+        Collections.reverse(forwardEdges);
+
+        List<Integer> codes = new ArrayList<>();
+        codes.add(graph.code(source));
+        for (int e : forwardEdges) {
+            unpack(upSource(e), upTargets[e], upMiddles[e], codes);
+        }
+        for (int v = meeting; ws.predecessorEdge[1][v] != -1; ) {
+            int e = ws.predecessorEdge[1][v];
+            int next = downSource(e); //arco original v->next guardado invertido en 'next'
+            unpack(v, next, downMiddles[e], codes);
+            v = next;
+        }
+        return new RouteSearchResult(codes, ws.best, ws.settled, "contraction-hierarchy");
+    }
+
+    //Solo el costo mínimo (sin reconstruir la ruta), POSITIVE_INFINITY si no hay ruta
+    public double cost(int source, int target) {
+        QueryWorkspace ws = WORKSPACE.get();
+        search(ws, source, target);
+        return ws.best;
+    }
+
+    //Búsqueda bidireccional ascendente; deja costo y estadísticas en el workspace y devuelve el vértice de encuentro
+    private int search(QueryWorkspace ws, int source, int target) {
+        ws.reset(graph.vertexCount());
+        ws.label(0, source, 0.0, -1);
+        ws.label(1, target, 0.0, -1);
+        ws.heaps[0].insert(source, 0.0);
+        ws.heaps[1].insert(target, 0.0);
+        double best = source == target ? 0.0 : Double.POSITIVE_INFINITY;
+        int meeting = source == target ? source : -1;
+        int settled = 0;
+
+        while (true) {
+            boolean forwardActive = !ws.heaps[0].isEmpty() && ws.heaps[0].peekKey() < best;
+            boolean backwardActive = !ws.heaps[1].isEmpty() && ws.heaps[1].peekKey() < best;
+            if (!forwardActive && !backwardActive) break;
+            int side = forwardActive && (!backwardActive || ws.heaps[0].peekKey() <= ws.heaps[1].peekKey()) ? 0 : 1;
+            //aristas para expandir y aristas "opuestas" para detectar vértices estancados
+            int[] offsets = side == 0 ? upOffsets : downOffsets;
+            int[] targets = side == 0 ? upTargets : downTargets;
+            double[] costs = side == 0 ? upCosts : downCosts;
+            int[] stallOffsets = side == 0 ? downOffsets : upOffsets;
+            int[] stallTargets = side == 0 ? downTargets : upTargets;
+            double[] stallCosts = side == 0 ? downCosts : upCosts;
+
+            int u = ws.heaps[side].pollMin();
+            settled++;
+            double du = ws.dist[side][u];
+            if (ws.isReached(1 - side, u) && du + ws.dist[1 - side][u] < best) {
+                best = du + ws.dist[1 - side][u];
+                meeting = u;
+            }
+            boolean stalled = false;
+            for (int e = stallOffsets[u]; e < stallOffsets[u + 1] && !stalled; e++) {
+                int x = stallTargets[e];
+                stalled = ws.isReached(side, x) && ws.dist[side][x] + stallCosts[e] < du;
+            }
+            if (stalled) continue;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                double newCost = du + costs[e];
+                if (!ws.isReached(side, v) || newCost < ws.dist[side][v]) {
+                    ws.label(side, v, newCost, e);
+                    ws.heaps[side].insertOrDecrease(v, newCost);
+                }
+            }
+        }
+        ws.best = best;
+        ws.settled = settled;
+        return meeting;
+    }
+
+    //Vértice donde está guardado el arco 'up' e (su origen)
+    private int upSource(int e) {
+        return owner(upOffsets, e);
+    }
+
+    //Vértice donde está guardado el arco 'down' e (el destino del arco original)
+    private int downSource(int e) {
+        return owner(downOffsets, e);
+    }
+
+    //Búsqueda binaria del vértice cuyo rango [offsets[v], offsets[v+1]) contiene e
+    private static int owner(int[] offsets, int e) {
+        int low = 0, high = offsets.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= e) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    /*
+     * Desempaca el arco u->w (con vértice intermedio 'middle') agregando los códigos después de u.
+     * Si el arco es un atajo por m, m tiene menor rango que u y w: el arco u->m está entre los 'down' de m
+     * y el arco m->w entre los 'up' de m.
+     */
+    private void unpack(int u, int w, int middle, List<Integer> codes) {
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{u, w, middle});
+        while (!stack.isEmpty()) {
+            int[] arc = stack.pop();
+            int m = arc[2];
+            if (m == -1) {
+                codes.add(graph.code(arc[1]));
+                continue;
+            }
+            int firstMiddle = -1, secondMiddle = -1;
+            for (int e = downOffsets[m]; e < downOffsets[m + 1]; e++) {
+                if (downTargets[e] == arc[0]) firstMiddle = downMiddles[e];
+            }
+            for (int e = upOffsets[m]; e < upOffsets[m + 1]; e++) {
+                if (upTargets[e] == arc[1]) secondMiddle = upMiddles[e];
+            }
+            stack.push(new int[]{m, arc[1], secondMiddle}); //se procesa después
+            stack.push(new int[]{arc[0], m, firstMiddle});
+        }
+    }
+
+    public RoutingGraph getGraph() {
+        return graph;
+    }
+
+    public int getCostIndex() {
+        return costIndex;
+    }
+
+    public int getShortcutCount() {
+        return shortcutCount;
+    }
+
+    public long getPreprocessingTimeNanos() {
+        return preprocessingTimeNanos;
+    }
+
+    public double getPreprocessingTimeMillis() {
+        return preprocessingTimeNanos / 1_000_000.0;
+    }
+
+    public boolean isReusedOrder() {
+        return reusedOrder;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ContractionHierarchy [costIndex=%d, airports=%d, routes=%d, shortcuts=%d, preprocessing=%.3f ms%s]",
+                costIndex, graph.vertexCount(), graph.edgeCount(), shortcutCount, getPreprocessingTimeMillis(),
+                reusedOrder ? ", reused order" : "");
+    }
+
+    //Arista del grafo de trabajo (original o atajo)
+    private static final class Arc {
+        private final int to;
+        private double cost;
+        private int middle; //-1 si es una ruta original
+
+        Arc(int to, double cost, int middle) {
+            this.to = to;
+            this.cost = cost;
+            this.middle = middle;
+        }
+    }
+
+    //Estado mutable del preprocesamiento
+    private static final class Builder {
+        private final RoutingGraph graph;
+        private final int costIndex;
+        private final int n;
+        private final List<List<Arc>> arcs = new ArrayList<>();       //todos los arcos (originales y atajos) por origen
+        private final List<Map<Integer, Arc>> out = new ArrayList<>(); //arcos salientes entre vértices aún no contraídos
+        private final List<Map<Integer, Arc>> in = new ArrayList<>();  //arcos entrantes entre vértices aún no contraídos
+        private final boolean[] contracted;
+        private final int[] contractedNeighbors;
+        private final int[] level;          //profundidad en la jerarquía: favorece contraer de manera uniforme
+        private final int[] rank;
+        private int shortcutCount;
+
+        //búsqueda de testigos
+        private final double[] witnessDist;
+        private final int[] witnessStamp;
+        private final int[] targetStamp;    //targetStamp[w] == currentStamp si w es un destino de la búsqueda actual
+        private int currentStamp;
+        private final IndexedMinHeap witnessHeap;
+
+        Builder(RoutingGraph graph, int costIndex) {
+            this.graph = graph;
+            this.costIndex = costIndex;
+            this.n = graph.vertexCount();
+            this.contracted = new boolean[n];
+            this.contractedNeighbors = new int[n];
+            this.level = new int[n];
+            this.rank = new int[n];
+            this.witnessDist = new double[n];
+            this.witnessStamp = new int[n];
+            this.targetStamp = new int[n];
+            this.witnessHeap = new IndexedMinHeap(Math.max(1, n));
+            for (int v = 0; v < n; v++) {
+                arcs.add(new ArrayList<>());
+                out.add(new HashMap<>());
+                in.add(new HashMap<>());
+            }
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.firstEdge(u); e < graph.endEdge(u); e++) {
+                    int w = graph.target(e);
+                    if (u != w) addArc(u, w, graph.weight(costIndex, e), -1);
+                }
+            }
+        }
+
+        //Agrega o mejora el arco u->w; devuelve true si cambió algo
+        private boolean addArc(int u, int w, double cost, int middle) {
+            Arc arc = out.get(u).get(w);
+            if (arc == null) {
+                arc = new Arc(w, cost, middle);
+                arcs.get(u).add(arc);
+                out.get(u).put(w, arc);
+                in.get(w).put(u, arc);
+                return true;
+            }
+            if (cost < arc.cost) {
+                arc.cost = cost;
+                arc.middle = middle;
+                return true;
+            }
+            return false;
+        }
+
+        void contractByPriority() {
+            IndexedMinHeap queue = new IndexedMinHeap(Math.max(1, n));
+            for (int v = 0; v < n; v++) queue.insert(v, priority(v));
+            int nextRank = 0;
+            List<Integer> neighbors = new ArrayList<>();
+            while (!queue.isEmpty()) {
+                int v = queue.pollMin();
+                double updated = priority(v); //actualización perezosa: la prioridad pudo subir
+                if (!queue.isEmpty() && updated > queue.peekKey()) {
+                    queue.insert(v, updated);
+                    continue;
+                }
+                neighbors.clear();
+                neighbors.addAll(in.get(v).keySet());
+                neighbors.addAll(out.get(v).keySet());
+                contract(v, false);
+                rank[v] = nextRank++;
+                //los vecinos cambian de grado: se actualizan las prioridades que bajaron. En la parte alta de la
+                //jerarquía los grados crecen mucho y ahí basta la actualización perezosa
+                for (int neighbor : neighbors) {
+                    if (queue.contains(neighbor) && in.get(neighbor).size() + out.get(neighbor).size() <= MAX_UPDATE_DEGREE) {
+                        queue.insertOrDecrease(neighbor, priority(neighbor));
+                    }
+                }
+            }
+        }
+
+        void contractInOrder(Integer[] order) {
+            for (int r = 0; r < order.length; r++) {
+                contract(order[r], false);
+                rank[order[r]] = r;
+            }
+        }
+
+        private double priority(int v) {
+            int degree = in.get(v).size() + out.get(v).size();
+            return 2.0 * (contract(v, true) - degree) + contractedNeighbors[v] + level[v];
+        }
+
+        //Contrae v (o solo cuenta los atajos necesarios si 'simulate')
+        private int contract(int v, boolean simulate) {
+            int shortcuts = 0;
+            double maxOut = 0;
+            for (Arc arc : out.get(v).values()) {
+                maxOut = Math.max(maxOut, arc.cost);
+            }
+            List<Map.Entry<Integer, Arc>> incoming = new ArrayList<>(in.get(v).entrySet());
+            for (Map.Entry<Integer, Arc> entry : incoming) {
+                int u = entry.getKey();
+                double toV = entry.getValue().cost;
+                witnessSearch(u, v, toV + maxOut, simulate ? MAX_SIMULATION_SETTLED : MAX_WITNESS_SETTLED);
+                for (Arc arc : out.get(v).values()) { //addArc(u, w) no modifica los arcos salientes de v
+                    int w = arc.to;
+                    if (w == u) continue;
+                    double viaV = toV + arc.cost;
+                    boolean hasWitness = witnessStamp[w] == currentStamp && witnessDist[w] <= viaV;
+                    if (!hasWitness) {
+                        shortcuts++;
+                        if (!simulate && addArc(u, w, viaV, v)) shortcutCount++;
+                    }
+                }
+            }
+            if (!simulate) {
+                contracted[v] = true;
+                //v sale del grafo de trabajo (sus arcos quedan en 'arcs')
+                for (int u : in.get(v).keySet()) {
+                    out.get(u).remove(v);
+                    contractedNeighbors[u]++;
+                    level[u] = Math.max(level[u], level[v] + 1);
+                }
+                for (int w : out.get(v).keySet()) {
+                    in.get(w).remove(v);
+                    contractedNeighbors[w]++;
+                    level[w] = Math.max(level[w], level[v] + 1);
+                }
+                in.get(v).clear();
+                out.get(v).clear();
+            }
+            return shortcuts;
+        }
+
+        /*
+         * Dijkstra acotado desde u sobre el grafo de trabajo, sin pasar por 'excluded' (el vértice a contraer).
+         * Termina al superar el costo límite, al agotar 'maxSettled' o cuando todos los vecinos salientes
+         * de 'excluded' ya tienen su costo definitivo.
+         */
+        private void witnessSearch(int u, int excluded, double limit, int maxSettled) {
+            if (++currentStamp == Integer.MAX_VALUE) {
+                Arrays.fill(witnessStamp, 0);
+                Arrays.fill(targetStamp, 0);
+                currentStamp = 1;
+            }
+            int pendingTargets = 0;
+            for (int w : out.get(excluded).keySet()) {
+                if (w != u) {
+                    targetStamp[w] = currentStamp;
+                    pendingTargets++;
+                }
+            }
+            witnessHeap.clear();
+            witnessStamp[u] = currentStamp;
+            witnessDist[u] = 0.0;
+            witnessHeap.insert(u, 0.0);
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && pendingTargets > 0 && settled++ < maxSettled) {
+                int x = witnessHeap.pollMin();
+                double dx = witnessDist[x];
+                if (dx > limit) break;
+                if (targetStamp[x] == currentStamp) pendingTargets--;
+                for (Arc arc : out.get(x).values()) {
+                    int y = arc.to;
+                    if (y == excluded) continue;
+                    double newCost = dx + arc.cost;
+                    if (witnessStamp[y] != currentStamp || newCost < witnessDist[y]) {
+                        witnessStamp[y] = currentStamp;
+                        witnessDist[y] = newCost;
+                        witnessHeap.insertOrDecrease(y, newCost);
+                    }
+                }
+            }
+        }
+    }
+
+    //Arreglos de la búsqueda bidireccional, reutilizados entre consultas del mismo hilo
+    private static final class QueryWorkspace {
+        private double[][] dist;
+        private int[][] predecessorEdge; //arco de la jerarquía por el que se llegó (-1 = ninguno)
+        private int[][] stamp;
+        private int currentStamp;
+        private IndexedMinHeap[] heaps;
+        private double best;   //costo de la última búsqueda
+        private int settled;   //vértices extraídos en la última búsqueda
+
+        QueryWorkspace(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            dist = new double[2][capacity];
+            predecessorEdge = new int[2][capacity];
+            stamp = new int[2][capacity];
+            currentStamp = 0;
+            heaps = new IndexedMinHeap[]{new IndexedMinHeap(capacity), new IndexedMinHeap(capacity)};
+        }
+
+        void reset(int vertexCount) {
+            if (vertexCount > stamp[0].length) allocate(vertexCount);
+            heaps[0].clear();
+            heaps[1].clear();
+            if (++currentStamp == Integer.MAX_VALUE) {
+                Arrays.fill(stamp[0], 0);
+                Arrays.fill(stamp[1], 0);
+                currentStamp = 1;
+            }
+        }
+
+        boolean isReached(int side, int v) {
+            return stamp[side][v] == currentStamp;
+        }
+
+        void label(int side, int v, double cost, int edge) {
+            stamp[side][v] = currentStamp;
+            dist[side][v] = cost;
+            predecessorEdge[side][v] = edge;
+        }
+    }
+}
@@ -8,16 +8,36 @@ import domain.linkedqueue.LinkedQueue;
 import domain.linkedqueue.QueueException;
 import domain.linkedstack.LinkedStack;
 import domain.linkedstack.StackException;
+import util.ComparatorRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 public class DirectedSinglyLinkedListGraph implements Graph {
     private SinglyLinkedList vertexList; //lista enlazada de vértices
 
+    //Índices hash que acompañan a las listas enlazadas: vuelven O(1) (esperado) las búsquedas
+    //de vértices y aristas. Solo se mantienen al día si el grafo se modifica por sus métodos
+    private Map<Object, Vertex> vertexIndex; //dato del vértice -> vértice
+    //Entre el mismo par puede haber varias aristas (una por ruta), así que cada vecino guarda una lista
+    private Map<Object, Map<Object, List<EdgeWeight>>> neighborIndex; //dato del vértice -> (vecino -> aristas)
+    private Map<Object, Map<Object, List<EdgeWeight>>> incomingIndex; //índice inverso: destino -> (origen -> aristas origen->destino)
+
+    //Las listas de aristas de este grafo buscan por instancia: las bajas usan la arista exacta del índice,
+    //no la primera con el mismo destino
+    private static final Comparator<Object> SAME_EDGE = (x, y) -> x == y ? 0 : ComparatorRegistry.NOT_COMPARABLE;
+
     public SinglyLinkedList getVertexList() {
         return vertexList;
     }
 
-    public void setVertexList(SinglyLinkedList vertexList) {
+    public void setVertexList(SinglyLinkedList vertexList) throws ListException {
         this.vertexList = vertexList;
+        rebuildIndex();
     }
 
     //para los recorridos dfs, bfs
@@ -27,10 +47,43 @@ public class DirectedSinglyLinkedListGraph implements Graph {
     //Constructor
     public DirectedSinglyLinkedListGraph() {
         this.vertexList = new SinglyLinkedList();
+        this.vertexIndex = new HashMap<>();
+        this.neighborIndex = new HashMap<>();
+        this.incomingIndex = new HashMap<>();
         this.stack = new LinkedStack();
         this.queue = new LinkedQueue();
     }
 
+    //Reconstruye los índices hash a partir de las listas enlazadas
+    private void rebuildIndex() throws ListException {
+        vertexIndex.clear();
+        neighborIndex.clear();
+        incomingIndex.clear();
+        if (vertexList == null || vertexList.isEmpty()) return;
+        for (Object obj : vertexList.toList()) {
+            Vertex vertex = (Vertex) obj;
+            vertexIndex.putIfAbsent(vertex.data, vertex);
+            incomingIndex.computeIfAbsent(vertex.data, k -> new HashMap<>());
+            neighborIndex.computeIfAbsent(vertex.data, k -> new HashMap<>());
+            SinglyLinkedList edges = new SinglyLinkedList(SAME_EDGE);
+            if (vertex.edgesList != null && !vertex.edgesList.isEmpty()) {
+                for (Object edge : vertex.edgesList.toList()) {
+                    edges.add(edge);
+                    index(vertex.data, (EdgeWeight) edge);
+                }
+            }
+            vertex.edgesList = edges;
+        }
+    }
+
+    //Registra la arista a -> edge.getEdge() en los dos índices
+    private void index(Object a, EdgeWeight edge) {
+        neighborIndex.computeIfAbsent(a, k -> new HashMap<>())
+                .computeIfAbsent(edge.getEdge(), k -> new ArrayList<>(1)).add(edge);
+        incomingIndex.computeIfAbsent(edge.getEdge(), k -> new HashMap<>())
+                .computeIfAbsent(a, k -> new ArrayList<>(1)).add(edge);
+    }
+
     @Override
     public int size() throws ListException {
         return vertexList.size();
@@ -39,6 +92,9 @@ public class DirectedSinglyLinkedListGraph implements Graph {
     @Override
     public void clear() {
         vertexList.clear();
+        vertexIndex.clear();
+        neighborIndex.clear();
+        incomingIndex.clear();
     }
 
     @Override
@@ -50,44 +106,36 @@ public class DirectedSinglyLinkedListGraph implements Graph {
     public boolean containsVertex(Object element) throws GraphException, ListException {
         if(isEmpty())
             throw new GraphException("Directed Singly Linked List Graph is Empty");
-        return indexOf(element)!=-1;
+        return vertexIndex.containsKey(element);
     }
 
     @Override
     public boolean containsEdge(Object a, Object b) throws GraphException, ListException {
         if(isEmpty())
             throw new GraphException("Directed Singly Linked List Graph is Empty");
-        int index = indexOf(a); //buscamos el índice del elemento en la lista enlazada
-        if(index ==-1) return false;
-        Vertex vertex = (Vertex) vertexList.getNode(index).data;
-        return vertex!=null && !vertex.edgesList.isEmpty()
-                && vertex.edgesList.contains(new EdgeWeight(b, null));
+        Map<Object, List<EdgeWeight>> neighbors = neighborIndex.get(a);
+        return neighbors != null && neighbors.containsKey(b);
     }
 
     @Override
     public void addVertex(Object element) throws GraphException, ListException {
-        if(vertexList.isEmpty())
-            vertexList.add(new Vertex(element)); //agrego un nuevo objeto vertice
-        else if(!vertexList.contains(element))
-            vertexList.add(new Vertex(element));
+        if(!vertexIndex.containsKey(element)) {
+            Vertex vertex = new Vertex(element);
+            vertex.edgesList = new SinglyLinkedList(SAME_EDGE);
+            vertexList.add(vertex); //agrego un nuevo objeto vertice
+            vertexIndex.put(element, vertex);
+            neighborIndex.put(element, new HashMap<>());
+            incomingIndex.put(element, new HashMap<>());
+        }
     }
 
     @Override
     public void addEdge(Object a, Object b) throws GraphException, ListException {
         if(!containsVertex(a)||!containsVertex(b))
             throw new GraphException("Cannot add edge between vertexes ["+a+"] y ["+b+"]");
-        addRemoveVertexEdgeWeight(a, b, null, "addEdge"); //agrego la arista
-
-    }
-
-    private int indexOf(Object element) throws ListException {
-        for(int i=1;i<=vertexList.size();i++){
-            Vertex vertex = (Vertex)vertexList.getNode(i).data;
-            if(util.Utility.compare(vertex.data, element)==0){
-                return i; //encontro el vertice
-            }
-        }//for
-        return -1; //significa q la data de todos los vertices no coinciden con element
+        if(!containsEdge(a, b)) {
+            addRemoveVertexEdgeWeight(a, b, null, "addEdge"); //agrego la arista
+        }
     }
 
     @Override
@@ -98,14 +146,12 @@ public class DirectedSinglyLinkedListGraph implements Graph {
 
     }
 
+    //Siempre agrega una arista nueva: cada ruta entre el mismo par de aeropuertos es su propia arista
     @Override
     public void addEdgeWeight(Object a, Object b, Object weight) throws GraphException, ListException {
         if(!containsVertex(a)||!containsVertex(b))
             throw new GraphException("Cannot add edge between vertexes ["+a+"] y ["+b+"]");
-        if(!containsEdge(a, b)) {
-            addRemoveVertexEdgeWeight(a, b, weight, "addEdge"); //agrego la arista
-        }
-
+        addRemoveVertexEdgeWeight(a, b, weight, "addEdge"); //agrego la arista
     }
 
     @Override
@@ -114,43 +160,34 @@ public class DirectedSinglyLinkedListGraph implements Graph {
             throw new GraphException("Directed Singly Linked List Graph is Empty");
         }
 
-        // 1. Encuentra el índice del vértice a eliminar
-        int vertexIndexToRemove = -1;
-        for (int i = 1; i <= vertexList.size(); i++) {
-            Vertex currentVertex = (Vertex) vertexList.getNode(i).data;
-            if (util.Utility.compare(currentVertex.data, element) == 0) {
-                vertexIndexToRemove = i;
-                break; // Salimos del bucle una vez que encontramos el vértice
-            }
-        }
-
-        if (vertexIndexToRemove == -1) {
+        // 1. Busca el vértice en el índice
+        Vertex vertexToRemove = vertexIndex.get(element);
+        if (vertexToRemove == null) {
             throw new GraphException("Vertex " + element + " does not exist in the graph.");
         }
 
-        vertexList.remove(vertexIndexToRemove); // Elimina el nodo en la posición exacta
-
-        SinglyLinkedList updatedVertexList = new SinglyLinkedList(); // Usamos una lista temporal para construir el grafo actualizado
+        // 2. Lo desenlaza de la lista de vértices y de los índices
+        vertexList.remove(vertexToRemove);
+        vertexIndex.remove(element);
+        Map<Object, List<EdgeWeight>> outgoing = neighborIndex.remove(element);
+        Map<Object, List<EdgeWeight>> incoming = incomingIndex.remove(element);
 
-        for (int i = 1; i <= vertexList.size(); i++) {
-            Vertex currentSourceVertex = (Vertex) vertexList.getNode(i).data;
+        // 3. Sus aristas salientes dejan de ser entrantes de sus vecinos
+        for (Object target : outgoing.keySet()) {
+            Map<Object, List<EdgeWeight>> targetIncoming = incomingIndex.get(target);
+            if (targetIncoming != null) targetIncoming.remove(element);
+        }
 
-            if (currentSourceVertex.edgesList != null && !currentSourceVertex.edgesList.isEmpty()) {
-                SinglyLinkedList newEdgesListForCurrentSource = new SinglyLinkedList();
-                for (int j = 1; j <= currentSourceVertex.edgesList.size(); j++) {
-                    EdgeWeight ew = (EdgeWeight) currentSourceVertex.edgesList.getNode(j).data;
-                    // Si la arista NO apunta al 'element' que acabamos de eliminar, la mantenemos
-                    if (util.Utility.compare(ew.getEdge(), element) != 0) {
-                        newEdgesListForCurrentSource.add(ew); // Añade la arista válida a la nueva lista
-                    }
-                }
-                currentSourceVertex.edgesList = newEdgesListForCurrentSource;
-            }
-            updatedVertexList.add(currentSourceVertex);
+        // 4. Elimina las aristas que apuntaban al vértice: O(grado de entrada) gracias al índice inverso
+        for (Map.Entry<Object, List<EdgeWeight>> entry : incoming.entrySet()) {
+            Vertex source = vertexIndex.get(entry.getKey());
+            if (source == null) continue; //lazo del propio vértice eliminado
+            neighborIndex.get(source.data).remove(element);
+            for (EdgeWeight edge : entry.getValue()) source.edgesList.remove(edge);
         }
-        this.vertexList = updatedVertexList;
     }
 
+    //Elimina todas las aristas entre a y b
     @Override
     public void removeEdge(Object a, Object b) throws GraphException, ListException {
         if(!containsVertex(a)||!containsVertex(b))
@@ -158,24 +195,87 @@ public class DirectedSinglyLinkedListGraph implements Graph {
         addRemoveVertexEdgeWeight(a, b, null, "remove"); //suprimo la arista
     }
 
+    /**
+     * Elimina solo la arista entre a y b cuyo peso es igual (equals) a 'weight', por ejemplo una ruta concreta,
+     * sin tocar las demás aristas del mismo par.
+     */
+    public void removeEdgeWeight(Object a, Object b, Object weight) throws GraphException, ListException {
+        if(!containsVertex(a)||!containsVertex(b))
+            throw new GraphException("There's no some of the vertexes");
+        addRemoveVertexEdgeWeight(a, b, weight, "removeWeight"); //suprimo la arista de ese peso
+    }
+
     private void addRemoveVertexEdgeWeight(Object a, Object b, Object weight, String action) throws ListException{
-        for (int i = 1; i <= vertexList.size(); i++) {
-            Vertex vertex = (Vertex) vertexList.getNode(i).data;
-            if(util.Utility.compare(vertex.data, a)==0){
-                switch(action){
-                    case "addEdge":
-                        vertex.edgesList.add(new EdgeWeight(b, weight));
-                        break;
-                    case "addWeight":
-                        vertex.edgesList.getNode(new EdgeWeight(b, weight))
-                                .setData(new EdgeWeight(b, weight));
-                        break;
-                    case "remove":
-                        if(vertex.edgesList!=null&&!vertex.edgesList.isEmpty())
-                            vertex.edgesList.remove(new EdgeWeight(b, weight));
+        Vertex vertex = vertexIndex.get(a);
+        if(vertex==null) return;
+        List<EdgeWeight> edges = neighborIndex.get(a).get(b);
+        switch(action){
+            case "addEdge":
+                EdgeWeight edgeWeight = new EdgeWeight(b, weight);
+                vertex.edgesList.add(edgeWeight);
+                index(a, edgeWeight);
+                break;
+            case "addWeight":
+                //con varias aristas entre el par, se actualiza la primera
+                if(edges!=null) edges.get(0).setWeight(weight); //misma instancia que está en edgesList
+                break;
+            case "remove":
+                if(edges!=null) {
+                    for (EdgeWeight removed : new ArrayList<>(edges)) unindex(vertex, removed);
+                }
+                break;
+            case "removeWeight":
+                if(edges!=null) {
+                    for (EdgeWeight candidate : edges) {
+                        if (Objects.equals(candidate.getWeight(), weight)) {
+                            unindex(vertex, candidate);
+                            break;
+                        }
+                    }
                 }
+        }
+    }
+
+    //Quita la arista de la lista del vértice y de los dos índices
+    private void unindex(Vertex vertex, EdgeWeight edge) throws ListException {
+        vertex.edgesList.remove(edge);
+        removeFrom(neighborIndex.get(vertex.data), edge.getEdge(), edge);
+        removeFrom(incomingIndex.get(edge.getEdge()), vertex.data, edge);
+    }
+
+    private static void removeFrom(Map<Object, List<EdgeWeight>> index, Object key, EdgeWeight edge) {
+        if (index == null) return;
+        List<EdgeWeight> edges = index.get(key);
+        if (edges == null) return;
+        edges.removeIf(e -> e == edge);
+        if (edges.isEmpty()) index.remove(key);
+    }
+
+    /**
+     * Aristas que llegan al vértice, en O(grado de entrada) gracias al índice inverso.
+     * Cada EdgeWeight devuelto tiene como 'edge' el vértice de origen y el mismo peso que la arista original.
+     */
+    public List<EdgeWeight> getIncomingEdges(Object element) throws GraphException {
+        Map<Object, List<EdgeWeight>> incoming = incomingIndex.get(element);
+        if (incoming == null)
+            throw new GraphException("Vertex " + element + " does not exist in the graph.");
+        List<EdgeWeight> result = new ArrayList<>(incoming.size());
+        for (Map.Entry<Object, List<EdgeWeight>> entry : incoming.entrySet()) {
+            for (EdgeWeight edge : entry.getValue()) {
+                result.add(new EdgeWeight(entry.getKey(), edge.getWeight()));
             }
         }
+        return result;
+    }
+
+    //Cantidad de aristas que llegan al vértice (las rutas paralelas cuentan por separado)
+    public int inDegree(Object element) throws GraphException {
+        Map<Object, List<EdgeWeight>> incoming = incomingIndex.get(element);
+        if (incoming == null)
+            throw new GraphException("Vertex " + element + " does not exist in the graph.");
+        int degree = 0;
+        for (List<EdgeWeight> edges : incoming.values()) degree += edges.size();
+        return degree;
     }
 
     // Recorrido en profundidad
@@ -241,8 +341,8 @@ public class DirectedSinglyLinkedListGraph implements Graph {
         Vertex vertex1 = (Vertex)vertexList.getNode(index).data;
         for(int i=1; i<=vertexList.size(); i++){
             Vertex vertex2 = (Vertex)vertexList.getNode(i).data;
-            if(!vertex2.edgesList.isEmpty()&&vertex2.edgesList
-                    .contains(new EdgeWeight(vertex1.data, null))
+            Map<Object, List<EdgeWeight>> neighbors = neighborIndex.get(vertex2.data);
+            if(neighbors!=null&&neighbors.containsKey(vertex1.data)
                     && !vertex2.isVisited())
                 return i;
         }
@@ -0,0 +1,213 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Árbol de caminos mínimos mutable desde un origen que se repara cuando cambia una sola arista u->v
+ * (ruta agregada, eliminada o con nuevo precio/duración), al estilo de Ramalingam–Reps:
+ * - si la arista mejora el costo de v, se propaga la mejora con Dijkstra solo desde v;
+ * - si empeora una arista del árbol, se invalida el subárbol de v y se recalcula solo ese subárbol,
+ *   sembrando el heap con la mejor arista entrante desde fuera del subárbol;
+ * - si la arista no está en el árbol y no mejora nada, no se hace nada.
+ * El nuevo snapshot debe tener los mismos aeropuertos e ids que el anterior (solo cambian rutas);
+ * si no, applyEdgeChange devuelve false y el árbol debe recalcularse. No es thread-safe.
+ */
+public class DynamicShortestPathTree {
+    private RoutingGraph graph;
+    private final int source;
+    private final int costIndex;
+    private final double[] dist;
+    private final int[] predecessor;
+    private final IndexedMinHeap heap;
+    private int lastRepairSettled;   //vértices asentados por la última reparación (o por el cálculo inicial)
+
+    private DynamicShortestPathTree(RoutingGraph graph, int source, int costIndex) {
+        this.graph = graph;
+        this.source = source;
+        this.costIndex = costIndex;
+        this.dist = new double[graph.vertexCount()];
+        this.predecessor = new int[graph.vertexCount()];
+        this.heap = new IndexedMinHeap(graph.vertexCount());
+    }
+
+    //Calcula el árbol completo desde 'source' con Dijkstra
+    public static DynamicShortestPathTree compute(RoutingGraph graph, int source, int costIndex) {
+        DynamicShortestPathTree tree = new DynamicShortestPathTree(graph, source, costIndex);
+        Arrays.fill(tree.dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(tree.predecessor, -1);
+        tree.dist[source] = 0.0;
+        tree.heap.insert(source, 0.0);
+        tree.lastRepairSettled = tree.propagate(null);
+        return tree;
+    }
+
+    /**
+     * Repara el árbol para 'newGraph', que difiere del snapshot actual solo en las rutas u->v.
+     * @return false si el snapshot nuevo cambió los aeropuertos (el árbol no se puede reparar)
+     */
+    public boolean applyEdgeChange(RoutingGraph newGraph, int u, int v) {
+        if (!sameAirports(graph, newGraph)) {
+            return false;
+        }
+        graph = newGraph;
+        lastRepairSettled = 0;
+        if (v == source || dist[u] == Double.POSITIVE_INFINITY) {
+            return true; //ni el origen ni los caminos desde un u inalcanzable cambian
+        }
+        double candidate = dist[u] + minWeight(u, v);
+        if (candidate < dist[v]) {
+            //Mejora: v y lo que cuelga de él pueden bajar de costo
+            dist[v] = candidate;
+            predecessor[v] = u;
+            heap.insert(v, candidate);
+            lastRepairSettled = propagate(null);
+        } else if (predecessor[v] == u && candidate > dist[v]) {
+            //Empeora una arista del árbol: solo el subárbol de v queda afectado
+            lastRepairSettled = repairSubtree(v);
+        }
+        return true;
+    }
+
+    //Recalcula el subárbol de 'root' después de que la arista que lo conecta se encareció o desapareció
+    private int repairSubtree(int root) {
+        int n = graph.vertexCount();
+        boolean[] affected = collectSubtree(root);
+        for (int x = 0; x < n; x++) {
+            if (affected[x]) {
+                dist[x] = Double.POSITIVE_INFINITY;
+                predecessor[x] = -1;
+            }
+        }
+        //Semillas: la mejor arista entrante a cada vértice afectado desde un vértice no afectado
+        RoutingGraph reverse = graph.transpose();
+        for (int x = 0; x < n; x++) {
+            if (!affected[x]) continue;
+            for (int e = reverse.firstEdge(x), end = reverse.endEdge(x); e < end; e++) {
+                int y = reverse.target(e);
+                if (affected[y] || dist[y] == Double.POSITIVE_INFINITY) continue;
+                double candidate = dist[y] + reverse.weight(costIndex, e);
+                if (candidate < dist[x]) {
+                    dist[x] = candidate;
+                    predecessor[x] = y;
+                }
+            }
+            if (dist[x] != Double.POSITIVE_INFINITY) {
+                heap.insert(x, dist[x]);
+            }
+        }
+        return propagate(affected);
+    }
+
+    //Subárbol de 'root' según los predecesores actuales (hijos en CSR armados a partir de predecessor)
+    private boolean[] collectSubtree(int root) {
+        int n = graph.vertexCount();
+        int[] childOffsets = new int[n + 1];
+        for (int x = 0; x < n; x++) {
+            if (predecessor[x] != -1) childOffsets[predecessor[x] + 1]++;
+        }
+        for (int x = 0; x < n; x++) childOffsets[x + 1] += childOffsets[x];
+        int[] children = new int[childOffsets[n]];
+        int[] cursor = Arrays.copyOf(childOffsets, n);
+        for (int x = 0; x < n; x++) {
+            if (predecessor[x] != -1) children[cursor[predecessor[x]]++] = x;
+        }
+
+        boolean[] affected = new boolean[n];
+        int[] pending = new int[n];
+        int size = 0;
+        pending[size++] = root;
+        affected[root] = true;
+        while (size > 0) {
+            int x = pending[--size];
+            for (int c = childOffsets[x]; c < childOffsets[x + 1]; c++) {
+                if (!affected[children[c]]) {
+                    affected[children[c]] = true;
+                    pending[size++] = children[c];
+                }
+            }
+        }
+        return affected;
+    }
+
+    //Dijkstra desde lo que haya en el heap; con 'onlyAffected' solo se relajan aristas hacia esos vértices
+    private int propagate(boolean[] onlyAffected) {
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int x = heap.pollMin();
+            settled++;
+            double dx = dist[x];
+            for (int e = graph.firstEdge(x), end = graph.endEdge(x); e < end; e++) {
+                int y = graph.target(e);
+                if (onlyAffected != null && !onlyAffected[y]) continue;
+                double candidate = dx + graph.weight(costIndex, e);
+                if (candidate < dist[y]) {
+                    dist[y] = candidate;
+                    predecessor[y] = x;
+                    heap.insertOrDecrease(y, candidate);
+                }
+            }
+        }
+        return settled;
+    }
+
+    //Menor peso entre las rutas u->v del snapshot actual (POSITIVE_INFINITY si ya no hay ninguna)
+    private double minWeight(int u, int v) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+            if (graph.target(e) == v) best = Math.min(best, graph.weight(costIndex, e));
+        }
+        return best;
+    }
+
+    private static boolean sameAirports(RoutingGraph a, RoutingGraph b) {
+        if (a.vertexCount() != b.vertexCount()) {
+            return false;
+        }
+        for (int v = 0; v < a.vertexCount(); v++) {
+            if (a.code(v) != b.code(v)) return false;
+        }
+        return true;
+    }
+
+    public RoutingGraph getGraph() {
+        return graph;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getCostIndex() {
+        return costIndex;
+    }
+
+    public int getLastRepairSettled() {
+        return lastRepairSettled;
+    }
+
+    //Costo mínimo hasta el id indicado, POSITIVE_INFINITY si no es alcanzable
+    public double cost(int v) {
+        return dist[v];
+    }
+
+    //Ruta como códigos de aeropuerto hasta el id indicado, o null si no es alcanzable
+    public List<Integer> pathCodes(int v) {
+        if (dist[v] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        List<Integer> codes = new ArrayList<>();
+        for (int x = v; x != -1; x = predecessor[x]) {
+            codes.add(graph.code(x));
+        }
+        Collections.reverse(codes);
+        return codes;
+    }
+
+    //Copia inmutable del estado actual
+    public ShortestPathTree toTree() {
+        return new ShortestPathTree(graph, source, costIndex, dist.clone(), predecessor.clone());
+    }
+}
@@ -0,0 +1,52 @@
+package domain.graph;
+
+import domain.common.Flight;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Itinerario con horarios devuelto por {@link ConnectionScanTimetable}: los vuelos a tomar en orden,
+ * la salida del primero y la llegada estimada del último (salida + duración de la ruta).
+ */
+public final class FlightItinerary {
+    private final List<Flight> flights;
+    private final LocalDateTime departureTime;
+    private final LocalDateTime arrivalTime;
+    private final int scannedConnections;
+
+    public FlightItinerary(List<Flight> flights, LocalDateTime departureTime, LocalDateTime arrivalTime, int scannedConnections) {
+        this.flights = Collections.unmodifiableList(new ArrayList<>(flights));
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+        this.scannedConnections = scannedConnections;
+    }
+
+    public List<Flight> getFlights() {
+        return flights;
+    }
+
+    public LocalDateTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public LocalDateTime getArrivalTime() {
+        return arrivalTime;
+    }
+
+    //Cantidad de conexiones recorridas por el escaneo que encontró el itinerario
+    public int getScannedConnections() {
+        return scannedConnections;
+    }
+
+    @Override
+    public String toString() {
+        List<Integer> numbers = new ArrayList<>();
+        for (Flight flight : flights) {
+            numbers.add(flight.getNumber());
+        }
+        return "FlightItinerary [flights=" + numbers + ", departure=" + departureTime + ", arrival=" + arrivalTime + "]";
+    }
+}
@@ -0,0 +1,39 @@
+package domain.graph;
+
+/**
+ * Heurística de A* para el costo "distance": distancia ortodrómica (fórmula de haversine) desde cada
+ * aeropuerto hasta el destino, multiplicada por el factor de escala del snapshot para que sea admisible.
+ * Los aeropuertos sin coordenadas estiman 0.
+ */
+public final class GreatCircleHeuristic implements RouteHeuristic {
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final RoutingGraph graph;
+    private final double targetLatitude;
+    private final double targetLongitude;
+    private final double scale;
+
+    public GreatCircleHeuristic(RoutingGraph graph, int target) {
+        this.graph = graph;
+        this.targetLatitude = graph.latitudeRadians(target);
+        this.targetLongitude = graph.longitudeRadians(target);
+        //sin coordenadas del destino no hay estimación posible
+        this.scale = graph.hasCoordinates(target) ? graph.getGreatCircleScale() : 0.0;
+    }
+
+    @Override
+    public double estimate(int vertex) {
+        if (scale == 0.0 || !graph.hasCoordinates(vertex)) {
+            return 0.0;
+        }
+        return scale * distanceKm(graph.latitudeRadians(vertex), graph.longitudeRadians(vertex), targetLatitude, targetLongitude);
+    }
+
+    //Distancia ortodrómica en km entre dos puntos dados en radianes
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double sinLat = Math.sin((lat2 - lat1) / 2);
+        double sinLon = Math.sin((lon2 - lon1) / 2);
+        double a = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,327 @@
+package domain.graph;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Centralidad de intermediación (betweenness) y de cercanía (closeness) de cada aeropuerto de un snapshot,
+ * con el algoritmo de Brandes para costos con peso: un Dijkstra por origen que cuenta los caminos mínimos
+ * (sigma) y luego acumula las dependencias recorriendo los vértices en orden inverso de asentamiento.
+ * Cada origen es una tarea del ForkJoinPool sobre el mismo snapshot inmutable; las tareas devuelven sus
+ * dependencias y se suman al unirse, así ningún hilo escribe sobre arreglos compartidos.
+ *
+ * Con sampleSize > 0 (y menor que la cantidad de aeropuertos) solo se procesan esa cantidad de orígenes
+ * elegidos al azar y la intermediación se escala por n/sampleSize (estimador de Brandes–Pich). La cercanía
+ * solo se conoce para los orígenes procesados; para el resto es NaN.
+ *
+ * Con un RouteFilter los caminos mínimos solo usan lo que el filtro permite: los aeropuertos excluidos
+ * (por ejemplo los inactivos) no son orígenes ni intermediarios y su intermediación es NaN, así que
+ * nunca aparecen en los rankings.
+ */
+public final class HubCentrality {
+    //Espacio de trabajo por hilo: se dimensiona una vez y se reutiliza entre orígenes
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    private final RoutingGraph graph;
+    private final int costIndex;
+    private final double[] betweenness;
+    private final double[] closeness;   //NaN para los orígenes no procesados al muestrear
+    private final int[] degree;         //rutas entrantes + salientes, para desempatar
+    private final int sampleSize;       //orígenes procesados
+    private final int airports;         //aeropuertos que permite el filtro (todos sin filtro)
+    private final long wallTimeNanos;
+    private final int parallelism;
+
+    private HubCentrality(RoutingGraph graph, int costIndex, double[] betweenness, double[] closeness, int[] degree,
+                          int sampleSize, int airports, long wallTimeNanos, int parallelism) {
+        this.graph = graph;
+        this.costIndex = costIndex;
+        this.betweenness = betweenness;
+        this.closeness = closeness;
+        this.degree = degree;
+        this.sampleSize = sampleSize;
+        this.airports = airports;
+        this.wallTimeNanos = wallTimeNanos;
+        this.parallelism = parallelism;
+    }
+
+    //Cálculo exacto: un origen por cada aeropuerto
+    public static HubCentrality compute(RoutingGraph graph, int costIndex, ForkJoinPool pool) {
+        return compute(graph, costIndex, 0, 0L, pool);
+    }
+
+    /**
+     * @param sampleSize orígenes a muestrear; 0 o un valor >= cantidad de aeropuertos calcula el valor exacto
+     * @param seed semilla del muestreo (mismo snapshot + misma semilla = mismo resultado)
+     */
+    public static HubCentrality compute(RoutingGraph graph, int costIndex, int sampleSize, long seed, ForkJoinPool pool) {
+        return compute(graph, costIndex, sampleSize, seed, pool, null);
+    }
+
+    //Igual, pero solo sobre los aeropuertos y rutas que permite el filtro (null = toda la red)
+    public static HubCentrality compute(RoutingGraph graph, int costIndex, int sampleSize, long seed, ForkJoinPool pool,
+                                        RouteFilter filter) {
+        if (sampleSize < 0) {
+            throw new IllegalArgumentException("Sample size cannot be negative");
+        }
+        long start = System.nanoTime();
+        int n = graph.vertexCount();
+        int[] candidates = allowedAirports(graph, filter);
+        int[] sources = selectSources(candidates, sampleSize, seed);
+        double[] closeness = new double[n];
+        Arrays.fill(closeness, Double.NaN);
+        double[] betweenness = sources.length == 0 ? new double[n]
+                : pool.invoke(new SourceRangeTask(graph, filter, sources, costIndex, candidates.length, closeness,
+                        0, sources.length));
+        if (sources.length < candidates.length) {
+            double scale = (double) candidates.length / sources.length;
+            for (int v = 0; v < n; v++) betweenness[v] *= scale;
+        }
+        if (candidates.length < n) {
+            for (int v = 0; v < n; v++) {
+                if (!filter.allowsAirport(v)) betweenness[v] = Double.NaN; //fuera de la red filtrada
+            }
+        }
+
+        int[] degree = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                if (filter != null && (!filter.allowsAirport(u) || !filter.allowsEdge(e))) continue;
+                degree[u]++;
+                degree[graph.target(e)]++;
+            }
+        }
+        return new HubCentrality(graph, costIndex, betweenness, closeness, degree, sources.length,
+                candidates.length, System.nanoTime() - start, pool.getParallelism());
+    }
+
+    //Ids que el filtro permite como aeropuerto (todos si no hay filtro)
+    private static int[] allowedAirports(RoutingGraph graph, RouteFilter filter) {
+        int n = graph.vertexCount();
+        int[] ids = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (RouteFilter.allowsStart(filter, graph, v)) ids[count++] = v;
+        }
+        return count == n ? ids : Arrays.copyOf(ids, count);
+    }
+
+    //Todos los candidatos, o una muestra sin repetición (Fisher–Yates parcial) ordenada
+    private static int[] selectSources(int[] candidates, int sampleSize, long seed) {
+        int n = candidates.length;
+        int[] ids = candidates.clone();
+        if (sampleSize == 0 || sampleSize >= n) {
+            return ids;
+        }
+        Random random = new Random(seed);
+        for (int i = 0; i < sampleSize; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        int[] sample = Arrays.copyOf(ids, sampleSize);
+        Arrays.sort(sample);
+        return sample;
+    }
+
+    //Divide los orígenes hasta llegar a uno por tarea; suma las dependencias al unir
+    @SuppressWarnings("serial") //la tarea solo vive dentro del pool, nunca se serializa
+    private static class SourceRangeTask extends RecursiveTask<double[]> {
+        private final RoutingGraph graph;
+        private final RouteFilter filter;
+        private final int[] sources;
+        private final int costIndex;
+        private final int airports;     //aeropuertos de la red filtrada, para la cercanía
+        private final double[] closeness;
+        private final int from, to;
+
+        SourceRangeTask(RoutingGraph graph, RouteFilter filter, int[] sources, int costIndex, int airports,
+                        double[] closeness, int from, int to) {
+            this.graph = graph;
+            this.filter = filter;
+            this.sources = sources;
+            this.costIndex = costIndex;
+            this.airports = airports;
+            this.closeness = closeness;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= 1) {
+                double[] dependency = new double[graph.vertexCount()];
+                if (to > from) {
+                    WORKSPACE.get().accumulate(graph, filter, sources[from], costIndex, airports, dependency, closeness);
+                }
+                return dependency;
+            }
+            int mid = (from + to) >>> 1;
+            SourceRangeTask left = new SourceRangeTask(graph, filter, sources, costIndex, airports, closeness, from, mid);
+            SourceRangeTask right = new SourceRangeTask(graph, filter, sources, costIndex, airports, closeness, mid, to);
+            left.fork();
+            double[] sum = right.compute();
+            double[] other = left.join();
+            for (int v = 0; v < sum.length; v++) sum[v] += other[v];
+            return sum;
+        }
+    }
+
+    //Arreglos de una pasada de Brandes (Dijkstra con conteo de caminos + acumulación)
+    private static final class Workspace {
+        private double[] dist = new double[0];
+        private double[] sigma = new double[0];   //cantidad de caminos mínimos (double: puede crecer mucho)
+        private double[] delta = new double[0];
+        private int[] order = new int[0];         //vértices en orden de asentamiento
+        private IndexedMinHeap heap = new IndexedMinHeap(1);
+
+        void accumulate(RoutingGraph graph, RouteFilter filter, int source, int costIndex, int airports,
+                        double[] dependency, double[] closeness) {
+            int n = graph.vertexCount();
+            if (dist.length < n) {
+                dist = new double[n];
+                sigma = new double[n];
+                delta = new double[n];
+                order = new int[n];
+                heap = new IndexedMinHeap(n);
+            }
+            Arrays.fill(dist, 0, n, Double.POSITIVE_INFINITY);
+            Arrays.fill(sigma, 0, n, 0.0);
+            heap.clear();
+            dist[source] = 0.0;
+            sigma[source] = 1.0;
+            heap.insert(source, 0.0);
+
+            int settled = 0;
+            double distanceSum = 0.0;
+            while (!heap.isEmpty()) {
+                int u = heap.pollMin();
+                order[settled++] = u;
+                distanceSum += dist[u];
+                for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                    if (filter != null && !filter.allowsEdge(e)) continue;
+                    int v = graph.target(e);
+                    double candidate = dist[u] + graph.weight(costIndex, e);
+                    if (candidate < dist[v]) {
+                        dist[v] = candidate;
+                        sigma[v] = sigma[u];
+                        heap.insertOrDecrease(v, candidate);
+                    } else if (candidate == dist[v]) {
+                        sigma[v] += sigma[u]; //otro camino mínimo hacia v
+                    }
+                }
+            }
+
+            //Dependencias en orden inverso: los sucesores en el DAG de caminos mínimos ya están completos
+            for (int i = settled - 1; i >= 0; i--) {
+                int u = order[i];
+                double du = 0.0;
+                for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                    if (filter != null && !filter.allowsEdge(e)) continue;
+                    int v = graph.target(e);
+                    if (dist[u] + graph.weight(costIndex, e) == dist[v]) {
+                        du += sigma[u] / sigma[v] * (1.0 + delta[v]);
+                    }
+                }
+                delta[u] = du;
+                if (u != source) dependency[u] += du;
+            }
+
+            //Cercanía de Wasserman–Faust: tolera redes no conexas ponderando por la fracción alcanzada
+            int reached = settled - 1;
+            closeness[source] = reached == 0 || distanceSum == 0.0 ? 0.0
+                    : ((double) reached / Math.max(1, airports - 1)) * (reached / distanceSum);
+        }
+    }
+
+    /**
+     * Los k ids con mayor intermediación (desempate por rutas y luego por id), con un heap acotado a k
+     * en lugar de ordenar todos los aeropuertos.
+     */
+    public int[] topByBetweenness(int k) {
+        return top(betweenness, k);
+    }
+
+    //Los k ids con mayor cercanía entre los orígenes procesados
+    public int[] topByCloseness(int k) {
+        return top(closeness, k);
+    }
+
+    private int[] top(double[] score, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+        //Min-heap del peor candidato aceptado: cada id entra solo si supera a la raíz
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, k), (a, b) -> compareRank(score, a, b));
+        for (int v = 0; v < score.length && k > 0; v++) {
+            if (Double.isNaN(score[v])) continue;
+            if (heap.size() < k) {
+                heap.add(v);
+            } else if (compareRank(score, v, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(v);
+            }
+        }
+        int[] result = new int[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--) result[i] = heap.poll();
+        return result;
+    }
+
+    //Orden ascendente de "importancia": puntaje, luego rutas, luego el id menor como más importante
+    private int compareRank(double[] score, int a, int b) {
+        int cmp = Double.compare(score[a], score[b]);
+        if (cmp != 0) return cmp;
+        cmp = Integer.compare(degree[a], degree[b]);
+        return cmp != 0 ? cmp : Integer.compare(b, a);
+    }
+
+    public double betweenness(int v) {
+        return betweenness[v];
+    }
+
+    public double closeness(int v) {
+        return closeness[v];
+    }
+
+    public int degree(int v) {
+        return degree[v];
+    }
+
+    public RoutingGraph getGraph() {
+        return graph;
+    }
+
+    public int getCostIndex() {
+        return costIndex;
+    }
+
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    public boolean isApproximate() {
+        return sampleSize < airports;
+    }
+
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    public double getWallTimeMillis() {
+        return wallTimeNanos / 1_000_000.0;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HubCentrality [airports=%d, sources=%d%s, parallelism=%d, wallTime=%.3f ms]",
+                graph.vertexCount(), sampleSize, isApproximate() ? " (sampled)" : "", parallelism, getWallTimeMillis());
+    }
+}
@@ -0,0 +1,145 @@
+package domain.graph;
+
+import java.util.Arrays;
+
+/**
+ * Heap binario de mínimos indexado por ids enteros densos [0, capacity).
+ * Cada id aparece a lo sumo una vez, por lo que Dijkstra puede usar decreaseKey
+ * en lugar de encolar duplicados. Las claves son double (sin truncar el costo).
+ */
+public class IndexedMinHeap {
+    private int[] heap;       //heap[pos] = id
+    private int[] position;   //position[id] = pos dentro del heap, -1 si no está
+    private double[] keys;    //keys[id] = prioridad actual del id
+    private int size;
+
+    //Constructor
+    public IndexedMinHeap(int capacity) {
+        this.heap = new int[Math.max(1, capacity)];
+        this.position = new int[Math.max(1, capacity)];
+        this.keys = new double[Math.max(1, capacity)];
+        Arrays.fill(position, -1);
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return position.length;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < position.length && position[id] != -1;
+    }
+
+    public double getKey(int id) {
+        if (!contains(id))
+            throw new IllegalArgumentException("Id " + id + " is not in the heap");
+        return keys[id];
+    }
+
+    //Vacía el heap en O(size), dejando listo el arreglo de posiciones para reutilizarlo
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    //Amplía la capacidad si el grafo creció (no conserva el contenido)
+    public void ensureCapacity(int capacity) {
+        if (capacity > position.length) {
+            this.heap = new int[capacity];
+            this.position = new int[capacity];
+            this.keys = new double[capacity];
+            Arrays.fill(position, -1);
+            this.size = 0;
+        }
+    }
+
+    public void insert(int id, double key) {
+        if (contains(id))
+            throw new IllegalArgumentException("Id " + id + " is already in the heap");
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int id, double key) {
+        if (!contains(id))
+            throw new IllegalArgumentException("Id " + id + " is not in the heap");
+        if (key > keys[id])
+            throw new IllegalArgumentException("New key " + key + " is greater than current key " + keys[id]);
+        keys[id] = key;
+        siftUp(position[id]);
+    }
+
+    //Inserta el id o baja su prioridad si ya estaba encolado
+    public void insertOrDecrease(int id, double key) {
+        if (contains(id)) {
+            if (key < keys[id]) decreaseKey(id, key);
+        } else {
+            insert(id, key);
+        }
+    }
+
+    public double peekKey() {
+        if (isEmpty())
+            throw new IllegalStateException("Indexed Min Heap is empty");
+        return keys[heap[0]];
+    }
+
+    //Suprime y retorna el id con la menor clave
+    public int pollMin() {
+        if (isEmpty())
+            throw new IllegalStateException("Indexed Min Heap is empty");
+        int min = heap[0];
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        position[min] = -1;
+        return min;
+    }
+
+    private void siftUp(int pos) {
+        int id = heap[pos];
+        double key = keys[id];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key) break;
+            heap[pos] = parentId; //baja al padre
+            position[parentId] = pos;
+            pos = parent;
+        }
+        heap[pos] = id;
+        position[id] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int id = heap[pos];
+        double key = keys[id];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) child = right;
+            if (key <= keys[heap[child]]) break;
+            heap[pos] = heap[child]; //sube el hijo menor
+            position[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = id;
+        position[id] = pos;
+    }
+}
@@ -0,0 +1,97 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Destinos alcanzables desde un origen sin superar un presupuesto (horas, km o precio),
+ * ordenados por costo creciente. Cada destino guarda su costo mínimo y la cantidad de escalas.
+ */
+public final class Isochrone {
+    private final int originCode;
+    private final int costIndex;
+    private final double budget;
+    private final int[] destinationCodes;   //sin el origen, por costo creciente
+    private final double[] costs;
+    private final int[] stops;              //escalas intermedias de la ruta mínima
+    private final int settledCount;         //aeropuertos que asentó la búsqueda
+
+    Isochrone(int originCode, int costIndex, double budget, int[] destinationCodes, double[] costs, int[] stops,
+              int settledCount) {
+        this.originCode = originCode;
+        this.costIndex = costIndex;
+        this.budget = budget;
+        this.destinationCodes = destinationCodes;
+        this.costs = costs;
+        this.stops = stops;
+        this.settledCount = settledCount;
+    }
+
+    /**
+     * Ejecuta la búsqueda acotada desde 'source' sobre el snapshot.
+     * @param filter vista filtrada a respetar (null = toda la red)
+     */
+    public static Isochrone compute(RoutingGraph graph, int source, int costIndex, double budget, RouteFilter filter) {
+        ShortestPathSearch search = new ShortestPathSearch(graph.vertexCount());
+        int[] order = search.runWithinBudget(graph, source, costIndex, budget, filter);
+        int count = Math.max(0, order.length - 1);
+        int[] codes = new int[count];
+        double[] costs = new double[count];
+        int[] stops = new int[count];
+        int[] hops = new int[graph.vertexCount()]; //tramos desde el origen; el predecesor siempre se asentó antes
+        for (int i = 1; i < order.length; i++) {
+            int v = order[i];
+            hops[v] = hops[search.predecessor(v)] + 1;
+            codes[i - 1] = graph.code(v);
+            costs[i - 1] = search.cost(v);
+            stops[i - 1] = hops[v] - 1;
+        }
+        return new Isochrone(graph.code(source), costIndex, budget, codes, costs, stops, order.length);
+    }
+
+    public int size() {
+        return destinationCodes.length;
+    }
+
+    //Código del i-ésimo destino más barato
+    public int destinationCode(int i) {
+        return destinationCodes[i];
+    }
+
+    public double cost(int i) {
+        return costs[i];
+    }
+
+    public int stops(int i) {
+        return stops[i];
+    }
+
+    public List<Integer> getDestinationCodes() {
+        List<Integer> codes = new ArrayList<>(destinationCodes.length);
+        for (int code : destinationCodes) codes.add(code);
+        return Collections.unmodifiableList(codes);
+    }
+
+    public int getOriginCode() {
+        return originCode;
+    }
+
+    public int getCostIndex() {
+        return costIndex;
+    }
+
+    public double getBudget() {
+        return budget;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Isochrone [origin=" + originCode + ", budget=" + budget + ", destinations=" + size()
+                + ", settled=" + settledCount + "]";
+    }
+}
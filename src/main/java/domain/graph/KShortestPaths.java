@@ -0,0 +1,212 @@
+package domain.graph;
+
+import domain.common.Route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Algoritmo de Yen: las k rutas sin ciclos de menor costo entre dos aeropuertos, en orden de costo.
+ *
+ * Cada ruta k se obtiene desviando la ruta k-1 en alguno de sus aeropuertos (nodo spur): se bloquean las
+ * aristas que repetirían rutas ya aceptadas y los aeropuertos de la raíz, y se busca el resto del camino.
+ * Para que esas búsquedas spur no repitan todo el trabajo:
+ * - se calcula una sola vez el árbol inverso de costos hacia el destino y se usa como heurística A*
+ *   (cota inferior exacta: las búsquedas spur solo exploran lo que los bloqueos obligan a desviar);
+ * - las candidatas se guardan en un heap (sin duplicados) y cada ruta solo se desvía desde el punto
+ *   donde se separó de su ruta madre (mejora de Lawler).
+ * La consulta respeta un presupuesto de tiempo: al agotarse devuelve las rutas encontradas hasta ese momento.
+ * No es thread-safe.
+ */
+public class KShortestPaths {
+    private final long timeBudgetNanos;
+    private boolean timedOut;
+    private int spurSearchCount;
+    private int settledCount;
+
+    //Constructor. timeBudgetMillis <= 0 significa sin límite de tiempo
+    public KShortestPaths(long timeBudgetMillis) {
+        this.timeBudgetNanos = timeBudgetMillis <= 0 ? Long.MAX_VALUE : timeBudgetMillis * 1_000_000L;
+    }
+
+    //Ruta aceptada o candidata: vértices, aristas CSR usadas, costo y posición desde donde se desvió
+    private static final class Path {
+        final int[] vertices;
+        final int[] edges;
+        final double cost;
+        final int deviation;
+        final int settled;
+
+        Path(int[] vertices, int[] edges, double cost, int deviation, int settled) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.cost = cost;
+            this.deviation = deviation;
+            this.settled = settled;
+        }
+    }
+
+    /**
+     * Calcula hasta k rutas sin ciclos de 'source' a 'target' para el tipo de costo indicado.
+     * @return rutas en orden de costo (vacía si no hay ninguna); puede traer menos de k
+     */
+    public List<RouteSearchResult> run(RoutingGraph graph, int source, int target, int costIndex, int k) {
+        return run(graph, source, target, costIndex, k, null);
+    }
+
+    //Igual que run, pero solo usa las rutas que el filtro permite (null = todas)
+    public List<RouteSearchResult> run(RoutingGraph graph, int source, int target, int costIndex, int k,
+                                       RouteFilter filter) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+        long deadline = System.nanoTime() + Math.min(timeBudgetNanos, Long.MAX_VALUE / 2);
+        timedOut = false;
+        spurSearchCount = 0;
+        settledCount = 0;
+
+        //Árbol inverso de costos hacia el destino: heurística exacta para la red (filtrada) completa
+        ShortestPathSearch reverse = new ShortestPathSearch(graph.vertexCount());
+        reverse.run(graph.transpose(), target, -1, costIndex, filter == null ? null : filter.transposed());
+        settledCount += reverse.getSettledCount();
+        if (!reverse.isReached(source)) {
+            return new ArrayList<>();
+        }
+
+        boolean[] blockedVertex = new boolean[graph.vertexCount()];
+        boolean[] blockedEdge = new boolean[graph.edgeCount()];
+        RouteHeuristic heuristic = v -> blockedVertex[v] ? Double.POSITIVE_INFINITY : reverse.cost(v);
+        ShortestPathSearch spur = new ShortestPathSearch(graph.vertexCount());
+
+        List<Path> accepted = new ArrayList<>();
+        PriorityQueue<Path> candidates = new PriorityQueue<>((a, b) -> a.cost != b.cost
+                ? Double.compare(a.cost, b.cost) : Integer.compare(a.edges.length, b.edges.length));
+        Set<List<Integer>> seen = new HashSet<>(); //rutas ya encoladas o aceptadas, por sus aristas
+
+        Path first = spurPath(graph, spur, source, target, costIndex, heuristic, null, filter, null, 0, 0.0, 0);
+        candidates.add(first);
+        seen.add(edgeKey(first.edges));
+
+        while (accepted.size() < k && !candidates.isEmpty()) {
+            Path path = candidates.poll();
+            accepted.add(path);
+            if (accepted.size() == k) {
+                break;
+            }
+            //Desvía la ruta recién aceptada en cada nodo spur a partir de su punto de desvío
+            double rootCost = 0.0;
+            for (int i = 0; i < path.deviation; i++) {
+                rootCost += graph.weight(costIndex, path.edges[i]);
+            }
+            for (int i = path.deviation; i < path.edges.length; i++) {
+                if (System.nanoTime() > deadline) {
+                    timedOut = true;
+                    break;
+                }
+                //Bloquea la siguiente arista de toda ruta aceptada que comparte esta raíz
+                List<Integer> blockedEdges = new ArrayList<>();
+                for (Path other : accepted) {
+                    if (other.edges.length > i && sameRoot(other, path, i)) {
+                        blockedEdge[other.edges[i]] = true;
+                        blockedEdges.add(other.edges[i]);
+                    }
+                }
+                //Bloquea los aeropuertos de la raíz (salvo el nodo spur) para que la ruta no tenga ciclos
+                for (int r = 0; r < i; r++) {
+                    blockedVertex[path.vertices[r]] = true;
+                }
+
+                Path candidate = spurPath(graph, spur, path.vertices[i], target, costIndex, heuristic,
+                        blockedEdge, filter, path, i, rootCost, i);
+
+                for (int e : blockedEdges) blockedEdge[e] = false;
+                for (int r = 0; r < i; r++) blockedVertex[path.vertices[r]] = false;
+
+                if (candidate != null && seen.add(edgeKey(candidate.edges))) {
+                    candidates.add(candidate);
+                }
+                rootCost += graph.weight(costIndex, path.edges[i]);
+            }
+            if (timedOut) {
+                break;
+            }
+        }
+
+        List<RouteSearchResult> results = new ArrayList<>();
+        for (Path path : accepted) {
+            List<Integer> codes = new ArrayList<>(path.vertices.length);
+            for (int v : path.vertices) {
+                codes.add(graph.code(v));
+            }
+            //entre el mismo par puede haber varias rutas: se indica cuál usa cada tramo
+            List<String> routeIds = new ArrayList<>(path.edges.length);
+            for (int e : path.edges) {
+                Route route = graph.route(e);
+                routeIds.add(route == null ? null : route.getRouteId());
+            }
+            results.add(new RouteSearchResult(codes, path.cost, path.settled, "yen", routeIds));
+        }
+        return results;
+    }
+
+    //Búsqueda A* desde el nodo spur; concatena la raíz de 'root' (primeros 'rootLength' tramos) con el resultado
+    private Path spurPath(RoutingGraph graph, ShortestPathSearch spur, int spurNode, int target, int costIndex,
+                          RouteHeuristic heuristic, boolean[] blockedEdge, RouteFilter filter, Path root,
+                          int rootLength, double rootCost, int deviation) {
+        spurSearchCount++;
+        boolean found = spur.runAStar(graph, spurNode, target, costIndex, heuristic, blockedEdge, filter);
+        settledCount += spur.getSettledCount();
+        if (!found) {
+            return null;
+        }
+        int spurLength = 0;
+        for (int v = target; v != spurNode; v = spur.predecessor(v)) {
+            spurLength++;
+        }
+        int[] vertices = new int[rootLength + spurLength + 1];
+        int[] edges = new int[rootLength + spurLength];
+        if (root != null) {
+            System.arraycopy(root.vertices, 0, vertices, 0, rootLength);
+            System.arraycopy(root.edges, 0, edges, 0, rootLength);
+        }
+        int position = rootLength + spurLength;
+        for (int v = target; position >= rootLength; v = spur.predecessor(v)) {
+            vertices[position] = v;
+            if (position > rootLength) {
+                edges[position - 1] = spur.predecessorEdge(v);
+            }
+            position--;
+        }
+        return new Path(vertices, edges, rootCost + spur.cost(target), deviation, spur.getSettledCount());
+    }
+
+    //true si ambas rutas recorren los mismos primeros 'length' tramos
+    private static boolean sameRoot(Path a, Path b, int length) {
+        return Arrays.equals(a.edges, 0, length, b.edges, 0, length);
+    }
+
+    private static List<Integer> edgeKey(int[] edges) {
+        List<Integer> key = new ArrayList<>(edges.length);
+        for (int e : edges) key.add(e);
+        return key;
+    }
+
+    //true si la última consulta se cortó por el presupuesto de tiempo
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    //Búsquedas spur ejecutadas en la última consulta (incluye la búsqueda inicial)
+    public int getSpurSearchCount() {
+        return spurSearchCount;
+    }
+
+    //Aeropuertos asentados en total por todas las búsquedas de la última consulta
+    public int getSettledCount() {
+        return settledCount;
+    }
+}
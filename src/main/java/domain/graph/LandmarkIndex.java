@@ -0,0 +1,127 @@
+package domain.graph;
+
+import java.util.Arrays;
+
+/**
+ * Índice de landmarks para A* (ALT: A*, Landmarks, desigualdad Triangular) sobre un snapshot y un tipo de costo.
+ * Para cada landmark L guarda d(L,v) y d(v,L) de todos los aeropuertos; por la desigualdad triangular
+ * d(v,t) >= max(d(L,t) - d(L,v), d(v,L) - d(t,L)), una cota inferior válida para cualquier costo
+ * (duración y precio, que no tienen una heurística geográfica).
+ */
+public final class LandmarkIndex {
+    private final RoutingGraph graph;
+    private final int costIndex;
+    private final int[] landmarks;
+    private final double[][] fromLandmark; //fromLandmark[l][v] = d(L,v)
+    private final double[][] toLandmark;   //toLandmark[l][v]   = d(v,L)
+
+    private LandmarkIndex(RoutingGraph graph, int costIndex, int[] landmarks, double[][] fromLandmark, double[][] toLandmark) {
+        this.graph = graph;
+        this.costIndex = costIndex;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    /**
+     * Elige los landmarks por "el más lejano": cada nuevo landmark es el aeropuerto más alejado de los ya elegidos
+     * (los inalcanzables primero, así cada componente de la red recibe el suyo). Cuesta dos Dijkstra completos por landmark.
+     */
+    public static LandmarkIndex build(RoutingGraph graph, int costIndex, int landmarkCount) {
+        int n = graph.vertexCount();
+        int k = Math.min(landmarkCount, n);
+        int[] landmarks = new int[k];
+        double[][] from = new double[k][];
+        double[][] to = new double[k][];
+        ShortestPathSearch search = new ShortestPathSearch(n);
+        RoutingGraph reverse = graph.transpose();
+
+        double[] nearest = new double[n]; //distancia al landmark elegido más cercano
+        Arrays.fill(nearest, Double.MAX_VALUE);
+        int candidate = n > 0 ? farthestFrom(search, graph, 0, costIndex) : -1;
+        for (int l = 0; l < k; l++) {
+            landmarks[l] = candidate;
+            from[l] = distances(search, graph, candidate, costIndex);
+            to[l] = distances(search, reverse, candidate, costIndex);
+
+            candidate = -1;
+            double best = -1;
+            for (int v = 0; v < n; v++) {
+                double d = from[l][v] == Double.POSITIVE_INFINITY ? Double.MAX_VALUE : from[l][v];
+                nearest[v] = Math.min(nearest[v], d);
+                if (v != landmarks[l] && nearest[v] > best && !contains(landmarks, l + 1, v)) {
+                    best = nearest[v];
+                    candidate = v;
+                }
+            }
+        }
+        return new LandmarkIndex(graph, costIndex, landmarks, from, to);
+    }
+
+    private static int farthestFrom(ShortestPathSearch search, RoutingGraph graph, int start, int costIndex) {
+        double[] d = distances(search, graph, start, costIndex);
+        int farthest = start;
+        for (int v = 0; v < d.length; v++) {
+            if (d[v] != Double.POSITIVE_INFINITY && d[v] > d[farthest]) farthest = v;
+        }
+        return farthest;
+    }
+
+    private static double[] distances(ShortestPathSearch search, RoutingGraph graph, int source, int costIndex) {
+        search.run(graph, source, -1, costIndex);
+        double[] d = new double[graph.vertexCount()];
+        for (int v = 0; v < d.length; v++) d[v] = search.cost(v);
+        return d;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    //Heurística ALT hacia el destino 't' (id denso); devuelve infinito si desde v es imposible llegar a t
+    public RouteHeuristic heuristicTo(int target) {
+        int k = landmarks.length;
+        double[] fromToTarget = new double[k];
+        double[] targetToLandmark = new double[k];
+        for (int l = 0; l < k; l++) {
+            fromToTarget[l] = fromLandmark[l][target];
+            targetToLandmark[l] = toLandmark[l][target];
+        }
+        return v -> {
+            double bound = 0.0;
+            for (int l = 0; l < k; l++) {
+                double vToLandmark = toLandmark[l][v];
+                if (targetToLandmark[l] != Double.POSITIVE_INFINITY) {
+                    //t llega a L pero v no: si v llegara a t también llegaría a L
+                    if (vToLandmark == Double.POSITIVE_INFINITY) return Double.POSITIVE_INFINITY;
+                    bound = Math.max(bound, vToLandmark - targetToLandmark[l]);
+                }
+                double landmarkToV = fromLandmark[l][v];
+                if (fromToTarget[l] != Double.POSITIVE_INFINITY && landmarkToV != Double.POSITIVE_INFINITY) {
+                    bound = Math.max(bound, fromToTarget[l] - landmarkToV);
+                }
+            }
+            return bound;
+        };
+    }
+
+    public RoutingGraph getGraph() {
+        return graph;
+    }
+
+    public int getCostIndex() {
+        return costIndex;
+    }
+
+    public int[] getLandmarks() {
+        return Arrays.copyOf(landmarks, landmarks.length);
+    }
+
+    @Override
+    public String toString() {
+        return "LandmarkIndex [costIndex=" + costIndex + ", landmarks=" + landmarks.length + "]";
+    }
+}
@@ -0,0 +1,199 @@
+package domain.graph;
+
+import java.util.Arrays;
+
+/**
+ * Puntos de articulación y puentes de un snapshot (Tarjan, lineal e iterativo) sobre la red vista como
+ * no dirigida: dos aeropuertos están conectados si hay rutas entre ellos en cualquier sentido.
+ * - Un aeropuerto es de articulación si al cerrarlo (quitar todas sus rutas) su componente se parte.
+ * - Una ruta es puente si al cancelarla su componente se parte; una ruta con otra ruta paralela o de vuelta
+ *   entre los mismos aeropuertos nunca es puente.
+ * Para cada caso se guarda cuántos aeropuertos quedarían separados de la parte más grande de la componente,
+ * así las consultas "¿qué pasa si...?" se responden en O(1) sin buscar caminos.
+ */
+public final class NetworkResilience {
+    private final RoutingGraph graph;
+    private final int[] component;          //componente conexa (no dirigida) de cada aeropuerto
+    private final int componentCount;
+    private final int[] airportCutOff;      //aeropuertos separados al cerrar v (0 si no es de articulación)
+    private final int[] routeCutOff;        //aeropuertos separados al cancelar la arista e (0 si no es puente)
+    private final long buildTimeNanos;
+
+    private NetworkResilience(RoutingGraph graph, int[] component, int componentCount, int[] airportCutOff,
+                              int[] routeCutOff, long buildTimeNanos) {
+        this.graph = graph;
+        this.component = component;
+        this.componentCount = componentCount;
+        this.airportCutOff = airportCutOff;
+        this.routeCutOff = routeCutOff;
+        this.buildTimeNanos = buildTimeNanos;
+    }
+
+    public static NetworkResilience analyze(RoutingGraph graph) {
+        long start = System.nanoTime();
+        int n = graph.vertexCount();
+
+        //Incidencias no dirigidas en formato CSR: cada ruta u->v aparece en u y en v con su id de arista
+        int[] offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                if (v == u) continue; //una ruta circular no conecta nada
+                offsets[u + 1]++;
+                offsets[v + 1]++;
+            }
+        }
+        for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+        int[] neighbor = new int[offsets[n]];
+        int[] edgeOf = new int[offsets[n]];
+        int[] cursor = Arrays.copyOf(offsets, n);
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                int v = graph.target(e);
+                if (v == u) continue;
+                neighbor[cursor[u]] = v;
+                edgeOf[cursor[u]++] = e;
+                neighbor[cursor[v]] = u;
+                edgeOf[cursor[v]++] = e;
+            }
+        }
+
+        int[] disc = new int[n];
+        int[] low = new int[n];
+        int[] size = new int[n];              //tamaño del subárbol DFS
+        int[] parent = new int[n];
+        int[] parentEdge = new int[n];        //arista por la que se descubrió (para no tomarla de vuelta)
+        int[] next = new int[n];              //próxima incidencia a revisar
+        int[] criticalChildren = new int[n];  //hijos c con low[c] >= disc[v]
+        int[] separated = new int[n];         //suma de los subárboles de esos hijos
+        int[] largestPiece = new int[n];      //el mayor de esos subárboles
+        int[] stack = new int[n];
+        int[] visited = new int[n];           //vértices de la componente actual, en orden de descubrimiento
+        int[] component = new int[n];
+        int[] airportCutOff = new int[n];
+        int[] routeCutOff = new int[graph.edgeCount()];
+        Arrays.fill(disc, -1);
+        int time = 0, componentCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (disc[root] != -1) continue;
+            int depth = 0, visitedCount = 0;
+            stack[depth++] = root;
+            disc[root] = low[root] = time++;
+            parentEdge[root] = -1;
+            next[root] = offsets[root];
+            size[root] = 1;
+            visited[visitedCount++] = root;
+
+            while (depth > 0) {
+                int u = stack[depth - 1];
+                if (next[u] < offsets[u + 1]) {
+                    int i = next[u]++;
+                    int w = neighbor[i];
+                    if (edgeOf[i] == parentEdge[u]) continue; //la misma ruta de vuelta al padre
+                    if (disc[w] == -1) {
+                        disc[w] = low[w] = time++;
+                        parent[w] = u;
+                        parentEdge[w] = edgeOf[i];
+                        next[w] = offsets[w];
+                        size[w] = 1;
+                        visited[visitedCount++] = w;
+                        stack[depth++] = w;
+                    } else {
+                        low[u] = Math.min(low[u], disc[w]);
+                    }
+                    continue;
+                }
+                //u terminó: actualiza al padre
+                depth--;
+                if (depth > 0) {
+                    int p = stack[depth - 1];
+                    low[p] = Math.min(low[p], low[u]);
+                    size[p] += size[u];
+                    if (low[u] >= disc[p]) {
+                        criticalChildren[p]++;
+                        separated[p] += size[u];
+                        largestPiece[p] = Math.max(largestPiece[p], size[u]);
+                    }
+                }
+            }
+
+            //Con el tamaño de la componente ya conocido se calcula cuántos aeropuertos quedarían separados
+            int componentSize = size[root];
+            for (int k = 0; k < visitedCount; k++) {
+                int v = visited[k];
+                component[v] = componentCount;
+                boolean articulation = v == root ? criticalChildren[v] >= 2 : criticalChildren[v] >= 1;
+                if (articulation) {
+                    int rest = componentSize - 1 - separated[v]; //lo que sigue unido al padre (0 en la raíz)
+                    airportCutOff[v] = componentSize - 1 - Math.max(rest, largestPiece[v]);
+                }
+                if (v != root && low[v] > disc[parent[v]]) {
+                    routeCutOff[parentEdge[v]] = Math.min(size[v], componentSize - size[v]);
+                }
+            }
+            componentCount++;
+        }
+        return new NetworkResilience(graph, component, componentCount, airportCutOff, routeCutOff,
+                System.nanoTime() - start);
+    }
+
+    public boolean isArticulationPoint(int v) {
+        return airportCutOff[v] > 0;
+    }
+
+    //Aeropuertos que quedarían separados de la parte más grande de su componente al cerrar v
+    public int airportsCutOffByClosure(int v) {
+        return airportCutOff[v];
+    }
+
+    public boolean isBridge(int edge) {
+        return routeCutOff[edge] > 0;
+    }
+
+    //Aeropuertos que quedarían separados de la parte más grande de su componente al cancelar la ruta
+    public int airportsCutOffByCancellation(int edge) {
+        return routeCutOff[edge];
+    }
+
+    //Ids de los aeropuertos de articulación, en orden
+    public int[] articulationPoints() {
+        return indicesOfPositive(airportCutOff);
+    }
+
+    //Ids de las aristas puente, en orden
+    public int[] bridges() {
+        return indicesOfPositive(routeCutOff);
+    }
+
+    private static int[] indicesOfPositive(int[] values) {
+        int count = 0;
+        for (int value : values) if (value > 0) count++;
+        int[] result = new int[count];
+        int k = 0;
+        for (int i = 0; i < values.length; i++) if (values[i] > 0) result[k++] = i;
+        return result;
+    }
+
+    public boolean sameComponent(int u, int v) {
+        return component[u] == component[v];
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public RoutingGraph getGraph() {
+        return graph;
+    }
+
+    public double getBuildTimeMillis() {
+        return buildTimeNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "NetworkResilience [components=" + componentCount + ", articulationPoints=" + articulationPoints().length
+                + ", bridges=" + bridges().length + ", buildTimeMs=" + String.format("%.2f", getBuildTimeMillis()) + "]";
+    }
+}
@@ -0,0 +1,50 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Itinerario no dominado del frente de Pareto: ninguna otra ruta encontrada es a la vez
+ * igual o más barata, igual o más corta en horas e igual o más corta en kilómetros.
+ */
+public final class ParetoRoute {
+    private final List<Integer> path; //códigos de aeropuerto del origen al destino
+    private final double durationHours;
+    private final double distanceKm;
+    private final double price;
+
+    public ParetoRoute(List<Integer> path, double durationHours, double distanceKm, double price) {
+        this.path = Collections.unmodifiableList(new ArrayList<>(path));
+        this.durationHours = durationHours;
+        this.distanceKm = distanceKm;
+        this.price = price;
+    }
+
+    public List<Integer> getPath() {
+        return path;
+    }
+
+    public double getDurationHours() {
+        return durationHours;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    //Cantidad de escalas (aeropuertos intermedios)
+    public int getStops() {
+        return Math.max(0, path.size() - 2);
+    }
+
+    @Override
+    public String toString() {
+        return "ParetoRoute [path=" + path + ", durationHours=" + durationHours + ", distanceKm=" + distanceKm
+                + ", price=" + price + "]";
+    }
+}
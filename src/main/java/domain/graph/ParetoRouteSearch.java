@@ -0,0 +1,247 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Búsqueda multicriterio por etiquetas (label-setting) sobre el snapshot CSR: calcula el frente de Pareto
+ * de itinerarios entre dos aeropuertos para duración, distancia y precio a la vez.
+ *
+ * Cada etiqueta guarda los tres costos acumulados de una ruta parcial. Las etiquetas salen del heap en orden
+ * de una suma ponderada de los costos (normalizados por el promedio de cada criterio), por lo que una etiqueta
+ * nunca domina a otra que salió antes: las bolsas de cada aeropuerto solo crecen.
+ * Poda por dominancia contra la bolsa del aeropuerto y contra la bolsa del destino. Cada aeropuerto guarda
+ * a lo sumo maxLabelsPerAirport etiquetas; si alguna bolsa se llena el frente puede quedar incompleto (isTruncated).
+ * Espacio de trabajo no thread-safe, igual que {@link ShortestPathSearch}.
+ */
+public class ParetoRouteSearch {
+    public static final int DEFAULT_MAX_LABELS_PER_AIRPORT = 16;
+
+    private final int maxLabelsPerAirport;
+
+    //Etiquetas en arreglos paralelos: costos[criterio][etiqueta], aeropuerto y etiqueta anterior
+    private double[][] costs = new double[RoutingGraph.COST_TYPES][64];
+    private int[] vertexOf = new int[64];
+    private int[] parent = new int[64];
+    private double[] keyOf = new double[64];
+    private int labelCount;
+
+    //Bolsas de etiquetas definitivas por aeropuerto
+    private int[][] bags;
+    private int[] bagSize;
+
+    //Heap binario de ids de etiqueta ordenado por keyOf
+    private int[] heap = new int[64];
+    private int heapSize;
+
+    private boolean truncated;
+    private int settledCount;
+
+    //Constructor
+    public ParetoRouteSearch(int maxLabelsPerAirport) {
+        if (maxLabelsPerAirport < 1) {
+            throw new IllegalArgumentException("maxLabelsPerAirport must be at least 1");
+        }
+        this.maxLabelsPerAirport = maxLabelsPerAirport;
+    }
+
+    public ParetoRouteSearch() {
+        this(DEFAULT_MAX_LABELS_PER_AIRPORT);
+    }
+
+    /**
+     * Calcula los itinerarios no dominados de 'source' a 'target', ordenados por precio.
+     * @return lista vacía si no hay ruta
+     */
+    public List<ParetoRoute> run(RoutingGraph graph, int source, int target) {
+        return run(graph, source, target, null);
+    }
+
+    //Igual que run, pero solo usa las rutas que el filtro permite (null = todas)
+    public List<ParetoRoute> run(RoutingGraph graph, int source, int target, RouteFilter filter) {
+        int n = graph.vertexCount();
+        bags = new int[n][];
+        bagSize = new int[n];
+        labelCount = 0;
+        heapSize = 0;
+        truncated = false;
+        settledCount = 0;
+        if (!RouteFilter.allowsStart(filter, graph, source) || !RouteFilter.allowsStart(filter, graph, target)) {
+            return new ArrayList<>();
+        }
+        if (source == target) {
+            return new ArrayList<>(List.of(new ParetoRoute(List.of(graph.code(source)), 0.0, 0.0, 0.0)));
+        }
+
+        double[] scale = criterionWeights(graph);
+        push(newLabel(source, -1, 0.0, 0.0, 0.0, 0.0));
+        while (heapSize > 0) {
+            int label = pollMin();
+            int u = vertexOf[label];
+            //pudo quedar dominada por etiquetas que se asentaron después de encolarla
+            if (isDominated(u, label) || (u != target && isDominated(target, label))) {
+                continue;
+            }
+            if (bagSize[u] == maxLabelsPerAirport) {
+                truncated = true;
+                continue;
+            }
+            addToBag(u, label);
+            settledCount++;
+            if (u == target) {
+                continue; //no se extienden rutas que ya llegaron al destino
+            }
+
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                if (filter != null && !filter.allowsEdge(e)) continue;
+                int v = graph.target(e);
+                double duration = costs[RoutingGraph.DURATION][label] + graph.weight(RoutingGraph.DURATION, e);
+                double distance = costs[RoutingGraph.DISTANCE][label] + graph.weight(RoutingGraph.DISTANCE, e);
+                double price = costs[RoutingGraph.PRICE][label] + graph.weight(RoutingGraph.PRICE, e);
+                if (isDominated(v, duration, distance, price) || isDominated(target, duration, distance, price)) {
+                    continue;
+                }
+                double key = duration * scale[RoutingGraph.DURATION] + distance * scale[RoutingGraph.DISTANCE]
+                        + price * scale[RoutingGraph.PRICE];
+                push(newLabel(v, label, duration, distance, price, key));
+            }
+        }
+        return front(graph, target);
+    }
+
+    //true si alguna bolsa se llenó y pudieron descartarse itinerarios no dominados
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    //Cantidad de etiquetas asentadas en la última búsqueda
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    public int getMaxLabelsPerAirport() {
+        return maxLabelsPerAirport;
+    }
+
+    private List<ParetoRoute> front(RoutingGraph graph, int target) {
+        List<ParetoRoute> routes = new ArrayList<>();
+        for (int i = 0; i < bagSize[target]; i++) {
+            int label = bags[target][i];
+            List<Integer> path = new ArrayList<>();
+            for (int l = label; l != -1; l = parent[l]) {
+                path.add(graph.code(vertexOf[l]));
+            }
+            Collections.reverse(path);
+            routes.add(new ParetoRoute(path, costs[RoutingGraph.DURATION][label],
+                    costs[RoutingGraph.DISTANCE][label], costs[RoutingGraph.PRICE][label]));
+        }
+        routes.sort(Comparator.comparingDouble(ParetoRoute::getPrice)
+                .thenComparingDouble(ParetoRoute::getDurationHours)
+                .thenComparingDouble(ParetoRoute::getDistanceKm));
+        return routes;
+    }
+
+    //Pesos de la suma ponderada: 1 / promedio del criterio en las rutas, para que ninguno opaque a los otros.
+    //Cualquier combinación con pesos positivos es monótona respecto de la dominancia
+    private static double[] criterionWeights(RoutingGraph graph) {
+        double[] weights = new double[RoutingGraph.COST_TYPES];
+        for (int c = 0; c < RoutingGraph.COST_TYPES; c++) {
+            double total = 0.0;
+            for (int e = 0; e < graph.edgeCount(); e++) {
+                total += graph.weight(c, e);
+            }
+            weights[c] = total > 0 ? graph.edgeCount() / total : 1.0;
+        }
+        return weights;
+    }
+
+    private boolean isDominated(int v, int label) {
+        return isDominated(v, costs[RoutingGraph.DURATION][label], costs[RoutingGraph.DISTANCE][label],
+                costs[RoutingGraph.PRICE][label]);
+    }
+
+    //Una etiqueta de la bolsa domina si es igual o mejor en los tres criterios (los empates también se podan)
+    private boolean isDominated(int v, double duration, double distance, double price) {
+        int[] bag = bags[v];
+        for (int i = 0; i < bagSize[v]; i++) {
+            int other = bag[i];
+            if (costs[RoutingGraph.DURATION][other] <= duration && costs[RoutingGraph.DISTANCE][other] <= distance
+                    && costs[RoutingGraph.PRICE][other] <= price) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addToBag(int v, int label) {
+        if (bags[v] == null) {
+            bags[v] = new int[Math.min(4, maxLabelsPerAirport)];
+        } else if (bagSize[v] == bags[v].length) {
+            bags[v] = Arrays.copyOf(bags[v], Math.min(bagSize[v] * 2, maxLabelsPerAirport));
+        }
+        bags[v][bagSize[v]++] = label;
+    }
+
+    private int newLabel(int v, int parentLabel, double duration, double distance, double price, double key) {
+        if (labelCount == vertexOf.length) {
+            int capacity = labelCount * 2;
+            for (int c = 0; c < RoutingGraph.COST_TYPES; c++) {
+                costs[c] = Arrays.copyOf(costs[c], capacity);
+            }
+            vertexOf = Arrays.copyOf(vertexOf, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            keyOf = Arrays.copyOf(keyOf, capacity);
+        }
+        int label = labelCount++;
+        costs[RoutingGraph.DURATION][label] = duration;
+        costs[RoutingGraph.DISTANCE][label] = distance;
+        costs[RoutingGraph.PRICE][label] = price;
+        vertexOf[label] = v;
+        parent[label] = parentLabel;
+        keyOf[label] = key;
+        return label;
+    }
+
+    private void push(int label) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        int pos = heapSize++;
+        while (pos > 0) {
+            int parentPos = (pos - 1) / 2;
+            if (keyOf[heap[parentPos]] <= keyOf[label]) {
+                break;
+            }
+            heap[pos] = heap[parentPos];
+            pos = parentPos;
+        }
+        heap[pos] = label;
+    }
+
+    private int pollMin() {
+        int min = heap[0];
+        int last = heap[--heapSize];
+        int pos = 0;
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && keyOf[heap[child + 1]] < keyOf[heap[child]]) {
+                child++;
+            }
+            if (keyOf[last] <= keyOf[heap[child]]) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        if (heapSize > 0) {
+            heap[pos] = last;
+        }
+        return min;
+    }
+}
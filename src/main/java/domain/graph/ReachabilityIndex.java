@@ -0,0 +1,264 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Índice de alcanzabilidad de un snapshot: componentes fuertemente conexas (Tarjan, iterativo) y, sobre el
+ * DAG de condensación, el conjunto de componentes alcanzables desde cada una como bitset.
+ * canReach responde en O(1) si existe alguna ruta, sin buscar; así las consultas imposibles se descartan
+ * antes de explorar el grafo.
+ *
+ * Tarjan numera las componentes en orden topológico inverso (los sumideros primero), por lo que una
+ * componente solo puede alcanzar componentes con número menor. Si hay demasiadas componentes para la
+ * clausura completa (más de MAX_CLOSURE_COMPONENTS) se usa esa regla más un DFS acotado sobre el DAG.
+ */
+public final class ReachabilityIndex {
+    public static final int MAX_CLOSURE_COMPONENTS = 8192; //8192² bits = 8 MB
+
+    private final RoutingGraph graph;
+    private final int[] component;        //component[v] = número de componente del vértice v
+    private final int componentCount;
+    private final int[] memberOffsets;    //miembros de cada componente en formato CSR
+    private final int[] members;
+    private final int[] dagOffsets;       //aristas del DAG de condensación (sin duplicados)
+    private final int[] dagTargets;
+    private final long[][] closure;       //closure[c] = bitset de componentes alcanzables desde c (null si no hay clausura)
+    private final long buildTimeNanos;
+
+    private ReachabilityIndex(RoutingGraph graph, int[] component, int componentCount, int[] memberOffsets, int[] members,
+                              int[] dagOffsets, int[] dagTargets, long[][] closure, long buildTimeNanos) {
+        this.graph = graph;
+        this.component = component;
+        this.componentCount = componentCount;
+        this.memberOffsets = memberOffsets;
+        this.members = members;
+        this.dagOffsets = dagOffsets;
+        this.dagTargets = dagTargets;
+        this.closure = closure;
+        this.buildTimeNanos = buildTimeNanos;
+    }
+
+    public static ReachabilityIndex build(RoutingGraph graph) {
+        return build(graph, MAX_CLOSURE_COMPONENTS);
+    }
+
+    //maxClosureComponents: límite de componentes para guardar la clausura completa
+    static ReachabilityIndex build(RoutingGraph graph, int maxClosureComponents) {
+        long start = System.nanoTime();
+        int n = graph.vertexCount();
+        int[] component = new int[n];
+        int componentCount = tarjan(graph, component);
+
+        //Miembros de cada componente
+        int[] memberOffsets = new int[componentCount + 1];
+        for (int v = 0; v < n; v++) memberOffsets[component[v] + 1]++;
+        for (int c = 0; c < componentCount; c++) memberOffsets[c + 1] += memberOffsets[c];
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(memberOffsets, componentCount);
+        for (int v = 0; v < n; v++) members[cursor[component[v]]++] = v;
+
+        //DAG de condensación: aristas entre componentes distintas, sin repetir destino
+        int[] dagOffsets = new int[componentCount + 1];
+        int[] lastSeen = new int[componentCount];
+        Arrays.fill(lastSeen, -1);
+        List<Integer> targets = new ArrayList<>();
+        for (int c = 0; c < componentCount; c++) {
+            for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) {
+                int u = members[m];
+                for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                    int d = component[graph.target(e)];
+                    if (d != c && lastSeen[d] != c) {
+                        lastSeen[d] = c;
+                        targets.add(d);
+                    }
+                }
+            }
+            dagOffsets[c + 1] = targets.size();
+        }
+        int[] dagTargets = new int[targets.size()];
+        for (int i = 0; i < dagTargets.length; i++) dagTargets[i] = targets.get(i);
+
+        //Clausura transitiva: como los sucesores tienen número menor, se calcula en orden creciente
+        long[][] closure = null;
+        if (componentCount <= maxClosureComponents) {
+            int words = (componentCount + 63) >>> 6;
+            closure = new long[componentCount][];
+            for (int c = 0; c < componentCount; c++) {
+                long[] reach = new long[words];
+                reach[c >>> 6] |= 1L << c;
+                for (int i = dagOffsets[c]; i < dagOffsets[c + 1]; i++) {
+                    long[] successor = closure[dagTargets[i]];
+                    for (int w = 0; w < words; w++) reach[w] |= successor[w];
+                }
+                closure[c] = reach;
+            }
+        }
+        return new ReachabilityIndex(graph, component, componentCount, memberOffsets, members, dagOffsets, dagTargets,
+                closure, System.nanoTime() - start);
+    }
+
+    //Tarjan iterativo (sin recursión, para redes grandes). Devuelve la cantidad de componentes
+    private static int tarjan(RoutingGraph graph, int[] component) {
+        int n = graph.vertexCount();
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        int[] nextEdge = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        Arrays.fill(index, -1);
+        int stackSize = 0, counter = 0, componentCount = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) continue;
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = lowLink[root] = counter++;
+            nextEdge[root] = graph.firstEdge(root);
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int u = callStack[depth - 1];
+                if (nextEdge[u] < graph.endEdge(u)) {
+                    int v = graph.target(nextEdge[u]++);
+                    if (index[v] == -1) {
+                        index[v] = lowLink[v] = counter++;
+                        nextEdge[v] = graph.firstEdge(v);
+                        stack[stackSize++] = v;
+                        onStack[v] = true;
+                        callStack[depth++] = v;
+                    } else if (onStack[v]) {
+                        lowLink[u] = Math.min(lowLink[u], index[v]);
+                    }
+                    continue;
+                }
+                //u terminó: si es raíz de componente, saca la componente de la pila
+                if (lowLink[u] == index[u]) {
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        component[w] = componentCount;
+                    } while (w != u);
+                    componentCount++;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[u]);
+                }
+            }
+        }
+        return componentCount;
+    }
+
+    //true si existe alguna ruta de 'source' a 'target' (ids densos del snapshot)
+    public boolean canReach(int source, int target) {
+        int from = component[source], to = component[target];
+        if (from == to) {
+            return true;
+        }
+        if (from < to) {
+            return false; //orden topológico inverso: solo se alcanzan componentes con número menor
+        }
+        if (closure != null) {
+            return (closure[from][to >>> 6] & (1L << to)) != 0;
+        }
+        //sin clausura: DFS sobre el DAG podando las componentes con número menor que el destino
+        boolean[] visited = new boolean[componentCount];
+        int[] pending = new int[componentCount];
+        int size = 0;
+        pending[size++] = from;
+        visited[from] = true;
+        while (size > 0) {
+            int c = pending[--size];
+            for (int i = dagOffsets[c]; i < dagOffsets[c + 1]; i++) {
+                int d = dagTargets[i];
+                if (d == to) return true;
+                if (d > to && !visited[d]) {
+                    visited[d] = true;
+                    pending[size++] = d;
+                }
+            }
+        }
+        return false;
+    }
+
+    //Ids de los vértices alcanzables desde 'source' (incluido), sin ejecutar una búsqueda sobre el grafo
+    public int[] reachableFrom(int source) {
+        int from = component[source];
+        boolean[] reachable = new boolean[componentCount];
+        if (closure != null) {
+            long[] bits = closure[from];
+            for (int c = 0; c < componentCount; c++) {
+                reachable[c] = (bits[c >>> 6] & (1L << c)) != 0;
+            }
+        } else {
+            int[] pending = new int[componentCount];
+            int size = 0;
+            pending[size++] = from;
+            reachable[from] = true;
+            while (size > 0) {
+                int c = pending[--size];
+                for (int i = dagOffsets[c]; i < dagOffsets[c + 1]; i++) {
+                    if (!reachable[dagTargets[i]]) {
+                        reachable[dagTargets[i]] = true;
+                        pending[size++] = dagTargets[i];
+                    }
+                }
+            }
+        }
+        int count = 0;
+        for (int c = 0; c < componentCount; c++) {
+            if (reachable[c]) count += memberOffsets[c + 1] - memberOffsets[c];
+        }
+        int[] result = new int[count];
+        int k = 0;
+        for (int c = 0; c < componentCount; c++) {
+            if (reachable[c]) {
+                for (int m = memberOffsets[c]; m < memberOffsets[c + 1]; m++) result[k++] = members[m];
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    public RoutingGraph getGraph() {
+        return graph;
+    }
+
+    public int componentOf(int v) {
+        return component[v];
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    //Tamaño de la componente fuertemente conexa más grande
+    public int getLargestComponentSize() {
+        int largest = 0;
+        for (int c = 0; c < componentCount; c++) {
+            largest = Math.max(largest, memberOffsets[c + 1] - memberOffsets[c]);
+        }
+        return largest;
+    }
+
+    public boolean hasClosure() {
+        return closure != null;
+    }
+
+    public double getBuildTimeMillis() {
+        return buildTimeNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "ReachabilityIndex [components=" + componentCount + ", largest=" + getLargestComponentSize()
+                + ", dagEdges=" + dagTargets.length + ", closure=" + hasClosure() + ", buildTimeMs="
+                + String.format("%.2f", getBuildTimeMillis()) + "]";
+    }
+}
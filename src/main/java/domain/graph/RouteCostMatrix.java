@@ -0,0 +1,175 @@
+package domain.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Matriz origen-destino de costos mínimos entre un conjunto de aeropuertos.
+ * Se calcula con una búsqueda de Dijkstra por origen, repartidas en un ForkJoinPool
+ * sobre el mismo snapshot inmutable; cada hilo trabajador reutiliza su propio
+ * {@link ShortestPathSearch}. Registra el tiempo total y el rendimiento (búsquedas/segundo).
+ */
+public final class RouteCostMatrix {
+    //Espacio de trabajo por hilo: se dimensiona una vez y se reutiliza entre búsquedas y matrices
+    private static final ThreadLocal<ShortestPathSearch> WORKSPACE =
+            ThreadLocal.withInitial(() -> new ShortestPathSearch(1));
+
+    private final int[] airportCodes;
+    private final int costIndex;
+    private final double[][] costs;   //costs[i][j], POSITIVE_INFINITY si no hay ruta
+    private final long wallTimeNanos;
+    private final int parallelism;
+    private final long settledVertices;
+
+    private RouteCostMatrix(int[] airportCodes, int costIndex, double[][] costs,
+                            long wallTimeNanos, int parallelism, long settledVertices) {
+        this.airportCodes = airportCodes;
+        this.costIndex = costIndex;
+        this.costs = costs;
+        this.wallTimeNanos = wallTimeNanos;
+        this.parallelism = parallelism;
+        this.settledVertices = settledVertices;
+    }
+
+    /**
+     * Calcula la matriz para los ids densos indicados (ya validados sobre el snapshot).
+     * Cada búsqueda se detiene cuando todos los aeropuertos de la matriz quedan definitivos.
+     */
+    public static RouteCostMatrix compute(RoutingGraph graph, int[] ids, int costIndex, ForkJoinPool pool) {
+        return compute(graph, ids, costIndex, pool, null);
+    }
+
+    //Igual que compute, pero solo usa las rutas que el filtro permite (null = todas); sin ruta = POSITIVE_INFINITY
+    public static RouteCostMatrix compute(RoutingGraph graph, int[] ids, int costIndex, ForkJoinPool pool,
+                                          RouteFilter filter) {
+        long start = System.nanoTime();
+        int k = ids.length;
+        boolean[] isTarget = new boolean[graph.vertexCount()];
+        int targetCount = 0;
+        for (int id : ids) {
+            if (!isTarget[id]) {
+                isTarget[id] = true;
+                targetCount++;
+            }
+        }
+        double[][] costs = new double[k][];
+        long[] settled = new long[k];
+        pool.invoke(new OriginRangeTask(graph, filter, ids, isTarget, targetCount, costIndex, costs, settled, 0, k));
+
+        long totalSettled = 0;
+        for (long s : settled) totalSettled += s;
+        int[] codes = new int[k];
+        for (int i = 0; i < k; i++) codes[i] = graph.code(ids[i]);
+        return new RouteCostMatrix(codes, costIndex, costs, System.nanoTime() - start, pool.getParallelism(), totalSettled);
+    }
+
+    //Divide el rango de orígenes hasta llegar a una búsqueda por tarea
+    @SuppressWarnings("serial") //la tarea solo vive dentro del pool, nunca se serializa
+    private static class OriginRangeTask extends RecursiveAction {
+        private final RoutingGraph graph;
+        private final RouteFilter filter;
+        private final int[] ids;
+        private final boolean[] isTarget;
+        private final int targetCount;
+        private final int costIndex;
+        private final double[][] costs;
+        private final long[] settled;
+        private final int from, to;
+
+        OriginRangeTask(RoutingGraph graph, RouteFilter filter, int[] ids, boolean[] isTarget, int targetCount,
+                        int costIndex, double[][] costs, long[] settled, int from, int to) {
+            this.graph = graph;
+            this.filter = filter;
+            this.ids = ids;
+            this.isTarget = isTarget;
+            this.targetCount = targetCount;
+            this.costIndex = costIndex;
+            this.costs = costs;
+            this.settled = settled;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) searchFrom(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new OriginRangeTask(graph, filter, ids, isTarget, targetCount, costIndex, costs, settled, from, mid),
+                    new OriginRangeTask(graph, filter, ids, isTarget, targetCount, costIndex, costs, settled, mid, to));
+        }
+
+        private void searchFrom(int i) {
+            ShortestPathSearch search = WORKSPACE.get();
+            search.runToTargets(graph, ids[i], isTarget, targetCount, costIndex, filter);
+            double[] row = new double[ids.length];
+            for (int j = 0; j < ids.length; j++) {
+                row[j] = search.cost(ids[j]);
+            }
+            costs[i] = row; //cada tarea escribe solo su propia fila
+            settled[i] = search.getSettledCount();
+        }
+    }
+
+    private int indexOfCode(int airportCode) {
+        for (int i = 0; i < airportCodes.length; i++) {
+            if (airportCodes[i] == airportCode) return i;
+        }
+        return -1;
+    }
+
+    //Costo mínimo entre dos aeropuertos de la matriz, o POSITIVE_INFINITY si no hay ruta
+    public double cost(int originCode, int destinationCode) {
+        int i = indexOfCode(originCode);
+        int j = indexOfCode(destinationCode);
+        if (i == -1 || j == -1)
+            throw new IllegalArgumentException("Airport " + (i == -1 ? originCode : destinationCode) + " is not part of the matrix");
+        return costs[i][j];
+    }
+
+    public double costAt(int row, int column) {
+        return costs[row][column];
+    }
+
+    public int[] getAirportCodes() {
+        return Arrays.copyOf(airportCodes, airportCodes.length);
+    }
+
+    public int size() {
+        return airportCodes.length;
+    }
+
+    public int getCostIndex() {
+        return costIndex;
+    }
+
+    public long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    public double getWallTimeMillis() {
+        return wallTimeNanos / 1_000_000.0;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public long getSettledVertices() {
+        return settledVertices;
+    }
+
+    //Búsquedas de un solo origen completadas por segundo
+    public double getSearchesPerSecond() {
+        return wallTimeNanos == 0 ? 0 : airportCodes.length / (wallTimeNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RouteCostMatrix [%dx%d, parallelism=%d, wallTime=%.3f ms, searches/s=%.1f, settled=%d]",
+                size(), size(), parallelism, getWallTimeMillis(), getSearchesPerSecond(), settledVertices);
+    }
+}
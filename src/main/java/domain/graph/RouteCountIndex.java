@@ -0,0 +1,118 @@
+package domain.graph;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Cantidad de rutas por aeropuerto (como origen o destino), mantenida en cada alta o baja de ruta.
+ * Los aeropuertos con al menos una ruta se guardan en un árbol ordenado por cantidad descendente
+ * (desempate por código), así que actualizar un contador es O(log n) y leer el top K es O(K)
+ * sin recorrer ni ordenar todas las rutas. Una ruta con origen igual al destino se cuenta una sola vez.
+ * Los métodos son synchronized; counts() devuelve una copia, segura de recorrer mientras otras rutas cambian.
+ */
+public class RouteCountIndex {
+    private final Map<Integer, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> ranking = new TreeSet<>((a, b) -> {
+        int cmp = Long.compare(b.count, a.count);
+        return cmp != 0 ? cmp : Integer.compare(a.code, b.code);
+    });
+
+    private static final class Counter {
+        private final int code;
+        private long count;
+
+        Counter(int code) {
+            this.code = code;
+        }
+    }
+
+    //Cuenta una ruta nueva
+    public synchronized void addRoute(int originAirportCode, int destinationAirportCode) {
+        adjust(originAirportCode, 1);
+        if (destinationAirportCode != originAirportCode) {
+            adjust(destinationAirportCode, 1);
+        }
+    }
+
+    //Descuenta una ruta eliminada
+    public synchronized void removeRoute(int originAirportCode, int destinationAirportCode) {
+        adjust(originAirportCode, -1);
+        if (destinationAirportCode != originAirportCode) {
+            adjust(destinationAirportCode, -1);
+        }
+    }
+
+    //Olvida el aeropuerto y su conteo (se eliminó junto con sus rutas)
+    public synchronized void removeAirport(int airportCode) {
+        Counter counter = counters.remove(airportCode);
+        if (counter != null) {
+            ranking.remove(counter);
+        }
+    }
+
+    public synchronized void clear() {
+        counters.clear();
+        ranking.clear();
+    }
+
+    //El contador sale del árbol antes de cambiar (su posición depende del conteo) y vuelve a entrar después
+    private void adjust(int airportCode, int delta) {
+        Counter counter = counters.get(airportCode);
+        if (counter == null) {
+            if (delta < 0) {
+                return; //ruta que nunca se contó
+            }
+            counter = new Counter(airportCode);
+            counters.put(airportCode, counter);
+        } else {
+            ranking.remove(counter);
+        }
+        counter.count += delta;
+        if (counter.count <= 0) {
+            counters.remove(airportCode);
+            return;
+        }
+        ranking.add(counter);
+    }
+
+    public synchronized long count(int airportCode) {
+        Counter counter = counters.get(airportCode);
+        return counter == null ? 0 : counter.count;
+    }
+
+    /**
+     * Códigos de los k aeropuertos con más rutas, de mayor a menor (desempate por código).
+     * Solo incluye aeropuertos con al menos una ruta, así que puede devolver menos de k.
+     */
+    public synchronized int[] top(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative");
+        }
+        int[] codes = new int[Math.min(k, ranking.size())];
+        Iterator<Counter> it = ranking.iterator();
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = it.next().code;
+        }
+        return codes;
+    }
+
+    /**
+     * Copia de solo lectura código -> cantidad de rutas, solo aeropuertos con rutas. Es una foto del momento
+     * de la llamada: no cambia con altas o bajas posteriores, así que se puede recorrer sin el lock.
+     */
+    public synchronized Map<Integer, Long> counts() {
+        Map<Integer, Long> copy = new HashMap<>(counters.size() * 2);
+        for (Counter counter : counters.values()) {
+            copy.put(counter.code, counter.count);
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    //Cantidad de aeropuertos con al menos una ruta
+    public synchronized int size() {
+        return ranking.size();
+    }
+}
@@ -0,0 +1,102 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Vista filtrada de un {@link RoutingGraph} sin copiarlo: las búsquedas consultan allowsEdge(e) en O(1)
+ * antes de relajar cada arista. Se arma con bitsets sobre los índices que el snapshot ya precalculó:
+ * - excluir aeropuertos inactivos (no se puede salir, llegar ni hacer escala en ellos);
+ * - permitir solo ciertas aerolíneas (vacío o null = cualquiera);
+ * - evitar aeropuertos de ciertos países (tampoco como origen o destino).
+ * Solo vale para el snapshot con el que se creó; las búsquedas hacia atrás usan transposed().
+ */
+public final class RouteFilter {
+    private final RoutingGraph graph;
+    private final boolean excludeInactive;
+    private final long[] allowedAirlines;   //bitset por id de aerolínea, null = todas
+    private final long[] avoidedCountries;  //bitset por id de país, null = ninguno
+    private final Collection<String> airlineNames;  //parámetros originales, para armar el filtro del transpuesto
+    private final Collection<String> countryNames;
+    private RouteFilter transposed;
+
+    public RouteFilter(RoutingGraph graph, boolean excludeInactive, Collection<String> airlines,
+                       Collection<String> avoidedCountries) {
+        this.graph = graph;
+        this.excludeInactive = excludeInactive;
+        this.airlineNames = airlines == null ? null : new ArrayList<>(airlines);
+        this.countryNames = avoidedCountries == null ? null : new ArrayList<>(avoidedCountries);
+        this.allowedAirlines = airlines == null || airlines.isEmpty() ? null : new long[(graph.airlineCount() + 63) >>> 6];
+        if (allowedAirlines != null) {
+            for (String airline : airlines) {
+                int id = graph.airlineIdOf(airline);
+                if (id != -1) allowedAirlines[id >>> 6] |= 1L << id; //aerolíneas sin rutas no habilitan nada
+            }
+        }
+        this.avoidedCountries = avoidedCountries == null || avoidedCountries.isEmpty() ? null
+                : new long[(graph.countryCount() + 63) >>> 6];
+        if (this.avoidedCountries != null) {
+            for (String country : avoidedCountries) {
+                int id = graph.countryIdOf(country);
+                if (id != -1) this.avoidedCountries[id >>> 6] |= 1L << id;
+            }
+        }
+    }
+
+    //Solo excluye los aeropuertos inactivos
+    public static RouteFilter activeOnly(RoutingGraph graph) {
+        return new RouteFilter(graph, true, null, null);
+    }
+
+    /**
+     * El mismo filtro sobre el snapshot transpuesto (los ids de aerolínea cambian entre ambos), para las
+     * búsquedas hacia atrás: allowsEdge(e) permite la ruta si su aerolínea y su aeropuerto de origen lo están.
+     */
+    public synchronized RouteFilter transposed() {
+        if (transposed == null) {
+            transposed = new RouteFilter(graph.transpose(), excludeInactive, airlineNames, countryNames);
+            transposed.transposed = this;
+        }
+        return transposed;
+    }
+
+    //Valida que el filtro sea del snapshot y que permita usar el aeropuerto de partida (null = sin filtro)
+    static boolean allowsStart(RouteFilter filter, RoutingGraph graph, int v) {
+        if (filter == null) {
+            return true;
+        }
+        if (filter.graph != graph) {
+            throw new IllegalArgumentException("Route filter belongs to a different routing snapshot");
+        }
+        return filter.allowsAirport(v);
+    }
+
+    //true si el aeropuerto puede ser origen, escala o destino
+    public boolean allowsAirport(int v) {
+        if (excludeInactive && graph.isInactive(v)) {
+            return false;
+        }
+        if (avoidedCountries != null) {
+            int country = graph.countryId(v);
+            return (avoidedCountries[country >>> 6] & (1L << country)) == 0;
+        }
+        return true;
+    }
+
+    //true si la búsqueda puede usar la arista e (aerolínea permitida y destino permitido)
+    public boolean allowsEdge(int e) {
+        if (allowedAirlines != null) {
+            int airline = graph.airlineId(e);
+            if ((allowedAirlines[airline >>> 6] & (1L << airline)) == 0) return false;
+        }
+        return allowsAirport(graph.target(e));
+    }
+
+    public RoutingGraph getGraph() {
+        return graph;
+    }
+
+    public boolean isExcludingInactive() {
+        return excludeInactive;
+    }
+}
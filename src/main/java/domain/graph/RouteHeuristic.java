@@ -0,0 +1,12 @@
+package domain.graph;
+
+/**
+ * Cota inferior del costo desde un vértice (id denso del {@link RoutingGraph}) hasta el destino de la consulta.
+ * Para que A* devuelva la ruta mínima la estimación nunca debe superar el costo real (admisible).
+ */
+@FunctionalInterface
+public interface RouteHeuristic {
+    RouteHeuristic NONE = v -> 0.0; //sin heurística A* equivale a Dijkstra
+
+    double estimate(int vertex);
+}
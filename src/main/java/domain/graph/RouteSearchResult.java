@@ -0,0 +1,61 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una consulta de ruta con estadísticas de la búsqueda: cuántos aeropuertos quedaron
+ * definitivos (settled) antes de responder, y con qué método o heurística. Sirve para comparar A* y ALT contra Dijkstra.
+ */
+public final class RouteSearchResult {
+    private final List<Integer> path; //códigos de aeropuerto, null si no hay ruta
+    private final double cost;
+    private final int settledCount;
+    private final String heuristic;
+    private final List<String> routeIds; //id de la ruta de cada tramo; vacía si la búsqueda no los registra
+
+    public RouteSearchResult(List<Integer> path, double cost, int settledCount, String heuristic) {
+        this(path, cost, settledCount, heuristic, List.of());
+    }
+
+    //Con las rutas usadas: distingue dos alternativas por los mismos aeropuertos en distinta aerolínea
+    public RouteSearchResult(List<Integer> path, double cost, int settledCount, String heuristic, List<String> routeIds) {
+        this.path = path == null ? null : Collections.unmodifiableList(new ArrayList<>(path));
+        this.cost = cost;
+        this.settledCount = settledCount;
+        this.heuristic = heuristic;
+        this.routeIds = Collections.unmodifiableList(new ArrayList<>(routeIds));
+    }
+
+    public boolean isFound() {
+        return path != null;
+    }
+
+    public List<Integer> getPath() {
+        return path;
+    }
+
+    //Costo total de la ruta, POSITIVE_INFINITY si no existe
+    public double getCost() {
+        return cost;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    public String getHeuristic() {
+        return heuristic;
+    }
+
+    public List<String> getRouteIds() {
+        return routeIds;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteSearchResult [path=" + path + ", cost=" + cost + ", settled=" + settledCount + ", heuristic=" + heuristic
+                + (routeIds.isEmpty() ? "" : ", routes=" + routeIds) + "]";
+    }
+}
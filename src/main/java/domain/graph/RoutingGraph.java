@@ -0,0 +1,331 @@
+package domain.graph;
+
+import domain.common.Airport;
+import domain.common.Route;
+import domain.linkedlist.ListException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot inmutable (CSR, compressed sparse row) de la red de aeropuertos para consultas de rutas.
+ * Cada aeropuerto recibe un id denso [0, V); las aristas salientes del id v son los índices
+ * [offsets[v], offsets[v+1]) de los arreglos targets/weights/routes.
+ * Se construye a partir del grafo mutable y nunca se modifica: ante un cambio en la red se crea uno nuevo.
+ */
+public final class RoutingGraph {
+    public static final int DURATION = 0;
+    public static final int DISTANCE = 1;
+    public static final int PRICE = 2;
+    public static final int COST_TYPES = 3;
+
+    private final Airport[] airports;              //airports[id]
+    private final Map<Integer, Integer> idByCode;  //código de aeropuerto -> id denso
+    private final int[] offsets;                   //largo V+1
+    private final int[] targets;                   //largo E, id del aeropuerto destino
+    private final double[][] weights;              //weights[costType][e]
+    private final Route[] routes;                  //ruta que originó cada arista
+    private final double[] latitudes;              //en radianes, NaN si el aeropuerto no tiene coordenadas
+    private final double[] longitudes;
+    private final double greatCircleScale;         //factor que hace admisible la distancia ortodrómica (ver build)
+    private RoutingGraph transposed;               //mismo snapshot con las aristas invertidas (se crea al pedirlo)
+
+    //Atributos precalculados para los filtros de RouteFilter (predicado por arista en O(1))
+    private final long[] inactive;                 //bitset: aeropuertos con estado "Inactive"
+    private final int inactiveCount;
+    private final int[] countryIds;                //countryIds[id], índice denso del país
+    private final Map<String, Integer> countryIndex;
+    private final int[] airlineIds;                //airlineIds[e], índice denso de la aerolínea de la ruta
+    private final Map<String, Integer> airlineIndex;
+
+    private RoutingGraph(Airport[] airports, Map<Integer, Integer> idByCode, int[] offsets,
+                         int[] targets, double[][] weights, Route[] routes) {
+        this.airports = airports;
+        this.idByCode = idByCode;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.routes = routes;
+        this.latitudes = new double[airports.length];
+        this.longitudes = new double[airports.length];
+        for (int v = 0; v < airports.length; v++) {
+            boolean known = airports[v].hasCoordinates();
+            latitudes[v] = known ? Math.toRadians(airports[v].getLatitude()) : Double.NaN;
+            longitudes[v] = known ? Math.toRadians(airports[v].getLongitude()) : Double.NaN;
+        }
+        this.inactive = new long[(airports.length + 63) >>> 6];
+        this.countryIds = new int[airports.length];
+        this.countryIndex = new HashMap<>();
+        int inactiveAirports = 0;
+        for (int v = 0; v < airports.length; v++) {
+            if ("Inactive".equalsIgnoreCase(airports[v].getStatus())) {
+                inactive[v >>> 6] |= 1L << v;
+                inactiveAirports++;
+            }
+            countryIds[v] = countryIndex.computeIfAbsent(normalize(airports[v].getCountry()), k -> countryIndex.size());
+        }
+        this.inactiveCount = inactiveAirports;
+        this.greatCircleScale = computeGreatCircleScale();
+        this.airlineIds = new int[targets.length];
+        this.airlineIndex = new HashMap<>();
+        for (int e = 0; e < targets.length; e++) {
+            airlineIds[e] = airlineIndex.computeIfAbsent(normalize(routes[e].getAirline()), k -> airlineIndex.size());
+        }
+    }
+
+    //Nombres de país/aerolínea sin distinguir mayúsculas ni espacios de los extremos
+    static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase();
+    }
+
+    /*
+     * La distancia de una ruta (distanceKm) puede ser menor que la ortodrómica entre sus aeropuertos
+     * (datos aleatorios o aproximados). Para que la heurística de A* nunca sobreestime se escala por
+     * min(distanceKm / ortodrómica) sobre todas las aristas, acotado a 1.
+     * Si algún aeropuerto activo no tiene coordenadas la escala es 0 (A* usa landmarks): un camino que pasa
+     * por él no está acotado por ninguna arista medida y podría costar menos que la ortodrómica escalada.
+     * Los inactivos sin coordenadas no afectan porque A* no pasa por ellos cuando los hay.
+     */
+    private double computeGreatCircleScale() {
+        for (int v = 0; v < airports.length; v++) {
+            if (!hasCoordinates(v) && !isInactive(v)) return 0.0;
+        }
+        double scale = 1.0;
+        for (int v = 0; v < airports.length; v++) {
+            if (!hasCoordinates(v)) continue;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e];
+                if (!hasCoordinates(w)) continue;
+                double greatCircle = GreatCircleHeuristic.distanceKm(latitudes[v], longitudes[v], latitudes[w], longitudes[w]);
+                if (greatCircle > 0) {
+                    scale = Math.min(scale, weights[DISTANCE][e] / greatCircle);
+                }
+            }
+        }
+        return Math.max(0.0, scale);
+    }
+
+    /**
+     * Construye el snapshot recorriendo una sola vez los vértices y aristas del grafo.
+     * Los vértices que no son Airport y las aristas sin Route como peso se ignoran.
+     */
+    public static RoutingGraph build(DirectedSinglyLinkedListGraph graph) throws ListException {
+        List<Vertex> vertices = new ArrayList<>();
+        Map<Integer, Integer> idByCode = new HashMap<>();
+        if (!graph.isEmpty()) {
+            for (Object obj : graph.getVertexList().toList()) {
+                Vertex vertex = (Vertex) obj;
+                if (vertex.data instanceof Airport && !idByCode.containsKey(((Airport) vertex.data).getCode())) {
+                    idByCode.put(((Airport) vertex.data).getCode(), vertices.size());
+                    vertices.add(vertex);
+                }
+            }
+        }
+
+        int n = vertices.size();
+        Airport[] airports = new Airport[n];
+        int[] offsets = new int[n + 1];
+        List<int[]> targetsByVertex = new ArrayList<>(n);
+        List<Route[]> routesByVertex = new ArrayList<>(n);
+
+        //1. Cuenta y resuelve las aristas válidas de cada vértice
+        for (int v = 0; v < n; v++) {
+            Vertex vertex = vertices.get(v);
+            airports[v] = (Airport) vertex.data;
+            ArrayList<Object> edges = vertex.edgesList == null || vertex.edgesList.isEmpty()
+                    ? new ArrayList<>() : vertex.edgesList.toList();
+            int[] edgeTargets = new int[edges.size()];
+            Route[] edgeRoutes = new Route[edges.size()];
+            int count = 0;
+            for (Object edgeObj : edges) {
+                if (!(edgeObj instanceof EdgeWeight)) continue;
+                EdgeWeight edgeWeight = (EdgeWeight) edgeObj;
+                if (!(edgeWeight.getEdge() instanceof Airport) || !(edgeWeight.getWeight() instanceof Route)) continue;
+                Integer target = idByCode.get(((Airport) edgeWeight.getEdge()).getCode());
+                if (target == null) continue;
+                edgeTargets[count] = target;
+                edgeRoutes[count] = (Route) edgeWeight.getWeight();
+                count++;
+            }
+            targetsByVertex.add(Arrays.copyOf(edgeTargets, count));
+            routesByVertex.add(Arrays.copyOf(edgeRoutes, count));
+            offsets[v + 1] = offsets[v] + count;
+        }
+
+        //2. Copia las aristas a los arreglos planos
+        int m = offsets[n];
+        int[] targets = new int[m];
+        double[][] weights = new double[COST_TYPES][m];
+        Route[] routes = new Route[m];
+        for (int v = 0; v < n; v++) {
+            int[] edgeTargets = targetsByVertex.get(v);
+            Route[] edgeRoutes = routesByVertex.get(v);
+            for (int i = 0; i < edgeTargets.length; i++) {
+                int e = offsets[v] + i;
+                targets[e] = edgeTargets[i];
+                routes[e] = edgeRoutes[i];
+                weights[DURATION][e] = edgeRoutes[i].getDurationHours();
+                weights[DISTANCE][e] = edgeRoutes[i].getDistanceKm();
+                weights[PRICE][e] = edgeRoutes[i].getPrice();
+            }
+        }
+        return new RoutingGraph(airports, idByCode, offsets, targets, weights, routes);
+    }
+
+    /**
+     * Snapshot con todas las aristas invertidas (v->u por cada ruta u->v), con los mismos ids y rutas.
+     * Sirve para búsquedas hacia atrás (costo desde cada aeropuerto hasta uno fijo). Se construye una vez.
+     */
+    public synchronized RoutingGraph transpose() {
+        if (transposed == null) {
+            int n = airports.length, m = targets.length;
+            int[] reverseOffsets = new int[n + 1];
+            for (int e = 0; e < m; e++) reverseOffsets[targets[e] + 1]++;
+            for (int v = 0; v < n; v++) reverseOffsets[v + 1] += reverseOffsets[v];
+
+            int[] next = Arrays.copyOf(reverseOffsets, n);
+            int[] reverseTargets = new int[m];
+            double[][] reverseWeights = new double[COST_TYPES][m];
+            Route[] reverseRoutes = new Route[m];
+            for (int u = 0; u < n; u++) {
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int r = next[targets[e]]++;
+                    reverseTargets[r] = u;
+                    reverseRoutes[r] = routes[e];
+                    for (int c = 0; c < COST_TYPES; c++) reverseWeights[c][r] = weights[c][e];
+                }
+            }
+            transposed = new RoutingGraph(airports, idByCode, reverseOffsets, reverseTargets, reverseWeights, reverseRoutes);
+            transposed.transposed = this;
+        }
+        return transposed;
+    }
+
+    //Traduce el 'costType' usado por los servicios ("duration", "distance", "price") a su índice
+    public static int costIndex(String costType) {
+        if (costType != null) {
+            switch (costType.toLowerCase()) {
+                case "duration":
+                    return DURATION;
+                case "distance":
+                    return DISTANCE;
+                case "price":
+                    return PRICE;
+            }
+        }
+        throw new IllegalArgumentException("Invalid cost type. Must be 'duration', 'distance', or 'price'.");
+    }
+
+    public int vertexCount() {
+        return airports.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    //Id denso del aeropuerto o -1 si no forma parte del snapshot
+    public int idOf(int airportCode) {
+        Integer id = idByCode.get(airportCode);
+        return id == null ? -1 : id;
+    }
+
+    public boolean containsAirport(int airportCode) {
+        return idByCode.containsKey(airportCode);
+    }
+
+    public Airport airport(int id) {
+        return airports[id];
+    }
+
+    public int code(int id) {
+        return airports[id].getCode();
+    }
+
+    //Primera arista saliente del vértice v
+    public int firstEdge(int v) {
+        return offsets[v];
+    }
+
+    //Límite (exclusivo) de las aristas salientes del vértice v
+    public int endEdge(int v) {
+        return offsets[v + 1];
+    }
+
+    public int outDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    public int target(int e) {
+        return targets[e];
+    }
+
+    public double weight(int costIndex, int e) {
+        return weights[costIndex][e];
+    }
+
+    public Route route(int e) {
+        return routes[e];
+    }
+
+    public boolean hasCoordinates(int id) {
+        return !Double.isNaN(latitudes[id]);
+    }
+
+    public double latitudeRadians(int id) {
+        return latitudes[id];
+    }
+
+    public double longitudeRadians(int id) {
+        return longitudes[id];
+    }
+
+    public double getGreatCircleScale() {
+        return greatCircleScale;
+    }
+
+    public boolean isInactive(int id) {
+        return (inactive[id >>> 6] & (1L << id)) != 0;
+    }
+
+    //Cantidad de aeropuertos inactivos del snapshot
+    public int inactiveCount() {
+        return inactiveCount;
+    }
+
+    public int countryId(int id) {
+        return countryIds[id];
+    }
+
+    //Índice del país (sin distinguir mayúsculas) o -1 si ningún aeropuerto del snapshot es de ese país
+    public int countryIdOf(String country) {
+        Integer id = countryIndex.get(normalize(country));
+        return id == null ? -1 : id;
+    }
+
+    public int countryCount() {
+        return countryIndex.size();
+    }
+
+    public int airlineId(int e) {
+        return airlineIds[e];
+    }
+
+    //Índice de la aerolínea (sin distinguir mayúsculas) o -1 si ninguna ruta del snapshot es de esa aerolínea
+    public int airlineIdOf(String airline) {
+        Integer id = airlineIndex.get(normalize(airline));
+        return id == null ? -1 : id;
+    }
+
+    public int airlineCount() {
+        return airlineIndex.size();
+    }
+
+    @Override
+    public String toString() {
+        return "RoutingGraph [airports=" + vertexCount() + ", routes=" + edgeCount() + "]";
+    }
+}
@@ -0,0 +1,290 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Espacio de trabajo reutilizable para Dijkstra sobre un {@link RoutingGraph}.
+ * Los arreglos se dimensionan una vez y se "limpian" en O(1) con un sello por búsqueda,
+ * así que una misma instancia puede responder muchas consultas seguidas.
+ * No es thread-safe: cada hilo debe usar su propia instancia.
+ */
+public class ShortestPathSearch {
+    private double[] dist;        //costo mínimo desde el origen
+    private int[] predecessor;    //vértice anterior en el camino más corto (-1 = ninguno)
+    private int[] predecessorEdge;//arista CSR usada para llegar al vértice (-1 = ninguna)
+    private int[] stamp;          //stamp[v] == currentStamp si dist/predecessor de v son válidos
+    private int currentStamp;
+    private IndexedMinHeap heap;
+
+    private RoutingGraph graph;   //grafo de la última búsqueda
+    private int source = -1;
+    private int settledCount;     //vértices extraídos del heap en la última búsqueda
+
+    //Constructor
+    public ShortestPathSearch(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    private void allocate(int capacity) {
+        this.dist = new double[capacity];
+        this.predecessor = new int[capacity];
+        this.predecessorEdge = new int[capacity];
+        this.stamp = new int[capacity];
+        this.currentStamp = 0;
+        this.heap = new IndexedMinHeap(capacity);
+    }
+
+    //Prepara el espacio de trabajo para una nueva búsqueda sobre el grafo indicado
+    private void reset(RoutingGraph graph) {
+        if (graph.vertexCount() > stamp.length) {
+            allocate(graph.vertexCount());
+        }
+        heap.clear();
+        if (++currentStamp == Integer.MAX_VALUE) { //evita desbordar el sello
+            Arrays.fill(stamp, 0);
+            currentStamp = 1;
+        }
+        this.graph = graph;
+        this.settledCount = 0;
+    }
+
+    private void label(int v, double cost, int pred, int edge) {
+        stamp[v] = currentStamp;
+        dist[v] = cost;
+        predecessor[v] = pred;
+        predecessorEdge[v] = edge;
+    }
+
+    /**
+     * Ejecuta Dijkstra desde 'source'. Si 'target' es -1 calcula el árbol completo de caminos mínimos;
+     * si no, se detiene al extraer el destino.
+     * @return true si el destino (o, sin destino, algún vértice) fue alcanzado
+     */
+    public boolean run(RoutingGraph graph, int source, int target, int costIndex) {
+        return run(graph, source, target, costIndex, null);
+    }
+
+    //Igual que run, pero solo usa las aristas que el filtro permite (null = todas)
+    public boolean run(RoutingGraph graph, int source, int target, int costIndex, RouteFilter filter) {
+        reset(graph);
+        this.source = source;
+        if (!startsFrom(graph, source, filter)) {
+            return false;
+        }
+        label(source, 0.0, -1, -1);
+        heap.insert(source, 0.0);
+
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin(); //el costo de u ya es definitivo
+            settledCount++;
+            if (u == target) {
+                return true;
+            }
+            double du = dist[u];
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                if (filter != null && !filter.allowsEdge(e)) continue;
+                int v = graph.target(e);
+                double newCost = du + graph.weight(costIndex, e);
+                if (stamp[v] != currentStamp || newCost < dist[v]) {
+                    label(v, newCost, u, e);
+                    heap.insertOrDecrease(v, newCost);
+                }
+            }
+        }
+        return target == -1;
+    }
+
+    /**
+     * Ejecuta Dijkstra desde 'source' y se detiene en cuanto todos los destinos marcados en
+     * 'isTarget' quedan definitivos (o se agota la parte alcanzable del grafo).
+     * @return cantidad de destinos alcanzados
+     */
+    public int runToTargets(RoutingGraph graph, int source, boolean[] isTarget, int targetCount, int costIndex) {
+        return runToTargets(graph, source, isTarget, targetCount, costIndex, null);
+    }
+
+    //Igual que runToTargets, pero solo usa las aristas que el filtro permite (null = todas)
+    public int runToTargets(RoutingGraph graph, int source, boolean[] isTarget, int targetCount, int costIndex,
+                            RouteFilter filter) {
+        reset(graph);
+        this.source = source;
+        if (!startsFrom(graph, source, filter)) {
+            return 0;
+        }
+        label(source, 0.0, -1, -1);
+        heap.insert(source, 0.0);
+
+        int settledTargets = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settledCount++;
+            if (isTarget[u] && ++settledTargets == targetCount) {
+                break;
+            }
+            double du = dist[u];
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                if (filter != null && !filter.allowsEdge(e)) continue;
+                int v = graph.target(e);
+                double newCost = du + graph.weight(costIndex, e);
+                if (stamp[v] != currentStamp || newCost < dist[v]) {
+                    label(v, newCost, u, e);
+                    heap.insertOrDecrease(v, newCost);
+                }
+            }
+        }
+        return settledTargets;
+    }
+
+    /**
+     * Dijkstra acotado por presupuesto: no etiqueta vértices cuyo costo supere 'budget', así que solo se
+     * explora la región alcanzable dentro del presupuesto (más sus vecinos inmediatos).
+     * @return ids asentados en orden de costo creciente (el origen primero; vacío si el filtro no permite el origen)
+     */
+    public int[] runWithinBudget(RoutingGraph graph, int source, int costIndex, double budget, RouteFilter filter) {
+        reset(graph);
+        this.source = source;
+        if (!startsFrom(graph, source, filter) || !(budget >= 0)) {
+            return new int[0];
+        }
+        label(source, 0.0, -1, -1);
+        heap.insert(source, 0.0);
+
+        int[] order = new int[16];
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            if (settledCount == order.length) order = Arrays.copyOf(order, order.length * 2);
+            order[settledCount++] = u;
+            double du = dist[u];
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                if (filter != null && !filter.allowsEdge(e)) continue;
+                int v = graph.target(e);
+                double newCost = du + graph.weight(costIndex, e);
+                if (newCost > budget) continue; //fuera del presupuesto: ni se etiqueta ni entra al heap
+                if (stamp[v] != currentStamp || newCost < dist[v]) {
+                    label(v, newCost, u, e);
+                    heap.insertOrDecrease(v, newCost);
+                }
+            }
+        }
+        return Arrays.copyOf(order, settledCount);
+    }
+
+    /**
+     * A*: como run con destino, pero el heap se ordena por costo + heuristic.estimate(v).
+     * Con una heurística admisible la ruta devuelta es mínima; si la heurística devuelve infinito
+     * el vértice se descarta porque desde él no se llega al destino.
+     * @return true si el destino fue alcanzado
+     */
+    public boolean runAStar(RoutingGraph graph, int source, int target, int costIndex, RouteHeuristic heuristic) {
+        return runAStar(graph, source, target, costIndex, heuristic, null, null);
+    }
+
+    //Igual que runAStar, pero sin usar las aristas marcadas en 'blockedEdges' (null = ninguna)
+    public boolean runAStar(RoutingGraph graph, int source, int target, int costIndex, RouteHeuristic heuristic,
+                            boolean[] blockedEdges) {
+        return runAStar(graph, source, target, costIndex, heuristic, blockedEdges, null);
+    }
+
+    /**
+     * Igual que runAStar, pero solo usa las aristas que el filtro permite (null = todas).
+     * Quitar aristas solo alarga los caminos, así que una heurística admisible sigue siéndolo.
+     */
+    public boolean runAStar(RoutingGraph graph, int source, int target, int costIndex, RouteHeuristic heuristic,
+                            RouteFilter filter) {
+        return runAStar(graph, source, target, costIndex, heuristic, null, filter);
+    }
+
+    //Con aristas bloqueadas y filtro a la vez (búsquedas spur de Yen sobre una vista filtrada)
+    public boolean runAStar(RoutingGraph graph, int source, int target, int costIndex, RouteHeuristic heuristic,
+                            boolean[] blockedEdges, RouteFilter filter) {
+        reset(graph);
+        this.source = source;
+        if (!startsFrom(graph, source, filter)) {
+            return false;
+        }
+        label(source, 0.0, -1, -1);
+        heap.insert(source, heuristic.estimate(source));
+
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settledCount++;
+            if (u == target) {
+                return true;
+            }
+            double du = dist[u];
+            for (int e = graph.firstEdge(u), end = graph.endEdge(u); e < end; e++) {
+                if (blockedEdges != null && blockedEdges[e]) continue;
+                if (filter != null && !filter.allowsEdge(e)) continue;
+                int v = graph.target(e);
+                double newCost = du + graph.weight(costIndex, e);
+                if (stamp[v] != currentStamp || newCost < dist[v]) {
+                    double estimate = heuristic.estimate(v);
+                    if (estimate == Double.POSITIVE_INFINITY) continue;
+                    label(v, newCost, u, e);
+                    heap.insertOrDecrease(v, newCost + estimate);
+                }
+            }
+        }
+        return false;
+    }
+
+    //Valida que el filtro sea de este snapshot y que permita salir del origen
+    private static boolean startsFrom(RoutingGraph graph, int source, RouteFilter filter) {
+        return RouteFilter.allowsStart(filter, graph, source);
+    }
+
+    public boolean isReached(int v) {
+        return stamp[v] == currentStamp;
+    }
+
+    public double cost(int v) {
+        return isReached(v) ? dist[v] : Double.POSITIVE_INFINITY;
+    }
+
+    public int predecessor(int v) {
+        return isReached(v) ? predecessor[v] : -1;
+    }
+
+    public int predecessorEdge(int v) {
+        return isReached(v) ? predecessorEdge[v] : -1;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Copia el resultado de la última búsqueda completa (run con target -1) a un árbol inmutable,
+     * de modo que el espacio de trabajo pueda reutilizarse enseguida.
+     */
+    public ShortestPathTree toTree(int costIndex) {
+        int n = graph.vertexCount();
+        double[] costs = new double[n];
+        int[] predecessors = new int[n];
+        for (int v = 0; v < n; v++) {
+            costs[v] = cost(v);
+            predecessors[v] = predecessor(v);
+        }
+        return new ShortestPathTree(graph, source, costIndex, costs, predecessors);
+    }
+
+    //Reconstruye la ruta como códigos de aeropuerto, o null si el destino no fue alcanzado
+    public List<Integer> pathCodes(int target) {
+        if (graph == null || !isReached(target)) {
+            return null;
+        }
+        List<Integer> codes = new ArrayList<>();
+        for (int v = target; v != -1; v = predecessor[v]) {
+            codes.add(graph.code(v));
+        }
+        Collections.reverse(codes);
+        return codes;
+    }
+}
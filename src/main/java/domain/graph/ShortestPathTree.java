@@ -0,0 +1,78 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Árbol de caminos mínimos desde un origen, calculado en una sola pasada de Dijkstra.
+ * Guarda solo dos arreglos primitivos (costo y predecesor por id denso), así que responde
+ * el costo de cualquier destino en O(1) y su ruta en O(largo de la ruta).
+ * Es inmutable y queda atado al snapshot sobre el que se calculó.
+ */
+public final class ShortestPathTree {
+    private final RoutingGraph graph;
+    private final int source;
+    private final int costIndex;
+    private final double[] costs;      //costs[id], POSITIVE_INFINITY si no es alcanzable
+    private final int[] predecessors;  //predecessors[id], -1 para el origen o no alcanzables
+
+    ShortestPathTree(RoutingGraph graph, int source, int costIndex, double[] costs, int[] predecessors) {
+        this.graph = graph;
+        this.source = source;
+        this.costIndex = costIndex;
+        this.costs = costs;
+        this.predecessors = predecessors;
+    }
+
+    public RoutingGraph getGraph() {
+        return graph;
+    }
+
+    public int getOriginCode() {
+        return graph.code(source);
+    }
+
+    public int getCostIndex() {
+        return costIndex;
+    }
+
+    public boolean isReachable(int airportCode) {
+        int id = graph.idOf(airportCode);
+        return id != -1 && costs[id] != Double.POSITIVE_INFINITY;
+    }
+
+    //Costo mínimo hasta el aeropuerto, o POSITIVE_INFINITY si no hay ruta
+    public double cost(int airportCode) {
+        int id = graph.idOf(airportCode);
+        return id == -1 ? Double.POSITIVE_INFINITY : costs[id];
+    }
+
+    //Ruta (códigos de aeropuerto) desde el origen hasta el destino, o null si no hay ruta
+    public List<Integer> path(int airportCode) {
+        int id = graph.idOf(airportCode);
+        if (id == -1 || costs[id] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        List<Integer> codes = new ArrayList<>();
+        for (int v = id; v != -1; v = predecessors[v]) {
+            codes.add(graph.code(v));
+        }
+        Collections.reverse(codes);
+        return codes;
+    }
+
+    //Códigos de todos los aeropuertos alcanzables (incluye el origen)
+    public List<Integer> reachableAirportCodes() {
+        List<Integer> codes = new ArrayList<>();
+        for (int v = 0; v < costs.length; v++) {
+            if (costs[v] != Double.POSITIVE_INFINITY) codes.add(graph.code(v));
+        }
+        return codes;
+    }
+
+    @Override
+    public String toString() {
+        return "ShortestPathTree [origin=" + getOriginCode() + ", reachable=" + reachableAirportCodes().size() + "]";
+    }
+}
@@ -0,0 +1,166 @@
+package domain.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Caché LRU acotada de resultados de findShortestRoute, con clave (origen, destino, tipo de costo).
+ * Cada entrada guarda la versión de la red con la que se calculó: si la red cambió desde entonces
+ * la entrada se descarta al consultarla. También cachea la ausencia de ruta.
+ * Expone contadores de aciertos, fallos, desalojos e invalidaciones para ajustar la capacidad.
+ */
+public class ShortestRouteCache {
+    private static final List<Integer> NO_ROUTE = Collections.emptyList(); //marca "no existe ruta"
+
+    private final LinkedHashMap<Key, Entry> entries;
+    private int capacity;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long staleInvalidations;
+
+    //Constructor
+    public ShortestRouteCache(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Cache capacity must be at least 1");
+        this.capacity = capacity;
+        //accessOrder=true: el orden de iteración va del menos al más recientemente usado
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > ShortestRouteCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Busca una ruta cacheada para la versión de red indicada.
+     * @return null si no está (o estaba desactualizada); lista vacía si se sabe que no hay ruta
+     */
+    public synchronized List<Integer> get(int origin, int destination, int costIndex, long networkVersion) {
+        Key key = new Key(origin, destination, costIndex);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.version != networkVersion) {
+            entries.remove(key); //la red cambió: la entrada ya no es válida
+            staleInvalidations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.path;
+    }
+
+    //Guarda el resultado de una búsqueda (path null = no existe ruta)
+    public synchronized void put(int origin, int destination, int costIndex, long networkVersion, List<Integer> path) {
+        List<Integer> value = path == null ? NO_ROUTE : Collections.unmodifiableList(new ArrayList<>(path));
+        entries.put(new Key(origin, destination, costIndex), new Entry(networkVersion, value));
+    }
+
+    public static boolean isNoRoute(List<Integer> cached) {
+        return cached == NO_ROUTE;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized void setCapacity(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Cache capacity must be at least 1");
+        this.capacity = capacity;
+        //desaloja los menos usados si la nueva capacidad es menor
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > capacity && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void resetStatistics() {
+        hits = misses = evictions = staleInvalidations = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getStaleInvalidations() {
+        return staleInvalidations;
+    }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("ShortestRouteCache [size=%d/%d, hits=%d, misses=%d, evictions=%d, stale=%d, hitRate=%.2f]",
+                entries.size(), capacity, hits, misses, evictions, staleInvalidations, getHitRate());
+    }
+
+    private static final class Key {
+        private final int origin;
+        private final int destination;
+        private final int costIndex;
+
+        Key(int origin, int destination, int costIndex) {
+            this.origin = origin;
+            this.destination = destination;
+            this.costIndex = costIndex;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return origin == key.origin && destination == key.destination && costIndex == key.costIndex;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(origin, destination, costIndex);
+        }
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final List<Integer> path;
+
+        Entry(long version, List<Integer> path) {
+            this.version = version;
+            this.path = path;
+        }
+    }
+}
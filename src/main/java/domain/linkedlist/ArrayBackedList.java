@@ -0,0 +1,271 @@
+package domain.linkedlist;
+
+import util.ComparatorRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Lista sobre un arreglo que crece según se necesite, con la misma semántica que las listas enlazadas lineales:
+ * índices desde 1, size() lanza ListException si está vacía, remove de un elemento ausente no hace nada y
+ * getNode devuelve null fuera de rango. Los elementos quedan contiguos en memoria (sin un Node por elemento),
+ * así que los recorridos y getNode(i) son más rápidos; addFirst, removeFirst y remove desplazan el arreglo (O(n)).
+ *
+ * getNode(i) devuelve un nodo suelto con el dato de la posición i: leer node.data funciona igual que en las
+ * listas enlazadas, pero para reemplazar un elemento se usa set(i, elemento).
+ */
+public class ArrayBackedList implements List {
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private Object[] elements; //posiciones 0..size-1 ocupadas (índice de la lista - 1)
+    private int size;
+    private Comparator<Object> comparator = ComparatorRegistry.DEFAULT; //por defecto, el registro tipado
+    private int modCount; //altas y bajas, para que los iteradores detecten cambios
+
+    //Constructor
+    public ArrayBackedList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    //Constructor con capacidad inicial (evita crecer si se conoce la cantidad de elementos)
+    public ArrayBackedList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        }
+        this.elements = new Object[Math.max(initialCapacity, 1)];
+        this.size = 0;
+    }
+
+    //Constructor con un comparador propio (contains, remove, indexOf, sort...)
+    public ArrayBackedList(Comparator<Object> comparator) {
+        this();
+        this.comparator = comparator;
+    }
+
+    @Override
+    public int size() throws ListException {
+        if (isEmpty())
+            throw new ListException("Array List is empty");
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null); //suelta las referencias para el GC
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object element) throws ListException {
+        return indexOf(element) != -1;
+    }
+
+    @Override
+    public void add(Object element) {
+        if (size == elements.length) grow();
+        elements[size++] = element;
+        modCount++;
+    }
+
+    @Override
+    public void addFirst(Object element) {
+        insert(0, element);
+    }
+
+    @Override
+    public void addLast(Object element) {
+        add(element);
+    }
+
+    @Override
+    public void addInSortedList(Object element) {
+        //busqueda binaria de la primera posición con un elemento mayor (los iguales quedan antes)
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!ComparatorRegistry.isGreater(comparator, elements[mid], element)) low = mid + 1;
+            else high = mid;
+        }
+        insert(low, element);
+    }
+
+    //Inserta en la posición (0-based) desplazando el resto una posición a la derecha
+    private void insert(int position, Object element) {
+        if (size == elements.length) grow();
+        System.arraycopy(elements, position, elements, position + 1, size - position);
+        elements[position] = element;
+        size++;
+        modCount++;
+    }
+
+    //Crece un 50% (como java.util.ArrayList)
+    private void grow() {
+        elements = Arrays.copyOf(elements, elements.length + Math.max(elements.length >> 1, 1));
+    }
+
+    @Override
+    public void remove(Object element) throws ListException {
+        if (isEmpty())
+            throw new ListException("Array List is empty");
+        int index = indexOf(element);
+        if (index != -1) {
+            removeAt(index - 1);
+        }
+    }
+
+    //Quita la posición (0-based) desplazando el resto una posición a la izquierda
+    private Object removeAt(int position) {
+        Object value = elements[position];
+        System.arraycopy(elements, position + 1, elements, position, size - position - 1);
+        elements[--size] = null;
+        modCount++;
+        return value;
+    }
+
+    @Override
+    public Object removeFirst() throws ListException {
+        if (isEmpty())
+            throw new ListException("Array List is empty");
+        return removeAt(0);
+    }
+
+    @Override
+    public Object removeLast() throws ListException {
+        if (isEmpty())
+            throw new ListException("Array List is empty");
+        return removeAt(size - 1);
+    }
+
+    @Override
+    public void sort() throws ListException {
+        if (isEmpty())
+            throw new ListException("Array List is empty");
+        Arrays.sort(elements, 0, size, comparator);
+    }
+
+    @Override
+    public int indexOf(Object element) throws ListException {
+        if (isEmpty())
+            throw new ListException("Array List is empty");
+        for (int i = 0; i < size; i++) {
+            if (comparator.compare(elements[i], element) == 0) return i + 1; //el primer indice de la lista es 1
+        }
+        return -1; //significa q el elemento no existe en la lista
+    }
+
+    @Override
+    public Object getFirst() throws ListException {
+        if (isEmpty())
+            throw new ListException("Array List is empty");
+        return elements[0];
+    }
+
+    @Override
+    public Object getLast() throws ListException {
+        if (isEmpty())
+            throw new ListException("Array List is empty");
+        return elements[size - 1];
+    }
+
+    @Override
+    public Object getPrev(Object element) throws ListException {
+        int index = indexOf(element);
+        if (index == -1) return "Does not exist in Array List";
+        return index > 1 ? elements[index - 2] : "It's the first, it has no prev";
+    }
+
+    @Override
+    public Object getNext(Object element) throws ListException {
+        int index = indexOf(element);
+        if (index == -1) return "Does not exist in Array List";
+        return index < size ? elements[index] : "It's the last, it has no next";
+    }
+
+    @Override
+    public Node getNode(int index) throws ListException {
+        if (isEmpty())
+            throw new ListException("Array List is empty");
+        if (index < 1 || index > size) return null; //no existe el index
+        return new Node(elements[index - 1]); //nodo suelto: para modificar se usa set
+    }
+
+    //Reemplaza el elemento de la posición (desde 1) sin pasar por un nodo
+    @Override
+    public Object set(int index, Object element) throws ListException {
+        if (index < 1 || index > size)
+            throw new ListException("Index " + index + " is out of bounds for Array List of size " + size);
+        Object old = elements[index - 1];
+        elements[index - 1] = element;
+        return old;
+    }
+
+    @Override
+    public ArrayList<Object> toList() {
+        return new ArrayList<>(Arrays.asList(elements).subList(0, size));
+    }
+
+    //Espacio reservado en el arreglo (para comparar memoria contra las listas enlazadas)
+    public int capacity() {
+        return elements.length;
+    }
+
+    //Ajusta el arreglo a la cantidad de elementos
+    public void trimToSize() {
+        if (elements.length > size) {
+            elements = Arrays.copyOf(elements, Math.max(size, 1));
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) return "Array List is empty";
+        StringBuilder result = new StringBuilder("Array List Content\n");
+        for (int i = 0; i < size; i++) {
+            result.append(elements[i]).append(" ");
+        }
+        return result.toString();
+    }
+
+    //Recorrido del arreglo para for-each; fail-fast ante altas o bajas durante el recorrido
+    @Override
+    public Iterator<Object> iterator() {
+        return new Iterator<>() {
+            private final int expectedModCount = modCount;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Object next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException("The list was modified during iteration");
+                }
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return elements[next++];
+            }
+        };
+    }
+
+    //Divide el arreglo por rangos (parallelStream reparte mejor que con el iterador)
+    @Override
+    public Spliterator<Object> spliterator() {
+        return Spliterators.spliterator(elements, 0, size, Spliterator.ORDERED);
+    }
+}
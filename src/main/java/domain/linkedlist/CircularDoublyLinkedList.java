@@ -1,11 +1,18 @@
 package domain.linkedlist;
 
+import util.ComparatorRegistry;
 import util.Utility;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+
 public class CircularDoublyLinkedList implements List {
     private Node first;
     private Node last;
     private int size;
+    private Comparator<Object> comparator = ComparatorRegistry.DEFAULT; //por defecto, el registro tipado
+    private int modCount; //altas y bajas, para que los iteradores detecten cambios
 
     // Constructor
     public CircularDoublyLinkedList() {
@@ -13,6 +20,12 @@ public class CircularDoublyLinkedList implements List {
         this.size = 0; // Inicializa el tamaño a 0
     }
 
+    //Constructor con un comparador propio (contains, remove, indexOf, sort...)
+    public CircularDoublyLinkedList(Comparator<Object> comparator) {
+        this();
+        this.comparator = comparator;
+    }
+
     @Override
     public int size() {
 
@@ -21,6 +34,7 @@ public class CircularDoublyLinkedList implements List {
 
     @Override
     public void clear() {
+        modCount++;
         this.first = this.last = null; // Anula la lista
         this.size = 0;
     }
@@ -38,7 +52,7 @@ public class CircularDoublyLinkedList implements List {
         Node aux = first;
 
         do {
-            if (util.Utility.compare(aux.data, element) == 0) return true; // Ya lo encontró
+            if (comparator.compare(aux.data, element) == 0) return true; // Ya lo encontró
             aux = aux.next; // Mueve aux al siguiente nodo
         } while (aux != first); // Continúa hasta que dé la vuelta completa y llegue a 'first' de nuevo
 
@@ -47,6 +61,7 @@ public class CircularDoublyLinkedList implements List {
 
     @Override
     public void add(Object element) {
+        modCount++;
         Node newNode = new Node(element);
         if (isEmpty()) {
             first = last = newNode;
@@ -64,6 +79,7 @@ public class CircularDoublyLinkedList implements List {
 
     @Override
     public void addFirst(Object element) {
+        modCount++;
         Node newNode = new Node(element);
         if (isEmpty()) {
             first = last = newNode;
@@ -86,6 +102,7 @@ public class CircularDoublyLinkedList implements List {
 
     @Override
     public void addInSortedList(Object element) throws ListException {
+        modCount++;
         Node newNode = new Node(element);
 
         // Caso 1: La lista está vacía
@@ -94,8 +111,8 @@ public class CircularDoublyLinkedList implements List {
             return;
         }
 
-        // Caso 2: Si el nuevo elemento debe ir al inicio (menor que el primero)
-        if (util.Utility.compare(element, first.data) < 0) {
+        // Caso 2: Si el nuevo elemento debe ir al inicio (el primero es mayor)
+        if (ComparatorRegistry.isGreater(comparator, first.data, element)) {
             addFirst(element); // Reutiliza addFirst, que maneja el tamaño y enlaces
             return;
         }
@@ -105,8 +122,8 @@ public class CircularDoublyLinkedList implements List {
         Node current = first.next; // Empieza desde el segundo nodo
 
         // Recorre hasta encontrar la posición o llegar a 'first' de nuevo (fin de la lista)
-        // El bucle se detiene cuando current es el último nodo o cuando el elemento es menor que current.data
-        while (current != first && util.Utility.compare(current.data, element) < 0) {
+        // El bucle se detiene al dar la vuelta o en el primer nodo mayor (los iguales quedan antes)
+        while (current != first && !ComparatorRegistry.isGreater(comparator, current.data, element)) {
             prev = current;
             current = current.next;
         }
@@ -131,6 +148,7 @@ public class CircularDoublyLinkedList implements List {
 
     @Override
     public void remove(Object element) throws ListException {
+        modCount++;
         if (isEmpty()) {
             throw new ListException("Circular Doubly Linked List is empty");
         }
@@ -140,7 +158,7 @@ public class CircularDoublyLinkedList implements List {
 
 
         do {
-            if (util.Utility.compare(current.data, element) == 0) {
+            if (comparator.compare(current.data, element) == 0) {
                 found = true;
                 break;
             }
@@ -188,6 +206,7 @@ public class CircularDoublyLinkedList implements List {
 
     @Override
     public Object removeFirst() throws ListException {
+        modCount++;
         if (isEmpty()) {
             throw new ListException("Circular Doubly Linked List is empty");
         }
@@ -211,6 +230,7 @@ public class CircularDoublyLinkedList implements List {
 
     @Override
     public Object removeLast() throws ListException {
+        modCount++;
         if (isEmpty()) {
             throw new ListException("Circular Doubly Linked List is empty"); // Corregido el mensaje de error
         }
@@ -238,25 +258,17 @@ public class CircularDoublyLinkedList implements List {
             throw new ListException("Circular Doubly Linked List is empty");
         }
 
-        for (int i = 0; i < size(); i++) {
-            for (int j = i + 1; j < size(); j++) {
-
-                Node nodeI = getNode(i);
-                Node nodeJ = getNode(j);
-
-                // Comprobaciones de nulidad por seguridad, aunque getNode debería lanzar excepción
-                if (nodeI == null || nodeJ == null) {
-                    throw new ListException("Error during sort: Node not found at index.");
-                }
-
-                if (util.Utility.compare(nodeJ.data, nodeI.data) < 0) {
-
-                    Object temp = nodeI.data;
-                    nodeI.data = nodeJ.data;
-                    nodeJ.data = temp;
-                }
-            }
+        //Se copian los datos a un arreglo, se ordenan (O(n log n), estable) y se reescriben en la misma cadena
+        Object[] values = new Object[size];
+        Node aux = first;
+        for (int i = 0; i < size; i++, aux = aux.next) values[i] = aux.data;
+        try {
+            Arrays.sort(values, comparator);
+        } catch (IllegalArgumentException e) { //elementos no comparables entre sí
+            throw new ListException("Circular Doubly Linked List cannot be sorted: " + e.getMessage());
         }
+        aux = first;
+        for (int i = 0; i < size; i++, aux = aux.next) aux.data = values[i];
     }
 
     @Override
@@ -267,7 +279,7 @@ public class CircularDoublyLinkedList implements List {
         Node aux = first;
         int index = 0;
         do {
-            if (util.Utility.compare(aux.data, element) == 0) {
+            if (comparator.compare(aux.data, element) == 0) {
                 return index;
             }
             index++;
@@ -298,14 +310,14 @@ public class CircularDoublyLinkedList implements List {
             throw new ListException("Circular Doubly Linked List is empty");
         }
         // Si solo hay un elemento y es el que buscamos, no tiene previo.
-        if (size == 1 && util.Utility.compare(first.data, element) == 0) {
+        if (size == 1 && comparator.compare(first.data, element) == 0) {
             return "Does not exist in Circular Doubly Linked List"; // O podrías devolver null o lanzar una excepción específica
         }
 
         Node aux = first;
         do {
             // Verifica si el siguiente nodo contiene el elemento. Si sí, 'aux' es el previo.
-            if (util.Utility.compare(aux.next.data, element) == 0) {
+            if (comparator.compare(aux.next.data, element) == 0) {
                 return aux.data;
             }
             aux = aux.next;
@@ -320,13 +332,13 @@ public class CircularDoublyLinkedList implements List {
             throw new ListException("Circular Doubly Linked List is empty");
         }
 
-        if (size == 1 && util.Utility.compare(first.data, element) == 0) {
+        if (size == 1 && comparator.compare(first.data, element) == 0) {
             return "Does not exist in Circular Doubly Linked List";
         }
 
         Node aux = first;
         do {
-            if (util.Utility.compare(aux.data, element) == 0) {
+            if (comparator.compare(aux.data, element) == 0) {
                 return aux.next.data; // El elemento posterior
             }
             aux = aux.next;
@@ -371,4 +383,10 @@ public class CircularDoublyLinkedList implements List {
 
         return result.toString();
     }
-}
\ No newline at end of file
+
+    //Recorrido en O(n) para for-each y streams; fail-fast ante altas o bajas durante el recorrido
+    @Override
+    public Iterator<Object> iterator() {
+        return new NodeIterator(first, last, () -> modCount);
+    }
+}
@@ -1,14 +1,27 @@
 package domain.linkedlist;
 
+import util.ComparatorRegistry;
+
+import java.util.Comparator;
+import java.util.Iterator;
+
 public class CircularLinkedList implements List {
     private Node first; //apuntador al inicio de la lista
     private Node last; //apuntador al ultimo nodo de la lista
+    private Comparator<Object> comparator = ComparatorRegistry.DEFAULT; //por defecto, el registro tipado
+    private int modCount; //altas y bajas, para que los iteradores detecten cambios
 
     //Constructor
     public CircularLinkedList(){
         this.first = this.last = null;
     }
 
+    //Constructor con un comparador propio (contains, remove, indexOf, sort...)
+    public CircularLinkedList(Comparator<Object> comparator) {
+        this();
+        this.comparator = comparator;
+    }
+
     @Override
     public int size() throws ListException {
         if(isEmpty())
@@ -25,6 +38,7 @@ public class CircularLinkedList implements List {
 
     @Override
     public void clear() {
+        modCount++;
         this.first = this.last = null; //anula la lista
     }
 
@@ -39,17 +53,18 @@ public class CircularLinkedList implements List {
             throw new ListException("Circular Linked List is empty");
         Node aux = first;
         while(aux!=last){
-            if(util.Utility.compare(aux.data, element)==0) return true; //ya lo encontro
+            if(comparator.compare(aux.data, element)==0) return true; //ya lo encontro
             aux = aux.next; //muevo aux al nodo sgte
         }
         //se sale del while cuando aux esta en el ult nodo
-        if(util.Utility.compare(aux.data, element)==0) return true;
+        if(comparator.compare(aux.data, element)==0) return true;
 
         return false; //significa que no encontro el elemento
     }
 
     @Override
     public void add(Object element) {
+        modCount++;
         Node newNode = new Node(element);
         if(isEmpty())
             first = last = newNode;
@@ -63,6 +78,7 @@ public class CircularLinkedList implements List {
 
     @Override
     public void addFirst(Object element) {
+        modCount++;
         Node newNode = new Node(element);
         if(isEmpty())
             first = last = newNode;
@@ -80,6 +96,7 @@ public class CircularLinkedList implements List {
 
     @Override
     public void addInSortedList(Object element) {
+        modCount++;
         Node newNode = new Node(element);
 
         // Caso 1: La lista está vacía o el nuevo elemento es menor que el primero
@@ -90,7 +107,7 @@ public class CircularLinkedList implements List {
         }
 
         // Caso 2: Si el nuevo elemento debe ir al inicio
-        if (util.Utility.compare(element, first.data) < 0) {
+        if (comparator.compare(element, first.data) < 0) {
             newNode.next = first;
             first = newNode;
             last.next = first; // mantener circularidad
@@ -101,7 +118,7 @@ public class CircularLinkedList implements List {
         Node prev = null;
         Node current = first;
 
-        while (current != last && util.Utility.compare(current.data, element) < 0) {
+        while (current != last && comparator.compare(current.data, element) < 0) {
             prev = current;
             current = current.next;
         }
@@ -110,7 +127,7 @@ public class CircularLinkedList implements List {
         prev.next = newNode;
 
         // Actualizamos last
-        if (current == first && util.Utility.compare(element, last.data) > 0 || current == last && util.Utility.compare(element, last.data) > 0) {
+        if (current == first && comparator.compare(element, last.data) > 0 || current == last && comparator.compare(element, last.data) > 0) {
             last = newNode;
         }
 
@@ -120,22 +137,23 @@ public class CircularLinkedList implements List {
 
     @Override
     public void remove(Object element) throws ListException {
+        modCount++;
         if(isEmpty())
             throw new ListException("Circular Linked List is empty");
         //Caso 1: El elemento a suprimir es el primero de la lista
-        if(util.Utility.compare(first.data, element)==0)
+        if(comparator.compare(first.data, element)==0)
             first = first.next;
         //Caso 2. El elemento puede estar en el medio o al final
         else{
             Node prev = first; //nodo anterior
             Node aux = first.next; //nodo sgte
-            while(aux!=last && !(util.Utility.compare(aux.data, element)==0)){
+            while(aux!=last && !(comparator.compare(aux.data, element)==0)){
                 prev = aux;
                 aux = aux.next;
             }
             //se sale del while cuanda aux esta en el ult nodo
             //o cuando encuentra el elemento
-            if(util.Utility.compare(aux.data, element)==0){
+            if(comparator.compare(aux.data, element)==0){
                 //debo desenlazar  el nodo
                 prev.next = aux.next;
             }
@@ -148,13 +166,14 @@ public class CircularLinkedList implements List {
         last.next = first;
         //q pasa si solo queda un nodo
         //y es el q quiero eliminar
-        if(first==last&&util.Utility.compare(first.data, element)==0){
+        if(first==last&&comparator.compare(first.data, element)==0){
             clear(); //anulo la lista
         }
     }
 
     @Override
     public Object removeFirst() throws ListException {
+        modCount++;
         if(isEmpty())
             throw new ListException("Circular Linked List is empty");
         Object value = first.data;
@@ -166,6 +185,7 @@ public class CircularLinkedList implements List {
 
     @Override
     public Object removeLast() throws ListException {
+        modCount++;
         if(isEmpty())
             throw new ListException("Circular Linked List is empty");
         Node aux = first;
@@ -191,7 +211,7 @@ public class CircularLinkedList implements List {
             throw new ListException("Circular Linked List is empty");
         for (int i = 1; i<=size(); i++) {
             for (int j = i+1; j<=size() ; j++) {
-                if(util.Utility.compare(getNode(j).data, getNode(i).data)<0){
+                if(comparator.compare(getNode(j).data, getNode(i).data)<0){
                     Object aux = getNode(i).data;
                     getNode(i).data = getNode(j).data;
                     getNode(j).data = aux;
@@ -207,12 +227,12 @@ public class CircularLinkedList implements List {
         Node aux = first;
         int index = 1; //el primer indice de la lista es 1
         while(aux!=last){
-            if(util.Utility.compare(aux.data, element)==0) return index;
+            if(comparator.compare(aux.data, element)==0) return index;
             index++;
             aux = aux.next;
         }
         //se sale cuando aux == last
-        if(util.Utility.compare(aux.data, element)==0) return index;
+        if(comparator.compare(aux.data, element)==0) return index;
         return -1; //significa q el elemento no existe en la lista
     }
 
@@ -236,11 +256,11 @@ public class CircularLinkedList implements List {
             throw new ListException("Circular Linked List is empty");
         Node aux = first;
         while(aux.next!=first){
-            if(util.Utility.compare(aux.next.data, element)==0) return aux.data;
+            if(comparator.compare(aux.next.data, element)==0) return aux.data;
             aux = aux.next;
         }
         //se sale cuando aux.next == first
-        if(util.Utility.compare(aux.next.data, element)==0) return aux.data;
+        if(comparator.compare(aux.next.data, element)==0) return aux.data;
         return "Does not exist in Circular Linked List";
     }
 
@@ -251,13 +271,13 @@ public class CircularLinkedList implements List {
         }
         Node aux = first; //dejar un rastro
         while(aux!=last){
-            if(util.Utility.compare(aux.data, element)==0){
+            if(comparator.compare(aux.data, element)==0){
                 return aux.next.data; //el elemento posterior
             }
             aux = aux.next; //lo movemos al sgte nodo
         }
         //se sale cuando aux==last
-        if(util.Utility.compare(aux.data, element)==0){
+        if(comparator.compare(aux.data, element)==0){
             return aux.next.data; //el elemento anterior
         }
         return "Does not exist in Circular Linked List";
@@ -270,14 +290,14 @@ public class CircularLinkedList implements List {
         Node aux = first;
         int i = 1; //posicion del primer nodo
         while(aux!=last){
-            if(util.Utility.compare(i, index)==0){
+            if(i == index){
                 return aux;
             }
             i++;
             aux = aux.next; //lo movemos al sgte nodo
         }
         //se sale cuando aux == last
-        if(util.Utility.compare(i, index)==0) return aux;
+        if(i == index) return aux;
         return null; //si llega aquí es porque no encontró el nodo
     }
 
@@ -295,4 +315,10 @@ public class CircularLinkedList implements List {
         //agregamos la info del último nodo
         return result+aux.data;
     }
+
+    //Recorrido en O(n) para for-each y streams; fail-fast ante altas o bajas durante el recorrido
+    @Override
+    public Iterator<Object> iterator() {
+        return new NodeIterator(first, last, () -> modCount);
+    }
 }
@@ -1,13 +1,31 @@
 package domain.linkedlist;
 
+import util.ComparatorRegistry;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 
 public class DoublyLinkedList implements List {
     private Node first; //apuntador al inicio de la lista
+    private Node last; //apuntador al ultimo nodo (add, getLast y removeLast en O(1))
+    private int size; //cantidad de nodos, mantenida en cada alta y baja
+    private Node cursor; //ultimo nodo devuelto por getNode(int), para recorridos secuenciales
+    private int cursorIndex;
+    private Comparator<Object> comparator = ComparatorRegistry.DEFAULT; //por defecto, el registro tipado
+    private int modCount; //altas y bajas, para que los iteradores detecten cambios
 
     //Constructor
     public DoublyLinkedList(){
-        this.first = null;
+        this.first = this.last = null;
+        this.size = 0;
+    }
+
+    //Constructor con un comparador propio (contains, remove, indexOf, sort...)
+    public DoublyLinkedList(Comparator<Object> comparator) {
+        this();
+        this.comparator = comparator;
     }
 
     public Node getFirstNode(){
@@ -18,18 +36,15 @@ public class DoublyLinkedList implements List {
     public int size() throws ListException {
         if(isEmpty())
             throw new ListException("Doubly Linked List is empty");
-        int counter = 0; //contador de nodos
-        Node aux = first; //aux para moverme por la lista y no perder el puntero al inicio
-        while(aux!=null){
-            counter++;
-            aux = aux.next;
-        }
-        return counter;
+        return size;
     }
 
     @Override
     public void clear() {
-        this.first = null; //anula la lista
+        this.first = this.last = null; //anula la lista
+        this.size = 0;
+        this.cursor = null;
+        modCount++;
     }
 
     @Override
@@ -43,7 +58,7 @@ public class DoublyLinkedList implements List {
             throw new ListException("Doubly Linked List is empty");
         Node aux = first;
         while(aux!=null){
-            if(util.Utility.compare(aux.data, element)==0) return true; //ya lo encontro
+            if(comparator.compare(aux.data, element)==0) return true; //ya lo encontro
             aux = aux.next; //muevo aux al nodo sgte
         }
         return false; //significa que no encontro el elemento
@@ -55,28 +70,30 @@ public class DoublyLinkedList implements List {
         if(isEmpty())
             first = newNode;
         else{
-            Node aux = first; //aux para moverme por la lista y no perder el puntero al inicio
-            while(aux.next!=null){
-                aux = aux.next; //mueve aux al nodo sgte
-            }
-            //se sale del while cuando aux esta en el ult nodo
-            aux.next = newNode;
+            //se enlaza directo al ultimo nodo, sin recorrer
+            last.next = newNode;
             //hago el doble enlace
-            newNode.prev = aux;
+            newNode.prev = last;
         }
+        last = newNode;
+        size++;
+        modCount++;
     }
 
     @Override
     public void addFirst(Object element) {
         Node newNode = new Node(element);
         if(isEmpty())
-            first = newNode;
+            first = last = newNode;
         else{
             newNode.next = first;
             //hago el doble enlace
             first.prev = newNode;
             first = newNode;
         }
+        size++;
+        cursor = null; //los indices se corren
+        modCount++;
     }
 
     @Override
@@ -86,7 +103,26 @@ public class DoublyLinkedList implements List {
 
     @Override
     public void addInSortedList(Object element) {
-
+        //Se inserta después del último elemento menor o igual (los iguales conservan el orden de llegada)
+        if(isEmpty() || ComparatorRegistry.isGreater(comparator, first.data, element)){
+            addFirst(element);
+            return;
+        }
+        Node prev = first;
+        while(prev.next!=null && !ComparatorRegistry.isGreater(comparator, prev.next.data, element))
+            prev = prev.next;
+        if(prev.next==null){
+            add(element); //va al final: actualiza el ultimo nodo
+            return;
+        }
+        Node newNode = new Node(element);
+        newNode.next = prev.next;
+        newNode.prev = prev;
+        prev.next.prev = newNode; //hago el doble enlace
+        prev.next = newNode;
+        size++;
+        cursor = null; //los indices se corren
+        modCount++;
     }
 
     @Override
@@ -94,50 +130,69 @@ public class DoublyLinkedList implements List {
         if(isEmpty())
             throw new ListException("Doubly Linked List is empty");
         //Caso 1: El elemento a suprimir es el primero de la lista
-        if(util.Utility.compare(first.data, element)==0) {
-            first = first.next;
-            first.prev = null; //actualizo el enlace al nodo anteior
+        if(comparator.compare(first.data, element)==0) {
+            unlink(first);
         }
         //Caso 2. El elemento puede estar en el medio o al final
         else{
-            Node prev = first; //nodo anterior
             Node aux = first.next; //nodo sgte
-            while(aux!=null && !(util.Utility.compare(aux.data, element)==0)){
-                prev = aux;
+            while(aux!=null && !(comparator.compare(aux.data, element)==0)){
                 aux = aux.next;
             }
             //se sale del while cuanda alcanza nulo
             //o cuando encuentra el elemento
-            if(aux!=null && util.Utility.compare(aux.data, element)==0){
+            if(aux!=null){
                 //debo desenlazar  el nodo
-                prev.next = aux.next;
-                //mantengo el doble enlace
-                if(aux.next!=null)
-                    aux.next.prev = prev;
+                unlink(aux);
             }
         }
     }
 
+    //Desenlaza 'node' manteniendo el doble enlace, first, last, size y el cursor
+    private void unlink(Node node) {
+        if(node.prev==null) first = node.next;
+        else node.prev.next = node.next;
+        if(node.next==null) last = node.prev;
+        else node.next.prev = node.prev;
+        node.prev = node.next = null;
+        size--;
+        cursor = null;
+        modCount++;
+    }
+
     @Override
     public Object removeFirst() throws ListException {
         if(isEmpty())
             throw new ListException("Doubly Linked List is empty");
         Object value = first.data;
-        first = first.next; //movemos el apuntador al nodo sgte
-        //rompo el doble enlace
-        if(first!=null)
-            first.prev = null;
+        unlink(first); //movemos el apuntador al nodo sgte y rompo el doble enlace
         return value;
     }
 
     @Override
     public Object removeLast() throws ListException {
-        return null;
+        if(isEmpty())
+            throw new ListException("Doubly Linked List is empty");
+        Object value = last.data;
+        unlink(last); //el anterior pasa a ser el ultimo
+        return value;
     }
 
     @Override
     public void sort() throws ListException {
-
+        if(isEmpty())
+            throw new ListException("Doubly Linked List is empty");
+        //Se copian los datos a un arreglo, se ordenan (O(n log n), estable) y se reescriben en los mismos nodos
+        Object[] values = new Object[size];
+        Node aux = first;
+        for (int i = 0; i < size; i++, aux = aux.next) values[i] = aux.data;
+        try {
+            Arrays.sort(values, comparator);
+        } catch (IllegalArgumentException e) { //elementos no comparables entre sí
+            throw new ListException("Doubly Linked List cannot be sorted: " + e.getMessage());
+        }
+        aux = first;
+        for (int i = 0; i < size; i++, aux = aux.next) aux.data = values[i];
     }
 
     @Override
@@ -147,7 +202,7 @@ public class DoublyLinkedList implements List {
         Node aux = first;
         int index = 1; //el primer indice de la lista es 1
         while(aux!=null){
-            if(util.Utility.compare(aux.data, element)==0) return index;
+            if(comparator.compare(aux.data, element)==0) return index;
             index++;
             aux = aux.next;
         }
@@ -163,7 +218,9 @@ public class DoublyLinkedList implements List {
 
     @Override
     public Object getLast() throws ListException {
-        return null;
+        if(isEmpty())
+            throw new ListException("Doubly Linked List is empty");
+        return last.data;
     }
 
     @Override
@@ -180,16 +237,29 @@ public class DoublyLinkedList implements List {
     public Node getNode(int index) throws ListException {
         if(isEmpty())
             throw new ListException("Doubly Linked List is empty");
+        if(index < 1 || index > size) return null; //no existe el index
+        //Se parte del extremo o del ultimo nodo devuelto que quede más cerca (recorridos secuenciales en O(1))
         Node aux = first;
         int i = 1; //posicion del primer nodo
-        while(aux!=null){
-            if(util.Utility.compare(i, index)==0){
-                return aux;
-            }
+        if(size - index < index - 1){
+            aux = last;
+            i = size;
+        }
+        if(cursor != null && Math.abs(index - cursorIndex) < Math.abs(index - i)){
+            aux = cursor;
+            i = cursorIndex;
+        }
+        while(i < index){
             i++;
             aux = aux.next; //lo movemos al sgte nodo
         }
-        return null;
+        while(i > index){
+            i--;
+            aux = aux.prev; //lo movemos al nodo anterior
+        }
+        cursor = aux;
+        cursorIndex = index;
+        return aux;
     }
 
     public ArrayList<Object> toList() {
@@ -216,4 +286,10 @@ public class DoublyLinkedList implements List {
         }
         return result;
     }
+
+    //Recorrido en O(n) para for-each y streams; fail-fast ante altas o bajas durante el recorrido
+    @Override
+    public Iterator<Object> iterator() {
+        return new NodeIterator(first, last, () -> modCount);
+    }
 }
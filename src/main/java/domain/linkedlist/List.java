@@ -1,6 +1,16 @@
 package domain.linkedlist;
 
-public interface List {
+import java.util.ArrayList;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lista del proyecto. Además del acceso por índice, se puede recorrer con for-each (iterator() es O(n) en
+ * total y fail-fast) o con stream()/parallelStream(); el spliterator conoce el tamaño y se puede dividir.
+ */
+public interface List extends Iterable<Object> {
     public int size() throws ListException; // Devuelve el número de elementos en la lista
     public void clear(); //Remueve todos los elementos de la lista
     public boolean isEmpty(); // true si la lista está vacía
@@ -19,4 +29,43 @@ public interface List {
     public Object getPrev(Object element) throws ListException; //Devuelve el elemento anterior al actual en la lista
     public Object getNext(Object element) throws ListException; //Devuelve el elemento posterior al actual en la lista
     public Node getNode(int index) throws ListException; //Devuelve el nodo de la posicion indicada
+
+    //Reemplaza el elemento de la posición indicada (misma base que getNode) y devuelve el anterior
+    default Object set(int index, Object element) throws ListException {
+        Node node = getNode(index);
+        if (node == null)
+            throw new ListException("Index " + index + " is out of bounds");
+        Object old = node.data;
+        node.data = element;
+        return old;
+    }
+
+    //Copia los elementos, en orden, a un ArrayList
+    default ArrayList<Object> toList() {
+        ArrayList<Object> list = new ArrayList<>();
+        for (Object element : this) list.add(element);
+        return list;
+    }
+
+    @Override
+    default Spliterator<Object> spliterator() {
+        return Spliterators.spliterator(iterator(), sizeOrZero(), Spliterator.ORDERED);
+    }
+
+    default Stream<Object> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<Object> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    //Algunas listas lanzan ListException en size() si están vacías
+    private long sizeOrZero() {
+        try {
+            return isEmpty() ? 0 : size();
+        } catch (ListException e) {
+            return 0;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package domain.linkedlist;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Crea las listas internas de los servicios con la implementación elegida: la lista enlazada propia de cada
+ * servicio (LINKED, por defecto) o ArrayBackedList (ARRAY). Se elige al arrancar con la propiedad del sistema
+ * "list.impl" (por ejemplo -Dlist.impl=array), así se pueden comparar ambas sin cambiar código.
+ */
+public final class ListFactory {
+    public static final String PROPERTY = "list.impl";
+
+    public enum Kind { LINKED, ARRAY }
+
+    private ListFactory() {
+    }
+
+    //Implementación configurada en la propiedad del sistema (LINKED si no está o no se reconoce)
+    public static Kind configuredKind() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isBlank()) {
+            return Kind.LINKED;
+        }
+        try {
+            return Kind.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: unknown " + PROPERTY + " '" + value + "', using LINKED");
+            return Kind.LINKED;
+        }
+    }
+
+    //Lista con la implementación configurada; 'linked' crea la versión enlazada del servicio
+    public static List create(Supplier<? extends List> linked) {
+        return create(configuredKind(), linked);
+    }
+
+    public static List create(Kind kind, Supplier<? extends List> linked) {
+        Objects.requireNonNull(linked, "Linked list supplier cannot be null");
+        return kind == Kind.ARRAY ? new ArrayBackedList() : linked.get();
+    }
+}
@@ -0,0 +1,44 @@
+package domain.linkedlist;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntSupplier;
+
+/**
+ * Iterador de una lista enlazada: recorre la cadena de nodos desde 'first' hasta 'last' inclusive, así que
+ * sirve igual para las listas lineales y las circulares. Es fail-fast: si la lista cambia de estructura
+ * (altas o bajas) durante el recorrido, next() lanza ConcurrentModificationException.
+ * No soporta remove().
+ */
+final class NodeIterator implements Iterator<Object> {
+    private final Node last;
+    private final IntSupplier modCount;    //contador de modificaciones de la lista
+    private final int expectedModCount;
+    private Node next;
+
+    NodeIterator(Node first, Node last, IntSupplier modCount) {
+        this.next = first;
+        this.last = last;
+        this.modCount = modCount;
+        this.expectedModCount = modCount.getAsInt();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public Object next() {
+        if (modCount.getAsInt() != expectedModCount) {
+            throw new ConcurrentModificationException("The list was modified during iteration");
+        }
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        Node current = next;
+        next = current == last ? null : current.next;
+        return current.data;
+    }
+}
@@ -2,35 +2,57 @@ package domain.linkedlist;
 
 import domain.common.Flight;
 import domain.common.Passenger;
+import util.ComparatorRegistry;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 
 public class SinglyLinkedList implements List {
     private Node first; //apuntador al inicio de la lista
+    private Node last; //apuntador al ultimo nodo (add y getLast en O(1))
+    private int size; //cantidad de nodos, mantenida en cada alta y baja
+    private Node cursor; //ultimo nodo devuelto por getNode(int), para recorridos secuenciales
+    private int cursorIndex;
+    private Comparator<Object> comparator = ComparatorRegistry.DEFAULT; //por defecto, el registro tipado
+    private int modCount; //altas y bajas, para que los iteradores detecten cambios
 
     //Constructor
     public SinglyLinkedList(){
-        this.first = null;
+        this.first = this.last = null;
+        this.size = 0;
     }
 
+    //Constructor con un comparador propio (contains, remove, indexOf, sort...)
+    public SinglyLinkedList(Comparator<Object> comparator) {
+        this();
+        this.comparator = comparator;
+    }
+
+    //Reemplaza la cadena completa: el tamaño y el ultimo nodo se recalculan recorriéndola una vez
     public void setFirst(Node first) {
         this.first = first;
+        this.last = null;
+        this.size = 0;
+        this.cursor = null;
+        modCount++;
+        for (Node aux = first; aux != null; aux = aux.next) {
+            last = aux;
+            size++;
+        }
     }
 
     @Override
     public int size() throws ListException {
-        int counter = 0; //contador de nodos
-        Node aux = first; //aux para moverme por la lista y no perder el puntero al inicio
-        while(aux!=null){
-            counter++;
-            aux = aux.next;
-        }
-        return counter;
+        return size;
     }
 
     @Override
     public void clear() {
-        this.first = null; //anula la lista
+        this.first = this.last = null; //anula la lista
+        this.size = 0;
+        this.cursor = null;
+        modCount++;
     }
 
     @Override
@@ -44,7 +66,7 @@ public class SinglyLinkedList implements List {
             return false;
         Node aux = first;
         while(aux!=null){
-            if(util.Utility.compare(aux.data, element)==0) return true; //ya lo encontro
+            if(comparator.compare(aux.data, element)==0) return true; //ya lo encontro
             aux = aux.next; //muevo aux al nodo sgte
         }
         return false; //significa que no encontro el elemento
@@ -55,24 +77,24 @@ public class SinglyLinkedList implements List {
         Node newNode = new Node(element);
         if(isEmpty())
             first = newNode;
-        else{
-            Node aux = first; //aux para moverme por la lista y no perder el puntero al inicio
-            while(aux.next!=null){
-                aux = aux.next; //mueve aux al nodo sgte
-            }
-            //se sale del while cuando aux esta en el ult nodo
-            aux.next = newNode;
-        }
+        else
+            last.next = newNode; //se enlaza directo al ultimo nodo, sin recorrer
+        last = newNode;
+        size++;
+        modCount++;
     }
 
     @Override
     public void addFirst(Object element) {
         Node newNode = new Node(element);
         if(isEmpty())
-            first = newNode;
+            last = newNode;
         else
             newNode.next = first;
         first = newNode;
+        size++;
+        cursor = null; //los indices se corren
+        modCount++;
     }
 
     @Override
@@ -82,7 +104,24 @@ public class SinglyLinkedList implements List {
 
     @Override
     public void addInSortedList(Object element) {
-
+        //Se inserta después del último elemento menor o igual (los iguales conservan el orden de llegada)
+        if(isEmpty() || ComparatorRegistry.isGreater(comparator, first.data, element)){
+            addFirst(element);
+            return;
+        }
+        Node prev = first;
+        while(prev.next!=null && !ComparatorRegistry.isGreater(comparator, prev.next.data, element))
+            prev = prev.next;
+        if(prev.next==null){
+            add(element); //va al final: actualiza el ultimo nodo
+            return;
+        }
+        Node newNode = new Node(element);
+        newNode.next = prev.next;
+        prev.next = newNode;
+        size++;
+        cursor = null; //los indices se corren
+        modCount++;
     }
 
     @Override
@@ -90,31 +129,41 @@ public class SinglyLinkedList implements List {
         if(isEmpty())
             throw new ListException("Singly Linked List is empty");
         //Caso 1: El elemento a suprimir es el primero de la lista
-        if(util.Utility.compare(first.data, element)==0)
-            first = first.next;
+        if(comparator.compare(first.data, element)==0)
+            unlink(null, first);
         //Caso 2. El elemento puede estar en el medio o al final
         else{
             Node prev = first; //nodo anterior
             Node aux = first.next; //nodo sgte
-            while(aux!=null && !(util.Utility.compare(aux.data, element)==0)){
+            while(aux!=null && !(comparator.compare(aux.data, element)==0)){
                 prev = aux;
                 aux = aux.next;
             }
             //se sale del while cuanda alcanza nulo
             //o cuando encuentra el elemento
-            if(aux!=null && util.Utility.compare(aux.data, element)==0){
+            if(aux!=null && comparator.compare(aux.data, element)==0){
                 //debo desenlazar  el nodo
-                prev.next = aux.next;
+                unlink(prev, aux);
             }
         }
     }
 
+    //Desenlaza 'node' (prev es su anterior, null si es el primero) y actualiza last, size y el cursor
+    private void unlink(Node prev, Node node) {
+        if(prev==null) first = node.next;
+        else prev.next = node.next;
+        if(node==last) last = prev;
+        size--;
+        cursor = null;
+        modCount++;
+    }
+
     @Override
     public Object removeFirst() throws ListException {
         if(isEmpty())
             throw new ListException("Singly Linked List is empty");
         Object value = first.data;
-        first = first.next; //movemos el apuntador al nodo sgte
+        unlink(null, first); //movemos el apuntador al nodo sgte
         return value;
     }
 
@@ -130,8 +179,7 @@ public class SinglyLinkedList implements List {
         }
         //se sale cuando aux esta en el ult nodo
         Object element = aux.data;
-        if(prev!=null) prev.next = null; //con esto elimino el ult nodo
-        else first = null; //significa q solo hay un nodo en la lista
+        unlink(prev, aux); //si prev es nulo solo habia un nodo en la lista
         return element; //retorna el elemento eliminado
     }
 
@@ -141,7 +189,7 @@ public class SinglyLinkedList implements List {
             throw new ListException("Singly Linked List is empty");
         for (int i = 1; i<=size(); i++) {
             for (int j = i+1; j<=size() ; j++) {
-                if(util.Utility.compare(getNode(j).data, getNode(i).data)<0){
+                if(comparator.compare(getNode(j).data, getNode(i).data)<0){
                     Object aux = getNode(i).data;
                     getNode(i).data = getNode(j).data;
                     getNode(j).data = aux;
@@ -157,7 +205,7 @@ public class SinglyLinkedList implements List {
         Node aux = first;
         int index = 1; //el primer indice de la lista es 1
         while(aux!=null){
-            if(util.Utility.compare(aux.data, element)==0) return index;
+            if(comparator.compare(aux.data, element)==0) return index;
             index++;
             aux = aux.next;
         }
@@ -175,12 +223,7 @@ public class SinglyLinkedList implements List {
     public Object getLast() throws ListException {
         if(isEmpty())
             throw new ListException("Singly Linked List is empty");
-        Node aux = first;
-        while(aux.next!=null){
-            aux = aux.next;
-        }
-        //se sale cuando esta en el ult nodo
-        return aux.data;
+        return last.data;
     }
 
     @Override
@@ -190,7 +233,7 @@ public class SinglyLinkedList implements List {
         Node aux = first;
         Node prev = null; //rastro al nodo anterior
         while(aux!=null){
-            if(util.Utility.compare(aux.data, element)==0) {
+            if(comparator.compare(aux.data, element)==0) {
                 if(prev!=null) return prev.data;
                 else return "It's the first, it has no prev";
             }
@@ -210,16 +253,22 @@ public class SinglyLinkedList implements List {
         if(isEmpty()){
             throw new ListException("Singly Linked List is Empty");
         }
+        if(index < 1 || index > size) return null; //no existe el index
+        if(index == size) return last;
+        //Un recorrido for (i = 1..size) getNode(i) avanza desde el ultimo nodo devuelto en vez de desde el inicio
         Node aux = first;
         int i = 1; // pos del primer nodo
-        while(aux!=null){
-            if(util.Utility.compare(i, index)==0) {  //ya encontro el indice
-                return aux;
-            }
+        if(cursor != null && cursorIndex <= index){
+            aux = cursor;
+            i = cursorIndex;
+        }
+        while(i < index){
             i++; //incremento la var local
             aux = aux.next; //muevo aux al sgte nodo
         }
-        return null; //si llega aqui es xq no encontro el index
+        cursor = aux;
+        cursorIndex = index;
+        return aux;
     }
     public Node getNode(Object element) throws ListException {
         if(isEmpty()){
@@ -227,7 +276,7 @@ public class SinglyLinkedList implements List {
         }
         Node aux = first;
         while(aux!=null){
-            if(util.Utility.compare(aux.data, element)==0) {  //ya encontro el elemento
+            if(comparator.compare(aux.data, element)==0) {  //ya encontro el elemento
                 return aux;
             }
             aux = aux.next; //muevo aux al sgte nodo
@@ -253,7 +302,7 @@ public class SinglyLinkedList implements List {
 //        }
 //        Node aux = first;
 //        while (aux != null) {
-//            if (util.Utility.compare(aux.data, element) == 0) {
+//            if (comparator.compare(aux.data, element) == 0) {
 //                return aux.data; // Devuelve el DATO del nodo, no el nodo en sí
 //            }
 //            aux = aux.next;
@@ -273,7 +322,7 @@ public class SinglyLinkedList implements List {
         Object removedData = null;
         if (index == 1) { // Removemos primer node
             removedData = first.data;
-            first = first.next;
+            unlink(null, first);
         } else {
             Node prev = first;
             //Atraviesa el nodo anterior al que se va a eliminar
@@ -286,7 +335,7 @@ public class SinglyLinkedList implements List {
                 throw new ListException("Node at index " + index + " not found (unexpected).");
             }
             removedData = nodeToRemove.data;
-            prev.next = nodeToRemove.next; //Omitir el nodo para eliminar
+            unlink(prev, nodeToRemove); //Omitir el nodo para eliminar
         }
         return removedData;
     }
@@ -327,4 +376,10 @@ public class SinglyLinkedList implements List {
         }
         return list;
     }
+
+    //Recorrido en O(n) para for-each y streams; fail-fast ante altas o bajas durante el recorrido
+    @Override
+    public Iterator<Object> iterator() {
+        return new NodeIterator(first, last, () -> modCount);
+    }
 }
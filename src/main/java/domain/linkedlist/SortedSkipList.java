@@ -0,0 +1,411 @@
+package domain.linkedlist;
+
+import util.ComparatorRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Lista ordenada por un comparador sobre una skip list indexable: add, contains, indexOf, remove y getNode(i)
+ * son O(log n) esperado. Cada enlace guarda cuántas posiciones salta, así el acceso por índice (desde 1, como
+ * las listas lineales) no recorre la lista. Los elementos iguales según el comparador quedan en orden de llegada.
+ *
+ * Como la lista siempre está ordenada, add, addFirst, addLast y addInSortedList insertan en la posición que
+ * le corresponde al elemento, sort no cambia nada y set(i, x) reemplaza el elemento reubicándolo.
+ * getNode devuelve un nodo suelto con el dato (modificarlo no altera la lista).
+ *
+ * Concurrencia: las lecturas toman un candado de lectura (varias a la vez) y las altas y bajas el de
+ * escritura. El iterador no toma candados: recorre el nivel 0, cuyos enlaces se publican de forma atómica,
+ * y es débilmente consistente (no lanza ConcurrentModificationException; puede o no ver los cambios
+ * hechos durante el recorrido).
+ */
+public class SortedSkipList implements List {
+    private static final int MAX_LEVEL = 16;   //con p = 1/4 alcanza para ~4^16 elementos
+    private static final int PROMOTION = 4;    //1 de cada 4 nodos sube de nivel
+
+    private final Comparator<Object> comparator;
+    private final SkipNode head = new SkipNode(null, MAX_LEVEL); //centinela en la posición 0
+    private int level = 1;                     //niveles en uso
+    private volatile int size;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private static final class SkipNode {
+        private final Object data;
+        private final AtomicReferenceArray<SkipNode> next; //enlace por nivel
+        private final int[] width;                          //posiciones que salta cada enlace
+
+        SkipNode(Object data, int levels) {
+            this.data = data;
+            this.next = new AtomicReferenceArray<>(levels);
+            this.width = new int[levels];
+        }
+    }
+
+    //Constructor: ordena con el registro tipado (Utility.compare)
+    public SortedSkipList() {
+        this(ComparatorRegistry.DEFAULT);
+    }
+
+    //Constructor con el comparador que define el orden (p. ej. vuelos por hora de salida)
+    public SortedSkipList(Comparator<Object> comparator) {
+        this.comparator = Objects.requireNonNull(comparator, "Comparator cannot be null");
+        Arrays.fill(head.width, 1); //lista vacía: todos los enlaces llegan al final (posición 1)
+    }
+
+    public Comparator<Object> getComparator() {
+        return comparator;
+    }
+
+    @Override
+    public int size() throws ListException {
+        int current = size;
+        if (current == 0)
+            throw new ListException("Sorted Skip List is empty");
+        return current;
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < MAX_LEVEL; i++) {
+                head.next.set(i, null);
+                head.width[i] = 1;
+            }
+            level = 1;
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object element) throws ListException {
+        return indexOf(element) != -1;
+    }
+
+    @Override
+    public void add(Object element) {
+        lock.writeLock().lock();
+        try {
+            insert(element);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addFirst(Object element) {
+        add(element); //la posición la decide el comparador
+    }
+
+    @Override
+    public void addLast(Object element) {
+        add(element);
+    }
+
+    @Override
+    public void addInSortedList(Object element) {
+        add(element);
+    }
+
+    //Inserta después de los menores o iguales; update[i] es el último nodo del nivel i antes de la posición
+    private void insert(Object element) {
+        SkipNode[] update = new SkipNode[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL]; //posición de update[i]
+        SkipNode x = head;
+        int pos = 0;
+        for (int i = MAX_LEVEL - 1; i >= 0; i--) {
+            if (i < level) {
+                for (SkipNode n = x.next.get(i); n != null && !ComparatorRegistry.isGreater(comparator, n.data, element);
+                     n = x.next.get(i)) {
+                    pos += x.width[i];
+                    x = n;
+                }
+            }
+            update[i] = x;
+            rank[i] = pos;
+        }
+        int nodeLevel = randomLevel();
+        level = Math.max(level, nodeLevel);
+        SkipNode node = new SkipNode(element, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next.set(i, update[i].next.get(i));
+            node.width[i] = update[i].width[i] - (rank[0] - rank[i]);
+            update[i].width[i] = rank[0] - rank[i] + 1;
+            update[i].next.set(i, node); //se publica después de enlazar el nodo hacia adelante
+        }
+        for (int i = nodeLevel; i < MAX_LEVEL; i++) {
+            update[i].width[i]++; //el enlace pasa por encima del nodo nuevo
+        }
+        size++;
+    }
+
+    private static int randomLevel() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && random.nextInt(PROMOTION) == 0) nodeLevel++;
+        return nodeLevel;
+    }
+
+    @Override
+    public void remove(Object element) throws ListException {
+        lock.writeLock().lock();
+        try {
+            if (size == 0)
+                throw new ListException("Sorted Skip List is empty");
+            int index = rankOf(element);
+            if (index == -1) return; //no existe: no hay nada que suprimir
+            //Entre los iguales según el comparador se prefiere el mismo objeto (p. ej. dos vuelos a la misma hora)
+            SkipNode candidate = nodeAt(index);
+            for (int i = index; candidate != null && comparator.compare(candidate.data, element) == 0;
+                 i++, candidate = candidate.next.get(0)) {
+                if (candidate.data == element) {
+                    index = i;
+                    break;
+                }
+            }
+            removeAt(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Desenlaza el nodo de la posición 'index' (1..size) en todos los niveles, ajustando los saltos
+    private Object removeAt(int index) {
+        SkipNode[] update = new SkipNode[MAX_LEVEL];
+        SkipNode x = head;
+        int pos = 0;
+        for (int i = MAX_LEVEL - 1; i >= 0; i--) {
+            if (i < level) {
+                for (SkipNode n = x.next.get(i); n != null && pos + x.width[i] < index; n = x.next.get(i)) {
+                    pos += x.width[i];
+                    x = n;
+                }
+            }
+            update[i] = x;
+        }
+        SkipNode target = update[0].next.get(0);
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            if (update[i].next.get(i) == target) {
+                update[i].width[i] += target.width[i] - 1;
+                update[i].next.set(i, target.next.get(i)); //el nodo quitado conserva sus enlaces para los iteradores
+            } else {
+                update[i].width[i]--;
+            }
+        }
+        while (level > 1 && head.next.get(level - 1) == null) level--;
+        size--;
+        return target.data;
+    }
+
+    @Override
+    public Object removeFirst() throws ListException {
+        lock.writeLock().lock();
+        try {
+            if (size == 0)
+                throw new ListException("Sorted Skip List is empty");
+            return removeAt(1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Object removeLast() throws ListException {
+        lock.writeLock().lock();
+        try {
+            if (size == 0)
+                throw new ListException("Sorted Skip List is empty");
+            return removeAt(size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void sort() throws ListException {
+        if (isEmpty())
+            throw new ListException("Sorted Skip List is empty"); //ya está ordenada
+    }
+
+    @Override
+    public int indexOf(Object element) throws ListException {
+        lock.readLock().lock();
+        try {
+            if (size == 0)
+                throw new ListException("Sorted Skip List is empty");
+            return rankOf(element);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Posición (desde 1) del primer elemento igual según el comparador, o -1
+    private int rankOf(Object element) {
+        SkipNode x = head;
+        int pos = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            for (SkipNode n = x.next.get(i); n != null && comparator.compare(n.data, element) < 0; n = x.next.get(i)) {
+                pos += x.width[i];
+                x = n;
+            }
+        }
+        SkipNode candidate = x.next.get(0);
+        return candidate != null && comparator.compare(candidate.data, element) == 0 ? pos + 1 : -1;
+    }
+
+    //Nodo de la posición 'index' (1..size), bajando por los niveles con los saltos
+    private SkipNode nodeAt(int index) {
+        SkipNode x = head;
+        int pos = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            for (SkipNode n = x.next.get(i); n != null && pos + x.width[i] <= index; n = x.next.get(i)) {
+                pos += x.width[i];
+                x = n;
+            }
+        }
+        return x;
+    }
+
+    @Override
+    public Object getFirst() throws ListException {
+        SkipNode first = head.next.get(0);
+        if (first == null)
+            throw new ListException("Sorted Skip List is empty");
+        return first.data;
+    }
+
+    @Override
+    public Object getLast() throws ListException {
+        lock.readLock().lock();
+        try {
+            if (size == 0)
+                throw new ListException("Sorted Skip List is empty");
+            return nodeAt(size).data;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Object getPrev(Object element) throws ListException {
+        lock.readLock().lock();
+        try {
+            if (size == 0)
+                throw new ListException("Sorted Skip List is empty");
+            int index = rankOf(element);
+            if (index == -1) return "Does not exist in Sorted Skip List";
+            return index > 1 ? nodeAt(index - 1).data : "It's the first, it has no prev";
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Object getNext(Object element) throws ListException {
+        lock.readLock().lock();
+        try {
+            if (size == 0)
+                throw new ListException("Sorted Skip List is empty");
+            int index = rankOf(element);
+            if (index == -1) return "Does not exist in Sorted Skip List";
+            return index < size ? nodeAt(index + 1).data : "It's the last, it has no next";
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Node getNode(int index) throws ListException {
+        lock.readLock().lock();
+        try {
+            if (size == 0)
+                throw new ListException("Sorted Skip List is empty");
+            if (index < 1 || index > size) return null; //no existe el index
+            return new Node(nodeAt(index).data); //nodo suelto: la posición la decide el comparador
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Reemplaza el elemento de la posición y lo reubica según el comparador; devuelve el anterior
+    @Override
+    public Object set(int index, Object element) throws ListException {
+        lock.writeLock().lock();
+        try {
+            if (index < 1 || index > size)
+                throw new ListException("Index " + index + " is out of bounds for Sorted Skip List of size " + size);
+            Object old = removeAt(index);
+            insert(element);
+            return old;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Elementos desde el primero mayor o igual a 'from' hasta el último menor que 'to', en orden (O(log n + k))
+    public ArrayList<Object> range(Object from, Object to) {
+        ArrayList<Object> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            SkipNode x = head;
+            for (int i = level - 1; i >= 0; i--) {
+                for (SkipNode n = x.next.get(i); n != null && comparator.compare(n.data, from) < 0; n = x.next.get(i)) {
+                    x = n;
+                }
+            }
+            for (SkipNode n = x.next.get(0); n != null && comparator.compare(n.data, to) < 0; n = n.next.get(0)) {
+                result.add(n.data);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) return "Sorted Skip List is empty";
+        StringBuilder result = new StringBuilder("Sorted Skip List Content\n");
+        for (Object element : this) {
+            result.append(element).append(" ");
+        }
+        return result.toString();
+    }
+
+    //Recorrido en orden por el nivel 0, sin candados y débilmente consistente
+    @Override
+    public Iterator<Object> iterator() {
+        return new Iterator<>() {
+            private SkipNode next = head.next.get(0);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Object next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Object value = next.data;
+                next = next.next.get(0);
+                return value;
+            }
+        };
+    }
+}
@@ -3,16 +3,32 @@ package domain.service;
 import data.RouteData;
 import domain.common.Airport;
 import domain.common.Route;
-import domain.graph.DijkstraNode;
+import domain.graph.AllPairsShortestPaths;
+import domain.graph.BidirectionalSearch;
+import domain.graph.ContractionHierarchy;
 import domain.graph.DirectedSinglyLinkedListGraph;
-import domain.graph.GraphException;
-import domain.graph.Vertex;
+import domain.graph.DynamicShortestPathTree;
 import domain.graph.EdgeWeight;
+import domain.graph.GraphException;
+import domain.graph.GreatCircleHeuristic;
+import domain.graph.HubCentrality;
+import domain.graph.Isochrone;
+import domain.graph.KShortestPaths;
+import domain.graph.LandmarkIndex;
+import domain.graph.NetworkResilience;
+import domain.graph.ParetoRoute;
+import domain.graph.ParetoRouteSearch;
+import domain.graph.ReachabilityIndex;
+import domain.graph.RouteHeuristic;
+import domain.graph.RouteSearchResult;
+import domain.graph.RouteCostMatrix;
+import domain.graph.RouteCountIndex;
+import domain.graph.RouteFilter;
+import domain.graph.RoutingGraph;
+import domain.graph.ShortestPathSearch;
+import domain.graph.ShortestPathTree;
+import domain.graph.ShortestRouteCache;
 import domain.linkedlist.ListException;
-import domain.linkedlist.Node;
-import domain.linkedlist.SinglyLinkedList;
-import domain.linkedqueue.PriorityLinkedQueue;
-import domain.linkedqueue.QueueException;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import util.Utility;
@@ -20,6 +36,11 @@ import util.Utility;
 import java.io.IOException;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class AirNetworkService {
@@ -28,6 +49,45 @@ public class AirNetworkService {
     private AirportService airportService; //para interactuar con los datos de aeropuertos
     private RouteData routeData; //Capa de datos para persistenca de rutas
     private ObservableList<Route> observableRoutes; //Lista para la UI
+    private volatile RoutingGraph routingGraph; //Snapshot inmutable (CSR) usado por las consultas de rutas
+    private ForkJoinPool routingPool; //Pool para las búsquedas en paralelo (matrices de costos)
+    private final AtomicLong networkVersion = new AtomicLong(); //Aumenta con cada cambio en la red de rutas
+    private final ShortestRouteCache routeCache = new ShortestRouteCache(1024); //Caché LRU de findShortestRoute
+    private final RouteCountIndex routeCounts = new RouteCountIndex(); //Rutas por aeropuerto, ordenadas para el top K
+    private volatile ReachabilityIndex reachabilityIndex; //SCC + alcanzabilidad del snapshot vigente
+    private volatile NetworkResilience networkResilience; //articulaciones y puentes; se recalcula al pedirlo tras un cambio
+
+    //Árboles de caminos mínimos de los orígenes más consultados (origen, tipo de costo), reparados ante cada cambio de ruta
+    private static final int HOT_ORIGIN_TREES = 32;
+    private static final int HOT_ORIGIN_THRESHOLD = 3; //consultas de un origen antes de mantener su árbol
+    private final Map<Long, DynamicShortestPathTree> hotOriginTrees = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, DynamicShortestPathTree> eldest) {
+            return size() > HOT_ORIGIN_TREES;
+        }
+    };
+    private final Map<Long, Integer> originQueryCounts = new HashMap<>();
+
+    private static final int LANDMARK_COUNT = 8; //landmarks ALT por tipo de costo
+    private final LandmarkIndex[] landmarkIndexes = new LandmarkIndex[RoutingGraph.COST_TYPES];
+    private static final long K_SHORTEST_TIME_BUDGET_MILLIS = 200; //presupuesto por consulta de rutas alternativas
+
+    public static final int HUB_CENTRALITY_EXACT_MAX_AIRPORTS = 2000; //por encima se estima con una muestra de orígenes
+    public static final int HUB_CENTRALITY_SAMPLE_SIZE = 256;
+    //última centralidad calculada por tipo de costo (se reutiliza mientras no cambie el snapshot)
+    private final HubCentrality[] hubCentralities = new HubCentrality[RoutingGraph.COST_TYPES];
+
+    //Modo "todos los pares": tablas Floyd–Warshall precalculadas, solo para redes pequeñas y densas
+    public static final int ALL_PAIRS_MAX_AIRPORTS = 1000;
+    private volatile boolean allPairsMode;
+    private volatile AllPairsState allPairsState; //tablas + snapshot con el que se calcularon
+    private ExecutorService maintenanceExecutor;  //hilo de fondo que recalcula tablas y jerarquías tras cada cambio
+    private final AtomicBoolean allPairsRecomputePending = new AtomicBoolean();
+
+    //Modo jerarquía de contracción: una jerarquía por tipo de costo, re-preprocesada en segundo plano
+    private volatile boolean contractionHierarchyMode;
+    private final ContractionHierarchy[] hierarchies = new ContractionHierarchy[RoutingGraph.COST_TYPES];
+    private final AtomicBoolean hierarchyRebuildPending = new AtomicBoolean();
 
     public AirNetworkService(AirportService airportService, RouteData routeData) {
         // Asegura que los servicos inyectados no sean nulos
@@ -38,6 +98,7 @@ public class AirNetworkService {
         this.airportGraph = new DirectedSinglyLinkedListGraph();
         this.routesMap = new HashMap<>();
         this.observableRoutes = FXCollections.observableArrayList();
+        refreshRoutingGraph();
         try {
             //Genera rutas aleatorias iniciales
             generateInitialRandomRoutes(20);
@@ -58,6 +119,7 @@ public class AirNetworkService {
             //Limpia las estructuras antes de cargar nuevos datos para evitar duplicados
             airportGraph.clear();
             routesMap.clear();
+            routeCounts.clear();
             observableRoutes.clear();
 
             //Carga todos los aeropuertos desde AirportService y los añade como vertexes al grafo
@@ -89,6 +151,7 @@ public class AirNetworkService {
                 Airport origin = airportService.getAirportByCode(route.getOriginAirportCode());
                 Airport destination = airportService.getAirportByCode(route.getDestinationAirportCode());
                 observableRoutes.setAll(routesMap.values()); // Actualiza la lista observable.
+                routeCounts.addRoute(route.getOriginAirportCode(), route.getDestinationAirportCode());
                 if (origin != null && destination != null) {
                     try {
                         //aeropuertos existen como vértices antes de añadir la arista
@@ -103,6 +166,7 @@ public class AirNetworkService {
                     System.err.println("Warning: Route " + route.getRouteId() + " has airports not found in AirportService. Not added to graph");
                 }
             }
+            onNetworkChanged();
             System.out.println("Airport network and routes loaded successfully in AirNetworkService");
         } catch (IOException e) {
             System.err.println("Error reading route data file: " + e.getMessage());
@@ -149,6 +213,7 @@ public class AirNetworkService {
 
         //Añade la ruta al mapa y a la lista observable
         routesMap.put(route.getRouteId(), route);
+        routeCounts.addRoute(route.getOriginAirportCode(), route.getDestinationAirportCode());
         observableRoutes.add(route);
 
         //Añade la arista con peso al grafo, usando la ruta como peso
@@ -162,13 +227,15 @@ public class AirNetworkService {
             //Se elimina la ruta del mapa en memoria
             //Se intenta eliminar la arista del grafo para revertir cambio
             routesMap.remove(route.getRouteId());
+            routeCounts.removeRoute(route.getOriginAirportCode(), route.getDestinationAirportCode());
             try {
-                airportGraph.removeEdge(originAirport, destinationAirport);
+                airportGraph.removeEdgeWeight(originAirport, destinationAirport, route);
             } catch (GraphException rollbackEx) {
                 System.err.println("CRITICAL: Failed to rollback addEdge after save error: " + rollbackEx.getMessage());
             }
             throw new GraphException("Failed to save route after addition: " + e.getMessage());
         }
+        onRoutesChanged(route.getOriginAirportCode(), route.getDestinationAirportCode());
         System.out.println("Ruta " + route.getRouteId() + " añadida a la red y persistida");
         return true;
     }
@@ -188,11 +255,12 @@ public class AirNetworkService {
 
         //Elimina la ruta del mapa y de la lista observable
         routesMap.remove(routeId);
+        routeCounts.removeRoute(routeToDelete.getOriginAirportCode(), routeToDelete.getDestinationAirportCode());
         observableRoutes.remove(routeToDelete);
 
-        //Elimina la arista correspondiente del grafo
+        //Elimina la arista de esta ruta (puede haber otras rutas entre los mismos aeropuertos)
         if (originAirport != null && destinationAirport != null) {
-            airportGraph.removeEdge(originAirport, destinationAirport);
+            airportGraph.removeEdgeWeight(originAirport, destinationAirport, routeToDelete);
         } else {
             System.err.println("Warning: Airports for deleted route " + routeId + " not found in AirportService. Could not precisely remove graph edge");
         }
@@ -205,6 +273,7 @@ public class AirNetworkService {
             // Se reinserta la ruta en el mapa
             // Se intenta volver a añadir la arista al grafo
             routesMap.put(routeId, routeToDelete);
+            routeCounts.addRoute(routeToDelete.getOriginAirportCode(), routeToDelete.getDestinationAirportCode());
             if (originAirport != null && destinationAirport != null) {
                 try {
                     airportGraph.addEdgeWeight(originAirport, destinationAirport, routeToDelete); // Re-agrega la arista.
@@ -214,6 +283,7 @@ public class AirNetworkService {
             }
             throw new GraphException("Failed to save route changes after deletion: " + e.getMessage());
         }
+        onRoutesChanged(routeToDelete.getOriginAirportCode(), routeToDelete.getDestinationAirportCode());
         System.out.println("Ruta " + routeId + " eliminada de la red y persistida");
         return true;
     }
@@ -241,11 +311,13 @@ public class AirNetworkService {
         }
 
         //Remueve la arista antigua del grafo, ya que el peso (la ruta) o incluso los vértices podrían haber cambiado
-        airportGraph.removeEdge(airportService.getAirportByCode(oldRoute.getOriginAirportCode()),
-                airportService.getAirportByCode(oldRoute.getDestinationAirportCode()));
+        airportGraph.removeEdgeWeight(airportService.getAirportByCode(oldRoute.getOriginAirportCode()),
+                airportService.getAirportByCode(oldRoute.getDestinationAirportCode()), oldRoute);
 
         //Actualiza la ruta en el mapa y en la lista observable
         routesMap.put(updatedRoute.getRouteId(), updatedRoute);
+        routeCounts.removeRoute(oldRoute.getOriginAirportCode(), oldRoute.getDestinationAirportCode());
+        routeCounts.addRoute(updatedRoute.getOriginAirportCode(), updatedRoute.getDestinationAirportCode());
         int index = observableRoutes.indexOf(oldRoute);
         if (index >= 0) {
             observableRoutes.set(index, updatedRoute); //Reemplaza la ruta antigua con la actualizada
@@ -262,8 +334,10 @@ public class AirNetworkService {
             // Vuelve a colocar la ruta antigua en el mapa
             // Remueve la arista recién añadida y vuelve a agregar la arista antigua
             routesMap.put(updatedRoute.getRouteId(), oldRoute);
+            routeCounts.removeRoute(updatedRoute.getOriginAirportCode(), updatedRoute.getDestinationAirportCode());
+            routeCounts.addRoute(oldRoute.getOriginAirportCode(), oldRoute.getDestinationAirportCode());
             try {
-                airportGraph.removeEdge(originAirport, destinationAirport); //Remueve la arista con la ruta actualizada
+                airportGraph.removeEdgeWeight(originAirport, destinationAirport, updatedRoute); //Remueve la arista con la ruta actualizada
                 airportGraph.addEdgeWeight(airportService.getAirportByCode(oldRoute.getOriginAirportCode()),
                         airportService.getAirportByCode(oldRoute.getDestinationAirportCode()),
                         oldRoute); //Vuelve a agregar la arista con la ruta antigua
@@ -272,6 +346,12 @@ public class AirNetworkService {
             }
             throw new GraphException("Failed to save route changes after update: " + e.getMessage());
         }
+        if (oldRoute.getOriginAirportCode() == updatedRoute.getOriginAirportCode()
+                && oldRoute.getDestinationAirportCode() == updatedRoute.getDestinationAirportCode()) {
+            onRoutesChanged(updatedRoute.getOriginAirportCode(), updatedRoute.getDestinationAirportCode()); //cambio de precio/duración
+        } else {
+            onNetworkChanged(); //cambiaron los extremos: los árboles calientes se recalculan al volver a consultarse
+        }
         System.out.println("Ruta " + updatedRoute.getRouteId() + " actualizada y persistida");
         return true;
     }
@@ -349,209 +429,788 @@ public class AirNetworkService {
         }
     }
 
+    /**
+     * Ruta mínima entre dos aeropuertos sin pasar por aeropuertos inactivos.
+     * Primero se responde por la vía rápida (tablas, jerarquía, árboles calientes o caché); si esa ruta toca un
+     * aeropuerto inactivo se repite la búsqueda sobre la vista filtrada. Si no lo toca, también es la mínima
+     * de la vista filtrada, porque filtrar solo quita rutas.
+     */
     public List<Integer> findShortestRoute(int originAirportCode, int destinationAirportCode, String costType)
             throws GraphException, ListException {
+        List<Integer> path = findShortestRouteIgnoringStatus(originAirportCode, destinationAirportCode, costType);
+        RoutingGraph snapshot = routingGraph;
+        if (path == null || !touchesInactiveAirport(snapshot, path)) {
+            return path;
+        }
+        return findShortestRoute(originAirportCode, destinationAirportCode, costType, RouteFilter.activeOnly(snapshot));
+    }
 
-        //Validacioness: grafo vaco, existencia de aeropuertos y tipo de costo válido
-        if (airportGraph.isEmpty()) {
-            throw new GraphException("Airport network is empty. Please load airports and routes first.");
+    /**
+     * Ruta mínima usando solo lo que permite el filtro (aeropuertos activos, aerolíneas, países a evitar).
+     * Dijkstra consulta el filtro por arista sobre el mismo snapshot, sin construir un grafo filtrado.
+     * @param airlines aerolíneas permitidas (null o vacío = cualquiera)
+     * @param avoidedCountries países cuyos aeropuertos no se pueden usar (null o vacío = ninguno)
+     */
+    public List<Integer> findShortestRoute(int originAirportCode, int destinationAirportCode, String costType,
+                                           boolean excludeInactive, Collection<String> airlines,
+                                           Collection<String> avoidedCountries) throws GraphException, ListException {
+        RoutingGraph snapshot = routingGraph;
+        return findShortestRoute(originAirportCode, destinationAirportCode, costType,
+                new RouteFilter(snapshot, excludeInactive, airlines, avoidedCountries));
+    }
+
+    private List<Integer> findShortestRoute(int originAirportCode, int destinationAirportCode, String costType,
+                                            RouteFilter filter) throws GraphException, ListException {
+        RoutingGraph snapshot = filter.getGraph();
+        int source = requireAirportId(snapshot, originAirportCode, "Origin");
+        int target = requireAirportId(snapshot, destinationAirportCode, "Destination");
+        int costIndex = RoutingGraph.costIndex(costType);
+        if (isUnreachable(snapshot, source, target)) {
+            return null; //sin ruta en la red completa, tampoco en la filtrada
         }
+        ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+        return search.run(snapshot, source, target, costIndex, filter) ? search.pathCodes(target) : null;
+    }
 
-        Airport origin = airportService.getAirportByCode(originAirportCode);
-        Airport destination = airportService.getAirportByCode(destinationAirportCode);
+    //Filtro que excluye los aeropuertos inactivos, o null si el snapshot no tiene ninguno (búsqueda sin filtro)
+    private static RouteFilter activeOnlyFilter(RoutingGraph snapshot) {
+        return snapshot.inactiveCount() > 0 ? RouteFilter.activeOnly(snapshot) : null;
+    }
 
-        if (origin == null) {
-            throw new GraphException("Origin airport with code " + originAirportCode + " not found in AirportService.");
+    //true si la ruta sale, llega o hace escala en un aeropuerto inactivo del snapshot
+    private static boolean touchesInactiveAirport(RoutingGraph snapshot, List<Integer> path) {
+        if (snapshot.inactiveCount() == 0) {
+            return false;
         }
-        if (destination == null) {
-            throw new GraphException("Destination airport with code " + destinationAirportCode + " not found in AirportService.");
+        for (int code : path) {
+            int id = snapshot.idOf(code);
+            if (id != -1 && snapshot.isInactive(id)) return true;
         }
+        return false;
+    }
+
+    private List<Integer> findShortestRouteIgnoringStatus(int originAirportCode, int destinationAirportCode, String costType)
+            throws GraphException, ListException {
 
-        if (!airportGraph.containsVertex(origin)) {
-            throw new GraphException("Origin airport with code " + originAirportCode + " not found in the in-memory graph.");
+        //Validaciones: grafo vacío, existencia de aeropuertos y tipo de costo válido.
+        //El snapshot se lee una sola vez para que toda la consulta use la misma versión de la red.
+        //La versión se lee antes que el snapshot: así nunca se cachea un resultado viejo con una versión nueva
+        long version = networkVersion.get();
+        RoutingGraph snapshot = routingGraph;
+        int source = requireAirportId(snapshot, originAirportCode, "Origin");
+        int target = requireAirportId(snapshot, destinationAirportCode, "Destination");
+        int costIndex = RoutingGraph.costIndex(costType);
+
+        //Sin ruta posible según el índice de alcanzabilidad: se responde en O(1) sin explorar el grafo
+        if (isUnreachable(snapshot, source, target)) {
+            return null;
         }
-        if (!airportGraph.containsVertex(destination)) {
-            throw new GraphException("Destination airport with code " + destinationAirportCode + " not found in the in-memory graph.");
+
+        //En modo todos los pares, si las tablas corresponden a este snapshot la respuesta sale de ellas
+        AllPairsState allPairs = allPairsState;
+        if (allPairs != null && allPairs.snapshot == snapshot) {
+            return allPairs.tables.path(originAirportCode, destinationAirportCode, costIndex);
         }
 
-        if (!costType.equalsIgnoreCase("duration") && !costType.equalsIgnoreCase("distance") && !costType.equalsIgnoreCase("price")) {
-            throw new IllegalArgumentException("Invalid cost type. Must be 'duration', 'distance', or 'price'.");
+        //En modo jerarquía de contracción, búsqueda bidireccional ascendente sobre la jerarquía de este snapshot
+        if (contractionHierarchyMode) {
+            ContractionHierarchy hierarchy = getContractionHierarchy(snapshot, costIndex);
+            if (hierarchy != null) {
+                List<Integer> path = hierarchy.route(source, target).getPath();
+                return path == null ? null : new ArrayList<>(path);
+            }
         }
 
-        //2. Inicializamos estructuras de datos para usar Dijkstra
-        Map<Airport, Double> minCosts = new HashMap<>(); //Almacena el costo mínimo conocido para llegar a cada aeropuerto
-        Map<Airport, Airport> predecessors = new HashMap<>(); //Almacena el aeropuerto anterior en la ruta más corta
-        PriorityLinkedQueue pq = new PriorityLinkedQueue(); //Cola de prioridad para explorar los nodos de Dijkstra
+        //Origen caliente: la ruta sale del árbol de caminos mínimos que se mantiene reparado
+        synchronized (hotOriginTrees) {
+            DynamicShortestPathTree hot = hotOriginTree(snapshot, source, costIndex);
+            if (hot != null) {
+                return hot.pathCodes(target);
+            }
+        }
 
-        try {
-            minCosts.put(origin, 0.0); //El costo al origen == 0
-            pq.enQueue(new DijkstraNode(origin, 0.0, new ArrayList<>(List.of(origin))), (int) 0.0); //Añade el nodo de origen a la cola
+        //Consulta primero la caché LRU (solo vale si la red no cambió desde que se guardó)
+        List<Integer> cached = routeCache.get(originAirportCode, destinationAirportCode, costIndex, version);
+        if (cached != null) {
+            return ShortestRouteCache.isNoRoute(cached) ? null : new ArrayList<>(cached);
+        }
 
-            List<Airport> shortestPathAirports = null; //Almacenará la secuencia de aeropuertos de la ruta más corta
+        //Dijkstra sobre el snapshot CSR (ids densos y pesos primitivos por tipo de costo)
+        ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+        List<Integer> path = search.run(snapshot, source, target, costIndex) ? search.pathCodes(target) : null;
+        routeCache.put(originAirportCode, destinationAirportCode, costIndex, version, path);
+        return path; //null si no encontró una ruta
+    }
 
-            //3. Bucle de Dijkstra
-            while (!pq.isEmpty()) {
-                DijkstraNode current = (DijkstraNode) pq.deQueue(); // Obtiene el nodo con el costo más bajo
-                Airport currentAirport = current.getAirport();
+    /**
+     * Variante A* de findShortestRoute. Para "distance" usa la distancia ortodrómica entre las coordenadas
+     * de los aeropuertos; para "duration" y "price" (o si faltan coordenadas) usa landmarks (ALT).
+     * Devuelve la ruta junto con la cantidad de aeropuertos visitados (settled) por la búsqueda.
+     */
+    public RouteSearchResult findShortestRouteAStar(int originAirportCode, int destinationAirportCode, String costType)
+            throws GraphException, ListException {
+        RoutingGraph snapshot = routingGraph;
+        int source = requireAirportId(snapshot, originAirportCode, "Origin");
+        int target = requireAirportId(snapshot, destinationAirportCode, "Destination");
+        int costIndex = RoutingGraph.costIndex(costType);
 
-                //Si ya se encontró un camino más corto al aeropuerto actual, se ignora esta exploración
-                if (current.getCost() > minCosts.getOrDefault(currentAirport, Double.MAX_VALUE) + 1e-9) {
-                    continue;
-                }
+        if (isUnreachable(snapshot, source, target)) {
+            return new RouteSearchResult(null, Double.POSITIVE_INFINITY, 0, "unreachable");
+        }
 
-                //Si el aeropuerto actual es el destino, se ha encontrado la ruta más corta.
-                if (Objects.equals(currentAirport, destination)) {
-                    shortestPathAirports = current.getPath();
-                    break;
-                }
+        RouteHeuristic heuristic;
+        String heuristicName;
+        if (costIndex == RoutingGraph.DISTANCE && snapshot.hasCoordinates(target) && snapshot.getGreatCircleScale() > 0) {
+            heuristic = new GreatCircleHeuristic(snapshot, target);
+            heuristicName = "great-circle";
+        } else {
+            heuristic = getLandmarkIndex(snapshot, costIndex).heuristicTo(target);
+            heuristicName = "landmarks";
+        }
 
-                //Obtiene el vrtice correspondiente al aeropuerto actual para explorar sus aristas
-                Vertex currentGraphVertex = null;
-                SinglyLinkedList vertexListSLL = airportGraph.getVertexList();
-                if (vertexListSLL != null && !vertexListSLL.isEmpty()) {
-                    for (int i = 1; i <= vertexListSLL.size(); i++) {
-                        Node nodeFromList = vertexListSLL.getNode(i);
-                        if (nodeFromList != null && nodeFromList.data instanceof Vertex) {
-                            Vertex potentialVertex = (Vertex) nodeFromList.data;
-                            if (Objects.equals(potentialVertex.data, currentAirport)) {
-                                currentGraphVertex = potentialVertex;
-                                break;
-                            }
-                        }
-                    }
-                }
+        ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+        //Con aeropuertos inactivos se busca directamente en la vista sin ellos: la escala ortodrómica solo es
+        //admisible ahí (ver RoutingGraph.computeGreatCircleScale) y los landmarks acotan igual por debajo
+        boolean found = search.runAStar(snapshot, source, target, costIndex, heuristic, activeOnlyFilter(snapshot));
+        return new RouteSearchResult(found ? search.pathCodes(target) : null,
+                search.cost(target), search.getSettledCount(), heuristicName);
+    }
 
-                if (currentGraphVertex == null || currentGraphVertex.edgesList == null || currentGraphVertex.edgesList.isEmpty()) {
-                    continue; //Si no hay vetice o aristas salientes salta
-                }
+    /**
+     * Dijkstra bidireccional: busca desde el origen y hacia atrás desde el destino a la vez (usa el índice
+     * inverso del snapshot) y se detiene cuando ambas fronteras garantizan la ruta mínima.
+     * No pasa por aeropuertos inactivos.
+     */
+    public RouteSearchResult findShortestRouteBidirectional(int originAirportCode, int destinationAirportCode, String costType)
+            throws GraphException, ListException {
+        RoutingGraph snapshot = routingGraph;
+        int source = requireAirportId(snapshot, originAirportCode, "Origin");
+        int target = requireAirportId(snapshot, destinationAirportCode, "Destination");
+        int costIndex = RoutingGraph.costIndex(costType);
 
-                //4. Recorremos las aristas salientes (rutas directas a aeropuertos vecinos)
-                for (int i = 1; i <= currentGraphVertex.edgesList.size(); i++) {
-                    Node edgeNode = currentGraphVertex.edgesList.getNode(i);
-                    if (edgeNode == null || !(edgeNode.data instanceof EdgeWeight)) {
-                        System.err.println("Warning: Non-EdgeWeight object found in edgesList for vertex " + currentAirport.getCode() + ". Data type: " + (edgeNode != null ? edgeNode.data.getClass().getName() : "null"));
-                        continue;
-                    }
-                    EdgeWeight edgeWeight = (EdgeWeight) edgeNode.data;
+        if (isUnreachable(snapshot, source, target)) {
+            return new RouteSearchResult(null, Double.POSITIVE_INFINITY, 0, "unreachable");
+        }
 
-                    Airport neighborAirport = (Airport) edgeWeight.getEdge(); //El aeropuerto al que lleva esta arista
-                    Route routeDetails = (Route) edgeWeight.getWeight(); //Los detalles de la ruta (peso)
+        BidirectionalSearch search = new BidirectionalSearch(snapshot.vertexCount());
+        boolean found = search.run(snapshot, source, target, costIndex, activeOnlyFilter(snapshot));
+        return new RouteSearchResult(found ? search.pathCodes() : null, search.getCost(),
+                search.getSettledCount(), "bidirectional");
+    }
 
-                    if (neighborAirport == null || routeDetails == null) {
-                        System.err.println("Warning: Malformed EdgeWeight object found for vertex " + currentAirport.getCode() + ". Missing neighbor airport or route details.");
-                        continue;
-                    }
+    /**
+     * Hasta k rutas alternativas sin ciclos entre dos aeropuertos, de menor a mayor costo (algoritmo de Yen).
+     * Sirve para ofrecer otros recorridos cuando la ruta más corta no tiene vuelos disponibles.
+     * Si se agota el presupuesto de tiempo devuelve las rutas encontradas hasta ese momento.
+     * Ninguna alternativa pasa por aeropuertos inactivos.
+     */
+    public List<RouteSearchResult> findKShortestRoutes(int originAirportCode, int destinationAirportCode, String costType, int k)
+            throws GraphException, ListException {
+        return findKShortestRoutes(originAirportCode, destinationAirportCode, costType, k, K_SHORTEST_TIME_BUDGET_MILLIS);
+    }
 
-                    //Calcula el costo de esta arista según el 'costType' seleccionado
-                    double edgeCost = 0.0;
-                    switch (costType.toLowerCase()) {
-                        case "duration":
-                            edgeCost = routeDetails.getDurationHours();
-                            break;
-                        case "distance":
-                            edgeCost = routeDetails.getDistanceKm();
-                            break;
-                        case "price":
-                            edgeCost = routeDetails.getPrice();
-                            break;
-                        default:
-                            throw new IllegalArgumentException("Invalid cost type in Dijkstra calculation.");
-                    }
+    public List<RouteSearchResult> findKShortestRoutes(int originAirportCode, int destinationAirportCode, String costType,
+                                                       int k, long timeBudgetMillis) throws GraphException, ListException {
+        RoutingGraph snapshot = routingGraph;
+        int source = requireAirportId(snapshot, originAirportCode, "Origin");
+        int target = requireAirportId(snapshot, destinationAirportCode, "Destination");
+        int costIndex = RoutingGraph.costIndex(costType);
 
-                    double newCost = current.getCost() + edgeCost; //Nuevo costo total para llegar al vecino
+        if (isUnreachable(snapshot, source, target)) {
+            return new ArrayList<>();
+        }
 
-                    //Si se encuentra un camino más corto al 'neighborAirport'
-                    if (newCost < minCosts.getOrDefault(neighborAirport, Double.MAX_VALUE)) {
-                        minCosts.put(neighborAirport, newCost); // Actualiza el costo mínimo.
-                        predecessors.put(neighborAirport, currentAirport); // Establece el predecesor.
+        KShortestPaths yen = new KShortestPaths(timeBudgetMillis);
+        List<RouteSearchResult> routes = yen.run(snapshot, source, target, costIndex, k, activeOnlyFilter(snapshot));
+        if (yen.isTimedOut()) {
+            System.out.println("K-shortest routes " + originAirportCode + " -> " + destinationAirportCode + " stopped after "
+                    + timeBudgetMillis + " ms with " + routes.size() + " of " + k + " routes");
+        }
+        return routes;
+    }
 
-                        List<Airport> newPath = new ArrayList<>(current.getPath()); //Construye nuevo camino
-                        newPath.add(neighborAirport);
+    /**
+     * Frente de Pareto entre dos aeropuertos: todos los itinerarios que no son superados a la vez en
+     * precio, duración y distancia por otro (p. ej. "barato pero no absurdamente largo"), ordenados por precio.
+     * Lista vacía si no hay ruta. No pasa por aeropuertos inactivos.
+     */
+    public List<ParetoRoute> findParetoRoutes(int originAirportCode, int destinationAirportCode)
+            throws GraphException, ListException {
+        return findParetoRoutes(originAirportCode, destinationAirportCode, ParetoRouteSearch.DEFAULT_MAX_LABELS_PER_AIRPORT);
+    }
 
-                        pq.enQueue(new DijkstraNode(neighborAirport, newCost, newPath), (int) newCost); //añade el vecino a la cola
-                    }
+    //maxLabelsPerAirport acota las etiquetas por aeropuerto (y por lo tanto el tamaño del frente)
+    public List<ParetoRoute> findParetoRoutes(int originAirportCode, int destinationAirportCode, int maxLabelsPerAirport)
+            throws GraphException, ListException {
+        RoutingGraph snapshot = routingGraph;
+        int source = requireAirportId(snapshot, originAirportCode, "Origin");
+        int target = requireAirportId(snapshot, destinationAirportCode, "Destination");
+
+        if (isUnreachable(snapshot, source, target)) {
+            return new ArrayList<>();
+        }
+
+        ParetoRouteSearch search = new ParetoRouteSearch(maxLabelsPerAirport);
+        List<ParetoRoute> front = search.run(snapshot, source, target, activeOnlyFilter(snapshot));
+        if (search.isTruncated()) {
+            System.out.println("Pareto search " + originAirportCode + " -> " + destinationAirportCode
+                    + " reached the limit of " + maxLabelsPerAirport + " labels per airport; the front may be incomplete");
+        }
+        return front;
+    }
+
+    /**
+     * Rutas que llegan al aeropuerto indicado, en O(grado de entrada) usando el índice inverso del grafo.
+     * Devuelve la ruta que representa cada arista de la red (una por aeropuerto de origen).
+     */
+    public List<Route> getRoutesArrivingAt(int airportCode) throws GraphException, ListException {
+        Airport airport = airportService.getAirportByCode(airportCode);
+        if (airport == null) {
+            throw new GraphException("Airport with code " + airportCode + " not found in AirportService.");
+        }
+        if (airportGraph.isEmpty() || !airportGraph.containsVertex(airport)) {
+            return new ArrayList<>(); //aeropuerto sin rutas en la red
+        }
+        List<Route> arriving = new ArrayList<>();
+        for (EdgeWeight incoming : airportGraph.getIncomingEdges(airport)) {
+            if (incoming.getWeight() instanceof Route) {
+                arriving.add((Route) incoming.getWeight());
+            }
+        }
+        return arriving;
+    }
+
+    //Índice de landmarks del snapshot vigente; se reconstruye cuando la red cambia
+    private synchronized LandmarkIndex getLandmarkIndex(RoutingGraph snapshot, int costIndex) {
+        LandmarkIndex index = landmarkIndexes[costIndex];
+        if (index == null || index.getGraph() != snapshot) {
+            index = LandmarkIndex.build(snapshot, costIndex, LANDMARK_COUNT);
+            landmarkIndexes[costIndex] = index;
+        }
+        return index;
+    }
+
+    /**
+     * Calcula en una sola pasada de Dijkstra el árbol de caminos mínimos desde un origen.
+     * El resultado responde el costo y la ruta hacia cualquier destino sin volver a buscar,
+     * útil cuando se consultan varios destinos desde el mismo aeropuerto.
+     * No pasa por aeropuertos inactivos: si el snapshot tiene alguno no se usan los árboles calientes
+     * (se mantienen sobre la red completa) y se busca sobre la vista filtrada.
+     */
+    public ShortestPathTree findShortestRoutesFrom(int originAirportCode, String costType)
+            throws GraphException, ListException {
+        RoutingGraph snapshot = routingGraph;
+        int source = requireAirportId(snapshot, originAirportCode, "Origin");
+        int costIndex = RoutingGraph.costIndex(costType);
+
+        RouteFilter filter = activeOnlyFilter(snapshot);
+        if (filter == null) {
+            synchronized (hotOriginTrees) {
+                DynamicShortestPathTree hot = hotOriginTree(snapshot, source, costIndex);
+                if (hot != null) {
+                    return hot.toTree();
                 }
             }
+        }
+        ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+        search.run(snapshot, source, -1, costIndex, filter);
+        return search.toTree(costIndex);
+    }
 
-            //Si se encontro la ruta más corta, la convierte a una lista de códigos de aeropuerto
-            if (shortestPathAirports != null) {
-                List<Integer> resultCodes = new ArrayList<>();
-                for (Airport airport : shortestPathAirports) {
-                    resultCodes.add(airport.getCode());
+    /**
+     * Todos los destinos alcanzables desde el origen sin superar el presupuesto (por ejemplo, 8 horas o $600),
+     * ordenados por costo. Una sola búsqueda de Dijkstra que deja de expandir al superar el presupuesto;
+     * no pasa por aeropuertos inactivos.
+     */
+    public Isochrone isochrone(int originAirportCode, String costType, double budget) throws GraphException, ListException {
+        if (!(budget >= 0)) {
+            throw new IllegalArgumentException("Budget must be a non-negative number");
+        }
+        RoutingGraph snapshot = routingGraph;
+        int source = requireAirportId(snapshot, originAirportCode, "Origin");
+        int costIndex = RoutingGraph.costIndex(costType);
+        return Isochrone.compute(snapshot, source, costIndex, budget, activeOnlyFilter(snapshot));
+    }
+
+    /**
+     * Calcula la matriz de costos mínimos entre todos los pares de los aeropuertos indicados.
+     * Lanza una búsqueda por origen en paralelo (ForkJoinPool) sobre el snapshot vigente e
+     * informa el tiempo total y el rendimiento para poder dimensionar el pool.
+     * Las rutas no pasan por aeropuertos inactivos (un aeropuerto inactivo queda sin rutas en la matriz).
+     */
+    public RouteCostMatrix computeCostMatrix(List<Integer> airportCodes, String costType)
+            throws GraphException, ListException {
+        Objects.requireNonNull(airportCodes, "Airport codes cannot be null");
+        RoutingGraph snapshot = routingGraph;
+        int costIndex = RoutingGraph.costIndex(costType);
+        int[] ids = new int[airportCodes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = requireAirportId(snapshot, airportCodes.get(i), "Matrix");
+        }
+
+        RouteCostMatrix matrix = RouteCostMatrix.compute(snapshot, ids, costIndex, getRoutingPool(), activeOnlyFilter(snapshot));
+        System.out.println("Cost matrix (" + costType + ") computed: " + matrix);
+        return matrix;
+    }
+
+    /**
+     * Centralidad de intermediación y cercanía de todos los aeropuertos (Brandes, un origen por tarea en el pool
+     * de rutas). Con más de HUB_CENTRALITY_EXACT_MAX_AIRPORTS aeropuertos se estima con una muestra de orígenes.
+     * Se guarda un resultado por tipo de costo, que se reutiliza mientras el snapshot sea el mismo.
+     */
+    public synchronized HubCentrality getHubCentrality(String costType) {
+        RoutingGraph snapshot = routingGraph;
+        int costIndex = RoutingGraph.costIndex(costType);
+        HubCentrality current = hubCentralities[costIndex];
+        if (current != null && current.getGraph() == snapshot) {
+            return current;
+        }
+        int sampleSize = snapshot.vertexCount() > HUB_CENTRALITY_EXACT_MAX_AIRPORTS ? HUB_CENTRALITY_SAMPLE_SIZE : 0;
+        current = computeHubCentrality(costType, sampleSize);
+        hubCentralities[costIndex] = current;
+        return current;
+    }
+
+    //Cálculo explícito (sin caché); sampleSize = 0 calcula el valor exacto. Sin aeropuertos inactivos
+    public HubCentrality computeHubCentrality(String costType, int sampleSize) {
+        RoutingGraph snapshot = routingGraph;
+        //semilla fija: la misma red da la misma muestra y el mismo ranking
+        HubCentrality centrality = HubCentrality.compute(snapshot, RoutingGraph.costIndex(costType), sampleSize,
+                0L, getRoutingPool(), activeOnlyFilter(snapshot));
+        System.out.println("Hub centrality (" + costType + ") computed: " + centrality);
+        return centrality;
+    }
+
+    /**
+     * Los k aeropuertos por los que pasan más rutas mínimas (intermediación), desempatando por cantidad de rutas.
+     * Los aeropuertos inactivos no cuentan como intermediarios ni aparecen en la lista.
+     * @return lista ordenada de mayor a menor, vacía si la red no tiene aeropuertos
+     */
+    public List<Airport> getTopHubAirports(int k, String costType) {
+        HubCentrality centrality = getHubCentrality(costType);
+        List<Airport> hubs = new ArrayList<>();
+        for (int id : centrality.topByBetweenness(k)) {
+            hubs.add(centrality.getGraph().airport(id));
+        }
+        return hubs;
+    }
+
+    //Pool para búsquedas en paralelo; por defecto usa un hilo por núcleo disponible
+    private synchronized ForkJoinPool getRoutingPool() {
+        if (routingPool == null) {
+            routingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return routingPool;
+    }
+
+    public synchronized void setRoutingParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (routingPool != null) {
+            routingPool.shutdown();
+        }
+        routingPool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Activa o desactiva el modo "todos los pares". Al activarlo se calculan las tablas de inmediato
+     * (Floyd–Warshall por bloques en el pool de rutas); luego se recalculan en segundo plano después de cada
+     * cambio en la red. Mientras se recalculan, findShortestRoute vuelve a usar Dijkstra.
+     */
+    public void setAllPairsMode(boolean enabled) throws GraphException, ListException {
+        if (!enabled) {
+            allPairsMode = false;
+            allPairsState = null;
+            return;
+        }
+        RoutingGraph snapshot = routingGraph;
+        if (snapshot == null) {
+            throw new GraphException("Airport network is empty. Please load airports and routes first.");
+        }
+        if (snapshot.vertexCount() > ALL_PAIRS_MAX_AIRPORTS) {
+            throw new GraphException("All-pairs mode supports at most " + ALL_PAIRS_MAX_AIRPORTS
+                    + " airports (network has " + snapshot.vertexCount() + ").");
+        }
+        AllPairsShortestPaths tables = AllPairsShortestPaths.compute(snapshot, getRoutingPool());
+        allPairsState = new AllPairsState(snapshot, tables);
+        allPairsMode = true;
+        System.out.println("All-pairs tables computed: " + tables);
+    }
+
+    public boolean isAllPairsMode() {
+        return allPairsMode;
+    }
+
+    //Tablas vigentes, o null si el modo está apagado o se están recalculando tras un cambio
+    public AllPairsShortestPaths getAllPairsTables() {
+        AllPairsState state = allPairsState;
+        return state != null && state.snapshot == routingGraph ? state.tables : null;
+    }
+
+    //Encola un recálculo de las tablas; varios cambios seguidos se agrupan en un solo recálculo
+    private void scheduleAllPairsRecompute() {
+        if (!allPairsRecomputePending.compareAndSet(false, true)) {
+            return; //ya hay un recálculo en cola que tomará el snapshot más reciente
+        }
+        getMaintenanceExecutor().execute(() -> {
+            allPairsRecomputePending.set(false);
+            RoutingGraph snapshot = routingGraph;
+            if (!allPairsMode || snapshot == null) return;
+            try {
+                if (snapshot.vertexCount() > ALL_PAIRS_MAX_AIRPORTS) {
+                    System.err.println("All-pairs mode disabled: network grew past " + ALL_PAIRS_MAX_AIRPORTS + " airports.");
+                    allPairsMode = false;
+                    allPairsState = null;
+                    return;
                 }
-                return resultCodes;
-            } else {
-                return null; //No encontró una ruta
+                AllPairsShortestPaths tables = AllPairsShortestPaths.compute(snapshot, getRoutingPool());
+                if (allPairsMode) {
+                    allPairsState = new AllPairsState(snapshot, tables);
+                }
+            } catch (GraphException | ListException e) {
+                System.err.println("Error recomputing all-pairs tables: " + e.getMessage());
             }
-        } catch (QueueException e) {
-            throw new GraphException("Error processing shortest path with Priority Queue: " + e.getMessage());
+        });
+    }
+
+    private synchronized ExecutorService getMaintenanceExecutor() {
+        if (maintenanceExecutor == null) {
+            maintenanceExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "routing-maintenance");
+                thread.setDaemon(true); //no impide cerrar la aplicación
+                return thread;
+            });
         }
+        return maintenanceExecutor;
     }
 
     /**
-     * Finds and returns the top 5 airports with the highest number of associated routes
-     * (either as origin or destination).
-     * @return A list of the top 5 (or fewer if not enough) airports, sorted by route count descending.
-     * Returns an empty list if no airports or routes exist.
+     * Activa o desactiva las consultas con jerarquía de contracción. Al activarlo se preprocesa la red para
+     * los tres tipos de costo; después de cada cambio se re-preprocesa en segundo plano reutilizando el
+     * orden de contracción anterior. Mientras tanto findShortestRoute usa Dijkstra.
      */
-    public List<Airport> getTop5AirportsByRouteCount() throws ListException {
-        Map<Airport, Integer> airportRouteCounts = new HashMap<>();
+    public void setContractionHierarchyMode(boolean enabled) throws GraphException {
+        if (!enabled) {
+            contractionHierarchyMode = false;
+            synchronized (hierarchies) {
+                Arrays.fill(hierarchies, null);
+            }
+            return;
+        }
+        RoutingGraph snapshot = routingGraph;
+        if (snapshot == null || snapshot.vertexCount() == 0) {
+            throw new GraphException("Airport network is empty. Please load airports and routes first.");
+        }
+        synchronized (hierarchies) {
+            for (int c = 0; c < RoutingGraph.COST_TYPES; c++) {
+                hierarchies[c] = ContractionHierarchy.build(snapshot, c);
+                System.out.println("Contraction hierarchy ready: " + hierarchies[c]);
+            }
+        }
+        contractionHierarchyMode = true;
+    }
 
-        // Initialize counts for all airports to 0
-        List<Object> allAirportsObjects = airportService.getAllAirportsAsList();
-        for (Object obj : allAirportsObjects) {
-            if (obj instanceof Airport) {
-                airportRouteCounts.put((Airport) obj, 0);
+    public boolean isContractionHierarchyMode() {
+        return contractionHierarchyMode;
+    }
+
+    //Jerarquía vigente para el snapshot y tipo de costo, o null si el modo está apagado o se está re-preprocesando
+    public ContractionHierarchy getContractionHierarchy(RoutingGraph snapshot, int costIndex) {
+        synchronized (hierarchies) {
+            ContractionHierarchy hierarchy = hierarchies[costIndex];
+            return hierarchy != null && hierarchy.getGraph() == snapshot ? hierarchy : null;
+        }
+    }
+
+    //Encola el re-preprocesamiento de las jerarquías; varios cambios seguidos se agrupan
+    private void scheduleHierarchyRebuild() {
+        if (!hierarchyRebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        getMaintenanceExecutor().execute(() -> {
+            hierarchyRebuildPending.set(false);
+            RoutingGraph snapshot = routingGraph;
+            if (!contractionHierarchyMode || snapshot == null || snapshot.vertexCount() == 0) return;
+            for (int c = 0; c < RoutingGraph.COST_TYPES; c++) {
+                ContractionHierarchy previous;
+                synchronized (hierarchies) {
+                    previous = hierarchies[c];
+                }
+                ContractionHierarchy rebuilt = previous == null
+                        ? ContractionHierarchy.build(snapshot, c)
+                        : ContractionHierarchy.rebuild(snapshot, previous);
+                synchronized (hierarchies) {
+                    if (contractionHierarchyMode) hierarchies[c] = rebuilt;
+                }
             }
+        });
+    }
+
+    //Valida que el aeropuerto exista en AirportService y en el snapshot, y devuelve su id denso
+    private int requireAirportId(RoutingGraph snapshot, int airportCode, String role) throws GraphException, ListException {
+        if (snapshot == null || snapshot.vertexCount() == 0) {
+            throw new GraphException("Airport network is empty. Please load airports and routes first.");
+        }
+        if (airportService.getAirportByCode(airportCode) == null) {
+            throw new GraphException(role + " airport with code " + airportCode + " not found in AirportService.");
+        }
+        int id = snapshot.idOf(airportCode);
+        if (id == -1) {
+            throw new GraphException(role + " airport with code " + airportCode + " not found in the in-memory graph.");
         }
+        return id;
+    }
 
-        // Iterate through all routes and increment counts for origin and destination airports
-        for (Route route : routesMap.values()) {
-            Airport origin = airportService.getAirportByCode(route.getOriginAirportCode());
-            Airport destination = airportService.getAirportByCode(route.getDestinationAirportCode());
+    //true si el índice de alcanzabilidad de este snapshot garantiza que no existe ninguna ruta
+    private boolean isUnreachable(RoutingGraph snapshot, int source, int target) {
+        ReachabilityIndex index = reachabilityIndex;
+        return index != null && index.getGraph() == snapshot && !index.canReach(source, target);
+    }
 
-            if (origin != null) {
-                airportRouteCounts.put(origin, airportRouteCounts.getOrDefault(origin, 0) + 1);
+    /**
+     * Aeropuertos a los que se puede llegar desde el origen (con cualquier cantidad de escalas), sin incluirlo.
+     * Sale del índice de alcanzabilidad: no ejecuta ninguna búsqueda sobre el grafo.
+     */
+    public List<Airport> getReachableAirports(int originAirportCode) throws GraphException, ListException {
+        RoutingGraph snapshot = routingGraph;
+        int source = requireAirportId(snapshot, originAirportCode, "Origin");
+        ReachabilityIndex index = getReachabilityIndex();
+        List<Airport> reachable = new ArrayList<>();
+        for (int v : index.reachableFrom(source)) {
+            if (v != source) {
+                reachable.add(snapshot.airport(v));
             }
-            if (destination != null && !destination.equals(origin)) { // Avoid double-counting if origin == destination (though routes should prevent this)
-                airportRouteCounts.put(destination, airportRouteCounts.getOrDefault(destination, 0) + 1);
+        }
+        return reachable;
+    }
+
+    /**
+     * Refleja un cambio de estado (Active/Inactive) hecho desde otra instancia de AirportService:
+     * actualiza el aeropuerto del grafo y publica un snapshot nuevo con la máscara de inactivos al día.
+     */
+    public void onAirportStatusChanged(int airportCode, String status) throws ListException {
+        Airport airport = airportService.getAirportByCode(airportCode);
+        if (airport != null && status != null) {
+            airport.setStatus(status);
+        }
+        onNetworkChanged();
+    }
+
+    //Índice de alcanzabilidad del snapshot vigente (se reconstruye junto con cada snapshot)
+    public ReachabilityIndex getReachabilityIndex() {
+        ReachabilityIndex index = reachabilityIndex;
+        RoutingGraph snapshot = routingGraph;
+        return index != null && index.getGraph() == snapshot ? index : ReachabilityIndex.build(snapshot);
+    }
+
+    /**
+     * Puntos de articulación y puentes del snapshot vigente. Se calcula de forma perezosa: la primera consulta
+     * después de un cambio en la red lo recalcula (tiempo lineal) y las siguientes lo reutilizan.
+     */
+    public NetworkResilience getNetworkResilience() {
+        RoutingGraph snapshot = routingGraph;
+        NetworkResilience current = networkResilience;
+        if (current == null || current.getGraph() != snapshot) {
+            current = NetworkResilience.analyze(snapshot);
+            networkResilience = current;
+        }
+        return current;
+    }
+
+    //Aeropuertos cuyo cierre partiría la red (puntos de articulación)
+    public List<Airport> getCriticalAirports() {
+        NetworkResilience resilience = getNetworkResilience();
+        List<Airport> critical = new ArrayList<>();
+        for (int v : resilience.articulationPoints()) {
+            critical.add(resilience.getGraph().airport(v));
+        }
+        return critical;
+    }
+
+    //Rutas cuya cancelación partiría la red (puentes)
+    public List<Route> getCriticalRoutes() {
+        NetworkResilience resilience = getNetworkResilience();
+        List<Route> critical = new ArrayList<>();
+        for (int e : resilience.bridges()) {
+            critical.add(resilience.getGraph().route(e));
+        }
+        return critical;
+    }
+
+    /**
+     * ¿Qué pasa si se cierra el aeropuerto? Cantidad de aeropuertos que quedarían sin conexión con la parte
+     * más grande de su red (0 si el cierre no parte la red).
+     */
+    public int countAirportsCutOffByClosure(int airportCode) throws GraphException, ListException {
+        NetworkResilience resilience = getNetworkResilience();
+        int v = requireAirportId(resilience.getGraph(), airportCode, "Airport");
+        return resilience.airportsCutOffByClosure(v);
+    }
+
+    /**
+     * ¿Qué pasa si se cancela la ruta? Cantidad de aeropuertos que quedarían sin conexión con la parte
+     * más grande de su red (0 si la cancelación no parte la red).
+     */
+    public int countAirportsCutOffByRouteCancellation(String routeId) throws GraphException, ListException {
+        Route route = routesMap.get(routeId);
+        if (route == null) {
+            throw new ListException("Ruta con ID " + routeId + " no encontrada");
+        }
+        NetworkResilience resilience = getNetworkResilience();
+        RoutingGraph snapshot = resilience.getGraph();
+        int u = requireAirportId(snapshot, route.getOriginAirportCode(), "Origin");
+        for (int e = snapshot.firstEdge(u), end = snapshot.endEdge(u); e < end; e++) {
+            if (routeId.equals(snapshot.route(e).getRouteId())) {
+                return resilience.airportsCutOffByCancellation(e);
             }
         }
+        throw new GraphException("Route " + routeId + " is not part of the in-memory graph.");
+    }
 
-        // Sort the map entries by count in descending order and limit to top 5
-        List<Map.Entry<Airport, Integer>> sortedEntries = airportRouteCounts.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
-                .collect(Collectors.toList());
+    /**
+     * Reconstruye el snapshot inmutable de rutas a partir del grafo mutable y lo publica de forma atómica.
+     * Las consultas en curso siguen usando el snapshot anterior hasta terminar.
+     */
+    private void refreshRoutingGraph() {
+        try {
+            RoutingGraph snapshot = RoutingGraph.build(airportGraph);
+            this.reachabilityIndex = ReachabilityIndex.build(snapshot); //se publica antes que el snapshot
+            this.routingGraph = snapshot;
+        } catch (ListException e) {
+            System.err.println("Error rebuilding routing snapshot: " + e.getMessage());
+        }
+    }
 
-        List<Airport> topAirports = new ArrayList<>();
-        for (int i = 0; i < Math.min(5, sortedEntries.size()); i++) {
-            topAirports.add(sortedEntries.get(i).getKey());
+    /**
+     * Se invoca después de cada cambio en la red (rutas o aeropuertos del grafo): publica un snapshot nuevo
+     * y luego aumenta la versión de la red, lo que invalida las entradas cacheadas de versiones anteriores.
+     */
+    private void onNetworkChanged() {
+        refreshRoutingGraph();
+        networkVersion.incrementAndGet();
+        if (allPairsMode) {
+            scheduleAllPairsRecompute();
+        }
+        if (contractionHierarchyMode) {
+            scheduleHierarchyRebuild();
         }
+    }
+
+    /**
+     * Cambio en las rutas de un solo par origen->destino (alta, baja o nuevo precio/duración): además de publicar
+     * el snapshot nuevo, repara los árboles de los orígenes calientes en lugar de recalcularlos.
+     * Solo se reparan los árboles del snapshot inmediatamente anterior; el resto se descarta.
+     */
+    private void onRoutesChanged(int originAirportCode, int destinationAirportCode) {
+        RoutingGraph previous = routingGraph;
+        onNetworkChanged();
+        RoutingGraph snapshot = routingGraph;
+        int u = snapshot.idOf(originAirportCode);
+        int v = snapshot.idOf(destinationAirportCode);
+        synchronized (hotOriginTrees) {
+            hotOriginTrees.values().removeIf(tree -> tree.getGraph() != previous || u == -1 || v == -1
+                    || !tree.applyEdgeChange(snapshot, u, v));
+        }
+    }
+
+    //Árbol mantenido del origen si ya es caliente; cuenta la consulta y lo calcula al llegar al umbral.
+    //Se llama con el lock de hotOriginTrees tomado
+    private DynamicShortestPathTree hotOriginTree(RoutingGraph snapshot, int source, int costIndex) {
+        long key = (long) snapshot.code(source) * RoutingGraph.COST_TYPES + costIndex;
+        DynamicShortestPathTree tree = hotOriginTrees.get(key);
+        if (tree != null && tree.getGraph() == snapshot) {
+            return tree;
+        }
+        if (originQueryCounts.size() > 4 * 1024) {
+            originQueryCounts.clear();
+        }
+        if (originQueryCounts.merge(key, 1, Integer::sum) < HOT_ORIGIN_THRESHOLD) {
+            return null;
+        }
+        tree = DynamicShortestPathTree.compute(snapshot, source, costIndex);
+        hotOriginTrees.put(key, tree);
+        return tree;
+    }
+
+    //Tablas de todos los pares junto con el snapshot del que salieron (se publican juntas)
+    private static final class AllPairsState {
+        private final RoutingGraph snapshot;
+        private final AllPairsShortestPaths tables;
+
+        AllPairsState(RoutingGraph snapshot, AllPairsShortestPaths tables) {
+            this.snapshot = snapshot;
+            this.tables = tables;
+        }
+    }
+
+    public long getNetworkVersion() {
+        return networkVersion.get();
+    }
+
+    public ShortestRouteCache getRouteCache() {
+        //Expone la caché de rutas para consultar sus contadores (hits, misses, evictions) o ajustar la capacidad
+        return routeCache;
+    }
+
+    public RoutingGraph getRoutingGraph() {
+        //Devuelve el snapshot de rutas vigente (inmutable)
+        return routingGraph;
+    }
+
+    /**
+     * Finds and returns the top 5 airports with the highest number of associated routes
+     * (either as origin or destination).
+     * @return A list of the top 5 (or fewer if not enough) airports, sorted by route count descending.
+     * Returns an empty list if no airports or routes exist.
+     */
+    public List<Airport> getTop5AirportsByRouteCount() throws ListException {
+        List<Airport> topAirports = getTopAirportsByRouteCount(5);
 
         System.out.println("Top 5 Airports by Route Count:");
         for (Airport airport : topAirports) {
-            System.out.println("- " + airport.getName() + " (" + airport.getCode() + "): " + airportRouteCounts.get(airport) + " routes.");
+            System.out.println("- " + airport.getName() + " (" + airport.getCode() + "): " + routeCounts.count(airport.getCode()) + " routes.");
         }
 
         return topAirports;
     }
 
+    /**
+     * Los k aeropuertos con más rutas, leídos del índice de conteos (no recorre las rutas ni ordena).
+     * Si hay menos de k aeropuertos con rutas se completa con aeropuertos sin rutas, como antes.
+     */
+    public List<Airport> getTopAirportsByRouteCount(int k) throws ListException {
+        List<Airport> topAirports = new ArrayList<>(k);
+        //Si algún código del índice ya no existe en AirportService se lee un tramo más largo del ranking
+        for (int limit = k; ; limit *= 2) {
+            int[] codes = routeCounts.top(limit);
+            topAirports.clear();
+            for (int i = 0; i < codes.length && topAirports.size() < k; i++) {
+                Airport airport = airportService.getAirportByCode(codes[i]);
+                if (airport != null) topAirports.add(airport);
+            }
+            if (topAirports.size() == k || codes.length < limit) break;
+        }
+        //Menos de k aeropuertos con rutas: se completa con aeropuertos sin rutas
+        if (topAirports.size() < k) {
+            for (Object obj : airportService.getAllAirportsAsList()) {
+                if (topAirports.size() == k) break;
+                if (obj instanceof Airport && routeCounts.count(((Airport) obj).getCode()) == 0) {
+                    topAirports.add((Airport) obj);
+                }
+            }
+        }
+        return topAirports;
+    }
+
     /**
      * Obtiene el conteo de rutas para cada aeropuerto.
      * Este método cuenta cuántas veces un aeropuerto aparece como origen o destino en las rutas.
-     * @return Un mapa donde la clave es el código del aeropuerto y el valor es el conteo de rutas asociadas.
+     * @return Un mapa (copia de solo lectura del momento de la llamada) donde la clave es el código
+     * del aeropuerto y el valor es el conteo de rutas asociadas.
      */
     public Map<Integer, Long> getRouteCountsByAirport() {
-        Map<Integer, Long> routeCounts = new HashMap<>();
-
-        // Iterar sobre todas las rutas en routesMap
-        for (Route route : routesMap.values()) {
-            // Contar la ruta para el aeropuerto de origen
-            routeCounts.merge(route.getOriginAirportCode(), 1L, Long::sum);
-            // Contar la ruta para el aeropuerto de destino
-            routeCounts.merge(route.getDestinationAirportCode(), 1L, Long::sum);
-        }
-        return routeCounts;
+        return routeCounts.counts();
     }
 
     public void removeAirportFromGraph(int airportCode) throws GraphException, ListException {
@@ -582,13 +1241,14 @@ public class AirNetworkService {
             Route routeRemovedFromMap = routesMap.get(routeId);
             if (routeRemovedFromMap != null) {
                 routesMap.remove(routeId); //Elimina del mapa de rutas
+                routeCounts.removeRoute(routeRemovedFromMap.getOriginAirportCode(), routeRemovedFromMap.getDestinationAirportCode());
 
                 Airport origin = airportService.getAirportByCode(routeRemovedFromMap.getOriginAirportCode());
                 Airport destination = airportService.getAirportByCode(routeRemovedFromMap.getDestinationAirportCode());
 
                 if (origin != null && destination != null) {
                     try {
-                        airportGraph.removeEdge(origin, destination); //Elimina la arista del grafo
+                        airportGraph.removeEdgeWeight(origin, destination, routeRemovedFromMap); //Elimina la arista de la ruta
                     } catch (GraphException e) {
                         System.err.println("Error removing edge for route " + routeId + ": " + e.getMessage());
                     }
@@ -598,6 +1258,8 @@ public class AirNetworkService {
 
         //5.remueve el vértice del aeropuerto del grafo
         airportGraph.removeVertex(airportToRemove);
+        routeCounts.removeAirport(airportCode);
+        onNetworkChanged();
         System.out.println("Airport " + airportCode + " and its edges removed from the graph.");
 
         //6. Guarda los cambios
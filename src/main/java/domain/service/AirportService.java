@@ -5,6 +5,7 @@ import domain.common.Airport;
 import domain.common.Passenger;
 import domain.linkedlist.DoublyLinkedList;
 import domain.linkedlist.ListException;
+import domain.linkedlist.ListFactory;
 import domain.linkedlist.Node;
 import domain.linkedlist.SinglyLinkedList;
 import domain.linkedqueue.LinkedQueue;
@@ -18,10 +19,10 @@ import java.util.stream.Collectors;
 
 public class AirportService {
 
-    private DoublyLinkedList airportsDLL;
+    private domain.linkedlist.List airportsDLL; //DoublyLinkedList o ArrayBackedList según ListFactory
 
     public AirportService() {
-        this.airportsDLL = new DoublyLinkedList();
+        this.airportsDLL = ListFactory.create(DoublyLinkedList::new);
         loadAirports();
     }
 
@@ -91,13 +92,9 @@ public class AirportService {
             return null; //No hay aeropuertos para buscar
         }
 
-        for (int i = 1; i <= airportsDLL.size(); i++) {
-            Node node = airportsDLL.getNode(i);
-            if (node != null && node.data instanceof Airport) {
-                Airport currentAirport = (Airport) node.data;
-                if (currentAirport.getCode() == code) {
-                    return currentAirport;
-                }
+        for (Object obj : airportsDLL) {
+            if (obj instanceof Airport currentAirport && currentAirport.getCode() == code) {
+                return currentAirport;
             }
         }
         return null; //Not found
@@ -108,13 +105,9 @@ public class AirportService {
             return null; //No hay aeropuertos para buscar
         }
 
-        for (int i = 1; i <= airportsDLL.size(); i++) {
-            Node node = airportsDLL.getNode(i);
-            if (node != null && node.data instanceof Airport) {
-                Airport currentAirport = (Airport) node.data;
-                if (util.Utility.compare(currentAirport.getCountry(), country) == 0) {
-                    return currentAirport;
-                }
+        for (Object obj : airportsDLL) {
+            if (obj instanceof Airport currentAirport && util.Utility.compare(currentAirport.getCountry(), country) == 0) {
+                return currentAirport;
             }
         }
         return null; //Not found
@@ -169,9 +162,15 @@ public class AirportService {
             throw new ListException("Airport with code: " + updatedAirport.getCode() + " not found for update");
         }
 
+        //El formulario no edita las coordenadas: se conservan las que ya tenía el aeropuerto
+        if (!updatedAirport.hasCoordinates() && existingAirport.hasCoordinates()) {
+            updatedAirport.setLatitude(existingAirport.getLatitude());
+            updatedAirport.setLongitude(existingAirport.getLongitude());
+        }
+
         //modification of the node data
         try {
-            airportsDLL.getNode(index).data = updatedAirport;
+            airportsDLL.set(index, updatedAirport);
         } catch (ListException e) {
             System.err.println("Error accessing node during update: " + e.getMessage());
             throw new ListException("Internal error: Could not access airport for update. " + e.getMessage());
@@ -184,7 +183,7 @@ public class AirportService {
             if (index != -1) {
                 //Rollback
                 try {
-                    airportsDLL.getNode(index).data = existingAirport;
+                    airportsDLL.set(index, existingAirport);
                 } catch (ListException rollbackEx) {
                     System.err.println("CRITICAL: Failed to rollback airport update after save error: " + rollbackEx.getMessage());
                 }
@@ -201,10 +200,9 @@ public class AirportService {
 
         Airport airportToUpdate = null;
 
-        for (int i = 1; i <= airportsDLL.size(); i++) {
-            Node node = airportsDLL.getNode(i);
-            if (node != null && node.data instanceof Airport) {
-                airportToUpdate = (Airport) node.data;
+        for (Object obj : airportsDLL) {
+            if (obj instanceof Airport) {
+                airportToUpdate = (Airport) obj;
                 if (airportToUpdate.getCode() == codeAirport) {
                     break; //Found the airport
                 }
@@ -235,7 +233,7 @@ public class AirportService {
         return airportsDLL.toList();
     }
 
-    public DoublyLinkedList getAllAirports() {
+    public domain.linkedlist.List getAllAirports() {
         return this.airportsDLL;
     }
 
@@ -278,20 +276,14 @@ public class AirportService {
             throw new ListException("No airports found in the system for status: " + status);
         }
 
-        try {
-            for (int i = 1; i <= airportsDLL.size(); i++) {
-                Node node = airportsDLL.getNode(i);
-                if (node != null && node.data instanceof Airport) {
-                    Airport currentAirport = (Airport) node.data;
-                    if ("Ambos".equalsIgnoreCase(status) || currentAirport.getStatus().equalsIgnoreCase(status)) {
-                        filteredSLL.add(currentAirport);
-                    }
-                } else {
-                    System.err.println("Warning: Skipped non-Airport object or null node at index " + i + " in DLL during status filter");
+        for (Object obj : airportsDLL) {
+            if (obj instanceof Airport currentAirport) {
+                if ("Ambos".equalsIgnoreCase(status) || currentAirport.getStatus().equalsIgnoreCase(status)) {
+                    filteredSLL.add(currentAirport);
                 }
+            } else {
+                System.err.println("Warning: Skipped non-Airport object in DLL during status filter: " + obj);
             }
-        } catch (ListException e) {
-            throw new ListException("Error accessing airports in DLL for status filter: " + e.getMessage());
         }
 
         if (filteredSLL.isEmpty()) {
@@ -2,9 +2,11 @@ package domain.service;
 
 import data.FlightData;
 import domain.common.*;
+import domain.graph.ConnectionScanTimetable;
+import domain.graph.FlightItinerary;
 import domain.linkedlist.CircularDoublyLinkedList;
 import domain.linkedlist.ListException;
-import domain.linkedlist.Node;
+import domain.linkedlist.ListFactory;
 import domain.linkedlist.SinglyLinkedList;
 import domain.linkedqueue.LinkedQueue;
 import domain.linkedqueue.QueueException;
@@ -27,12 +29,14 @@ import java.util.stream.Collectors;
 
 public class FlightService {
     private FlightData flightData;
-    private CircularDoublyLinkedList flightList;
+    private domain.linkedlist.List flightList; //CircularDoublyLinkedList o ArrayBackedList según ListFactory
     private ObservableList<Flight> observableFlights;
     private AirplaneService airplaneService;
     private AirNetworkService routeService;
     private AirportService airportService;
     private PassengerService passengerService;
+    private final ConnectionScanTimetable timetable = new ConnectionScanTimetable(); //vuelos pendientes ordenados por salida (CSA)
+    public static final int DEFAULT_MIN_CONNECTION_MINUTES = 45; //tiempo mínimo de conexión entre vuelos
 
     public FlightService(FlightData flightData,
                          AirplaneService airplaneService,
@@ -45,7 +49,7 @@ public class FlightService {
         this.routeService = Objects.requireNonNull(routeService, "AirNetworkService cannot be null");
         this.airportService = Objects.requireNonNull(airportService, "AirportService cannot be null");
         this.passengerService = Objects.requireNonNull(passengerService, "PassengerService cannot be null");
-        this.flightList = new CircularDoublyLinkedList();
+        this.flightList = ListFactory.create(CircularDoublyLinkedList::new);
         this.observableFlights = FXCollections.observableArrayList();
 
         loadInitialFlights();
@@ -63,25 +67,20 @@ public class FlightService {
                     flight.replaceIdsWithPassengers(passengerService);
                     this.flightList.add(flight); //Agregamos Flight en la CircularDoublyLinkedList
                 }
+                timetable.addAll(loadedMap.values()); //carga masiva del horario (una sola pasada)
             }
             // Después de cargar en flightList, copiar a observableFlights
             observableFlights.clear(); // Limpiar por si acaso
             if (!flightList.isEmpty()) {
-                for (int i = 0; i < flightList.size(); i++) {
-                    Node node = flightList.getNode(i); // Asegúrate que getNode(i) y size() son correctos
-                    if (node != null && node.data instanceof Flight) {
-                        observableFlights.add((Flight) node.data);
+                for (Object obj : flightList) {
+                    if (obj instanceof Flight flight) {
+                        observableFlights.add(flight);
                     } else {
-                        System.err.println("Advertencia: Objeto no válido encontrado al cargar vuelos a observable: " + (node != null ? node.data : "null"));
+                        System.err.println("Advertencia: Objeto no válido encontrado al cargar vuelos a observable: " + obj);
                     }
                 }
             }
-            System.out.println("Flights loaded into FlightService (CircularDoublyLinkedList): " + flightList.size());
-        } catch (ListException e) {
-            System.err.println("Error al cargar vuelos iniciales: " + e.getMessage());
-            e.printStackTrace();
-            this.flightList.clear();
-            this.observableFlights.clear();
+            System.out.println("Flights loaded into FlightService (" + flightList.getClass().getSimpleName() + "): " + observableFlights.size());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -89,21 +88,14 @@ public class FlightService {
 
     public void saveData() throws IOException {
         Map<Integer, Flight> flightsToSave = new HashMap<>();
-        try {
-            if (flightList != null && !flightList.isEmpty()) {
-                for (int i = 0; i < flightList.size(); i++) {
-                    Node node = flightList.getNode(i);
-                    if (node != null && node.data instanceof Flight) {
-                        Flight flight = (Flight) node.data;
-                        flightsToSave.put(flight.getNumber(), flight);
-                    } else {
-                        System.err.println("Warning: Found non-Flight object in flightList during save: " + (node != null ? node.data.getClass().getName() : "null"));
-                    }
+        if (flightList != null && !flightList.isEmpty()) {
+            for (Object obj : flightList) {
+                if (obj instanceof Flight flight) {
+                    flightsToSave.put(flight.getNumber(), flight);
+                } else {
+                    System.err.println("Warning: Found non-Flight object in flightList during save: " + (obj != null ? obj.getClass().getName() : "null"));
                 }
             }
-        } catch (ListException e) {
-            System.err.println("Error al preparar vuelos para guardar desde CircularDoublyLinkedList: " + e.getMessage());
-            e.printStackTrace();
         }
         // Si flightsToSave está vacío, esto sobrescribirá el archivo JSON con un objeto vacío o una lista vacía,
         // logrando el efecto de "borrar lo anterior" si la lista en memoria se vació.
@@ -121,6 +113,7 @@ public class FlightService {
         }
         this.flightList.add(flight); //Agregar a la lista
         this.observableFlights.add(flight);
+        timetable.add(flight);
         try {
             saveData(); //Salvamos la modificacion
         } catch (IOException e) {
@@ -132,28 +125,20 @@ public class FlightService {
                 System.err.println("CRITICAL: Failed to rollback flight creation after save error: " + removeEx.getMessage());
             }
             observableFlights.remove(flight); //También eliminar de la lista observable
+            timetable.remove(flight.getNumber());
             throw new ListException("Failed to save flight after creation: " + e.getMessage());
         }
         return true;
     }
 
     public Flight findFlightByNumber(int flightNumber) {
-        try {
-            if (flightList.isEmpty()) {
-                return null;
-            }
-            for (int i = 0; i < flightList.size(); i++) {
-                Node node = flightList.getNode(i);
-                if (node != null && node.data instanceof Flight) {
-                    Flight currentFlight = (Flight) node.data;
-                    if (currentFlight.getNumber() == flightNumber) {
-                        return currentFlight;
-                    }
-                }
+        if (flightList.isEmpty()) {
+            return null;
+        }
+        for (Object obj : flightList) {
+            if (obj instanceof Flight currentFlight && currentFlight.getNumber() == flightNumber) {
+                return currentFlight;
             }
-        } catch (ListException e) {
-            System.err.println("Error al buscar vuelo en la lista enlazada: " + e.getMessage());
-            e.printStackTrace();
         }
         return null;
     }
@@ -181,6 +166,7 @@ public class FlightService {
 
         flight.getPasajeros().add(passenger); //Add Passenger a la  SinglyLinkedList
         flight.incrementOccupancy();
+        timetable.update(flight); //el vuelo puede haberse quedado sin asientos
 
         if (passenger.getFlightHistory() == null) {
             passenger.setFlightHistory(new SinglyLinkedList());
@@ -211,20 +197,11 @@ public class FlightService {
             throw new ListException("No se encontró un vuelo con el número " + updatedFlight.getNumber() + " para actualizar.");
         }
 
-        //Actualizamos CircularDoublyLinkedList
-        int index = -1;
-        for (int i = 0; i < flightList.size(); i++) {
-            Node node = flightList.getNode(i);
-            if (node != null && node.data instanceof Flight) {
-                if (((Flight) node.data).getNumber() == updatedFlight.getNumber()) {
-                    index = i;
-                    break;
-                }
-            }
-        }
-        if (index != -1) {
-            flightList.remove(index); //Elimina el antiguo vuelo por índice
+        //Actualizamos la lista interna (por objeto: no depende de la base de índices de la implementación)
+        if (flightList.contains(oldFlight)) {
+            flightList.remove(oldFlight); //Elimina el antiguo vuelo
             flightList.add(updatedFlight); //Añadimos el vuelo actualizado
+            timetable.update(updatedFlight);
 
             System.out.println("Vuelo " + updatedFlight.getNumber() + " actualizado correctamente en lista interna.");
 
@@ -249,19 +226,10 @@ public class FlightService {
             throw new ListException("No se encontró un vuelo con el número " + flightNumber + " para eliminar.");
         }
 
-        //Borramos de CircularDoublyLinkedList
-        int index = -1;
-        for (int i = 0; i < flightList.size(); i++) {
-            Node node = flightList.getNode(i);
-            if (node != null && node.data instanceof Flight) {
-                if (((Flight) node.data).getNumber() == flightNumber) {
-                    index = i;
-                    break;
-                }
-            }
-        }
-        if (index != -1) {
-            flightList.remove(index); //Eliminamos de la lista interna
+        //Borramos de la lista interna
+        if (flightList.contains(flightToDelete)) {
+            flightList.remove(flightToDelete); //Eliminamos de la lista interna
+            timetable.remove(flightNumber);
             System.out.println("Vuelo " + flightNumber + " eliminado correctamente de lista interna.");
 
             // Actualizamos ObservableList
@@ -271,6 +239,7 @@ public class FlightService {
                 saveData(); //Save changes
             } catch (IOException e) {
                 flightList.add(flightToDelete); // Si falla el guardado, intentamos revertir el borrado en memoria
+                timetable.add(flightToDelete);
                 observableFlights.add(flightToDelete);
                 System.err.println("Warning: Failed to save data after deleting flight: " + e.getMessage());
                 throw new ListException("Failed to save flight changes after deletion: " + e.getMessage());
@@ -280,7 +249,7 @@ public class FlightService {
         return false;
     }
 
-    public CircularDoublyLinkedList getFlightList() {
+    public domain.linkedlist.List getFlightList() {
         return flightList;
     }
 
@@ -314,6 +283,7 @@ public class FlightService {
 
         flightList.clear();
         observableFlights.clear();
+        timetable.clear();
         try {
             saveData();
         } catch (IOException e) {
@@ -321,7 +291,11 @@ public class FlightService {
             throw new ListException("No se pudo limpiar vuelos anteriores: " + e.getMessage());
         }
 
-        List<Airport> top5Airports = routeService.getTop5AirportsByRouteCount();
+        // Los vuelos salen de los aeropuertos "hub": por donde pasan más rutas mínimas (intermediación)
+        List<Airport> top5Airports = routeService.getTopHubAirports(5, "duration");
+        if (top5Airports.isEmpty()) {
+            top5Airports = routeService.getTop5AirportsByRouteCount();
+        }
         if (top5Airports.isEmpty()) {
             System.err.println("No se encontraron aeropuertos con rutas suficientes.");
             return;
@@ -364,6 +338,7 @@ public class FlightService {
             if (findFlightByNumber(newFlight.getNumber()) == null) {
                 flightList.add(newFlight);
                 observableFlights.add(newFlight);
+                timetable.add(newFlight);
                 generatedCount++;
             }
         }
@@ -527,6 +502,7 @@ public class FlightService {
         }
 
         flight.setCompleted(true);
+        timetable.remove(flight.getNumber()); //un vuelo completado ya no es una conexión disponible
 
         //Update the ObservableList and save flight data
         observableFlights.removeIf(f -> f.getNumber() == flight.getNumber());
@@ -542,31 +518,24 @@ public class FlightService {
     public List<Flight> getAvailableFlights(String from, String to, LocalDate fromDate) {
         List<Flight> availableFlights = new ArrayList<>(); // Para devolver los vuelos encontrados
 
-        try {
-            if (flightList != null && !flightList.isEmpty()) {
-                for (int i = 0; i < flightList.size(); i++) {
-                    Node node = flightList.getNode(i);
-                    if (node != null && node.data instanceof Flight) {
-                        Flight flight = (Flight) node.data;
-                        Route route = flight.getAssignedRoute();
-
-                        // --- Filtros ---
-                        boolean matchesOrigin = (from == null || from.isEmpty()) ||
-                                (route != null && String.valueOf(route.getOriginAirportCode()).equalsIgnoreCase(from));
-                        boolean matchesDestination = (to == null || to.isEmpty()) ||
-                                (route != null && String.valueOf(route.getDestinationAirportCode()).equalsIgnoreCase(to));
-                        boolean matchesDate = fromDate == null || flight.getDepartureTime().toLocalDate().equals(fromDate);
-                        boolean hasSeats = flight.getOccupancy() < flight.getCapacity();
-
-                        if (matchesOrigin && matchesDestination && matchesDate && hasSeats) {
-                            availableFlights.add(flight);
-                        }
+        if (flightList != null && !flightList.isEmpty()) {
+            for (Object obj : flightList) {
+                if (obj instanceof Flight flight) {
+                    Route route = flight.getAssignedRoute();
+
+                    // --- Filtros ---
+                    boolean matchesOrigin = (from == null || from.isEmpty()) ||
+                            (route != null && String.valueOf(route.getOriginAirportCode()).equalsIgnoreCase(from));
+                    boolean matchesDestination = (to == null || to.isEmpty()) ||
+                            (route != null && String.valueOf(route.getDestinationAirportCode()).equalsIgnoreCase(to));
+                    boolean matchesDate = fromDate == null || flight.getDepartureTime().toLocalDate().equals(fromDate);
+                    boolean hasSeats = flight.getOccupancy() < flight.getCapacity();
+
+                    if (matchesOrigin && matchesDestination && matchesDate && hasSeats) {
+                        availableFlights.add(flight);
                     }
                 }
             }
-        } catch (ListException e) {
-            System.err.println("Error al buscar vuelos disponibles: " + e.getMessage());
-            e.printStackTrace();
         }
 
         // Si quieres implementar ida/vuelta, puedes hacer otra búsqueda aquí para los vuelos de regreso:
@@ -574,38 +543,50 @@ public class FlightService {
 
         return availableFlights;
     }
+    /**
+     * Itinerario de llegada más temprana de un aeropuerto a otro saliendo a partir de 'after' (Connection Scan).
+     * Combina vuelos con escalas respetando el tiempo mínimo de conexión y solo usa vuelos con asientos libres.
+     * @return null si no hay forma de llegar con los vuelos programados
+     */
+    public FlightItinerary findEarliestArrival(int originAirportCode, int destinationAirportCode, LocalDateTime after) {
+        return findEarliestArrival(originAirportCode, destinationAirportCode, after, DEFAULT_MIN_CONNECTION_MINUTES);
+    }
+
+    public FlightItinerary findEarliestArrival(int originAirportCode, int destinationAirportCode, LocalDateTime after,
+                                               int minConnectionMinutes) {
+        Objects.requireNonNull(after, "Departure time cannot be null");
+        return timetable.earliestArrival(originAirportCode, destinationAirportCode, after, minConnectionMinutes);
+    }
+
+    public ConnectionScanTimetable getTimetable() {
+        return timetable;
+    }
+
     /**
      * Busca el siguiente vuelo disponible (por fecha y hora) con igual origen y destino,
      * posterior al vuelo original, y que tenga espacio disponible.
      */
     public Flight findNextAvailableFlight(Flight vueloOriginal) {
         if (vueloOriginal == null) return null;
-        try {
-            int origen = vueloOriginal.getAssignedRoute().getOriginAirportCode();
-            int destino = vueloOriginal.getAssignedRoute().getDestinationAirportCode();
-            LocalDateTime fechaHoraOriginal = vueloOriginal.getDepartureTime();
-            Flight nextFlight = null;
-
-            for (int i = 0; i < flightList.size(); i++) {
-                Node node = flightList.getNode(i);
-                if (node != null && node.data instanceof Flight) {
-                    Flight candidate = (Flight) node.data;
-                    if (candidate == vueloOriginal) continue; // No considerar el mismo vuelo
-                    if (candidate.getAssignedRoute().getOriginAirportCode() == origen
-                            && candidate.getAssignedRoute().getDestinationAirportCode() == destino
-                            && candidate.getDepartureTime().isAfter(fechaHoraOriginal)
-                            && candidate.getOccupancy() < candidate.getCapacity()) {
-                        // Si es el primero encontrado o es más temprano que el anterior candidato
-                        if (nextFlight == null || candidate.getDepartureTime().isBefore(nextFlight.getDepartureTime())) {
-                            nextFlight = candidate;
-                        }
+        int origen = vueloOriginal.getAssignedRoute().getOriginAirportCode();
+        int destino = vueloOriginal.getAssignedRoute().getDestinationAirportCode();
+        LocalDateTime fechaHoraOriginal = vueloOriginal.getDepartureTime();
+        Flight nextFlight = null;
+
+        for (Object obj : flightList) {
+            if (obj instanceof Flight candidate) {
+                if (candidate == vueloOriginal) continue; // No considerar el mismo vuelo
+                if (candidate.getAssignedRoute().getOriginAirportCode() == origen
+                        && candidate.getAssignedRoute().getDestinationAirportCode() == destino
+                        && candidate.getDepartureTime().isAfter(fechaHoraOriginal)
+                        && candidate.getOccupancy() < candidate.getCapacity()) {
+                    // Si es el primero encontrado o es más temprano que el anterior candidato
+                    if (nextFlight == null || candidate.getDepartureTime().isBefore(nextFlight.getDepartureTime())) {
+                        nextFlight = candidate;
                     }
                 }
             }
-            return nextFlight;
-        } catch (ListException e) {
-            System.err.println("Error al buscar siguiente vuelo disponible: " + e.getMessage());
-            return null;
         }
+        return nextFlight;
     }
 }
\ No newline at end of file
@@ -4,7 +4,6 @@ import data.UserData;
 import domain.common.User;
 import domain.linkedlist.CircularLinkedList;
 import domain.linkedlist.ListException;
-import domain.linkedlist.Node;
 
 public class LogInService {
     private UserData userData;
@@ -33,11 +32,8 @@ public class LogInService {
             return null;
         }
 
-        int size = userCLL.size();
-        Node current = userCLL.getNode(1);
-
-        for (int i = 0; i < size; i++) {
-            User currentUser = (User) current.data;
+        for (Object obj : userCLL) {
+            User currentUser = (User) obj;
 
             if (currentUser.getEmail().equalsIgnoreCase(email)) {
                 if (currentUser.checkPassword(password)) {
@@ -48,8 +44,6 @@ public class LogInService {
                     return null;
                 }
             }
-
-            current = current.next;
         }
 
         System.out.println("Inicio de sesión fallido: Usuario con email '" + email + "' no encontrado.");
@@ -62,11 +56,8 @@ public class LogInService {
             return null;
         }
 
-        int size = userCLL.size();
-        Node current = userCLL.getNode(1);
-
-        for (int i = 0; i < size; i++) {
-            User currentUser = (User) current.data;
+        for (Object obj : userCLL) {
+            User currentUser = (User) obj;
 
             if (currentUser.getId() == id) {
                 if (currentUser.checkPassword(password)) {
@@ -77,7 +68,6 @@ public class LogInService {
                     return null;
                 }
             }
-            current = current.next;
         }
 
         System.out.println("Inicio de sesión fallido: Usuario con ID '" + id + "' no encontrado.");
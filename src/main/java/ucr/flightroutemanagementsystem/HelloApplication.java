@@ -42,6 +42,10 @@ public class HelloApplication extends Application {
         return passengerService;
     }
 
+    public static AirNetworkService getAirNetworkService() {
+        return airNetworkService;
+    }
+
     public static UserData getUserData() {
         return userData;
     }
@@ -0,0 +1,233 @@
+package util;
+
+import domain.btree.BST;
+import domain.btree.BTree;
+import domain.btree.TreeException;
+import domain.common.Airport;
+import domain.common.Flight;
+import domain.common.Passenger;
+import domain.graph.EdgeWeight;
+import domain.graph.Vertex;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToIntFunction;
+
+/**
+ * Registro de comparadores tipados por clase, usado por Utility.compare y por las estructuras de datos.
+ * En vez de calcular un String con el tipo y hacer switch en cada comparación, se busca el comparador por
+ * la clase del elemento (una consulta a un ClassValue cuando ambos son de la misma clase), o se usa
+ * directamente el comparador del tipo con comparatorFor.
+ * Los tipos con clave entera (Airport, Flight, Passenger) comparan primero el int y solo desempatan con los
+ * demás campos si la clave es igual; Integer se compara directamente sin consultar el registro.
+ *
+ * Se conserva el contrato de Utility.compare: NOT_COMPARABLE (2) si los tipos no son comparables entre sí
+ * o si la comparación falla.
+ */
+public final class ComparatorRegistry {
+    public static final int NOT_COMPARABLE = 2;
+
+    //Comparador por defecto para las estructuras (delegando en el registro)
+    public static final Comparator<Object> DEFAULT = ComparatorRegistry::compare;
+
+    //Tipos en orden de registro: si un objeto es instancia de varios, gana el primero (como en instanceOf)
+    private static final List<Entry<?>> ENTRIES = new CopyOnWriteArrayList<>();
+    //Clase concreta -> entrada resuelta (ClassValue: lectura sin hashing); se invalida con la generación
+    private static final ClassValue<Resolved> RESOLVED = new ClassValue<>() {
+        @Override
+        protected Resolved computeValue(Class<?> type) {
+            return new Resolved(lookup(type), generation);
+        }
+    };
+    private static volatile int generation;
+    private static final Entry<?> NONE = new Entry<>(Object.class, null, null);
+
+    private static final class Entry<T> {
+        private final Class<T> type;
+        private final ToIntFunction<? super T> intKey;      //null si el tipo no tiene clave entera
+        private final Comparator<? super T> comparator;     //desempate (o comparación completa si no hay clave)
+
+        Entry(Class<T> type, ToIntFunction<? super T> intKey, Comparator<? super T> comparator) {
+            this.type = type;
+            this.intKey = intKey;
+            this.comparator = comparator;
+        }
+
+        @SuppressWarnings("unchecked")
+        int compare(Object a, Object b) {
+            T x = (T) a, y = (T) b; //el llamador ya verificó el tipo
+            if (intKey != null) {
+                int cmp = Integer.compare(intKey.applyAsInt(x), intKey.applyAsInt(y));
+                if (cmp != 0 || comparator == null) return cmp;
+            }
+            return comparator.compare(x, y);
+        }
+    }
+
+    private record Resolved(Entry<?> entry, int generation) {
+    }
+
+    static {
+        register(Integer.class, Integer::compare);
+        register(String.class, (a, b) -> Integer.signum(a.compareTo(b)));
+        register(Character.class, (a, b) -> Integer.signum(a.compareTo(b)));
+        //compareTo de String puede devolver exactamente 2 (= NOT_COMPARABLE): se normaliza a -1, 0 o 1
+        register(BST.class, (a, b) -> Integer.signum(inOrder(a).compareTo(inOrder(b))));
+        register(BTree.class, (a, b) -> Integer.signum(inOrder(a).compareTo(inOrder(b))));
+        //Pasajero: id, luego nombre, nacionalidad y tamaño del historial
+        registerIntKey(Passenger.class, Passenger::getId, (p1, p2) -> {
+            int cmp = Integer.signum(p1.getName().compareToIgnoreCase(p2.getName()));
+            if (cmp != 0) return cmp;
+            cmp = Integer.signum(p1.getNationality().compareToIgnoreCase(p2.getNationality()));
+            if (cmp != 0) return cmp;
+            try {
+                return Integer.compare(p1.getFlightHistory().size(), p2.getFlightHistory().size());
+            } catch (Exception e) {
+                return 0; //si no se puede comparar el historial, se ignora
+            }
+        });
+        //Vuelo: número, luego origen, destino, hora de salida (con hora antes que sin ella) y capacidad
+        registerIntKey(Flight.class, Flight::getNumber, (f1, f2) -> {
+            int cmp = Integer.signum(f1.getOrigin().compareToIgnoreCase(f2.getOrigin()));
+            if (cmp != 0) return cmp;
+            cmp = Integer.signum(f1.getDestination().compareToIgnoreCase(f2.getDestination()));
+            if (cmp != 0) return cmp;
+            if (f1.getDepartureTime() != null && f2.getDepartureTime() != null) {
+                cmp = Integer.signum(f1.getDepartureTime().compareTo(f2.getDepartureTime()));
+                if (cmp != 0) return cmp;
+            } else if (f1.getDepartureTime() != null) {
+                return 1;
+            } else if (f2.getDepartureTime() != null) {
+                return -1;
+            }
+            return Integer.compare(f1.getCapacity(), f2.getCapacity());
+        });
+        //Aeropuerto: solo por código
+        registerIntKey(Airport.class, Airport::getCode, null);
+        register(Vertex.class, (v1, v2) -> compare(v1.data, v2.data));
+        //Dos aristas se comparan por su vértice destino (igual que EdgeWeight.equals)
+        register(EdgeWeight.class, (e1, e2) -> compare(e1.getEdge(), e2.getEdge()));
+    }
+
+    private ComparatorRegistry() {
+    }
+
+    //Registra (o reemplaza) el comparador de un tipo
+    public static <T> void register(Class<T> type, Comparator<? super T> comparator) {
+        put(new Entry<>(type, null, comparator));
+    }
+
+    /**
+     * Registra un tipo con clave entera: se compara primero la clave y, si es igual, el desempate
+     * (null = la clave identifica al elemento).
+     */
+    public static <T> void registerIntKey(Class<T> type, ToIntFunction<? super T> intKey, Comparator<? super T> tieBreak) {
+        put(new Entry<>(type, intKey, tieBreak));
+    }
+
+    private static synchronized void put(Entry<?> entry) {
+        ENTRIES.removeIf(e -> e.type == entry.type);
+        ENTRIES.add(entry);
+        generation++;
+    }
+
+    //true si el tipo tiene un comparador registrado (directo o por herencia)
+    public static boolean isRegistered(Class<?> type) {
+        return resolve(type) != NONE;
+    }
+
+    /**
+     * Compara dos elementos con el comparador registrado para su tipo.
+     * @return negativo, 0 o positivo; NOT_COMPARABLE si los tipos no son comparables entre sí
+     */
+    public static int compare(Object a, Object b) {
+        if (a instanceof Integer x && b instanceof Integer y) {
+            return Integer.compare(x, y); //camino rápido sin consultar el registro
+        }
+        if (a == null || b == null) {
+            return NOT_COMPARABLE;
+        }
+        Entry<?> entry = a.getClass() == b.getClass() ? resolve(a.getClass()) : common(a, b);
+        return entry == NONE ? NOT_COMPARABLE : invoke(entry, a, b);
+    }
+
+    /**
+     * Comparador fijo para los elementos de un tipo, sin consultar el registro en cada comparación;
+     * pensado para las estructuras que solo guardan ese tipo. Otros tipos se comparan como en compare.
+     */
+    public static Comparator<Object> comparatorFor(Class<?> type) {
+        Entry<?> entry = resolve(type);
+        if (entry == NONE) {
+            throw new IllegalArgumentException("No comparator registered for " + type.getName());
+        }
+        return (a, b) -> entry.type.isInstance(a) && entry.type.isInstance(b) ? invoke(entry, a, b) : compare(a, b);
+    }
+
+    private static int invoke(Entry<?> entry, Object a, Object b) {
+        try {
+            return entry.compare(a, b);
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof TreeException) throw e;
+            System.err.println("Error durante la comparación: " + e.getMessage());
+            e.printStackTrace();
+            return NOT_COMPARABLE;
+        }
+    }
+
+    /**
+     * true si 'a' va después de 'b' en una inserción ordenada. NOT_COMPARABLE no cuenta como mayor: un
+     * elemento no comparable queda después de los existentes. Un comparador propio puede devolver un 2
+     * legítimo (compareTo devuelve diferencias), así que solo es el centinela si también lo es al revés.
+     */
+    public static boolean isGreater(Comparator<Object> comparator, Object a, Object b) {
+        int cmp = comparator.compare(a, b);
+        if (cmp == NOT_COMPARABLE) return comparator.compare(b, a) != NOT_COMPARABLE;
+        return cmp > 0;
+    }
+
+    //Igualdad según el comparador registrado (false si no son comparables)
+    public static boolean areEqual(Object a, Object b) {
+        return compare(a, b) == 0;
+    }
+
+    private static Entry<?> resolve(Class<?> type) {
+        Resolved resolved = RESOLVED.get(type);
+        if (resolved.generation != generation) {
+            RESOLVED.remove(type); //se registró un tipo después de resolver esta clase
+            resolved = RESOLVED.get(type);
+        }
+        return resolved.entry;
+    }
+
+    private static Entry<?> lookup(Class<?> type) {
+        for (Entry<?> candidate : ENTRIES) {
+            if (candidate.type.isAssignableFrom(type)) return candidate;
+        }
+        return NONE;
+    }
+
+    //Clases distintas: el primer tipo registrado del que ambos son instancia
+    private static Entry<?> common(Object a, Object b) {
+        for (Entry<?> candidate : ENTRIES) {
+            if (candidate.type.isInstance(a) && candidate.type.isInstance(b)) return candidate;
+        }
+        return NONE;
+    }
+
+    private static String inOrder(BST tree) {
+        try {
+            return tree.inOrder();
+        } catch (TreeException e) {
+            throw new RuntimeException("Error comparing trees: " + e.getMessage(), e);
+        }
+    }
+
+    private static String inOrder(BTree tree) {
+        try {
+            return tree.inOrder();
+        } catch (TreeException e) {
+            throw new RuntimeException("Error comparing trees: " + e.getMessage(), e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import domain.btree.*;
 import domain.common.Airport;
 import domain.common.Flight;
 import domain.common.Passenger;
+import domain.graph.EdgeWeight;
 import domain.graph.Vertex;
 import domain.linkedlist.*;
 import domain.linkedqueue.*;
@@ -114,155 +115,9 @@ public class Utility {
         return result;
     }
 
+    //Delegado en el registro tipado (ComparatorRegistry); 2 si los tipos no son comparables
     public static int compare(Object a, Object b) {
-        try {
-            switch (instanceOf(a, b)) {
-                case "Integer":
-                    Integer int1 = (Integer) a;
-                    Integer int2 = (Integer) b;
-                    return int1 < int2 ? -1 : int1 > int2 ? 1 : 0;
-
-                case "String":
-                    String str1 = (String) a;
-                    String str2 = (String) b;
-                    return str1.compareTo(str2) < 0 ? -1 : str1.compareTo(str2) > 0 ? 1 : 0;
-
-                case "Character":
-                    Character ch1 = (Character) a;
-                    Character ch2 = (Character) b;
-                    return ch1.compareTo(ch2) < 0 ? -1 : ch1.compareTo(ch2) > 0 ? 1 : 0;
-
-                case "Vertex":
-                    Vertex v1 = (Vertex) a; Vertex v2 = (Vertex) b;
-                    return compare(v1.data, v2.data);
-
-                case "BST":
-                    BST bst1 = (BST) a;
-                    BST bst2 = (BST) b;
-                    String inOrderBST1 = bst1.inOrder();
-                    String inOrderBST2 = bst2.inOrder();
-                    return inOrderBST1.compareTo(inOrderBST2);
-
-                case "BTree":
-                   BTree bTree1 = (BTree) a;
-                   BTree bTree2 = (BTree) b;
-                   String inOrderBTree1 = bTree1.inOrder();
-                   String inOrderBTree2 = bTree2.inOrder();
-                    return inOrderBTree1.compareTo(inOrderBTree2);
-
-//                case "AVL":
-//                    AVL avl1 = (AVL) a;
-//                    AVL avl2 = (AVL) b;
-//                    String inOrderAVL1 = avl1.inOrder();
-//                    String inOrderAVL2 = avl2.inOrder();
-//                    return inOrderAVL1.compareTo(inOrderAVL2);
-
-                case "Passenger":
-                    Passenger p1 = (Passenger) a;
-                    Passenger p2 = (Passenger) b;
-
-                    // Comparar por ID primero (clave principal)
-                    if (p1.getId() != p2.getId())
-                        return Integer.compare(p1.getId(), p2.getId());
-
-                    // Comparar por nombre
-                    int nameComparison = p1.getName().compareToIgnoreCase(p2.getName());
-                    if (nameComparison != 0)
-                        return nameComparison;
-
-                    // Comparar por nacionalidad
-                    int natComparison = p1.getNationality().compareToIgnoreCase(p2.getNationality());
-                    if (natComparison != 0)
-                        return natComparison;
-
-                    // Comparar por tamaño del historial de vuelos (si quieres)
-                    try {
-                        int size1 = p1.getFlightHistory().size();
-                        int size2 = p2.getFlightHistory().size();
-                        return Integer.compare(size1, size2);
-                    } catch (Exception e) {
-                        return 0; // Si no se puede comparar vuelo, se ignora
-                    }
-                 case"Flight":
-                     Flight fl1 = (Flight) a;
-                     Flight fl2 = (Flight) b;
-
-                     // Comparar por número de vuelo (identificador principal)
-                     if (fl1.getNumber() != fl2.getNumber()) {
-                         return Integer.compare(fl1.getNumber(), fl2.getNumber());
-                     }
-
-
-                     int originComparison = fl1.getOrigin().compareToIgnoreCase(fl2.getOrigin());
-                     if (originComparison != 0) {
-                         return originComparison;
-                     }
-
-                     // Si el origen es igual, comparar por destino
-                     int destinationComparison = fl1.getDestination().compareToIgnoreCase(fl2.getDestination());
-                     if (destinationComparison != 0) {
-                         return destinationComparison;
-                     }
-
-                     // Si origen y destino son iguales, comparar por hora de salida
-                     if (fl1.getDepartureTime() != null && fl2.getDepartureTime() != null) {
-                         int departureTimeComparison = fl1.getDepartureTime().compareTo(fl2.getDepartureTime());
-                         if (departureTimeComparison != 0) {
-                             return departureTimeComparison;
-                         }
-                     } else if (fl1.getDepartureTime() != null) {
-                         return 1; // fl1 tiene fecha/hora, fl2 no
-                     } else if (fl2.getDepartureTime() != null) {
-                         return -1; // fl2 tiene fecha/hora, fl1 no
-                     }
-
-                     //Si todo lo anterior es igual, comparar por capacidad
-                     if (fl1.getCapacity() != fl2.getCapacity()) {
-                         return Integer.compare(fl1.getCapacity(), fl2.getCapacity());
-                     }
-
-                     // Si todos los atributos clave son iguales, se retorna 0
-                     return 0;
-
-
-                case "Airport":
-                    Airport a1 = (Airport) a;
-                    Airport a2 = (Airport) b;
-
-                    // Primero comparar por país (alfabéticamente)
-                    int idComparison = a1.getCode() < a2.getCode() ? -1 :  a1.getCode() > a2.getCode() ? 1 : 0;
-                    if (idComparison != 0 || idComparison==0) {
-                        return idComparison;
-                    }
-
-                    // Primero comparar por país (alfabéticamente)
-                    int countryComparison = a1.getCountry().compareToIgnoreCase(a2.getCountry());
-                    if (countryComparison != 0) {
-                        return countryComparison;
-                    }
-
-                    // Primero comparar por nombre del aeropuerto (alfabéticamente)
-                    int nameAirportComparison = a1.getName().compareToIgnoreCase(a2.getName());
-                    if (nameAirportComparison != 0) {
-                        return nameAirportComparison;
-                    }
-
-                    // Si los países son iguales, comparar por código numérico
-                    return Integer.compare(a1.getCode(), a2.getCode());
-
-
-
-            }
-
-        } catch (TreeException e) {
-            throw new RuntimeException("Error comparing trees: " + e.getMessage(), e);
-        } catch (Exception e) { // Captura cualquier otra excepción que pueda ocurrir en las comparaciones
-            System.err.println("Error durante la comparación: " + e.getMessage());
-            e.printStackTrace();
-            return 2; // O maneja de otra forma, por ejemplo, lanzar una excepción específica o un valor diferente
-        }
-
-        return 2; // Unknown type or comparison not implemented
+        return ComparatorRegistry.compare(a, b);
     }
 
     public static String instanceOf(Object a, Object b) {
@@ -276,6 +131,7 @@ public class Utility {
         if (a instanceof Flight && b instanceof Flight) return "Flight";
         if (a instanceof Airport && b instanceof Airport) return "Airport";
         if(a instanceof Vertex && b instanceof Vertex) return "Vertex";
+        if(a instanceof EdgeWeight && b instanceof EdgeWeight) return "EdgeWeight";
 
         return "Unknown";
     }
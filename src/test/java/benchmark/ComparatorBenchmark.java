@@ -0,0 +1,135 @@
+package benchmark;
+
+import domain.common.Airport;
+import domain.common.Passenger;
+import domain.linkedlist.SinglyLinkedList;
+import util.ComparatorRegistry;
+import util.Utility;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Costo por comparación del despacho anterior (instanceOf como String + switch) contra el registro tipado
+ * (Utility.compare) y contra el comparador fijo del tipo (comparatorFor), con enteros, strings, aeropuertos
+ * y pasajeros; además un contains sobre una SinglyLinkedList de aeropuertos con cada comparador.
+ * Ejecutar con: java benchmark.ComparatorBenchmark [pares] [rondas]
+ */
+public class ComparatorBenchmark {
+    private static volatile int sink; //evita que el JIT descarte las comparaciones
+
+    public static void main(String[] args) throws Exception {
+        int pairs = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Random random = new Random(42);
+
+        Object[][] samples = {
+                new Object[pairs * 2], new Object[pairs * 2], new Object[pairs * 2], new Object[pairs * 2]
+        };
+        String[] names = {"Juan Santamaría", "Tocumen", "El Dorado", "Jorge Chávez", "Benito Juárez"};
+        for (int i = 0; i < pairs * 2; i++) {
+            int code = random.nextInt(1000);
+            samples[0][i] = code;
+            samples[1][i] = names[random.nextInt(names.length)] + code;
+            samples[2][i] = new Airport(code, names[random.nextInt(names.length)], "Costa Rica", "Active");
+            samples[3][i] = new Passenger(code, names[random.nextInt(names.length)], "CR");
+        }
+        String[] labels = {"Integer", "String", "Airport", "Passenger"};
+        Class<?>[] types = {Integer.class, String.class, Airport.class, Passenger.class};
+
+        for (int s = 0; s < samples.length; s++) {
+            Object[] values = samples[s];
+            Comparator<Object> typed = ComparatorRegistry.comparatorFor(types[s]);
+            double legacy = Double.MAX_VALUE, registry = Double.MAX_VALUE, fixed = Double.MAX_VALUE;
+            for (int r = 0; r < rounds; r++) {
+                legacy = Math.min(legacy, legacyNanos(values));
+                registry = Math.min(registry, registryNanos(values));
+                fixed = Math.min(fixed, comparatorNanos(values, typed));
+            }
+            System.out.printf("%-10s legacy %5.1f ns, registry %5.1f ns, comparatorFor %5.1f ns per compare%n",
+                    labels[s], legacy, registry, fixed);
+        }
+
+        //contains de un código ausente: recorre toda la lista
+        SinglyLinkedList byRegistry = new SinglyLinkedList();
+        SinglyLinkedList byType = new SinglyLinkedList(ComparatorRegistry.comparatorFor(Airport.class));
+        for (int i = 0; i < 5_000; i++) {
+            Airport airport = new Airport(i, names[i % names.length], "Costa Rica", "Active");
+            byRegistry.add(airport);
+            byType.add(airport);
+        }
+        Airport missing = new Airport(-1);
+        System.out.printf("SinglyLinkedList.contains over 5000 airports: registry %.1f us, comparatorFor %.1f us%n",
+                containsMicros(byRegistry, missing, rounds * 10), containsMicros(byType, missing, rounds * 10));
+    }
+
+    private static double containsMicros(SinglyLinkedList list, Object missing, int rounds) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            sink += list.contains(missing) ? 1 : 0;
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000.0;
+    }
+
+    //Un método por variante para que cada bucle tenga su propio perfil en el JIT
+    private static double legacyNanos(Object[] values) {
+        int acc = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < values.length; i += 2) acc += legacyCompare(values[i], values[i + 1]);
+        return finish(start, acc, values.length / 2);
+    }
+
+    private static double registryNanos(Object[] values) {
+        int acc = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < values.length; i += 2) acc += Utility.compare(values[i], values[i + 1]);
+        return finish(start, acc, values.length / 2);
+    }
+
+    private static double comparatorNanos(Object[] values, Comparator<Object> comparator) {
+        int acc = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < values.length; i += 2) acc += comparator.compare(values[i], values[i + 1]);
+        return finish(start, acc, values.length / 2);
+    }
+
+    private static double finish(long start, int acc, int comparisons) {
+        long elapsed = System.nanoTime() - start;
+        sink += acc;
+        return (double) elapsed / comparisons;
+    }
+
+    //Copia del despacho anterior de Utility.compare para los tipos medidos
+    private static int legacyCompare(Object a, Object b) {
+        switch (Utility.instanceOf(a, b)) {
+            case "Integer":
+                Integer int1 = (Integer) a;
+                Integer int2 = (Integer) b;
+                return int1 < int2 ? -1 : int1 > int2 ? 1 : 0;
+            case "String":
+                String str1 = (String) a;
+                String str2 = (String) b;
+                return str1.compareTo(str2) < 0 ? -1 : str1.compareTo(str2) > 0 ? 1 : 0;
+            case "Passenger":
+                Passenger p1 = (Passenger) a;
+                Passenger p2 = (Passenger) b;
+                if (p1.getId() != p2.getId()) return Integer.compare(p1.getId(), p2.getId());
+                int nameComparison = p1.getName().compareToIgnoreCase(p2.getName());
+                if (nameComparison != 0) return nameComparison;
+                int natComparison = p1.getNationality().compareToIgnoreCase(p2.getNationality());
+                if (natComparison != 0) return natComparison;
+                try {
+                    return Integer.compare(p1.getFlightHistory().size(), p2.getFlightHistory().size());
+                } catch (Exception e) {
+                    return 0;
+                }
+            case "Airport":
+                Airport a1 = (Airport) a;
+                Airport a2 = (Airport) b;
+                return a1.getCode() < a2.getCode() ? -1 : a1.getCode() > a2.getCode() ? 1 : 0;
+        }
+        return 2;
+    }
+}
@@ -0,0 +1,91 @@
+package benchmark;
+
+import domain.common.Flight;
+import domain.common.Route;
+import domain.graph.ConnectionScanTimetable;
+import domain.graph.FlightItinerary;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Benchmark del Connection Scan sobre un horario sintético: carga masiva y altas incrementales de vuelos,
+ * latencia promedio de "llegada más temprana" y costo de actualizar un vuelo ya indexado.
+ * Ejecutar con: java benchmark.ConnectionScanBenchmark [vuelos] [aeropuertos]
+ */
+public class ConnectionScanBenchmark {
+    private static final int QUERIES = 1_000;
+
+    public static void main(String[] args) {
+        int flightCount = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int airports = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        LocalDateTime start = LocalDateTime.of(2025, 7, 1, 0, 0);
+        Random random = new Random(42);
+
+        Flight[] flights = new Flight[flightCount];
+        for (int i = 0; i < flightCount; i++) {
+            int origin = random.nextInt(airports), destination = random.nextInt(airports - 1);
+            if (destination >= origin) destination++;
+            Route route = new Route("R" + i, origin, destination, "Synthetic Air", 0.5 + random.nextDouble() * 10,
+                    1000, 100.0, LocalTime.of(8, 0), LocalTime.of(9, 0));
+            flights[i] = new Flight(i, start.plusMinutes(random.nextInt(30 * 24 * 60)), 150, null, route);
+        }
+
+        ConnectionScanTimetable timetable = new ConnectionScanTimetable();
+        long begin = System.nanoTime();
+        timetable.addAll(Arrays.asList(flights));
+        System.out.printf("%d flights, %d airports: bulk load %.1f ms%n", flightCount, airports, (System.nanoTime() - begin) / 1e6);
+        //altas de vuelos uno por uno sobre el horario ya cargado
+        long addNanos = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            Route route = new Route("N" + i, random.nextInt(airports), random.nextInt(airports), "Synthetic Air", 2.0,
+                    1000, 100.0, LocalTime.of(8, 0), LocalTime.of(9, 0));
+            Flight flight = new Flight(flightCount + i, start.plusMinutes(random.nextInt(30 * 24 * 60)), 150, null, route);
+            long t0 = System.nanoTime();
+            timetable.add(flight);
+            addNanos += System.nanoTime() - t0;
+        }
+        System.out.printf("incremental add: %.2f us/flight%n", addNanos / 1e3 / QUERIES);
+
+        for (int warmup = 0; warmup < 200; warmup++) {
+            timetable.earliestArrival(random.nextInt(airports), random.nextInt(airports), start, 45);
+        }
+        long queryNanos = 0, scanned = 0;
+        int found = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            LocalDateTime after = start.plusMinutes(random.nextInt(25 * 24 * 60));
+            int origin = random.nextInt(airports), destination = random.nextInt(airports);
+            long t0 = System.nanoTime();
+            FlightItinerary itinerary = timetable.earliestArrival(origin, destination, after, 45);
+            queryNanos += System.nanoTime() - t0;
+            if (itinerary != null) {
+                found++;
+                scanned += itinerary.getScannedConnections();
+            }
+        }
+        System.out.printf("earliest arrival: %.3f ms/query, %d of %d found, %.0f connections scanned/query%n",
+                queryNanos / 1e6 / QUERIES, found, QUERIES, (double) scanned / Math.max(1, found));
+
+        long updateNanos = 0;
+        for (int u = 0; u < QUERIES; u++) {
+            Flight flight = flights[random.nextInt(flightCount)];
+            flight.setOccupancy(flight.getOccupancy() == flight.getCapacity() ? 0 : flight.getCapacity());
+            long t0 = System.nanoTime();
+            timetable.update(flight);
+            updateNanos += System.nanoTime() - t0;
+        }
+        System.out.printf("seat update: %.2f us/update%n", updateNanos / 1e3 / QUERIES);
+
+        long rescheduleNanos = 0;
+        for (int u = 0; u < QUERIES; u++) {
+            Flight flight = flights[random.nextInt(flightCount)];
+            flight.setDepartureTime(start.plusMinutes(random.nextInt(30 * 24 * 60)));
+            long t0 = System.nanoTime();
+            timetable.update(flight);
+            rescheduleNanos += System.nanoTime() - t0;
+        }
+        System.out.printf("reschedule: %.2f us/update%n", rescheduleNanos / 1e3 / QUERIES);
+    }
+}
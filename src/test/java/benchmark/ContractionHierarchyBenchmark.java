@@ -0,0 +1,78 @@
+package benchmark;
+
+import domain.graph.ContractionHierarchy;
+import domain.graph.DirectedSinglyLinkedListGraph;
+import domain.graph.RouteSearchResult;
+import domain.graph.RoutingGraph;
+import domain.graph.ShortestPathSearch;
+
+import java.util.Random;
+
+/**
+ * Benchmark de la jerarquía de contracción contra Dijkstra sobre una red sintética.
+ * Reporta el tiempo de preprocesamiento (completo e incremental), la cantidad de atajos y la latencia
+ * promedio de consulta. Ejecutar con: java benchmark.ContractionHierarchyBenchmark [aeropuertos] [rutasPorAeropuerto]
+ */
+public class ContractionHierarchyBenchmark {
+    private static final int QUERIES = 2_000;
+    private static final int WARMUP_QUERIES = 500;
+
+    public static void main(String[] args) throws Exception {
+        int airports = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int routesPerAirport = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+
+        DirectedSinglyLinkedListGraph network = SyntheticNetwork.build(airports, routesPerAirport, 42);
+        RoutingGraph snapshot = RoutingGraph.build(network);
+        System.out.println("Network: " + snapshot);
+
+        for (int costIndex = 0; costIndex < RoutingGraph.COST_TYPES; costIndex++) {
+            ContractionHierarchy hierarchy = ContractionHierarchy.build(snapshot, costIndex);
+            ContractionHierarchy rebuilt = ContractionHierarchy.rebuild(snapshot, hierarchy);
+            System.out.printf("%ncost type %d: preprocessing %.1f ms (incremental %.1f ms), shortcuts %d (%.2f per route)%n",
+                    costIndex, hierarchy.getPreprocessingTimeMillis(), rebuilt.getPreprocessingTimeMillis(),
+                    hierarchy.getShortcutCount(), (double) hierarchy.getShortcutCount() / snapshot.edgeCount());
+
+            Random random = new Random(7);
+            int[] sources = new int[QUERIES], targets = new int[QUERIES];
+            for (int i = 0; i < QUERIES; i++) {
+                sources[i] = random.nextInt(snapshot.vertexCount());
+                targets[i] = random.nextInt(snapshot.vertexCount());
+            }
+
+            ShortestPathSearch dijkstra = new ShortestPathSearch(snapshot.vertexCount());
+            for (int i = 0; i < WARMUP_QUERIES; i++) {
+                dijkstra.run(snapshot, sources[i], targets[i], costIndex);
+                hierarchy.route(sources[i], targets[i]);
+            }
+
+            long dijkstraNanos = 0, hierarchyNanos = 0, costOnlyNanos = 0, dijkstraSettled = 0, hierarchySettled = 0;
+            int mismatches = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                long start = System.nanoTime();
+                dijkstra.run(snapshot, sources[i], targets[i], costIndex);
+                dijkstraNanos += System.nanoTime() - start;
+                dijkstraSettled += dijkstra.getSettledCount();
+
+                start = System.nanoTime();
+                RouteSearchResult result = hierarchy.route(sources[i], targets[i]);
+                hierarchyNanos += System.nanoTime() - start;
+                hierarchySettled += result.getSettledCount();
+
+                start = System.nanoTime();
+                hierarchy.cost(sources[i], targets[i]);
+                costOnlyNanos += System.nanoTime() - start;
+
+                if (Math.abs(result.getCost() - dijkstra.cost(targets[i])) > 1e-6
+                        && !(Double.isInfinite(result.getCost()) && Double.isInfinite(dijkstra.cost(targets[i])))) {
+                    mismatches++;
+                }
+            }
+            System.out.printf("  Dijkstra: %8.1f us/query, %8.1f settled/query%n",
+                    dijkstraNanos / 1000.0 / QUERIES, (double) dijkstraSettled / QUERIES);
+            System.out.printf("  CH:       %8.1f us/query, %8.1f settled/query (speedup x%.1f, mismatches %d)%n",
+                    hierarchyNanos / 1000.0 / QUERIES, (double) hierarchySettled / QUERIES,
+                    (double) dijkstraNanos / Math.max(1, hierarchyNanos), mismatches);
+            System.out.printf("  CH cost:  %8.1f us/query (without unpacking the route)%n", costOnlyNanos / 1000.0 / QUERIES);
+        }
+    }
+}
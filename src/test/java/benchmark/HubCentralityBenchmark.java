@@ -0,0 +1,52 @@
+package benchmark;
+
+import domain.graph.DirectedSinglyLinkedListGraph;
+import domain.graph.HubCentrality;
+import domain.graph.RoutingGraph;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Benchmark de la centralidad de intermediación (Brandes) sobre una red sintética: cálculo exacto con
+ * 1..N hilos y estimación por muestreo, con la coincidencia del top 10 estimado contra el exacto.
+ * Ejecutar con: java benchmark.HubCentralityBenchmark [aeropuertos] [rutasPorAeropuerto] [muestra]
+ */
+public class HubCentralityBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int airports = args.length > 0 ? Integer.parseInt(args[0]) : 3_000;
+        int routesPerAirport = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        int sample = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+
+        DirectedSinglyLinkedListGraph network = SyntheticNetwork.build(airports, routesPerAirport, 42);
+        RoutingGraph snapshot = RoutingGraph.build(network);
+        System.out.println("Network: " + snapshot);
+
+        HubCentrality exact = null;
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                HubCentrality.compute(snapshot, RoutingGraph.DISTANCE, sample, 1L, pool); //calentamiento
+                exact = HubCentrality.compute(snapshot, RoutingGraph.DISTANCE, pool);
+                System.out.println("exact:   " + exact);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            HubCentrality sampled = HubCentrality.compute(snapshot, RoutingGraph.DISTANCE, sample, 1L, pool);
+            System.out.println("sampled: " + sampled);
+            int[] exactTop = exact.topByBetweenness(10);
+            int[] sampledTop = sampled.topByBetweenness(10);
+            int common = 0;
+            for (int a : exactTop) {
+                for (int b : sampledTop) if (a == b) common++;
+            }
+            System.out.printf("top 10 overlap (sampled vs exact): %d/10%n", common);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
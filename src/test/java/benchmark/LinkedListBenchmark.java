@@ -0,0 +1,41 @@
+package benchmark;
+
+import domain.linkedlist.DoublyLinkedList;
+import domain.linkedlist.List;
+import domain.linkedlist.SinglyLinkedList;
+
+/**
+ * Benchmark de regresión de las listas enlazadas con 1M de elementos: add al final, size, getLast y el
+ * recorrido típico del proyecto "for (i = 1; i <= size(); i++) getNode(i)". Con el contador, el puntero al
+ * último nodo y el cursor de getNode todo es lineal; antes cada add y cada size recorría la lista.
+ * Ejecutar con: java benchmark.LinkedListBenchmark [elementos]
+ */
+public class LinkedListBenchmark {
+    private static volatile long sink; //evita que el JIT descarte los recorridos
+
+    public static void main(String[] args) throws Exception {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        for (int round = 0; round < 3; round++) { //la primera ronda es de calentamiento
+            run("SinglyLinkedList", new SinglyLinkedList(), elements);
+            run("DoublyLinkedList", new DoublyLinkedList(), elements);
+        }
+    }
+
+    private static void run(String label, List list, int elements) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < elements; i++) list.add(i);
+        long added = System.nanoTime();
+
+        long sum = 0;
+        for (int i = 0; i < elements; i++) sum += list.size(); //size() dentro de condiciones de ciclos
+        sum += (Integer) list.getLast();
+        long sized = System.nanoTime();
+
+        for (int i = 1; i <= list.size(); i++) sum += (Integer) list.getNode(i).data;
+        long scanned = System.nanoTime();
+        sink += sum;
+
+        System.out.printf("%-16s n=%d  add %.1f ms, %d x size + getLast %.1f ms, getNode(1..n) %.1f ms%n",
+                label, elements, (added - start) / 1e6, elements, (sized - added) / 1e6, (scanned - sized) / 1e6);
+    }
+}
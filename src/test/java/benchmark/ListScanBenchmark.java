@@ -0,0 +1,75 @@
+package benchmark;
+
+import domain.common.Airport;
+import domain.linkedlist.ArrayBackedList;
+import domain.linkedlist.CircularDoublyLinkedList;
+import domain.linkedlist.DoublyLinkedList;
+import domain.linkedlist.List;
+import domain.linkedlist.ListFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Compara las implementaciones que ListFactory puede poner en los servicios (DoublyLinkedList para aeropuertos,
+ * CircularDoublyLinkedList para vuelos y ArrayBackedList) con aeropuertos como elementos:
+ * - recorrido for-each (como las búsquedas de los servicios) y "for (i = 1..size) getNode(i)" (no en la
+ *   CircularDoublyLinkedList: su getNode recorre desde el inicio en cada llamada y el ciclo es cuadrático),
+ * - contains de un código ausente (recorre toda la lista comparando),
+ * - memoria de la estructura por elemento (sin contar los aeropuertos, que comparten todas).
+ * Ejecutar con: java benchmark.ListScanBenchmark [elementos] [rondas]
+ */
+public class ListScanBenchmark {
+    private static volatile long sink; //evita que el JIT descarte los recorridos
+
+    public static void main(String[] args) throws Exception {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Airport[] airports = new Airport[elements];
+        for (int i = 0; i < elements; i++) {
+            airports[i] = new Airport(i, "Airport " + i, "Costa Rica", "Active");
+        }
+
+        run("DoublyLinkedList", DoublyLinkedList::new, airports, rounds);
+        run("CircularDoublyLinkedList", CircularDoublyLinkedList::new, airports, rounds);
+        run("ArrayBackedList", () -> ListFactory.create(ListFactory.Kind.ARRAY, DoublyLinkedList::new), airports, rounds);
+    }
+
+    private static void run(String label, Supplier<List> factory, Airport[] airports, int rounds) throws Exception {
+        long before = usedMemory();
+        List list = factory.get();
+        for (Airport airport : airports) list.add(airport);
+        long bytes = usedMemory() - before;
+
+        Airport missing = new Airport(-1);
+        double forEach = Double.MAX_VALUE, byIndex = Double.MAX_VALUE, contains = Double.MAX_VALUE;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            long sum = 0;
+            for (Object value : list) sum += ((Airport) value).getCode();
+            long iterated = System.nanoTime();
+            if (!(list instanceof CircularDoublyLinkedList)) {
+                for (int i = 1, n = list.size(); i <= n; i++) sum += ((Airport) list.getNode(i).data).getCode();
+            }
+            long indexed = System.nanoTime();
+            sum += list.contains(missing) ? 1 : 0;
+            long searched = System.nanoTime();
+            sink += sum;
+            forEach = Math.min(forEach, (iterated - start) / 1e6);
+            byIndex = Math.min(byIndex, (indexed - iterated) / 1e6);
+            contains = Math.min(contains, (searched - indexed) / 1e6);
+        }
+        String indexed = list instanceof CircularDoublyLinkedList ? "n/a" : String.format("%.2f ms", byIndex);
+        System.out.printf("%-24s n=%d  for-each %.2f ms, getNode(i) %s, contains %.2f ms, %.1f bytes/element%n",
+                label, airports.length, forEach, indexed, contains, (double) bytes / airports.length);
+        sink += list.size(); //mantiene viva la lista hasta después de medir la memoria
+    }
+
+    private static long usedMemory() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
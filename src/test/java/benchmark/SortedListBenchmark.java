@@ -0,0 +1,55 @@
+package benchmark;
+
+import domain.linkedlist.CircularDoublyLinkedList;
+import domain.linkedlist.List;
+import domain.linkedlist.SinglyLinkedList;
+import domain.linkedlist.SortedSkipList;
+
+import java.util.Random;
+
+/**
+ * Mantener una lista ordenada con inserciones en orden aleatorio: addInSortedList de las listas enlazadas
+ * (O(n) por alta) contra SortedSkipList (O(log n)), y luego n búsquedas con indexOf y n accesos getNode(i)
+ * en posiciones aleatorias. También el sort de la CircularDoublyLinkedList sobre los mismos datos.
+ * Ejecutar con: java benchmark.SortedListBenchmark [elementos]
+ */
+public class SortedListBenchmark {
+    private static volatile long sink; //evita que el JIT descarte los recorridos
+
+    public static void main(String[] args) throws Exception {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int[] values = new Random(42).ints(elements, 0, elements * 4).toArray();
+        for (int round = 0; round < 3; round++) { //la primera ronda es de calentamiento
+            run("SinglyLinkedList", new SinglyLinkedList(), values);
+            run("CircularDoublyLinkedList", new CircularDoublyLinkedList(), values);
+            run("SortedSkipList", new SortedSkipList(), values);
+
+            CircularDoublyLinkedList unsorted = new CircularDoublyLinkedList();
+            for (int value : values) unsorted.add(value);
+            long start = System.nanoTime();
+            unsorted.sort();
+            System.out.printf("%-24s n=%d  sort %.1f ms%n", "CircularDoublyLinkedList", elements,
+                    (System.nanoTime() - start) / 1e6);
+        }
+    }
+
+    private static void run(String label, List list, int[] values) throws Exception {
+        long start = System.nanoTime();
+        for (int value : values) list.addInSortedList(value);
+        long inserted = System.nanoTime();
+
+        Random random = new Random(7);
+        long sum = 0;
+        for (int i = 0; i < values.length; i++) sum += list.indexOf(values[random.nextInt(values.length)]);
+        long searched = System.nanoTime();
+
+        //la CircularDoublyLinkedList indexa desde 0; las demás desde 1
+        int base = list instanceof CircularDoublyLinkedList ? 0 : 1;
+        for (int i = 0; i < values.length; i++) sum += (Integer) list.getNode(base + random.nextInt(values.length)).data;
+        long indexed = System.nanoTime();
+        sink += sum;
+
+        System.out.printf("%-24s n=%d  addInSortedList %.1f ms, indexOf %.1f ms, random getNode %.1f ms%n",
+                label, values.length, (inserted - start) / 1e6, (searched - inserted) / 1e6, (indexed - searched) / 1e6);
+    }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import domain.common.Airport;
+import domain.common.Route;
+import domain.graph.DirectedSinglyLinkedListGraph;
+import domain.graph.GraphException;
+import domain.graph.GreatCircleHeuristic;
+import domain.linkedlist.ListException;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Red aérea sintética de escala continental para los benchmarks: aeropuertos con coordenadas aleatorias
+ * dentro de un rectángulo y rutas hacia vecinos cercanos (más algunas de larga distancia).
+ * Las distancias de las rutas son ortodrómicas con un pequeño recargo, como en la red real.
+ */
+final class SyntheticNetwork {
+    static int LONG_HAUL_ONE_IN = Integer.getInteger("longHaulOneIn", 50); //1 de cada N rutas es de larga distancia
+
+    private SyntheticNetwork() {
+    }
+
+    static DirectedSinglyLinkedListGraph build(int airportCount, int routesPerAirport, long seed)
+            throws GraphException, ListException {
+        Random random = new Random(seed);
+        Airport[] airports = new Airport[airportCount];
+        DirectedSinglyLinkedListGraph graph = new DirectedSinglyLinkedListGraph();
+        for (int i = 0; i < airportCount; i++) {
+            airports[i] = new Airport(1000 + i, "Airport " + i, "Country " + (i % 40), "Active",
+                    25 + random.nextDouble() * 35, -120 + random.nextDouble() * 60);
+            graph.addVertex(airports[i]);
+        }
+        //vecinos geográficos más cercanos de cada aeropuerto (fuerza bruta: solo se calcula una vez)
+        int neighbors = Math.min(airportCount - 1, routesPerAirport * 2);
+        int routeId = 0;
+        for (int i = 0; i < airportCount; i++) {
+            final int origin = i;
+            Integer[] byDistance = new Integer[airportCount];
+            for (int j = 0; j < airportCount; j++) byDistance[j] = j;
+            double[] km = new double[airportCount];
+            for (int j = 0; j < airportCount; j++) km[j] = greatCircleKm(airports[origin], airports[j]);
+            Arrays.sort(byDistance, Comparator.comparingDouble(j -> km[j]));
+
+            for (int r = 0; r < routesPerAirport; r++) {
+                //la mayoría de las rutas van a aeropuertos cercanos, algunas son de larga distancia
+                int j = random.nextInt(LONG_HAUL_ONE_IN) == 0
+                        ? random.nextInt(airportCount)
+                        : byDistance[1 + random.nextInt(neighbors)];
+                if (i == j) continue;
+                double distance = Math.max(50, km[j] * (1.0 + random.nextDouble() * 0.2));
+                double hours = 0.5 + distance / 800.0;
+                double price = 40 + distance * (0.05 + random.nextDouble() * 0.1);
+                Route route = new Route("SYN" + (routeId++), airports[i].getCode(), airports[j].getCode(), "Synthetic Air",
+                        hours, distance, price, LocalTime.of(8, 0), LocalTime.of(9, 0));
+                graph.addEdgeWeight(airports[i], airports[j], route);
+            }
+        }
+        return graph;
+    }
+
+    private static double greatCircleKm(Airport a, Airport b) {
+        return GreatCircleHeuristic.distanceKm(Math.toRadians(a.getLatitude()), Math.toRadians(a.getLongitude()),
+                Math.toRadians(b.getLatitude()), Math.toRadians(b.getLongitude()));
+    }
+}
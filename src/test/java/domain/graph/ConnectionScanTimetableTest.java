@@ -0,0 +1,141 @@
+package domain.graph;
+
+import domain.common.Flight;
+import domain.common.Route;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionScanTimetableTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 7, 1, 0, 0);
+    private ConnectionScanTimetable timetable;
+
+    @BeforeEach
+    void setUp() {
+        timetable = new ConnectionScanTimetable();
+    }
+
+    private static Flight flight(int number, int origin, int destination, LocalDateTime departure, double hours) {
+        Route route = new Route("R" + number, origin, destination, "Test Airline", hours, 500, 100.0,
+                LocalTime.of(8, 0), LocalTime.of(9, 0));
+        return new Flight(number, departure, 100, null, route);
+    }
+
+    private static List<Integer> numbers(FlightItinerary itinerary) {
+        List<Integer> numbers = new ArrayList<>();
+        for (Flight flight : itinerary.getFlights()) numbers.add(flight.getNumber());
+        return numbers;
+    }
+
+    @Test
+    void testEarliestArrivalWithMinimumConnectionTime() {
+        // SJO(101) -> PTY(202) -> MIA(404), plus a slow direct flight
+        timetable.add(flight(1, 101, 202, DAY.withHour(8), 1.5));            // arrives 09:30
+        timetable.add(flight(2, 202, 404, DAY.withHour(9).withMinute(45), 3)); // only 15 min after landing
+        timetable.add(flight(3, 202, 404, DAY.withHour(11), 3));             // arrives 14:00
+        timetable.add(flight(4, 101, 404, DAY.withHour(10), 6));             // arrives 16:00
+
+        FlightItinerary itinerary = timetable.earliestArrival(101, 404, DAY.withHour(7), 45);
+        assertEquals(List.of(1, 3), numbers(itinerary));
+        assertEquals(DAY.withHour(14), itinerary.getArrivalTime());
+        assertEquals(DAY.withHour(8), itinerary.getDepartureTime());
+
+        // Without a minimum connection time the 09:45 connection is allowed
+        assertEquals(List.of(1, 2), numbers(timetable.earliestArrival(101, 404, DAY.withHour(7), 0)));
+        // Leaving after 08:00 only the direct flight is left
+        assertEquals(List.of(4), numbers(timetable.earliestArrival(101, 404, DAY.withHour(8).withMinute(1), 45)));
+        assertNull(timetable.earliestArrival(404, 101, DAY, 45), "No flights leave MIA");
+        assertNull(timetable.earliestArrival(999, 101, DAY, 45), "Unknown airport");
+    }
+
+    @Test
+    void testIncrementalMaintenance() {
+        Flight first = flight(1, 101, 202, DAY.withHour(8), 1.5);
+        Flight second = flight(3, 202, 404, DAY.withHour(11), 3);
+        timetable.add(first);
+        timetable.add(second);
+        timetable.add(flight(4, 101, 404, DAY.withHour(10), 6));
+        assertEquals(3, timetable.size());
+        assertFalse(timetable.add(first), "A flight is indexed only once");
+
+        // Full flights are skipped
+        second.setOccupancy(second.getCapacity());
+        timetable.update(second);
+        assertEquals(List.of(4), numbers(timetable.earliestArrival(101, 404, DAY, 45)));
+        second.setOccupancy(0);
+        timetable.update(second);
+        assertEquals(List.of(1, 3), numbers(timetable.earliestArrival(101, 404, DAY, 45)));
+
+        // Rescheduling moves the connection inside the timetable
+        Flight delayed = flight(3, 202, 404, DAY.withHour(20), 3);
+        timetable.update(delayed);
+        assertEquals(3, timetable.size());
+        assertEquals(List.of(4), numbers(timetable.earliestArrival(101, 404, DAY, 45)));
+
+        // Completed flights leave the timetable
+        delayed.setCompleted(true);
+        timetable.update(delayed);
+        assertFalse(timetable.contains(3));
+        assertTrue(timetable.remove(4));
+        assertFalse(timetable.remove(4));
+        assertNull(timetable.earliestArrival(101, 404, DAY, 45));
+        assertEquals(1, timetable.size());
+    }
+
+    @Test
+    void testMatchesFixpointOnRandomTimetable() {
+        Random random = new Random(17);
+        List<Flight> all = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int origin = random.nextInt(40), destination = random.nextInt(40);
+            if (origin == destination) continue;
+            Flight flight = flight(i, origin, destination, DAY.plusMinutes(random.nextInt(7 * 24 * 60)), 0.5 + random.nextInt(10));
+            if (random.nextInt(10) == 0) flight.setOccupancy(flight.getCapacity());
+            all.add(flight);
+            timetable.add(flight);
+        }
+        int minConnection = 30;
+        for (int origin = 0; origin < 5; origin++) {
+            // Brute force: relax every flight until nothing improves
+            LocalDateTime[] arrival = new LocalDateTime[40];
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (Flight f : all) {
+                    int o = f.getAssignedRoute().getOriginAirportCode(), d = f.getAssignedRoute().getDestinationAirportCode();
+                    if (f.getOccupancy() >= f.getCapacity()) continue;
+                    boolean boardable = o == origin ? !f.getDepartureTime().isBefore(DAY)
+                            : arrival[o] != null && !arrival[o].plusMinutes(minConnection).isAfter(f.getDepartureTime());
+                    LocalDateTime landing = f.getDepartureTime().plusMinutes(Math.round(f.getAssignedRoute().getDurationHours() * 60));
+                    if (boardable && (arrival[d] == null || landing.isBefore(arrival[d]))) {
+                        arrival[d] = landing;
+                        changed = true;
+                    }
+                }
+            }
+            for (int destination = 0; destination < 40; destination++) {
+                if (destination == origin) continue;
+                FlightItinerary itinerary = timetable.earliestArrival(origin, destination, DAY, minConnection);
+                assertEquals(arrival[destination], itinerary == null ? null : itinerary.getArrivalTime());
+                if (itinerary != null) {
+                    // consecutive legs connect at the same airport with enough time
+                    List<Flight> legs = itinerary.getFlights();
+                    for (int i = 1; i < legs.size(); i++) {
+                        Route previous = legs.get(i - 1).getAssignedRoute();
+                        assertEquals(previous.getDestinationAirportCode(), legs.get(i).getAssignedRoute().getOriginAirportCode());
+                        LocalDateTime landed = legs.get(i - 1).getDepartureTime().plusMinutes(Math.round(previous.getDurationHours() * 60));
+                        assertFalse(landed.plusMinutes(minConnection).isAfter(legs.get(i).getDepartureTime()));
+                    }
+                }
+            }
+        }
+    }
+}
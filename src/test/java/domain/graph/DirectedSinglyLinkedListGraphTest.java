@@ -0,0 +1,92 @@
+package domain.graph;
+
+import domain.common.Airport;
+import domain.linkedlist.ListException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectedSinglyLinkedListGraphTest {
+
+    @Test
+    void testIndexedVertexAndEdgeOperations() throws GraphException, ListException {
+        DirectedSinglyLinkedListGraph graph = new DirectedSinglyLinkedListGraph();
+        Airport sjo = new Airport(101, "Juan Santamaria Intl Airport", "Costa Rica", "Active");
+        Airport pty = new Airport(202, "Tocumen Intl Airport", "Panama", "Active");
+        Airport lax = new Airport(303, "Los Angeles Intl Airport", "USA", "Active");
+
+        graph.addVertex(sjo);
+        graph.addVertex(pty);
+        graph.addVertex(lax);
+        graph.addVertex(new Airport(101)); // same code as SJO, must not create a duplicate vertex
+        assertEquals(3, graph.size(), "Duplicate airports should not add vertexes");
+        assertTrue(graph.containsVertex(new Airport(202)));
+
+        graph.addEdgeWeight(sjo, pty, 800.0);
+        graph.addEdgeWeight(pty, lax, 4800.0);
+        graph.addEdgeWeight(lax, pty, 4800.0);
+        graph.addEdgeWeight(sjo, pty, 999.0); // a second route between the same pair is its own edge
+        assertTrue(graph.containsEdge(sjo, pty));
+        assertFalse(graph.containsEdge(pty, sjo), "Edges are directed");
+        assertEquals(3, graph.inDegree(pty));
+
+        graph.addWeight(sjo, pty, 850.0); // updates the first edge of the pair
+        Vertex sjoVertex = (Vertex) graph.getVertexList().getNode(1).data;
+        assertEquals(2, sjoVertex.edgesList.size());
+        assertEquals(850.0, ((EdgeWeight) sjoVertex.edgesList.getFirst()).getWeight());
+
+        // Removing one weight keeps the other edge of the pair, even if it was added first
+        graph.addEdgeWeight(sjo, pty, 850.0);
+        graph.removeEdgeWeight(sjo, pty, 999.0);
+        graph.removeEdgeWeight(sjo, pty, 850.0);
+        assertTrue(graph.containsEdge(sjo, pty));
+        assertEquals(1, sjoVertex.edgesList.size());
+        assertEquals(850.0, ((EdgeWeight) sjoVertex.edgesList.getFirst()).getWeight());
+        assertEquals(2, graph.inDegree(pty));
+
+        graph.addEdgeWeight(sjo, pty, 700.0);
+        graph.removeEdge(sjo, pty); // removes every edge of the pair
+        assertFalse(graph.containsEdge(sjo, pty));
+        assertTrue(sjoVertex.edgesList.isEmpty(), "Removed edge should leave the linked list too");
+
+        // Removing PTY drops its outgoing and incoming edges
+        graph.removeVertex(pty);
+        assertEquals(2, graph.size());
+        assertFalse(graph.containsVertex(pty));
+        assertFalse(graph.containsEdge(lax, pty));
+        Vertex laxVertex = (Vertex) graph.getVertexList().getNode(2).data;
+        assertTrue(laxVertex.edgesList.isEmpty());
+        assertThrows(GraphException.class, () -> graph.removeVertex(pty));
+    }
+
+    @Test
+    void testIncomingEdgeIndex() throws GraphException, ListException {
+        DirectedSinglyLinkedListGraph graph = new DirectedSinglyLinkedListGraph();
+        Airport sjo = new Airport(101);
+        Airport pty = new Airport(202);
+        Airport lax = new Airport(303);
+        graph.addVertex(sjo);
+        graph.addVertex(pty);
+        graph.addVertex(lax);
+        graph.addEdgeWeight(sjo, lax, "CM100");
+        graph.addEdgeWeight(pty, lax, "CM200");
+        graph.addEdgeWeight(lax, pty, "UA700");
+
+        assertEquals(2, graph.inDegree(lax));
+        assertEquals(0, graph.inDegree(sjo));
+        for (EdgeWeight incoming : graph.getIncomingEdges(lax)) {
+            assertTrue(graph.containsEdge(incoming.getEdge(), lax), "Incoming edge must mirror an outgoing edge");
+        }
+
+        graph.addWeight(pty, lax, "CM201");
+        graph.removeEdge(sjo, lax);
+        assertEquals(1, graph.inDegree(lax));
+        assertEquals("CM201", graph.getIncomingEdges(lax).get(0).getWeight());
+
+        // Removing LAX clears PTY's incoming edge from LAX and the edge PTY -> LAX
+        graph.removeVertex(lax);
+        assertEquals(0, graph.inDegree(pty));
+        assertFalse(graph.containsEdge(pty, lax));
+        assertThrows(GraphException.class, () -> graph.getIncomingEdges(lax));
+    }
+}
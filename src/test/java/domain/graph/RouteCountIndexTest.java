@@ -0,0 +1,74 @@
+package domain.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteCountIndexTest {
+
+    @Test
+    void testTopAirportsAndCounts() {
+        RouteCountIndex index = new RouteCountIndex();
+        index.addRoute(101, 202);
+        index.addRoute(202, 303);
+        index.addRoute(303, 202);
+        index.addRoute(404, 101);
+        assertArrayEquals(new int[]{202, 101, 303}, index.top(3), "Ties are broken by airport code");
+        assertEquals(3, index.count(202));
+        assertEquals(Map.of(101, 2L, 202, 3L, 303, 2L, 404, 1L), index.counts());
+        assertEquals(4, index.top(10).length, "Only airports with routes are ranked");
+
+        index.removeRoute(202, 303);
+        index.removeRoute(303, 202);
+        assertArrayEquals(new int[]{101, 202, 404}, index.top(5));
+        assertFalse(index.counts().containsKey(303), "Airports without routes leave the ranking");
+
+        index.removeAirport(101);
+        assertEquals(0, index.count(101));
+        assertArrayEquals(new int[]{202, 404}, index.top(5));
+        assertThrows(UnsupportedOperationException.class, () -> index.counts().put(1, 1L));
+
+        //La copia no cambia con altas posteriores: se puede recorrer mientras la red cambia
+        Map<Integer, Long> before = index.counts();
+        index.addRoute(202, 505);
+        assertEquals(Map.of(202, 1L, 404, 1L), before);
+        assertEquals(Map.of(202, 2L, 404, 1L, 505, 1L), index.counts());
+    }
+
+    @Test
+    void testMatchesRecountAfterRandomChanges() {
+        Random random = new Random(5);
+        RouteCountIndex index = new RouteCountIndex();
+        List<int[]> routes = new ArrayList<>();
+        for (int step = 0; step < 5000; step++) {
+            if (routes.isEmpty() || random.nextInt(3) != 0) {
+                int[] route = {random.nextInt(50), random.nextInt(50)};
+                routes.add(route);
+                index.addRoute(route[0], route[1]);
+            } else {
+                int[] route = routes.remove(random.nextInt(routes.size()));
+                index.removeRoute(route[0], route[1]);
+            }
+        }
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int[] route : routes) {
+            expected.merge(route[0], 1L, Long::sum);
+            if (route[1] != route[0]) expected.merge(route[1], 1L, Long::sum);
+        }
+        assertEquals(expected, index.counts());
+
+        List<Integer> ranking = new ArrayList<>(expected.keySet());
+        ranking.sort((a, b) -> {
+            int cmp = Long.compare(expected.get(b), expected.get(a));
+            return cmp != 0 ? cmp : Integer.compare(a, b);
+        });
+        int[] top = index.top(10);
+        for (int i = 0; i < top.length; i++) assertEquals(ranking.get(i).intValue(), top[i]);
+    }
+}
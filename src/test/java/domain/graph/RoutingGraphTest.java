@@ -0,0 +1,1037 @@
+package domain.graph;
+
+import domain.common.Airport;
+import domain.common.Route;
+import domain.linkedlist.ListException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutingGraphTest {
+
+    private DirectedSinglyLinkedListGraph graph;
+    private Airport sjo, pty, lax, mia, bog, mad;
+
+    @BeforeEach
+    void setUp() throws GraphException, ListException {
+        // Same network as AirNetworkSimulationTest, built in memory (no JSON files, no random routes)
+        sjo = new Airport(101, "Juan Santamaria Intl Airport", "Costa Rica", "Active");
+        pty = new Airport(202, "Tocumen Intl Airport", "Panama", "Active");
+        lax = new Airport(303, "Los Angeles Intl Airport", "USA", "Active");
+        mia = new Airport(404, "Miami Intl Airport", "USA", "Active");
+        bog = new Airport(505, "El Dorado Intl Airport", "Colombia", "Active");
+        mad = new Airport(606, "Adolfo Suarez Madrid-Barajas Airport", "Spain", "Active");
+
+        graph = new DirectedSinglyLinkedListGraph();
+        for (Airport airport : List.of(sjo, pty, lax, mia, bog, mad)) {
+            graph.addVertex(airport);
+        }
+        addRoute("CM100", sjo, pty, 1.5, 800, 250.0);
+        addRoute("CM200", pty, lax, 7.0, 4800, 500.0);
+        addRoute("AA300", sjo, mia, 3.0, 1500, 350.0);
+        addRoute("DL400", mia, lax, 5.5, 3900, 400.0);
+        addRoute("AV500", pty, bog, 1.0, 700, 100.0);
+        addRoute("IB600", bog, mad, 9.0, 8000, 700.0);
+        addRoute("UA700", lax, sjo, 6.0, 4000, 450.0);
+    }
+
+    private void addRoute(String id, Airport origin, Airport destination, double duration, double distance, double price)
+            throws GraphException, ListException {
+        Route route = new Route(id, origin.getCode(), destination.getCode(), "Test Airline",
+                duration, distance, price, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        graph.addEdgeWeight(origin, destination, route);
+    }
+
+    @Test
+    void testSnapshotLayout() throws ListException {
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+
+        assertEquals(6, snapshot.vertexCount(), "Snapshot should have one id per airport");
+        assertEquals(7, snapshot.edgeCount(), "Snapshot should have one edge per route");
+        assertEquals(-1, snapshot.idOf(999), "Unknown airport should not have an id");
+
+        int ptyId = snapshot.idOf(202);
+        assertEquals(2, snapshot.outDegree(ptyId), "PTY has two outgoing routes");
+        for (int e = snapshot.firstEdge(ptyId); e < snapshot.endEdge(ptyId); e++) {
+            Route route = snapshot.route(e);
+            assertEquals(route.getDestinationAirportCode(), snapshot.code(snapshot.target(e)));
+            assertEquals(route.getPrice(), snapshot.weight(RoutingGraph.PRICE, e));
+            assertEquals(route.getDurationHours(), snapshot.weight(RoutingGraph.DURATION, e));
+            assertEquals(route.getDistanceKm(), snapshot.weight(RoutingGraph.DISTANCE, e));
+        }
+    }
+
+    @Test
+    void testShortestPathSearch() throws ListException {
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+
+        assertTrue(search.run(snapshot, snapshot.idOf(202), snapshot.idOf(404), RoutingGraph.DISTANCE));
+        assertEquals(List.of(202, 303, 101, 404), search.pathCodes(snapshot.idOf(404)));
+        assertEquals(4800 + 4000 + 1500, search.cost(snapshot.idOf(404)), 1e-9);
+
+        // The same workspace is reused for the next query
+        assertTrue(search.run(snapshot, snapshot.idOf(101), snapshot.idOf(606), RoutingGraph.PRICE));
+        assertEquals(List.of(101, 202, 505, 606), search.pathCodes(snapshot.idOf(606)));
+        assertEquals(250.0 + 100.0 + 700.0, search.cost(snapshot.idOf(606)), 1e-9);
+
+        assertFalse(search.run(snapshot, snapshot.idOf(606), snapshot.idOf(101), RoutingGraph.DURATION),
+                "MAD has no outgoing routes");
+        assertNull(search.pathCodes(snapshot.idOf(101)));
+    }
+
+    @Test
+    void testShortestPathTree() throws ListException {
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+        search.run(snapshot, snapshot.idOf(101), -1, RoutingGraph.DURATION);
+        ShortestPathTree tree = search.toTree(RoutingGraph.DURATION);
+
+        assertEquals(101, tree.getOriginCode());
+        assertEquals(List.of(101), tree.path(101));
+        assertEquals(List.of(101, 202, 303), tree.path(303));
+        assertEquals(1.5 + 7.0, tree.cost(303), 1e-9);
+        assertEquals(List.of(101, 202, 505, 606), tree.path(606));
+        assertEquals(6, tree.reachableAirportCodes().size());
+
+        // The tree is a copy: reusing the workspace does not change it
+        search.run(snapshot, snapshot.idOf(606), -1, RoutingGraph.DURATION);
+        assertEquals(List.of(101, 202, 303), tree.path(303));
+        assertFalse(search.toTree(RoutingGraph.DURATION).isReachable(101));
+        assertNull(search.toTree(RoutingGraph.DURATION).path(101));
+    }
+
+    @Test
+    void testParallelCostMatrix() throws ListException {
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        int[] ids = {snapshot.idOf(101), snapshot.idOf(303), snapshot.idOf(404), snapshot.idOf(606)};
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            RouteCostMatrix matrix = RouteCostMatrix.compute(snapshot, ids, RoutingGraph.DISTANCE, pool);
+
+            assertEquals(4, matrix.size());
+            assertEquals(2, matrix.getParallelism());
+            assertEquals(0.0, matrix.cost(101, 101));
+            assertEquals(1500 + 3900, matrix.cost(101, 303), 1e-9);
+            assertEquals(4000 + 1500, matrix.cost(303, 404), 1e-9);
+            assertEquals(Double.POSITIVE_INFINITY, matrix.cost(606, 101), "MAD has no outgoing routes");
+            assertTrue(matrix.getWallTimeNanos() > 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testAllPairsTablesMatchDijkstra() throws GraphException, ListException {
+        // Ruta paralela más barata pero más lenta y larga: cada tipo de costo usa su mínimo
+        addRoute("CM101", sjo, pty, 3.0, 900, 90.0);
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            AllPairsShortestPaths tables = AllPairsShortestPaths.compute(snapshot, pool);
+            assertEquals(6, tables.size());
+            assertEquals(List.of(202, 303, 101, 404), tables.path(202, 404, RoutingGraph.DISTANCE));
+            assertEquals(List.of(101, 202, 505, 606), tables.path(101, 606, RoutingGraph.PRICE));
+            assertNull(tables.path(606, 101, RoutingGraph.DURATION), "MAD has no outgoing routes");
+            assertEquals(90.0, tables.cost(101, 202, RoutingGraph.PRICE), 1e-9);
+            assertEquals(1.5, tables.cost(101, 202, RoutingGraph.DURATION), 1e-9);
+
+            ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+            for (int costIndex = 0; costIndex < RoutingGraph.COST_TYPES; costIndex++) {
+                for (int s = 0; s < snapshot.vertexCount(); s++) {
+                    search.run(snapshot, s, -1, costIndex);
+                    for (int t = 0; t < snapshot.vertexCount(); t++) {
+                        assertEquals(search.cost(t), tables.cost(snapshot.code(s), snapshot.code(t), costIndex), 1e-9);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testBlockedFloydWarshallOnDirectedMatrix() throws GraphException, ListException {
+        // 150 airports -> 3x3 blocks, so the row/column and remaining-block phases all run
+        int n = 150;
+        Random random = new Random(7);
+        AdjacencyMatrixGraph matrixGraph = new AdjacencyMatrixGraph(n, true);
+        double[][] expected = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            matrixGraph.addVertex(new Airport(1000 + i));
+            Arrays.fill(expected[i], Double.POSITIVE_INFINITY);
+            expected[i][i] = 0;
+        }
+        for (int edge = 0; edge < 900; edge++) {
+            int a = random.nextInt(n), b = random.nextInt(n);
+            if (a == b) continue;
+            int weight = 1 + random.nextInt(50);
+            matrixGraph.addEdgeWeight(new Airport(1000 + a), new Airport(1000 + b), weight);
+            expected[a][b] = weight;
+        }
+        assertFalse(matrixGraph.containsEdge(new Airport(1000), new Airport(1000)));
+
+        // Floyd–Warshall clásico como referencia
+        for (int k = 0; k < n; k++)
+            for (int i = 0; i < n; i++)
+                for (int j = 0; j < n; j++)
+                    expected[i][j] = Math.min(expected[i][j], expected[i][k] + expected[k][j]);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            AllPairsShortestPaths tables = AllPairsShortestPaths.compute(matrixGraph, pool);
+            Object[][] matrix = matrixGraph.getAdjacencyMatrix();
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    assertEquals(expected[i][j], tables.cost(1000 + i, 1000 + j, RoutingGraph.PRICE), 1e-9);
+                    List<Integer> path = tables.path(1000 + i, 1000 + j, RoutingGraph.PRICE);
+                    if (expected[i][j] == Double.POSITIVE_INFINITY) {
+                        assertNull(path);
+                        continue;
+                    }
+                    // La ruta reconstruida con los "siguientes saltos" suma exactamente el costo mínimo
+                    double sum = 0;
+                    for (int h = 1; h < path.size(); h++) {
+                        sum += (Integer) matrix[path.get(h - 1) - 1000][path.get(h) - 1000];
+                    }
+                    assertEquals(expected[i][j], sum, 1e-9);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testAStarHeuristicsMatchDijkstra() throws GraphException, ListException {
+        sjo.setCoordinates(9.9939, -84.2088);
+        pty.setCoordinates(9.0714, -79.3835);
+        lax.setCoordinates(33.9416, -118.4085);
+        mia.setCoordinates(25.7959, -80.2870);
+        bog.setCoordinates(4.7016, -74.1469);
+        mad.setCoordinates(40.4983, -3.5676);
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        assertTrue(snapshot.getGreatCircleScale() > 0 && snapshot.getGreatCircleScale() <= 1.0);
+
+        ShortestPathSearch dijkstra = new ShortestPathSearch(snapshot.vertexCount());
+        ShortestPathSearch aStar = new ShortestPathSearch(snapshot.vertexCount());
+        for (int costIndex = 0; costIndex < RoutingGraph.COST_TYPES; costIndex++) {
+            LandmarkIndex landmarks = LandmarkIndex.build(snapshot, costIndex, 2);
+            int dijkstraSettled = 0, altSettled = 0;
+            for (int s = 0; s < snapshot.vertexCount(); s++) {
+                for (int t = 0; t < snapshot.vertexCount(); t++) {
+                    boolean found = dijkstra.run(snapshot, s, t, costIndex);
+                    dijkstraSettled += dijkstra.getSettledCount();
+
+                    assertEquals(found, aStar.runAStar(snapshot, s, t, costIndex, landmarks.heuristicTo(t)));
+                    assertEquals(dijkstra.cost(t), aStar.cost(t), 1e-9);
+                    altSettled += aStar.getSettledCount();
+
+                    if (costIndex == RoutingGraph.DISTANCE) {
+                        assertEquals(found, aStar.runAStar(snapshot, s, t, costIndex, new GreatCircleHeuristic(snapshot, t)));
+                        assertEquals(dijkstra.cost(t), aStar.cost(t), 1e-9);
+                    }
+                }
+            }
+            assertTrue(altSettled <= dijkstraSettled, "Landmarks should not settle more airports than Dijkstra");
+        }
+
+        // MAD has no outgoing routes: the landmark bound proves it without settling anything else
+        assertFalse(aStar.runAStar(snapshot, snapshot.idOf(606), snapshot.idOf(101), RoutingGraph.PRICE,
+                LandmarkIndex.build(snapshot, RoutingGraph.PRICE, 2).heuristicTo(snapshot.idOf(101))));
+        assertEquals(1, aStar.getSettledCount());
+
+        // Mixed coordinates: s(no coords) -> v(0,0) -> x(no coords) -> t(0,10) costs 3, the direct s -> t costs 10
+        Airport s = new Airport(11, "S", "Costa Rica", "Active");
+        Airport v = new Airport(12, "V", "Costa Rica", "Active", 0, 0);
+        Airport x = new Airport(13, "X", "Costa Rica", "Active");
+        Airport t = new Airport(14, "T", "Costa Rica", "Active", 0, 10);
+        DirectedSinglyLinkedListGraph mixed = new DirectedSinglyLinkedListGraph();
+        for (Airport airport : List.of(s, v, x, t)) mixed.addVertex(airport);
+        Airport[][] legs = {{s, v}, {v, x}, {x, t}, {s, t}};
+        for (Airport[] leg : legs) {
+            double distance = leg[0] == s && leg[1] == t ? 10 : 1;
+            mixed.addEdgeWeight(leg[0], leg[1], new Route("M" + leg[0].getCode() + leg[1].getCode(), leg[0].getCode(),
+                    leg[1].getCode(), "Test Airline", distance, distance, distance, LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        }
+        RoutingGraph mixedSnapshot = RoutingGraph.build(mixed);
+        assertEquals(0.0, mixedSnapshot.getGreatCircleScale(), "Active airports without coordinates disable the great-circle bound");
+        ShortestPathSearch mixedSearch = new ShortestPathSearch(mixedSnapshot.vertexCount());
+        int sId = mixedSnapshot.idOf(11), tId = mixedSnapshot.idOf(14);
+        assertTrue(mixedSearch.run(mixedSnapshot, sId, tId, RoutingGraph.DISTANCE));
+        assertEquals(3.0, mixedSearch.cost(tId), 1e-9);
+        assertTrue(mixedSearch.runAStar(mixedSnapshot, sId, tId, RoutingGraph.DISTANCE, new GreatCircleHeuristic(mixedSnapshot, tId)));
+        assertEquals(3.0, mixedSearch.cost(tId), 1e-9);
+        assertTrue(mixedSearch.runAStar(mixedSnapshot, sId, tId, RoutingGraph.DISTANCE,
+                LandmarkIndex.build(mixedSnapshot, RoutingGraph.DISTANCE, 2).heuristicTo(tId)));
+        assertEquals(3.0, mixedSearch.cost(tId), 1e-9);
+        assertEquals(List.of(11, 12, 13, 14), mixedSearch.pathCodes(tId));
+
+        // Inactive airports without coordinates are never crossed, so they keep the bound
+        s.setStatus("Inactive");
+        x.setStatus("Inactive");
+        assertTrue(RoutingGraph.build(mixed).getGreatCircleScale() > 0);
+    }
+
+    @Test
+    void testBidirectionalSearchMatchesDijkstra() throws ListException {
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        assertEquals(snapshot.edgeCount(), snapshot.transpose().edgeCount());
+        assertSame(snapshot, snapshot.transpose().transpose());
+
+        ShortestPathSearch dijkstra = new ShortestPathSearch(snapshot.vertexCount());
+        BidirectionalSearch bidirectional = new BidirectionalSearch(snapshot.vertexCount());
+        for (int costIndex = 0; costIndex < RoutingGraph.COST_TYPES; costIndex++) {
+            for (int s = 0; s < snapshot.vertexCount(); s++) {
+                for (int t = 0; t < snapshot.vertexCount(); t++) {
+                    boolean found = dijkstra.run(snapshot, s, t, costIndex);
+                    assertEquals(found, bidirectional.run(snapshot, s, t, costIndex));
+                    assertEquals(dijkstra.cost(t), bidirectional.getCost(), 1e-9);
+                    if (found) {
+                        List<Integer> path = bidirectional.pathCodes();
+                        assertEquals(snapshot.code(s), path.get(0));
+                        assertEquals(snapshot.code(t), path.get(path.size() - 1));
+                    }
+                }
+            }
+        }
+        assertTrue(bidirectional.run(snapshot, snapshot.idOf(202), snapshot.idOf(404), RoutingGraph.DISTANCE));
+        assertEquals(List.of(202, 303, 101, 404), bidirectional.pathCodes());
+        assertFalse(bidirectional.run(snapshot, snapshot.idOf(606), snapshot.idOf(101), RoutingGraph.DURATION));
+        assertNull(bidirectional.pathCodes());
+    }
+
+    @Test
+    void testContractionHierarchyMatchesDijkstra() throws GraphException, ListException {
+        // Random network (plus the fixture airports) so that contraction needs shortcuts
+        Random random = new Random(11);
+        Airport[] extra = new Airport[200];
+        for (int i = 0; i < extra.length; i++) {
+            extra[i] = new Airport(1000 + i);
+            graph.addVertex(extra[i]);
+        }
+        for (int i = 0; i < 900; i++) {
+            Airport a = extra[random.nextInt(extra.length)], b = extra[random.nextInt(extra.length)];
+            if (a.equals(b)) continue;
+            addRoute("R" + i, a, b, 1 + random.nextInt(10), 100 + random.nextInt(900), 50 + random.nextInt(400));
+        }
+        addRoute("LINK1", mad, extra[0], 2.0, 1000, 120.0);
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+
+        ShortestPathSearch dijkstra = new ShortestPathSearch(snapshot.vertexCount());
+        for (int costIndex = 0; costIndex < RoutingGraph.COST_TYPES; costIndex++) {
+            ContractionHierarchy hierarchy = ContractionHierarchy.build(snapshot, costIndex);
+            ContractionHierarchy rebuilt = ContractionHierarchy.rebuild(snapshot, hierarchy);
+            assertTrue(rebuilt.isReusedOrder());
+            for (int s = 0; s < snapshot.vertexCount(); s += 7) {
+                dijkstra.run(snapshot, s, -1, costIndex);
+                for (int t = 0; t < snapshot.vertexCount(); t++) {
+                    for (ContractionHierarchy ch : List.of(hierarchy, rebuilt)) {
+                        RouteSearchResult result = ch.route(s, t);
+                        assertEquals(dijkstra.cost(t), result.getCost(), 1e-9);
+                        if (result.isFound()) {
+                            // the unpacked path uses real routes and adds up to the reported cost
+                            double sum = 0;
+                            List<Integer> path = result.getPath();
+                            assertEquals(snapshot.code(s), path.get(0));
+                            assertEquals(snapshot.code(t), path.get(path.size() - 1));
+                            for (int h = 1; h < path.size(); h++) {
+                                sum += edgeCost(snapshot, path.get(h - 1), path.get(h), costIndex);
+                            }
+                            assertEquals(result.getCost(), sum, 1e-9);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testParetoFront() throws GraphException, ListException {
+        // Direct SJO -> LAX: faster and shorter but more expensive than going through MIA
+        addRoute("XX800", sjo, lax, 5.0, 4400, 900.0);
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        ParetoRouteSearch search = new ParetoRouteSearch();
+
+        List<ParetoRoute> front = search.run(snapshot, snapshot.idOf(101), snapshot.idOf(303));
+        // SJO-PTY-LAX (8.5 h, 5600 km, $750) is dominated by SJO-MIA-LAX (8.5 h, 5400 km, $750)
+        assertEquals(2, front.size());
+        assertEquals(List.of(101, 404, 303), front.get(0).getPath());
+        assertEquals(750.0, front.get(0).getPrice(), 1e-9);
+        assertEquals(5400.0, front.get(0).getDistanceKm(), 1e-9);
+        assertEquals(List.of(101, 303), front.get(1).getPath());
+        assertEquals(5.0, front.get(1).getDurationHours(), 1e-9);
+        assertEquals(0, front.get(1).getStops());
+        assertFalse(search.isTruncated());
+
+        assertTrue(search.run(snapshot, snapshot.idOf(606), snapshot.idOf(101)).isEmpty(), "MAD has no outgoing routes");
+
+        // With one label per airport the front is cut and the search reports it
+        ParetoRouteSearch bounded = new ParetoRouteSearch(1);
+        assertEquals(1, bounded.run(snapshot, snapshot.idOf(101), snapshot.idOf(303)).size());
+        assertTrue(bounded.isTruncated());
+    }
+
+    @Test
+    void testParetoFrontContainsSingleCriterionOptima() throws GraphException, ListException {
+        Random random = new Random(5);
+        Airport[] extra = new Airport[60];
+        for (int i = 0; i < extra.length; i++) {
+            extra[i] = new Airport(2000 + i);
+            graph.addVertex(extra[i]);
+        }
+        for (int i = 0; i < 300; i++) {
+            Airport a = extra[random.nextInt(extra.length)], b = extra[random.nextInt(extra.length)];
+            if (a.equals(b)) continue;
+            addRoute("P" + i, a, b, 1 + random.nextInt(10), 100 + random.nextInt(900), 50 + random.nextInt(400));
+        }
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        ParetoRouteSearch search = new ParetoRouteSearch(256);
+        ShortestPathSearch dijkstra = new ShortestPathSearch(snapshot.vertexCount());
+
+        int source = snapshot.idOf(2000);
+        for (int t = 0; t < snapshot.vertexCount(); t++) {
+            List<ParetoRoute> front = search.run(snapshot, source, t);
+            assertFalse(search.isTruncated());
+            // the optimum of each criterion is on the front
+            double[][] frontCosts = new double[front.size()][];
+            for (int i = 0; i < front.size(); i++) {
+                ParetoRoute route = front.get(i);
+                frontCosts[i] = new double[]{route.getDurationHours(), route.getDistanceKm(), route.getPrice()};
+            }
+            for (int costIndex = 0; costIndex < RoutingGraph.COST_TYPES; costIndex++) {
+                dijkstra.run(snapshot, source, t, costIndex);
+                final int c = costIndex;
+                double best = Arrays.stream(frontCosts).mapToDouble(costs -> costs[c]).min().orElse(Double.POSITIVE_INFINITY);
+                assertEquals(dijkstra.cost(t), best, 1e-9);
+            }
+            // no route on the front dominates another
+            for (double[] a : frontCosts) {
+                for (double[] b : frontCosts) {
+                    if (a != b) {
+                        assertFalse(a[0] <= b[0] && a[1] <= b[1] && a[2] <= b[2], "Dominated route on the front");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testKShortestPathsMatchEnumeration() throws GraphException, ListException {
+        RoutingGraph fixture = RoutingGraph.build(graph);
+        KShortestPaths yen = new KShortestPaths(0);
+        // PTY -> SJO: only PTY-LAX-SJO exists
+        List<RouteSearchResult> routes = yen.run(fixture, fixture.idOf(202), fixture.idOf(101), RoutingGraph.PRICE, 3);
+        assertEquals(1, routes.size());
+        assertEquals(List.of(202, 303, 101), routes.get(0).getPath());
+        assertEquals(950.0, routes.get(0).getCost(), 1e-9);
+        assertTrue(yen.run(fixture, fixture.idOf(606), fixture.idOf(101), RoutingGraph.PRICE, 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> yen.run(fixture, 0, 1, RoutingGraph.PRICE, 0));
+
+        Random random = new Random(3);
+        Airport[] extra = new Airport[12];
+        for (int i = 0; i < extra.length; i++) {
+            extra[i] = new Airport(3000 + i);
+            graph.addVertex(extra[i]);
+        }
+        for (int i = 0; i < 40; i++) {
+            Airport a = extra[random.nextInt(extra.length)], b = extra[random.nextInt(extra.length)];
+            if (a.equals(b)) continue;
+            addRoute("K" + i, a, b, 1 + random.nextInt(10), 100 + random.nextInt(900), 50 + random.nextInt(400));
+        }
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        int source = snapshot.idOf(3000);
+        for (int t = 0; t < snapshot.vertexCount(); t++) {
+            if (t == source) continue;
+            // all simple paths by DFS, sorted by cost
+            List<Double> all = new ArrayList<>();
+            enumerateSimplePaths(snapshot, source, t, new boolean[snapshot.vertexCount()], 0.0, all);
+            all.sort(Double::compare);
+
+            List<RouteSearchResult> kShortest = yen.run(snapshot, source, t, RoutingGraph.DURATION, 8);
+            assertFalse(yen.isTimedOut());
+            assertEquals(Math.min(8, all.size()), kShortest.size());
+            Set<List<String>> distinct = new HashSet<>(); //las rutas paralelas dan el mismo camino de aeropuertos
+            for (int i = 0; i < kShortest.size(); i++) {
+                RouteSearchResult route = kShortest.get(i);
+                assertEquals(all.get(i), route.getCost(), 1e-9, "Route " + i + " to " + snapshot.code(t));
+                assertEquals(route.getPath().size(), new HashSet<>(route.getPath()).size(), "Route has a cycle");
+                assertEquals(route.getPath().size() - 1, route.getRouteIds().size());
+                assertTrue(distinct.add(route.getRouteIds()), "Duplicated route");
+            }
+        }
+    }
+
+    private static void enumerateSimplePaths(RoutingGraph snapshot, int u, int target, boolean[] onPath,
+                                             double cost, List<Double> costs) {
+        if (u == target) {
+            costs.add(cost);
+            return;
+        }
+        onPath[u] = true;
+        for (int e = snapshot.firstEdge(u); e < snapshot.endEdge(u); e++) {
+            int v = snapshot.target(e);
+            if (!onPath[v]) {
+                enumerateSimplePaths(snapshot, v, target, onPath, cost + snapshot.weight(RoutingGraph.DURATION, e), costs);
+            }
+        }
+        onPath[u] = false;
+    }
+
+    @Test
+    void testReachabilityIndexMatchesSearch() throws GraphException, ListException {
+        RoutingGraph fixture = RoutingGraph.build(graph);
+        ReachabilityIndex fixtureIndex = ReachabilityIndex.build(fixture);
+        // SJO, PTY, LAX and MIA form one component; BOG and MAD are components of their own
+        assertEquals(3, fixtureIndex.getComponentCount());
+        assertEquals(4, fixtureIndex.getLargestComponentSize());
+        assertFalse(fixtureIndex.canReach(fixture.idOf(606), fixture.idOf(101)), "MAD has no outgoing routes");
+        assertTrue(fixtureIndex.canReach(fixture.idOf(404), fixture.idOf(606)));
+        assertEquals(6, fixtureIndex.reachableFrom(fixture.idOf(303)).length);
+
+        Random random = new Random(23);
+        Airport[] extra = new Airport[150];
+        for (int i = 0; i < extra.length; i++) {
+            extra[i] = new Airport(4000 + i);
+            graph.addVertex(extra[i]);
+        }
+        for (int i = 0; i < 180; i++) {
+            Airport a = extra[random.nextInt(extra.length)], b = extra[random.nextInt(extra.length)];
+            if (a.equals(b)) continue;
+            addRoute("S" + i, a, b, 1, 100, 50);
+        }
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+        // with the full closure and with the pruned DAG search
+        for (ReachabilityIndex index : List.of(ReachabilityIndex.build(snapshot), ReachabilityIndex.build(snapshot, 0))) {
+            for (int s = 0; s < snapshot.vertexCount(); s++) {
+                search.run(snapshot, s, -1, RoutingGraph.DURATION);
+                List<Integer> expected = new ArrayList<>();
+                for (int t = 0; t < snapshot.vertexCount(); t++) {
+                    assertEquals(search.isReached(t), index.canReach(s, t), "Reachability " + s + " -> " + t);
+                    if (search.isReached(t)) expected.add(t);
+                }
+                assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), index.reachableFrom(s));
+            }
+        }
+    }
+
+    @Test
+    void testDynamicShortestPathTreeRepairMatchesDijkstra() throws GraphException, ListException {
+        Random random = new Random(29);
+        Airport[] airports = new Airport[80];
+        for (int i = 0; i < airports.length; i++) {
+            airports[i] = new Airport(5000 + i);
+            graph.addVertex(airports[i]);
+        }
+        List<Airport[]> pairs = new ArrayList<>();
+        for (int i = 0; i < 320; i++) {
+            Airport a = airports[random.nextInt(airports.length)], b = airports[random.nextInt(airports.length)];
+            if (a.equals(b) || graph.containsEdge(a, b)) continue;
+            addRoute("D" + i, a, b, 1 + random.nextInt(10), 100 + random.nextInt(900), 50 + random.nextInt(400));
+            pairs.add(new Airport[]{a, b});
+        }
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        int source = snapshot.idOf(5000);
+        DynamicShortestPathTree tree = DynamicShortestPathTree.compute(snapshot, source, RoutingGraph.PRICE);
+        ShortestPathSearch dijkstra = new ShortestPathSearch(snapshot.vertexCount());
+
+        // Burst of fare updates, deletions and new routes, each one repaired instead of recomputed
+        for (int step = 0; step < 200; step++) {
+            Airport[] pair = pairs.get(random.nextInt(pairs.size()));
+            int action = random.nextInt(4);
+            if (graph.containsEdge(pair[0], pair[1])) {
+                graph.removeEdge(pair[0], pair[1]);
+            }
+            if (action != 0) { // action 0 leaves the route deleted
+                addRoute("U" + step, pair[0], pair[1], 1 + random.nextInt(10), 100 + random.nextInt(900),
+                        action == 1 ? 1 + random.nextInt(50) : 50 + random.nextInt(800));
+            }
+            snapshot = RoutingGraph.build(graph);
+            assertTrue(tree.applyEdgeChange(snapshot, snapshot.idOf(pair[0].getCode()), snapshot.idOf(pair[1].getCode())));
+
+            dijkstra.run(snapshot, source, -1, RoutingGraph.PRICE);
+            for (int t = 0; t < snapshot.vertexCount(); t++) {
+                assertEquals(dijkstra.cost(t), tree.cost(t), 1e-9, "Step " + step + ", airport " + snapshot.code(t));
+                List<Integer> path = tree.pathCodes(t);
+                if (path != null) {
+                    double sum = 0;
+                    for (int h = 1; h < path.size(); h++) {
+                        sum += edgeCost(snapshot, path.get(h - 1), path.get(h), RoutingGraph.PRICE);
+                    }
+                    assertEquals(tree.cost(t), sum, 1e-9);
+                }
+            }
+        }
+
+        // A new airport changes the ids: the tree cannot be repaired
+        graph.addVertex(new Airport(9999));
+        assertFalse(tree.applyEdgeChange(RoutingGraph.build(graph), 0, 1));
+    }
+
+    @Test
+    void testHubCentralityMatchesBruteForce() throws GraphException, ListException {
+        Random random = new Random(31);
+        Airport[] airports = new Airport[60];
+        for (int i = 0; i < airports.length; i++) {
+            airports[i] = new Airport(6000 + i);
+            graph.addVertex(airports[i]);
+        }
+        for (int i = 0; i < 200; i++) {
+            Airport a = airports[random.nextInt(airports.length)], b = airports[random.nextInt(airports.length)];
+            if (a.equals(b) || graph.containsEdge(a, b)) continue;
+            addRoute("H" + i, a, b, 1 + random.nextInt(3), 100, 50); // small integer durations: many ties
+        }
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        int n = snapshot.vertexCount();
+
+        // Brute force: all distances, then path counts in increasing distance order
+        double[][] dist = new double[n][];
+        double[][] sigma = new double[n][n];
+        ShortestPathSearch search = new ShortestPathSearch(n);
+        for (int s = 0; s < n; s++) {
+            search.run(snapshot, s, -1, RoutingGraph.DURATION);
+            dist[s] = new double[n];
+            for (int t = 0; t < n; t++) dist[s][t] = search.cost(t);
+            final double[] d = dist[s];
+            Integer[] order = new Integer[n];
+            for (int t = 0; t < n; t++) order[t] = t;
+            Arrays.sort(order, (a, b) -> Double.compare(d[a], d[b]));
+            sigma[s][s] = 1;
+            for (int u : order) {
+                if (d[u] == Double.POSITIVE_INFINITY) break;
+                for (int e = snapshot.firstEdge(u); e < snapshot.endEdge(u); e++) {
+                    int v = snapshot.target(e);
+                    if (d[u] + snapshot.weight(RoutingGraph.DURATION, e) == d[v]) sigma[s][v] += sigma[s][u];
+                }
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            HubCentrality centrality = HubCentrality.compute(snapshot, RoutingGraph.DURATION, pool);
+            assertFalse(centrality.isApproximate());
+            Integer[] ranking = new Integer[n];
+            for (int v = 0; v < n; v++) {
+                double expected = 0;
+                for (int s = 0; s < n; s++) {
+                    for (int t = 0; t < n; t++) {
+                        if (s == v || t == v || s == t || dist[s][t] == Double.POSITIVE_INFINITY) continue;
+                        if (dist[s][v] + dist[v][t] == dist[s][t]) expected += sigma[s][v] * sigma[v][t] / sigma[s][t];
+                    }
+                }
+                assertEquals(expected, centrality.betweenness(v), 1e-6, "Betweenness of " + snapshot.code(v));
+
+                int reached = 0;
+                double sum = 0;
+                for (int t = 0; t < n; t++) {
+                    if (t != v && dist[v][t] != Double.POSITIVE_INFINITY) {
+                        reached++;
+                        sum += dist[v][t];
+                    }
+                }
+                double closeness = reached == 0 ? 0 : ((double) reached / (n - 1)) * (reached / sum);
+                assertEquals(closeness, centrality.closeness(v), 1e-9, "Closeness of " + snapshot.code(v));
+                ranking[v] = v;
+            }
+
+            // Bounded-heap top-k agrees with a full sort
+            Arrays.sort(ranking, (a, b) -> {
+                int cmp = Double.compare(centrality.betweenness(b), centrality.betweenness(a));
+                if (cmp != 0) return cmp;
+                cmp = Integer.compare(centrality.degree(b), centrality.degree(a));
+                return cmp != 0 ? cmp : Integer.compare(a, b);
+            });
+            int[] top = centrality.topByBetweenness(5);
+            assertEquals(5, top.length);
+            for (int i = 0; i < top.length; i++) assertEquals(ranking[i].intValue(), top[i]);
+            assertEquals(n, centrality.topByBetweenness(n + 10).length);
+
+            // Sampling: only the sampled sources get a closeness value, betweenness is scaled by n/k
+            HubCentrality sampled = HubCentrality.compute(snapshot, RoutingGraph.DURATION, 20, 7L, pool);
+            assertTrue(sampled.isApproximate());
+            assertEquals(20, sampled.getSampleSize());
+            int withCloseness = 0;
+            for (int v = 0; v < n; v++) {
+                if (!Double.isNaN(sampled.closeness(v))) {
+                    withCloseness++;
+                    assertEquals(centrality.closeness(v), sampled.closeness(v), 1e-9);
+                }
+            }
+            assertEquals(20, withCloseness);
+            assertEquals(20, sampled.topByCloseness(25).length);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testHubCentralitySkipsInactiveAirports() throws GraphException, ListException {
+        // SJO -> LAX by distance goes through MIA while it is open
+        mia.setStatus("Inactive");
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        int miaId = snapshot.idOf(404);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertTrue(HubCentrality.compute(snapshot, RoutingGraph.DISTANCE, pool).betweenness(miaId) > 0);
+            HubCentrality filtered = HubCentrality.compute(snapshot, RoutingGraph.DISTANCE, 0, 0L, pool,
+                    RouteFilter.activeOnly(snapshot));
+            assertFalse(filtered.isApproximate());
+            assertTrue(Double.isNaN(filtered.betweenness(miaId)));
+            assertTrue(Double.isNaN(filtered.closeness(miaId)));
+            int[] top = filtered.topByBetweenness(10);
+            assertEquals(5, top.length, "Only active airports are ranked");
+            for (int id : top) assertNotEquals(miaId, id);
+
+            // Same values as on the network without MIA
+            graph.removeVertex(mia);
+            RoutingGraph withoutMia = RoutingGraph.build(graph);
+            HubCentrality expected = HubCentrality.compute(withoutMia, RoutingGraph.DISTANCE, pool);
+            for (int v = 0; v < withoutMia.vertexCount(); v++) {
+                int id = snapshot.idOf(withoutMia.code(v));
+                assertEquals(expected.betweenness(v), filtered.betweenness(id), 1e-9);
+                assertEquals(expected.closeness(v), filtered.closeness(id), 1e-9);
+                assertEquals(expected.degree(v), filtered.degree(id));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testNetworkResilienceMatchesRemoval() throws GraphException, ListException {
+        RoutingGraph fixture = RoutingGraph.build(graph);
+        NetworkResilience fixtureResilience = NetworkResilience.analyze(fixture);
+        // PTY is the only way to BOG and MAD; BOG is the only way to MAD
+        assertEquals(2, fixtureResilience.airportsCutOffByClosure(fixture.idOf(202)));
+        assertEquals(1, fixtureResilience.airportsCutOffByClosure(fixture.idOf(505)));
+        assertFalse(fixtureResilience.isArticulationPoint(fixture.idOf(101)), "SJO is on a cycle");
+        assertEquals(2, fixtureResilience.articulationPoints().length);
+        assertEquals(2, fixtureResilience.bridges().length);
+        for (int e : fixtureResilience.bridges()) {
+            assertTrue(Set.of("AV500", "IB600").contains(fixture.route(e).getRouteId()));
+        }
+
+        Random random = new Random(37);
+        Airport[] extra = new Airport[70];
+        for (int i = 0; i < extra.length; i++) {
+            extra[i] = new Airport(7000 + i);
+            graph.addVertex(extra[i]);
+        }
+        for (int i = 0; i < 85; i++) { // sparse: many articulation points, bridges and components
+            Airport a = extra[random.nextInt(extra.length)], b = extra[random.nextInt(extra.length)];
+            if (a.equals(b)) continue;
+            addRoute("B" + i, a, b, 1, 100, 50);
+        }
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        NetworkResilience resilience = NetworkResilience.analyze(snapshot);
+        int n = snapshot.vertexCount();
+        for (int v = 0; v < n; v++) {
+            assertEquals(cutOffByRemoval(snapshot, v, -1), resilience.airportsCutOffByClosure(v), "Closing " + snapshot.code(v));
+        }
+        for (int e = 0; e < snapshot.edgeCount(); e++) {
+            assertEquals(cutOffByRemoval(snapshot, -1, e), resilience.airportsCutOffByCancellation(e), "Cancelling edge " + e);
+        }
+    }
+
+    // Airports separated from the largest remaining piece of the affected component, by flood fill
+    private static int cutOffByRemoval(RoutingGraph snapshot, int removedVertex, int removedEdge) {
+        int anchor = removedVertex;
+        for (int u = 0; u < snapshot.vertexCount() && anchor == -1; u++) {
+            if (removedEdge >= snapshot.firstEdge(u) && removedEdge < snapshot.endEdge(u)) anchor = u;
+        }
+        int[] before = components(adjacencyWithout(snapshot, -1, -1), -1);
+        int[] after = components(adjacencyWithout(snapshot, removedVertex, removedEdge), removedVertex);
+        int[] pieceSize = new int[snapshot.vertexCount()];
+        int total = 0;
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            if (v == removedVertex || before[v] != before[anchor]) continue;
+            pieceSize[after[v]]++;
+            total++;
+        }
+        return total - Arrays.stream(pieceSize).max().orElse(0);
+    }
+
+    private static List<List<Integer>> adjacencyWithout(RoutingGraph snapshot, int removedVertex, int removedEdge) {
+        List<List<Integer>> adjacency = new ArrayList<>();
+        for (int v = 0; v < snapshot.vertexCount(); v++) adjacency.add(new ArrayList<>());
+        for (int u = 0; u < snapshot.vertexCount(); u++) {
+            for (int e = snapshot.firstEdge(u); e < snapshot.endEdge(u); e++) {
+                int v = snapshot.target(e);
+                if (e == removedEdge || u == removedVertex || v == removedVertex) continue;
+                adjacency.get(u).add(v);
+                adjacency.get(v).add(u);
+            }
+        }
+        return adjacency;
+    }
+
+    private static int[] components(List<List<Integer>> adjacency, int skipped) {
+        int[] component = new int[adjacency.size()];
+        Arrays.fill(component, -1);
+        int count = 0;
+        for (int s = 0; s < component.length; s++) {
+            if (component[s] != -1 || s == skipped) continue;
+            List<Integer> pending = new ArrayList<>(List.of(s));
+            component[s] = count;
+            while (!pending.isEmpty()) {
+                int u = pending.remove(pending.size() - 1);
+                for (int v : adjacency.get(u)) {
+                    if (component[v] == -1) {
+                        component[v] = count;
+                        pending.add(v);
+                    }
+                }
+            }
+            count++;
+        }
+        return component;
+    }
+
+    @Test
+    void testRouteFilterViews() throws GraphException, ListException {
+        mia.setStatus("Inactive");
+        Route copa = new Route("CM900", 101, 303, "Copa Airlines", 6.0, 6000, 900.0, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        graph.addEdgeWeight(sjo, lax, copa);
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        int sjoId = snapshot.idOf(101), laxId = snapshot.idOf(303), miaId = snapshot.idOf(404), madId = snapshot.idOf(606);
+        assertEquals(1, snapshot.inactiveCount());
+        assertTrue(snapshot.isInactive(miaId));
+        ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+
+        // Without a filter the route goes through the inactive MIA
+        search.run(snapshot, sjoId, laxId, RoutingGraph.DISTANCE);
+        assertEquals(List.of(101, 404, 303), search.pathCodes(laxId));
+        RouteFilter activeOnly = RouteFilter.activeOnly(snapshot);
+        assertTrue(search.run(snapshot, sjoId, laxId, RoutingGraph.DISTANCE, activeOnly));
+        assertEquals(List.of(101, 202, 303), search.pathCodes(laxId));
+        assertFalse(search.run(snapshot, sjoId, miaId, RoutingGraph.DISTANCE, activeOnly), "Inactive destination");
+        assertFalse(search.run(snapshot, miaId, laxId, RoutingGraph.DISTANCE, activeOnly), "Inactive origin");
+
+        // Avoiding Panama leaves only the direct Copa flight to LAX and no way to MAD
+        RouteFilter noPanama = new RouteFilter(snapshot, true, null, List.of(" panama"));
+        assertTrue(search.run(snapshot, sjoId, laxId, RoutingGraph.DISTANCE, noPanama));
+        assertEquals(List.of(101, 303), search.pathCodes(laxId));
+        assertFalse(search.run(snapshot, sjoId, madId, RoutingGraph.DISTANCE, noPanama));
+
+        // Airline restriction, also with A*
+        RouteFilter copaOnly = new RouteFilter(snapshot, false, List.of("COPA AIRLINES"), null);
+        assertTrue(search.runAStar(snapshot, sjoId, laxId, RoutingGraph.PRICE, v -> 0.0, copaOnly));
+        assertEquals(List.of(101, 303), search.pathCodes(laxId));
+        assertFalse(search.run(snapshot, sjoId, madId, RoutingGraph.PRICE, copaOnly));
+        assertFalse(search.run(snapshot, sjoId, laxId, RoutingGraph.PRICE,
+                new RouteFilter(snapshot, false, List.of("Unknown Air"), null)), "Unknown airlines allow nothing");
+
+        RoutingGraph other = RoutingGraph.build(graph);
+        assertThrows(IllegalArgumentException.class, () -> search.run(other, sjoId, laxId, RoutingGraph.PRICE, activeOnly));
+    }
+
+    @Test
+    void testParallelRoutesBetweenTheSamePair() throws GraphException, ListException {
+        // Dos aerolíneas vuelan SJO -> PTY: cada ruta es su propia arista
+        Route copa = new Route("CM900", 101, 202, "Copa Airlines", 1.5, 800, 900.0, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        Route avianca = new Route("AV901", 101, 202, "Avianca", 1.5, 800, 100.0, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        graph.addEdgeWeight(sjo, pty, copa);
+        graph.addEdgeWeight(sjo, pty, avianca);
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        int sjoId = snapshot.idOf(101), ptyId = snapshot.idOf(202);
+        assertEquals(9, snapshot.edgeCount());
+        assertEquals(3, graph.inDegree(pty));
+
+        ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+        assertTrue(search.run(snapshot, sjoId, ptyId, RoutingGraph.PRICE));
+        assertEquals(100.0, search.cost(ptyId), 1e-9);
+        assertTrue(search.run(snapshot, sjoId, ptyId, RoutingGraph.PRICE,
+                new RouteFilter(snapshot, false, List.of("Avianca"), null)));
+        assertEquals(100.0, search.cost(ptyId), 1e-9);
+        List<RouteSearchResult> alternatives = new KShortestPaths(0).run(snapshot, sjoId, ptyId, RoutingGraph.PRICE, 5);
+        assertEquals(3, alternatives.size());
+        assertEquals(List.of("AV901"), alternatives.get(0).getRouteIds());
+        assertEquals(List.of(101, 202), alternatives.get(2).getPath());
+        assertEquals(List.of("CM900"), alternatives.get(2).getRouteIds());
+
+        // Quitar una ruta deja las demás del mismo par
+        graph.removeEdgeWeight(sjo, pty, avianca);
+        snapshot = RoutingGraph.build(graph);
+        assertEquals(8, snapshot.edgeCount());
+        search.run(snapshot, snapshot.idOf(101), snapshot.idOf(202), RoutingGraph.PRICE);
+        assertEquals(250.0, search.cost(snapshot.idOf(202)), 1e-9);
+        assertFalse(search.run(snapshot, snapshot.idOf(101), snapshot.idOf(202), RoutingGraph.PRICE,
+                new RouteFilter(snapshot, false, List.of("Avianca"), null)));
+        assertTrue(graph.containsEdge(sjo, pty));
+    }
+
+    @Test
+    void testInactiveHubAvoidedByEverySearch() throws GraphException, ListException {
+        // Hub cerrado con la conexión más barata SJO -> LAX en todos los criterios
+        Airport hub = new Airport(707, "Closed Hub", "Costa Rica", "Inactive");
+        graph.addVertex(hub);
+        addRoute("HB100", sjo, hub, 1.0, 100, 10.0);
+        addRoute("HB200", hub, lax, 1.0, 100, 10.0);
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        int sjoId = snapshot.idOf(101), laxId = snapshot.idOf(303), hubId = snapshot.idOf(707);
+        RouteFilter activeOnly = RouteFilter.activeOnly(snapshot);
+
+        BidirectionalSearch bidirectional = new BidirectionalSearch(snapshot.vertexCount());
+        assertTrue(bidirectional.run(snapshot, sjoId, laxId, RoutingGraph.DISTANCE));
+        assertEquals(List.of(101, 707, 303), bidirectional.pathCodes());
+        assertTrue(bidirectional.run(snapshot, sjoId, laxId, RoutingGraph.DISTANCE, activeOnly));
+        assertEquals(List.of(101, 404, 303), bidirectional.pathCodes());
+        assertEquals(1500 + 3900, bidirectional.getCost(), 1e-9);
+        assertFalse(bidirectional.run(snapshot, hubId, laxId, RoutingGraph.DISTANCE, activeOnly), "Inactive origin");
+        assertFalse(bidirectional.run(snapshot, sjoId, hubId, RoutingGraph.DISTANCE, activeOnly), "Inactive destination");
+
+        KShortestPaths yen = new KShortestPaths(0);
+        assertEquals(3, yen.run(snapshot, sjoId, laxId, RoutingGraph.PRICE, 5).size());
+        List<RouteSearchResult> routes = yen.run(snapshot, sjoId, laxId, RoutingGraph.PRICE, 5, activeOnly);
+        assertEquals(2, routes.size());
+        for (RouteSearchResult route : routes) assertFalse(route.getPath().contains(707));
+
+        ParetoRouteSearch pareto = new ParetoRouteSearch();
+        assertEquals(List.of(101, 707, 303), pareto.run(snapshot, sjoId, laxId).get(0).getPath());
+        List<ParetoRoute> front = pareto.run(snapshot, sjoId, laxId, activeOnly);
+        assertEquals(1, front.size());
+        assertEquals(List.of(101, 404, 303), front.get(0).getPath());
+        assertTrue(pareto.run(snapshot, hubId, laxId, activeOnly).isEmpty());
+
+        int[] ids = {sjoId, laxId, hubId};
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(200, RouteCostMatrix.compute(snapshot, ids, RoutingGraph.DISTANCE, pool).cost(101, 303), 1e-9);
+            RouteCostMatrix matrix = RouteCostMatrix.compute(snapshot, ids, RoutingGraph.DISTANCE, pool, activeOnly);
+            assertEquals(1500 + 3900, matrix.cost(101, 303), 1e-9);
+            assertEquals(Double.POSITIVE_INFINITY, matrix.cost(101, 707));
+            assertEquals(Double.POSITIVE_INFINITY, matrix.cost(707, 303));
+        } finally {
+            pool.shutdown();
+        }
+
+        // Árbol completo desde un origen, como el que usa findShortestRoutesFrom
+        ShortestPathSearch search = new ShortestPathSearch(snapshot.vertexCount());
+        search.run(snapshot, sjoId, -1, RoutingGraph.DISTANCE, activeOnly);
+        ShortestPathTree tree = search.toTree(RoutingGraph.DISTANCE);
+        assertFalse(tree.isReachable(707));
+        assertEquals(List.of(101, 404, 303), tree.path(303));
+    }
+
+    @Test
+    void testRouteFilterMatchesFilteredCopy() throws GraphException, ListException {
+        Random random = new Random(41);
+        String[] countries = {"Costa Rica", "Panama", "USA", "Spain", "Chile"};
+        String[] airlines = {"Avianca", "Copa", "Iberia", "LATAM"};
+        Airport[] airports = new Airport[90];
+        for (int i = 0; i < airports.length; i++) {
+            airports[i] = new Airport(8000 + i, "A" + i, countries[random.nextInt(countries.length)],
+                    random.nextInt(6) == 0 ? "Inactive" : "Active");
+            graph.addVertex(airports[i]);
+        }
+        for (int i = 0; i < 500; i++) {
+            Airport a = airports[random.nextInt(airports.length)], b = airports[random.nextInt(airports.length)];
+            if (a.equals(b)) continue;
+            graph.addEdgeWeight(a, b, new Route("F" + i, a.getCode(), b.getCode(), airlines[random.nextInt(airlines.length)],
+                    1 + random.nextInt(10), 100, 50, LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        }
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        List<String> allowedAirlines = List.of("Copa", "LATAM", "Iberia");
+        RouteFilter filter = new RouteFilter(snapshot, true, allowedAirlines, List.of("Chile"));
+
+        // Brute force: copy only the allowed airports and routes into a new graph
+        DirectedSinglyLinkedListGraph copy = new DirectedSinglyLinkedListGraph();
+        for (int v = 0; v < snapshot.vertexCount(); v++) {
+            if (filter.allowsAirport(v)) copy.addVertex(snapshot.airport(v));
+        }
+        for (int u = 0; u < snapshot.vertexCount(); u++) {
+            if (!filter.allowsAirport(u)) continue;
+            for (int e = snapshot.firstEdge(u); e < snapshot.endEdge(u); e++) {
+                Route route = snapshot.route(e);
+                if (allowedAirlines.contains(route.getAirline()) && filter.allowsAirport(snapshot.target(e))) {
+                    assertTrue(filter.allowsEdge(e));
+                    copy.addEdgeWeight(snapshot.airport(u), snapshot.airport(snapshot.target(e)), route);
+                } else {
+                    assertFalse(filter.allowsEdge(e));
+                }
+            }
+        }
+        RoutingGraph filtered = RoutingGraph.build(copy);
+        ShortestPathSearch viaFilter = new ShortestPathSearch(snapshot.vertexCount());
+        ShortestPathSearch viaCopy = new ShortestPathSearch(filtered.vertexCount());
+        for (Airport origin : airports) {
+            int source = snapshot.idOf(origin.getCode());
+            viaFilter.run(snapshot, source, -1, RoutingGraph.DURATION, filter);
+            int copySource = filtered.idOf(origin.getCode());
+            if (copySource == -1) {
+                assertFalse(viaFilter.isReached(source));
+                continue;
+            }
+            viaCopy.run(filtered, copySource, -1, RoutingGraph.DURATION);
+            for (Airport destination : airports) {
+                int copyTarget = filtered.idOf(destination.getCode());
+                double expected = copyTarget == -1 ? Double.POSITIVE_INFINITY : viaCopy.cost(copyTarget);
+                assertEquals(expected, viaFilter.cost(snapshot.idOf(destination.getCode())), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testIsochroneMatchesFullSearch() throws GraphException, ListException {
+        RoutingGraph fixture = RoutingGraph.build(graph);
+        Isochrone eightHours = Isochrone.compute(fixture, fixture.idOf(101), RoutingGraph.DURATION, 8.0, null);
+        assertEquals(List.of(202, 505, 404), eightHours.getDestinationCodes());
+        assertEquals(2.5, eightHours.cost(1), 1e-9);
+        assertEquals(1, eightHours.stops(1), "SJO -> PTY -> BOG");
+        // the budget is inclusive: LAX is exactly 8.5 hours away
+        assertEquals(List.of(202, 505, 404, 303),
+                Isochrone.compute(fixture, fixture.idOf(101), RoutingGraph.DURATION, 8.5, null).getDestinationCodes());
+        assertEquals(0, Isochrone.compute(fixture, fixture.idOf(606), RoutingGraph.DURATION, 100, null).size());
+
+        Random random = new Random(43);
+        Airport[] airports = new Airport[300];
+        for (int i = 0; i < airports.length; i++) {
+            airports[i] = new Airport(9000 + i);
+            graph.addVertex(airports[i]);
+        }
+        for (int i = 0; i < 1500; i++) {
+            Airport a = airports[random.nextInt(airports.length)], b = airports[random.nextInt(airports.length)];
+            if (a.equals(b)) continue;
+            addRoute("I" + i, a, b, 1 + random.nextInt(10), 100 + random.nextInt(900), 50 + random.nextInt(400));
+        }
+        RoutingGraph snapshot = RoutingGraph.build(graph);
+        ShortestPathSearch full = new ShortestPathSearch(snapshot.vertexCount());
+        for (int trial = 0; trial < 20; trial++) {
+            int source = snapshot.idOf(9000 + random.nextInt(airports.length));
+            double budget = 200 + random.nextInt(400);
+            full.run(snapshot, source, -1, RoutingGraph.PRICE);
+            List<Double> expected = new ArrayList<>();
+            for (int t = 0; t < snapshot.vertexCount(); t++) {
+                if (t != source && full.cost(t) <= budget) expected.add(full.cost(t));
+            }
+            expected.sort(null);
+
+            Isochrone isochrone = Isochrone.compute(snapshot, source, RoutingGraph.PRICE, budget, null);
+            assertEquals(expected.size(), isochrone.size());
+            for (int i = 0; i < isochrone.size(); i++) {
+                assertEquals(expected.get(i), isochrone.cost(i), 1e-9);
+                assertEquals(full.cost(snapshot.idOf(isochrone.destinationCode(i))), isochrone.cost(i), 1e-9);
+            }
+            assertTrue(isochrone.getSettledCount() <= full.getSettledCount());
+        }
+    }
+
+    private static double edgeCost(RoutingGraph snapshot, int fromCode, int toCode, int costIndex) {
+        int u = snapshot.idOf(fromCode);
+        double best = Double.POSITIVE_INFINITY;
+        for (int e = snapshot.firstEdge(u); e < snapshot.endEdge(u); e++) {
+            if (snapshot.code(snapshot.target(e)) == toCode) best = Math.min(best, snapshot.weight(costIndex, e));
+        }
+        return best;
+    }
+}
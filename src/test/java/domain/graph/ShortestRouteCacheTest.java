@@ -0,0 +1,35 @@
+package domain.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestRouteCacheTest {
+
+    @Test
+    void testLruEvictionAndVersionInvalidation() {
+        ShortestRouteCache cache = new ShortestRouteCache(2);
+
+        cache.put(101, 202, RoutingGraph.PRICE, 1, List.of(101, 202));
+        cache.put(101, 303, RoutingGraph.PRICE, 1, null); // no route
+        assertEquals(List.of(101, 202), cache.get(101, 202, RoutingGraph.PRICE, 1));
+        assertTrue(ShortestRouteCache.isNoRoute(cache.get(101, 303, RoutingGraph.PRICE, 1)));
+        assertNull(cache.get(101, 202, RoutingGraph.DURATION, 1), "Cost type is part of the key");
+
+        // 101->202 was used before 101->303, so adding a third entry evicts 101->202
+        cache.get(101, 303, RoutingGraph.PRICE, 1);
+        cache.put(202, 303, RoutingGraph.PRICE, 1, List.of(202, 303));
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.get(101, 202, RoutingGraph.PRICE, 1));
+
+        // A newer network version invalidates the entry
+        assertNull(cache.get(202, 303, RoutingGraph.PRICE, 2));
+        assertEquals(1, cache.getStaleInvalidations());
+        assertEquals(1, cache.size());
+
+        assertEquals(3, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+}
@@ -0,0 +1,192 @@
+package domain.linkedlist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkedListTest {
+
+    @Test
+    void testSinglyLinkedListMatchesArrayList() throws ListException {
+        SinglyLinkedList list = new SinglyLinkedList();
+        ArrayList<Integer> expected = new ArrayList<>();
+        Random random = new Random(3);
+        for (int step = 0; step < 3000; step++) {
+            int value = random.nextInt(50);
+            switch (random.nextInt(6)) {
+                case 0, 1 -> { list.add(value); expected.add(value); }
+                case 2 -> { list.addFirst(value); expected.add(0, value); }
+                case 3 -> { if (!expected.isEmpty()) assertEquals(expected.remove(expected.size() - 1), list.removeLast()); }
+                case 4 -> { if (!expected.isEmpty()) { list.remove((Object) value); expected.remove((Integer) value); } }
+                default -> { if (!expected.isEmpty()) assertEquals(expected.remove(0), list.removeFirst()); }
+            }
+            assertSameContent(expected, list);
+        }
+        list.clear();
+        assertEquals(0, list.size());
+        list.add(7);
+        assertEquals(7, list.getLast(), "The tail is reset by clear");
+    }
+
+    @Test
+    void testDoublyLinkedListMatchesArrayList() throws ListException {
+        DoublyLinkedList list = new DoublyLinkedList();
+        ArrayList<Integer> expected = new ArrayList<>();
+        Random random = new Random(4);
+        for (int step = 0; step < 3000; step++) {
+            int value = random.nextInt(50);
+            switch (random.nextInt(6)) {
+                case 0, 1 -> { list.add(value); expected.add(value); }
+                case 2 -> { list.addFirst(value); expected.add(0, value); }
+                case 3 -> { if (!expected.isEmpty()) assertEquals(expected.remove(expected.size() - 1), list.removeLast()); }
+                case 4 -> { if (!expected.isEmpty()) { list.remove((Object) value); expected.remove((Integer) value); } }
+                default -> { if (!expected.isEmpty()) assertEquals(expected.remove(0), list.removeFirst()); }
+            }
+            if (expected.isEmpty()) {
+                assertTrue(list.isEmpty());
+                assertThrows(ListException.class, list::size, "An empty doubly linked list still reports it");
+                continue;
+            }
+            assertEquals(expected.size(), list.size());
+            assertEquals(expected.get(expected.size() - 1), list.getLast());
+            //de atrás hacia adelante, usando los enlaces prev
+            for (int i = expected.size(); i >= 1; i--) {
+                assertEquals(expected.get(i - 1), list.getNode(i).data);
+            }
+            assertNull(list.getNode(expected.size() + 1));
+        }
+    }
+
+    @Test
+    void testArrayBackedListMatchesDoublyLinkedList() throws ListException {
+        ArrayBackedList list = new ArrayBackedList(1); //crece varias veces
+        DoublyLinkedList expected = new DoublyLinkedList();
+        Random random = new Random(5);
+        for (int step = 0; step < 3000; step++) {
+            int value = random.nextInt(50);
+            switch (random.nextInt(6)) {
+                case 0, 1 -> { list.add(value); expected.add(value); }
+                case 2 -> { list.addFirst(value); expected.addFirst(value); }
+                case 3 -> { if (!expected.isEmpty()) assertEquals(expected.removeLast(), list.removeLast()); }
+                case 4 -> { if (!expected.isEmpty()) { list.remove((Object) value); expected.remove((Object) value); } }
+                default -> { if (!expected.isEmpty()) assertEquals(expected.removeFirst(), list.removeFirst()); }
+            }
+            if (expected.isEmpty()) {
+                assertTrue(list.isEmpty());
+                assertThrows(ListException.class, list::size, "Same contract as the linked lists");
+                assertThrows(ListException.class, () -> list.getNode(1));
+                continue;
+            }
+            assertEquals(expected.size(), list.size());
+            assertEquals(expected.getFirst(), list.getFirst());
+            assertEquals(expected.getLast(), list.getLast());
+            assertEquals(expected.indexOf(value), list.indexOf(value));
+            for (int i = 1; i <= expected.size(); i++) {
+                assertEquals(expected.getNode(i).data, list.getNode(i).data, "getNode is 1-based");
+            }
+            assertNull(list.getNode(0));
+            assertNull(list.getNode(expected.size() + 1));
+        }
+        assertEquals(expected.toList(), list.toList());
+    }
+
+    @Test
+    void testArrayBackedListSetSortAndNeighbours() throws ListException {
+        ArrayBackedList list = new ArrayBackedList();
+        for (int value : new int[]{5, 1, 4}) list.addInSortedList(value);
+        list.addInSortedList(3);
+        assertEquals("[1, 3, 4, 5]", list.toList().toString());
+
+        assertEquals(4, list.set(3, 40), "set returns the replaced element");
+        assertEquals(40, list.getNode(3).data);
+        assertThrows(ListException.class, () -> list.set(5, 0));
+        list.sort();
+        assertEquals("[1, 3, 5, 40]", list.toList().toString());
+        assertEquals(3, list.getPrev(5));
+        assertEquals(40, list.getNext(5));
+        assertEquals("It's the first, it has no prev", list.getPrev(1));
+        assertEquals("It's the last, it has no next", list.getNext(40));
+
+        //set por defecto (a través de getNode) en las listas enlazadas
+        DoublyLinkedList linked = new DoublyLinkedList();
+        linked.add("a");
+        linked.add("b");
+        assertEquals("b", linked.set(2, "c"));
+        assertEquals("c", linked.getLast());
+    }
+
+    @Test
+    void testListFactory() {
+        String previous = System.getProperty(ListFactory.PROPERTY);
+        try {
+            System.clearProperty(ListFactory.PROPERTY);
+            assertInstanceOf(CircularDoublyLinkedList.class, ListFactory.create(CircularDoublyLinkedList::new));
+            System.setProperty(ListFactory.PROPERTY, "array");
+            assertEquals(ListFactory.Kind.ARRAY, ListFactory.configuredKind());
+            assertInstanceOf(ArrayBackedList.class, ListFactory.create(DoublyLinkedList::new));
+            System.setProperty(ListFactory.PROPERTY, "unknown");
+            assertEquals(ListFactory.Kind.LINKED, ListFactory.configuredKind());
+            assertInstanceOf(DoublyLinkedList.class, ListFactory.create(ListFactory.Kind.LINKED, DoublyLinkedList::new));
+        } finally {
+            if (previous == null) System.clearProperty(ListFactory.PROPERTY);
+            else System.setProperty(ListFactory.PROPERTY, previous);
+        }
+    }
+
+    @Test
+    void testSetFirstRecomputesSizeAndTail() throws ListException {
+        Node head = new Node(1);
+        head.next = new Node(2);
+        head.next.next = new Node(3);
+        SinglyLinkedList list = new SinglyLinkedList();
+        list.setFirst(head);
+        assertEquals(3, list.size());
+        assertEquals(3, list.getLast());
+        list.add(4);
+        assertEquals(4, list.getNode(4).data);
+    }
+
+    private static void assertSameContent(ArrayList<Integer> expected, SinglyLinkedList list) throws ListException {
+        assertEquals(expected.size(), list.size());
+        if (expected.isEmpty()) {
+            assertTrue(list.isEmpty());
+            return;
+        }
+        assertEquals(expected.get(expected.size() - 1), list.getLast());
+        for (int i = 1; i <= expected.size(); i++) {
+            assertEquals(expected.get(i - 1), list.getNode(i).data);
+        }
+        assertNull(list.getNode(0));
+    }
+
+    @Test
+    void testIteratorsAndStreams() throws ListException {
+        List[] lists = {new SinglyLinkedList(), new DoublyLinkedList(), new CircularLinkedList(), new CircularDoublyLinkedList(),
+                new ArrayBackedList()};
+        for (List list : lists) {
+            String name = list.getClass().getSimpleName();
+            assertFalse(list.iterator().hasNext(), name);
+            assertEquals(0, list.stream().count());
+            for (int i = 1; i <= 5000; i++) list.add(i);
+
+            long sum = 0;
+            for (Object value : list) sum += (Integer) value;
+            assertEquals(5000L * 5001 / 2, sum, name);
+            assertEquals(5000, list.spliterator().getExactSizeIfKnown(), name);
+            assertNotNull(list.spliterator().trySplit(), "The spliterator can be split");
+            assertEquals(sum, list.parallelStream().mapToLong(v -> (Integer) v).sum(), name);
+            assertEquals("1,2,3", list.stream().limit(3).map(String::valueOf).collect(Collectors.joining(",")));
+
+            Iterator<Object> it = list.iterator();
+            it.next();
+            list.add(5001);
+            assertThrows(ConcurrentModificationException.class, it::next, "Iterators are fail-fast: " + name);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package domain.linkedlist;
+
+import domain.common.Airport;
+import domain.common.Flight;
+import org.junit.jupiter.api.Test;
+import util.ComparatorRegistry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedSkipListTest {
+
+    @Test
+    void testMatchesSortedArrayList() throws ListException {
+        SortedSkipList list = new SortedSkipList();
+        ArrayList<Integer> expected = new ArrayList<>();
+        Random random = new Random(7);
+        for (int step = 0; step < 4000; step++) {
+            int value = random.nextInt(200);
+            switch (random.nextInt(6)) {
+                case 0, 1, 2 -> {
+                    list.add(value);
+                    int at = Collections.binarySearch(expected, value);
+                    expected.add(at < 0 ? -at - 1 : at, value);
+                }
+                case 3 -> { if (!expected.isEmpty()) { list.remove((Object) value); expected.remove((Integer) value); } }
+                case 4 -> { if (!expected.isEmpty()) assertEquals(expected.remove(0), list.removeFirst()); }
+                default -> { if (!expected.isEmpty()) assertEquals(expected.remove(expected.size() - 1), list.removeLast()); }
+            }
+            if (expected.isEmpty()) {
+                assertTrue(list.isEmpty());
+                assertThrows(ListException.class, list::size, "Same contract as the linked lists");
+                continue;
+            }
+            assertEquals(expected.size(), list.size());
+            assertEquals(expected.get(0), list.getFirst());
+            assertEquals(expected.get(expected.size() - 1), list.getLast());
+            int index = expected.indexOf(value);
+            assertEquals(index == -1 ? -1 : index + 1, list.indexOf(value), "indexOf is 1-based");
+            assertEquals(expected.contains(value), list.contains(value));
+            if (step % 50 == 0) {
+                for (int i = 1; i <= expected.size(); i++) {
+                    assertEquals(expected.get(i - 1), list.getNode(i).data, "getNode(" + i + ")");
+                }
+                assertNull(list.getNode(0));
+                assertNull(list.getNode(expected.size() + 1));
+                assertEquals(new ArrayList<Object>(expected), list.toList(), "Ordered iteration");
+            }
+        }
+    }
+
+    @Test
+    void testFlightsByDepartureTimeAndAirportsByCode() throws ListException {
+        LocalDateTime morning = LocalDateTime.of(2025, 6, 1, 8, 0);
+        Comparator<Object> byDeparture = Comparator.comparing((Object f) -> ((Flight) f).getDepartureTime())
+                .thenComparingInt(f -> ((Flight) f).getNumber());
+        SortedSkipList flights = new SortedSkipList(byDeparture);
+        Flight late = new Flight(30, morning.plusHours(5), 100, null, null);
+        Flight early = new Flight(10, morning, 100, null, null);
+        Flight noon = new Flight(20, morning.plusHours(4), 100, null, null);
+        flights.addInSortedList(late);
+        flights.addFirst(noon); //la posición la decide el comparador
+        flights.addLast(early);
+        assertSame(early, flights.getFirst());
+        assertSame(noon, flights.getNode(2).data);
+        assertSame(late, flights.getNext(noon));
+        assertEquals(java.util.List.of(early, noon),
+                flights.range(new Flight(0, morning, 0, null, null), new Flight(0, morning.plusHours(5), 0, null, null)));
+
+        //set reubica el elemento según el comparador
+        Flight delayed = new Flight(10, morning.plusHours(6), 100, null, null);
+        assertSame(early, flights.set(1, delayed));
+        assertSame(delayed, flights.getLast());
+        flights.sort(); //ya está ordenada
+        assertEquals(java.util.List.of(noon, late, delayed), flights.toList());
+
+        SortedSkipList airports = new SortedSkipList(ComparatorRegistry.comparatorFor(Airport.class));
+        for (int code : new int[]{300, 100, 200}) airports.add(new Airport(code, "Airport " + code, "Costa Rica", "Active"));
+        assertEquals(2, airports.indexOf(new Airport(200)));
+        assertEquals(100, ((Airport) airports.getFirst()).getCode());
+        airports.remove(new Airport(100));
+        assertEquals("It's the first, it has no prev", airports.getPrev(new Airport(200)));
+        assertEquals("Does not exist in Sorted Skip List", airports.getNext(new Airport(999)));
+    }
+
+    @Test
+    void testRemovePrefersTheSameObjectAmongEquals() throws ListException {
+        SortedSkipList list = new SortedSkipList(Comparator.comparingInt(o -> ((String) o).length()));
+        String a = new String("aa"), b = new String("bb"), c = new String("cc");
+        list.add(a);
+        list.add(b);
+        list.add(c);
+        assertEquals(java.util.List.of(a, b, c), list.toList(), "Equal elements keep insertion order");
+        list.remove(c);
+        assertSame(a, list.getFirst());
+        assertSame(b, list.getLast());
+        list.remove("zz"); //igual según el comparador pero no el mismo objeto: se quita el primero
+        assertSame(b, list.getFirst());
+    }
+
+    @Test
+    void testConcurrentWritersAndReaders() throws Exception {
+        SortedSkipList list = new SortedSkipList();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        ArrayList<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            tasks.add(pool.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    list.add(i * 4 + offset);
+                    if (i % 10 == 0) {
+                        //lectores durante las altas: los iteradores no fallan y ven el orden
+                        Object previous = null;
+                        for (Object value : list) {
+                            if (previous != null) assertTrue((Integer) previous <= (Integer) value);
+                            previous = value;
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> task : tasks) task.get();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(8000, list.size());
+        for (int i = 1; i <= 8000; i++) assertEquals(i - 1, list.getNode(i).data);
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertFalse(list.iterator().hasNext());
+    }
+
+    @Test
+    void testSortsAndSortedInsertOfLinkedLists() throws ListException {
+        SinglyLinkedList singly = new SinglyLinkedList();
+        DoublyLinkedList doubly = new DoublyLinkedList();
+        DoublyLinkedList doublyUnsorted = new DoublyLinkedList();
+        CircularDoublyLinkedList circular = new CircularDoublyLinkedList();
+        Random random = new Random(9);
+        ArrayList<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int value = random.nextInt(100);
+            singly.addInSortedList(value);
+            doubly.addInSortedList(value);
+            doublyUnsorted.add(value);
+            circular.add(value);
+            expected.add(value);
+        }
+        Collections.sort(expected);
+        circular.sort();
+        doublyUnsorted.sort();
+        assertEquals(new ArrayList<Object>(expected), singly.toList());
+        assertEquals(new ArrayList<Object>(expected), doubly.toList());
+        assertEquals(new ArrayList<Object>(expected), doublyUnsorted.toList());
+        assertEquals(new ArrayList<Object>(expected), circular.toList());
+        assertEquals(expected.get(expected.size() - 1), singly.getLast(), "The tail follows sorted inserts");
+        assertEquals(expected.get(expected.size() - 1), doubly.getLast());
+        for (int i = expected.size(); i >= 1; i--) {
+            assertEquals(expected.get(i - 1), doubly.getNode(i).data, "Prev links follow sorted inserts");
+        }
+        assertThrows(ListException.class, () -> new DoublyLinkedList().sort());
+    }
+
+    @Test
+    void testSortedInsertsAgreeOnNotComparable() throws ListException {
+        //Un elemento no comparable queda después de los existentes en todas las listas ordenadas
+        List[] lists = {new SinglyLinkedList(), new DoublyLinkedList(), new CircularDoublyLinkedList(),
+                new ArrayBackedList(), new SortedSkipList()};
+        for (List list : lists) {
+            for (Object value : new Object[]{5, 1, "x", 3}) list.addInSortedList(value);
+            assertEquals(java.util.List.of(1, 3, 5, "x"), list.stream().toList(), list.getClass().getSimpleName());
+        }
+
+        //Un comparador propio puede devolver un 2 legítimo, que no es el centinela
+        Comparator<Object> byDifference = (a, b) -> (Integer) a - (Integer) b;
+        lists = new List[]{new SinglyLinkedList(byDifference), new DoublyLinkedList(byDifference),
+                new CircularDoublyLinkedList(byDifference), new ArrayBackedList(byDifference), new SortedSkipList(byDifference)};
+        for (List list : lists) {
+            for (Object value : new Object[]{3, 1, 2}) list.addInSortedList(value);
+            assertEquals(java.util.List.of(1, 2, 3), list.stream().toList(), list.getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package util;
+
+import domain.btree.AVL;
+import domain.btree.BST;
+import domain.btree.TreeException;
+import domain.common.Airport;
+import domain.common.Flight;
+import domain.common.Passenger;
+import domain.common.Route;
+import domain.linkedlist.ListException;
+import domain.linkedlist.SinglyLinkedList;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComparatorRegistryTest {
+
+    @Test
+    void testKeepsUtilityCompareContract() {
+        assertEquals(-1, Utility.compare(3, 7));
+        assertEquals(0, Utility.compare(7, 7));
+        assertEquals(1, Utility.compare("b", "a"), "String comparisons are normalized to -1/0/1");
+        assertEquals(-1, Utility.compare("apple", "banana"));
+        assertEquals(0, Utility.compare('x', 'x'));
+        assertEquals(ComparatorRegistry.NOT_COMPARABLE, Utility.compare(1, "1"), "Mixed types are not comparable");
+        assertEquals(ComparatorRegistry.NOT_COMPARABLE, Utility.compare(null, 1));
+        assertEquals(ComparatorRegistry.NOT_COMPARABLE, Utility.compare(new Object(), new Object()));
+
+        //Aeropuertos: solo el código
+        Airport a = new Airport(100, "Juan Santamaría", "Costa Rica", "Active");
+        Airport b = new Airport(100, "Otro nombre", "Panamá", "Inactive");
+        assertEquals(0, Utility.compare(a, b));
+        assertTrue(Utility.compare(new Airport(99), a) < 0);
+
+        //Pasajeros: el id decide y los demás campos solo desempatan
+        Passenger p1 = new Passenger(5, "Zoe", "CR");
+        Passenger p2 = new Passenger(6, "Ana", "CR");
+        assertTrue(Utility.compare(p1, p2) < 0);
+        assertTrue(Utility.compare(new Passenger(5, "Ana", "CR"), p1) < 0);
+        assertEquals(0, Utility.compare(p1, new Passenger(5, "zoe", "cr")));
+    }
+
+    @Test
+    void testRegisteredTypesAndCustomComparators() throws ListException, TreeException {
+        record Gate(int number, String terminal) {
+        }
+        assertFalse(ComparatorRegistry.isRegistered(Gate.class));
+        ComparatorRegistry.registerIntKey(Gate.class, Gate::number, Comparator.comparing(Gate::terminal));
+        assertTrue(ComparatorRegistry.isRegistered(Gate.class));
+        assertTrue(Utility.compare(new Gate(1, "B"), new Gate(2, "A")) < 0, "The int key is compared first");
+        assertTrue(Utility.compare(new Gate(1, "B"), new Gate(1, "A")) > 0);
+
+        //Una lista con su propio comparador
+        SinglyLinkedList names = new SinglyLinkedList((x, y) -> ((String) x).compareToIgnoreCase((String) y));
+        names.add("Lima");
+        names.add("bogotá");
+        names.add("Asunción");
+        assertTrue(names.contains("LIMA"));
+        assertEquals(2, names.indexOf("BOGOTÁ"));
+        names.sort();
+        assertEquals("Asunción", names.getFirst());
+        assertEquals("Lima", names.getLast());
+
+        //Árbol ordenado de mayor a menor
+        AVL descending = new AVL(ComparatorRegistry.DEFAULT.reversed());
+        for (int value : new int[]{5, 1, 9, 3}) descending.add(value);
+        assertTrue(descending.contains(9));
+        assertEquals(9, leftmost(descending), "The largest value is the leftmost one");
+    }
+
+    @Test
+    void testTieBreaksNeverReturnTheSentinel() throws TreeException {
+        //compareToIgnoreCase y LocalDateTime.compareTo devuelven diferencias: "c" - "a" es exactamente 2
+        assertEquals(1, Utility.compare(new Passenger(5, "Carla", "CR"), new Passenger(5, "Ana", "CR")));
+        assertEquals(1, Utility.compare(new Passenger(5, "Ana", "Costa Rica"), new Passenger(5, "Ana", "Argentina")));
+
+        LocalDateTime departure = LocalDateTime.of(2025, 6, 1, 8, 0);
+        Route toLax = new Route("R1", 101, 303, "Test Airline", 1.0, 100, 10.0, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        Route fromLax = new Route("R2", 303, 505, "Test Airline", 1.0, 100, 10.0, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        Route toMia = new Route("R3", 101, 505, "Test Airline", 1.0, 100, 10.0, LocalTime.of(8, 0), LocalTime.of(9, 0));
+        assertEquals(1, Utility.compare(new Flight(7, departure, 100, null, fromLax), new Flight(7, departure, 100, null, toLax)));
+        assertEquals(1, Utility.compare(new Flight(7, departure, 100, null, toMia), new Flight(7, departure, 100, null, toLax)));
+        assertEquals(1, Utility.compare(new Flight(7, departure.plusYears(2), 100, null, toLax),
+                new Flight(7, departure, 100, null, toLax)));
+
+        BST c = new BST(), a = new BST();
+        c.add("c");
+        a.add("a");
+        assertEquals(1, Utility.compare(c, a));
+        assertEquals(-1, Utility.compare(a, c));
+    }
+
+    private static Object leftmost(AVL tree) {
+        var node = tree.getRoot();
+        while (node.left != null) node = node.left;
+        return node.data;
+    }
+}